@@ -0,0 +1,133 @@
+package com.bluesky.apollo.benchmark;
+
+import com.bluesky.apollo.core.ApolloClient;
+import com.bluesky.apollo.core.ApolloConfigServiceCore;
+import com.bluesky.apollo.model.ItemResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基准测试用的本地 Portal
+ *
+ * <p>基于 OkHttp {@link MockWebServer}，按请求路径返回预先序列化好的固定响应，
+ * 服务端几乎不消耗时间，测得的是 SDK 自身（请求构建、HTTP 往返、JSON 映射、响应解析）的开销。</p>
+ *
+ * <p>注意：服务端与基准测试运行在同一个 JVM 中，gc profiler 统计的分配率包含服务端的分配，
+ * 只适合用于前后版本的相对比较。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public class BenchmarkPortal implements AutoCloseable {
+
+    /**
+     * 基准测试使用的应用 ID
+     */
+    public static final String APP_ID = "bench-app";
+
+    /**
+     * 基准测试使用的环境名称
+     */
+    public static final String ENV = "DEV";
+
+    /**
+     * 基准测试使用的集群名称
+     */
+    public static final String CLUSTER = "default";
+
+    /**
+     * 基准测试使用的命名空间名称
+     */
+    public static final String NAMESPACE = "application";
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final String itemJson;
+
+    private final String itemsJson;
+
+    private BenchmarkPortal(int itemCount) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        List<ItemResponse> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(item("key-" + i, "value-" + i));
+        }
+        this.itemJson = mapper.writeValueAsString(item("key-0", "value-0"));
+        this.itemsJson = mapper.writeValueAsString(items);
+
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String path = request.getPath();
+                String method = request.getMethod();
+                if (path.endsWith("/releases")) {
+                    return json("{\"id\":1,\"name\":\"bench-release\"}");
+                }
+                if (path.endsWith("/items") && "GET".equals(method)) {
+                    return json(itemsJson);
+                }
+                if ("DELETE".equals(method)) {
+                    return new MockResponse().setResponseCode(200);
+                }
+                return json(itemJson);
+            }
+        });
+        server.start();
+    }
+
+    /**
+     * 启动本地 Portal
+     *
+     * @param itemCount 命名空间下的配置项数量（listNamespaceItems 返回的条数）
+     * @return 已启动的本地 Portal
+     * @throws IOException 启动失败
+     */
+    public static BenchmarkPortal start(int itemCount) throws IOException {
+        return new BenchmarkPortal(itemCount);
+    }
+
+    /**
+     * 获取 Portal 地址
+     *
+     * @return Portal 地址，不带末尾斜杠
+     */
+    public String url() {
+        String url = server.url("/").toString();
+        return url.substring(0, url.length() - 1);
+    }
+
+    /**
+     * 创建指向本地 Portal 的配置服务
+     *
+     * @return 配置服务
+     */
+    public ApolloConfigServiceCore newService() {
+        return new ApolloConfigServiceCore(new ApolloClient(url(), "bench-token"));
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+
+    private static ItemResponse item(String key, String value) {
+        ItemResponse item = new ItemResponse();
+        item.setKey(key);
+        item.setValue(value);
+        item.setComment("benchmark item");
+        item.setDataChangeCreatedBy("bench");
+        return item;
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+    }
+}
@@ -0,0 +1,91 @@
+package com.bluesky.apollo.benchmark;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * 基准测试入口
+ *
+ * <p>依次运行全部基准测试，每个测试跑两遍：吞吐量（ops/s）和采样耗时（延迟百分位，微秒），
+ * 两种模式分开运行，各自使用对应的时间单位，并开启 gc profiler 输出分配率（{@code gc.alloc.rate.norm} 即每次操作分配的字节数）。
+ * {@link ConcurrentWriteBenchmark} 以 1、2、4、8、16、32、64 个线程分别运行。</p>
+ *
+ * <p>运行方式：</p>
+ * <pre>{@code
+ * mvn -pl apollo-sdk-benchmark -am package -DskipTests
+ * java -jar apollo-sdk-benchmark/target/benchmarks.jar            # 全部
+ * java -jar apollo-sdk-benchmark/target/benchmarks.jar ItemRead   # 按类名过滤
+ * }</pre>
+ *
+ * <p>结果同时以 JSON 格式写入当前目录的 {@code jmh-result-*-throughput.json} 和 {@code jmh-result-*-sample.json}，
+ * 便于前后版本比较。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * 并发写入测试的线程数
+     */
+    private static final int[] WRITER_THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String filter = args.length > 0 ? args[0] : "";
+        runModes("single", options -> options
+                .include(pattern(ItemReadBenchmark.class, filter))
+                .include(pattern(NamespaceListBenchmark.class, filter))
+                .include(pattern(PublishBenchmark.class, filter)));
+
+        for (int threads : WRITER_THREADS) {
+            runModes("writers-" + threads, options -> options
+                    .include(pattern(ConcurrentWriteBenchmark.class, filter))
+                    .threads(threads));
+        }
+    }
+
+    /**
+     * 以吞吐量（ops/s）和采样耗时（微秒）分别运行同一组测试；timeUnit 对所有模式生效，因此不能合并为一次运行
+     */
+    private static void runModes(String name, UnaryOperator<ChainedOptionsBuilder> selection) throws RunnerException {
+        run(name + "-throughput", selection.apply(base(Mode.Throughput, TimeUnit.SECONDS)));
+        run(name + "-sample", selection.apply(base(Mode.SampleTime, TimeUnit.MICROSECONDS)));
+    }
+
+    private static ChainedOptionsBuilder base(Mode mode, TimeUnit timeUnit) {
+        return new OptionsBuilder()
+                .mode(mode)
+                .timeUnit(timeUnit)
+                .addProfiler(GCProfiler.class)
+                .shouldFailOnError(true);
+    }
+
+    private static void run(String name, ChainedOptionsBuilder options) throws RunnerException {
+        new Runner(options
+                .resultFormat(ResultFormatType.JSON)
+                .result("jmh-result-" + name + ".json")
+                .build()).run();
+    }
+
+    /**
+     * 生成只匹配指定类的 include 正则；类名不匹配过滤条件时返回一个不会匹配任何测试的正则
+     */
+    private static String pattern(Class<?> benchmark, String filter) {
+        if (!benchmark.getSimpleName().contains(filter)) {
+            return "^$";
+        }
+        return "^" + benchmark.getName().replace(".", "\\.") + "\\.";
+    }
+}
@@ -0,0 +1,87 @@
+package com.bluesky.apollo.benchmark;
+
+import com.bluesky.apollo.core.ApolloConfigServiceCore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.bluesky.apollo.benchmark.BenchmarkPortal.APP_ID;
+import static com.bluesky.apollo.benchmark.BenchmarkPortal.CLUSTER;
+import static com.bluesky.apollo.benchmark.BenchmarkPortal.ENV;
+import static com.bluesky.apollo.benchmark.BenchmarkPortal.NAMESPACE;
+
+/**
+ * 并发写入基准测试
+ *
+ * <p>多个线程共用一个 {@link ApolloConfigServiceCore}，各自写入不同的配置项，
+ * 用于观察连接池、共享状态等在并发下的扩展性。{@link BenchmarkRunner} 会依次以 1 到 64 个线程运行，
+ * 单独运行时也可以通过 JMH 的 {@code -t} 参数指定线程数。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class ConcurrentWriteBenchmark {
+
+    /**
+     * 所有线程共用的本地 Portal 和配置服务
+     */
+    @State(Scope.Benchmark)
+    public static class Shared {
+
+        private final AtomicInteger threadIds = new AtomicInteger();
+
+        private BenchmarkPortal portal;
+
+        private ApolloConfigServiceCore service;
+
+        @Setup
+        public void setUp() throws IOException {
+            portal = BenchmarkPortal.start(1);
+            service = portal.newService();
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            portal.close();
+        }
+    }
+
+    /**
+     * 每个线程写入自己的配置项
+     */
+    @State(Scope.Thread)
+    public static class Writer {
+
+        private String key;
+
+        @Setup
+        public void setUp(Shared shared) {
+            key = "writer-" + shared.threadIds.getAndIncrement();
+        }
+    }
+
+    @Benchmark
+    public void createOrUpdateItem(Shared shared, Writer writer) {
+        shared.service.createOrUpdateItem(APP_ID, ENV, CLUSTER, NAMESPACE, writer.key, "value", "benchmark", "bench");
+    }
+}
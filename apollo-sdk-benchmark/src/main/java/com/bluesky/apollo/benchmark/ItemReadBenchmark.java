@@ -0,0 +1,70 @@
+package com.bluesky.apollo.benchmark;
+
+import com.bluesky.apollo.core.ApolloConfigServiceCore;
+import com.bluesky.apollo.core.NamespaceHandle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static com.bluesky.apollo.benchmark.BenchmarkPortal.APP_ID;
+import static com.bluesky.apollo.benchmark.BenchmarkPortal.CLUSTER;
+import static com.bluesky.apollo.benchmark.BenchmarkPortal.ENV;
+import static com.bluesky.apollo.benchmark.BenchmarkPortal.NAMESPACE;
+
+/**
+ * 单个配置项读取基准测试
+ *
+ * <p>覆盖 {@link ApolloConfigServiceCore#getItem} 的完整路径：路径编码、{@code ApolloClient.baseBuilder}、
+ * HTTP 往返、{@code unwrapResponse} 和 JSON 映射；并与通过 {@link NamespaceHandle} 读取的路径对比。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemReadBenchmark {
+
+    private BenchmarkPortal portal;
+
+    private ApolloConfigServiceCore service;
+
+    private NamespaceHandle handle;
+
+    @Setup
+    public void setUp() throws IOException {
+        portal = BenchmarkPortal.start(1);
+        service = portal.newService();
+        handle = service.namespace(APP_ID, ENV, CLUSTER, NAMESPACE);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        portal.close();
+    }
+
+    @Benchmark
+    public String getItem() {
+        return service.getItem(APP_ID, ENV, CLUSTER, NAMESPACE, "key-0");
+    }
+
+    @Benchmark
+    public String getItemViaHandle() {
+        return handle.getItem("key-0");
+    }
+}
@@ -0,0 +1,67 @@
+package com.bluesky.apollo.benchmark;
+
+import com.bluesky.apollo.core.ApolloConfigServiceCore;
+import com.bluesky.apollo.model.ItemResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.bluesky.apollo.benchmark.BenchmarkPortal.APP_ID;
+import static com.bluesky.apollo.benchmark.BenchmarkPortal.CLUSTER;
+import static com.bluesky.apollo.benchmark.BenchmarkPortal.ENV;
+import static com.bluesky.apollo.benchmark.BenchmarkPortal.NAMESPACE;
+
+/**
+ * 命名空间列表读取基准测试
+ *
+ * <p>分别在 10、1000、10000 个配置项下测试 {@link ApolloConfigServiceCore#listNamespaceItems}，
+ * 观察响应体大小对吞吐和分配率的影响。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NamespaceListBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int itemCount;
+
+    private BenchmarkPortal portal;
+
+    private ApolloConfigServiceCore service;
+
+    @Setup
+    public void setUp() throws IOException {
+        portal = BenchmarkPortal.start(itemCount);
+        service = portal.newService();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        portal.close();
+    }
+
+    @Benchmark
+    public List<ItemResponse> listNamespaceItems() {
+        return service.listNamespaceItems(APP_ID, ENV, CLUSTER, NAMESPACE);
+    }
+}
@@ -0,0 +1,61 @@
+package com.bluesky.apollo.benchmark;
+
+import com.bluesky.apollo.core.ApolloConfigServiceCore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static com.bluesky.apollo.benchmark.BenchmarkPortal.APP_ID;
+import static com.bluesky.apollo.benchmark.BenchmarkPortal.CLUSTER;
+import static com.bluesky.apollo.benchmark.BenchmarkPortal.ENV;
+import static com.bluesky.apollo.benchmark.BenchmarkPortal.NAMESPACE;
+
+/**
+ * 单个配置项发布基准测试
+ *
+ * <p>测试 {@link ApolloConfigServiceCore#publishSingle}：一次配置项写入加一次命名空间发布，
+ * 包含请求体的 JSON 序列化。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublishBenchmark {
+
+    private BenchmarkPortal portal;
+
+    private ApolloConfigServiceCore service;
+
+    @Setup
+    public void setUp() throws IOException {
+        portal = BenchmarkPortal.start(1);
+        service = portal.newService();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        portal.close();
+    }
+
+    @Benchmark
+    public void publishSingle() {
+        service.publishSingle(APP_ID, ENV, CLUSTER, NAMESPACE, "key-0", "value-0", "benchmark", "bench");
+    }
+}
@@ -0,0 +1,417 @@
+package com.bluesky.apollo.core;
+
+import com.bluesky.apollo.exception.ApolloHttpException;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Apollo 异步客户端，基于 OkHttp {@code enqueue} 的非阻塞调用封装
+ *
+ * <p>与 {@link ApolloClient} 共用同一个 {@code OkHttpClient}（连接池和调度器），
+ * 调用方线程只负责提交请求，不会在 Portal 往返期间被阻塞。</p>
+ *
+ * <p>主要功能：</p>
+ * <ul>
+ *   <li>返回 {@link CompletableFuture} 的 GET、POST、PUT、DELETE 调用</li>
+ *   <li>在途请求数上限：超出上限的请求进入等待队列，有请求完成时再发出，不会阻塞提交线程</li>
+ *   <li>可配置的回调线程池：结果在该线程池上完成，后续的 {@code thenApply} 等阶段也在其上执行；
+ *       未配置时直接在 OkHttp 调度线程上完成；按线程数创建的回调线程池由 {@link #close()} 关闭</li>
+ *   <li>取消返回的 Future 会同时取消底层的 HTTP 调用</li>
+ *   <li>与同步客户端共用熔断器和限流器（如已开启）；等待限流许可时不占用线程，也不占用在途名额</li>
+ *   <li>与同步客户端共用重试策略和重试预算（如已开启），失败分类相同；退避期间不占用线程和在途名额，
+ *       每次重试重新等待限流许可并经过熔断器</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>{@code
+ * ApolloClient client = new ApolloClient("http://apollo-portal.example.com", "your-token");
+ * ApolloAsyncClient asyncClient = new ApolloAsyncClient(client, 64, Executors.newFixedThreadPool(4));
+ * asyncClient.get("/openapi/v1/apps").thenAccept(System.out::println);
+ * }</pre>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public class ApolloAsyncClient implements AutoCloseable {
+
+    /**
+     * 默认的在途请求数上限
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 64;
+
+    /**
+     * 同步客户端，提供 OkHttpClient、请求构建和响应解析
+     */
+    private final ApolloClient client;
+
+    /**
+     * 在途请求数上限
+     */
+    private final int maxInFlight;
+
+    /**
+     * 回调线程池，为 null 时在 OkHttp 调度线程上完成结果
+     */
+    private final Executor callbackExecutor;
+
+    /**
+     * 在途请求许可
+     */
+    private final Semaphore permits;
+
+    /**
+     * 等待许可的请求队列
+     */
+    private final Queue<PendingCall> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 由本客户端创建、需要在 {@link #close()} 时关闭的回调线程池
+     */
+    private final ExecutorService ownedCallbackExecutor;
+
+    /**
+     * 构造函数，使用默认在途上限，并在 OkHttp 调度线程上完成结果
+     *
+     * @param client Apollo HTTP 客户端，不能为 null
+     */
+    public ApolloAsyncClient(ApolloClient client) {
+        this(client, DEFAULT_MAX_IN_FLIGHT, null);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param client Apollo HTTP 客户端，不能为 null
+     * @param maxInFlight 在途请求数上限，必须大于 0
+     * @param callbackExecutor 回调线程池，可以为 null
+     */
+    public ApolloAsyncClient(ApolloClient client, int maxInFlight, Executor callbackExecutor) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        this.client = client;
+        this.maxInFlight = maxInFlight;
+        this.callbackExecutor = callbackExecutor;
+        this.ownedCallbackExecutor = null;
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * 构造函数，创建指定线程数的回调线程池，由 {@link #close()} 关闭
+     *
+     * @param client Apollo HTTP 客户端，不能为 null
+     * @param maxInFlight 在途请求数上限，必须大于 0
+     * @param callbackThreads 回调线程数，为 0 时在 OkHttp 调度线程上完成结果
+     */
+    public ApolloAsyncClient(ApolloClient client, int maxInFlight, int callbackThreads) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        if (callbackThreads < 0) {
+            throw new IllegalArgumentException("callbackThreads must not be negative: " + callbackThreads);
+        }
+        this.client = client;
+        this.maxInFlight = maxInFlight;
+        this.ownedCallbackExecutor = callbackThreads > 0
+                ? Executors.newFixedThreadPool(callbackThreads, new NamedThreadFactory("apollo-sdk-callback"))
+                : null;
+        this.callbackExecutor = ownedCallbackExecutor;
+        this.permits = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * 异步执行 GET 请求
+     *
+     * @param path API 路径
+     * @return 响应体内容；非 2xx 时以 {@link ApolloHttpException} 异常完成
+     */
+    public CompletableFuture<String> get(String path) {
+        return submit(client.baseBuilder(path).get().build());
+    }
+
+    /**
+     * 异步执行 POST 请求
+     *
+     * @param path API 路径
+     * @param jsonBody JSON 格式的请求体，可以为 null
+     * @return 响应体内容；非 2xx 时以 {@link ApolloHttpException} 异常完成
+     */
+    public CompletableFuture<String> post(String path, String jsonBody) {
+        return submit(client.baseBuilder(path).post(ApolloClient.jsonBody(jsonBody)).build());
+    }
+
+    /**
+     * 异步执行 PUT 请求
+     *
+     * @param path API 路径
+     * @param jsonBody JSON 格式的请求体，可以为 null
+     * @return 响应体内容；非 2xx 时以 {@link ApolloHttpException} 异常完成
+     */
+    public CompletableFuture<String> put(String path, String jsonBody) {
+        return submit(client.baseBuilder(path).put(ApolloClient.jsonBody(jsonBody)).build());
+    }
+
+    /**
+     * 异步执行 DELETE 请求
+     *
+     * @param path API 路径
+     * @return 响应体内容；非 2xx 时以 {@link ApolloHttpException} 异常完成
+     */
+    public CompletableFuture<String> delete(String path) {
+        return submit(client.baseBuilder(path).delete().build());
+    }
+
+    /**
+     * 获取当前在途请求数
+     *
+     * @return 在途请求数
+     */
+    public int getInFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    /**
+     * 获取等待许可的请求数
+     *
+     * @return 排队中的请求数
+     */
+    public int getQueued() {
+        return pending.size();
+    }
+
+    /**
+     * 获取在途请求数上限
+     *
+     * @return 在途请求数上限
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * 关闭由本客户端创建的回调线程池，已提交的回调仍会执行；之后的结果直接在 OkHttp 调度线程上完成
+     *
+     * <p>通过构造函数传入的回调线程池由调用方负责关闭。</p>
+     */
+    @Override
+    public void close() {
+        if (ownedCallbackExecutor != null) {
+            ownedCallbackExecutor.shutdown();
+        }
+    }
+
+    /**
+     * 提交请求：先异步等待限流许可（如有），再入队并尝试在在途上限内发出
+     *
+     * @param request HTTP 请求
+     * @return 结果 Future
+     */
+    private CompletableFuture<String> submit(Request request) {
+        PendingCall call = new PendingCall(request, client.startRetries(request));
+        ApolloRequestEvent event = client.requestStarted(request);
+        call.future.whenComplete((body, error) ->
+                client.requestCompleted(event, error == null ? call.statusCode : ApolloClient.statusOf(error), error));
+        attempt(call);
+        return call.future;
+    }
+
+    /**
+     * 发起一次尝试：首次提交和每次重试都重新等待限流许可
+     *
+     * @param call 待发出的请求
+     */
+    private void attempt(PendingCall call) {
+        CompletableFuture<Void> ratePermit = client.acquireRateLimitAsync(call.request);
+        if (ratePermit == null) {
+            enqueue(call);
+        } else {
+            ratePermit.whenComplete((ignored, error) -> {
+                if (error != null) {
+                    complete(call.future, null, error instanceof CompletionException ? error.getCause() : error);
+                } else {
+                    enqueue(call);
+                }
+            });
+        }
+    }
+
+    private void enqueue(PendingCall call) {
+        pending.offer(call);
+        drain();
+    }
+
+    /**
+     * 在有空闲许可时依次发出排队的请求
+     *
+     * <p>每次入队和每次释放许可之后都会调用该方法，因此不会出现有许可却无人发出请求的情况。
+     * 没有发出就结束的请求（排队中被取消、被熔断器拒绝）直接归还许可，由本循环继续处理下一个，
+     * 不会递归调用，排队再多也不会耗尽调用栈。</p>
+     */
+    private void drain() {
+        while (!pending.isEmpty() && permits.tryAcquire()) {
+            PendingCall call = pending.poll();
+            if (call == null) {
+                permits.release();
+                return;
+            }
+            start(call);
+        }
+    }
+
+    /**
+     * 发出单个请求，调用方已取得许可；没有发出时直接归还许可，不再触发 {@link #drain()}
+     *
+     * @param pendingCall 待发出的请求
+     */
+    private void start(PendingCall pendingCall) {
+        CompletableFuture<String> future = pendingCall.future;
+        if (future.isDone()) {
+            // 排队期间已被调用方取消
+            permits.release();
+            return;
+        }
+
+        CircuitBreaker breaker = client.getCircuitBreaker();
+        if (breaker != null) {
+            try {
+                breaker.acquirePermission();
+            } catch (RuntimeException e) {
+                permits.release();
+                complete(future, null, e);
+                return;
+            }
+        }
+
+        long startNanos = System.nanoTime();
+        Call call = client.getClient().newCall(pendingCall.request);
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                if (breaker != null) {
+                    if (call.isCanceled()) {
+                        // 取消不代表 Portal 的健康状况，只归还许可
+                        breaker.releasePermission();
+                    } else {
+                        breaker.onResult(System.nanoTime() - startNanos, e);
+                    }
+                }
+                release();
+                finish(pendingCall, null, e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                String body = null;
+                Throwable error = null;
+                pendingCall.statusCode = response.code();
+                try (response) {
+                    body = client.unwrapResponse(response);
+                } catch (Throwable t) {
+                    error = t;
+                } finally {
+                    if (breaker != null) {
+                        breaker.onResult(System.nanoTime() - startNanos, error);
+                    }
+                    release();
+                }
+                finish(pendingCall, body, error);
+            }
+        });
+    }
+
+    /**
+     * 一次尝试结束：可重试的失败在退避时长之后重新发起，否则完成 Future
+     *
+     * <p>重试复用同一个 Future，因此请求事件只在最终完成时上报一次；退避期间被取消的请求不再重试。</p>
+     */
+    private void finish(PendingCall call, String body, Throwable error) {
+        if (error != null && call.retry != null && !call.future.isDone()) {
+            long backoff = client.nextRetryBackoff(call.retry, error);
+            if (backoff >= 0) {
+                CompletableFuture.delayedExecutor(backoff, TimeUnit.NANOSECONDS).execute(() -> {
+                    if (!call.future.isDone()) {
+                        attempt(call);
+                    }
+                });
+                return;
+            }
+        }
+        complete(call.future, body, error);
+    }
+
+    /**
+     * 释放许可并尝试发出下一个排队请求
+     */
+    private void release() {
+        permits.release();
+        drain();
+    }
+
+    /**
+     * 在回调线程池（如有）上完成 Future
+     */
+    private void complete(CompletableFuture<String> future, String body, Throwable error) {
+        Runnable completion = () -> {
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(body);
+            }
+        };
+        if (callbackExecutor == null) {
+            completion.run();
+            return;
+        }
+        try {
+            callbackExecutor.execute(completion);
+        } catch (RuntimeException e) {
+            // 回调线程池拒绝时退回到当前线程完成，避免调用方永远等待
+            completion.run();
+        }
+    }
+
+    /**
+     * 排队中的请求
+     */
+    private static final class PendingCall {
+
+        private final Request request;
+
+        private final CompletableFuture<String> future = new CompletableFuture<>();
+
+        /**
+         * 重试状态，未开启重试或该类请求不重试时为 null
+         */
+        private final ApolloClient.RetryState retry;
+
+        /**
+         * 收到响应时的 HTTP 状态码，在完成 future 之前写入
+         */
+        private int statusCode;
+
+        private PendingCall(Request request, ApolloClient.RetryState retry) {
+            this.request = request;
+            this.retry = retry;
+        }
+    }
+}
@@ -1,10 +1,31 @@
 package com.bluesky.apollo.core;
 
 import com.bluesky.apollo.exception.ApolloHttpException;
+import com.bluesky.apollo.exception.CircuitBreakerOpenException;
+import com.bluesky.apollo.exception.RateLimitExceededException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Apollo 客户端，封装 Apollo Portal OpenAPI 的基础调用
@@ -17,7 +38,14 @@ import java.io.IOException;
  *   <li>自动处理 Authorization 头部认证</li>
  *   <li>统一的请求/响应处理</li>
  *   <li>异常处理和错误码封装</li>
- *   <li>JSON 格式的请求体和响应体处理</li>
+ *   <li>JSON 格式的请求体和响应体处理，可选由 Jackson 直接读写 HTTP 流，不经过中间的 String</li>
+ *   <li>可选的重试策略（{@link RetryPolicy}）：指数退避加抖动、按请求类别判断是否可重试、重试预算</li>
+ *   <li>可选的熔断器（{@link CircuitBreaker}）：Portal 故障时快速失败</li>
+ *   <li>可选的限流器（{@link RateLimiter}）：读、配置项写、发布分别限速，避免触发 Portal 和令牌配额</li>
+ *   <li>可选的对冲读（{@link HedgePolicy}）：读请求超过触发时长未答复时再发一次，取先答复的一方，削减尾延迟</li>
+ *   <li>请求统计（{@link ApolloClientStats}）和请求监听器（{@link ApolloRequestListener}），用于对接监控系统</li>
+ *   <li>HTTP 分阶段耗时（{@link HttpPhaseTimings}）：DNS、建连、TLS、首字节、响应体，以及慢调用日志</li>
+ *   <li>可配置的传输层（{@link HttpTransportConfig}）：超时、连接池、调度器、HTTP/2，可共享外部 OkHttp 客户端</li>
  * </ul>
  *
  * <p>使用示例：</p>
@@ -31,6 +59,7 @@ import java.io.IOException;
  * @version 1.0
  */
 @Data
+@Slf4j
 public class ApolloClient {
 
     /**
@@ -50,6 +79,118 @@ public class ApolloClient {
      */
     private final String token;
 
+    /**
+     * JSON 请求体的媒体类型
+     */
+    static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    /**
+     * 每个请求都携带的公共请求头（认证、内容类型和接受类型），构造时计算一次
+     */
+    @Getter(AccessLevel.NONE)
+    private final Headers defaultHeaders;
+
+    /**
+     * 重试策略，为 null 时不重试
+     */
+    @Setter(AccessLevel.NONE)
+    private volatile RetryPolicy retryPolicy;
+
+    /**
+     * 重试预算，随重试策略一起创建
+     */
+    @Setter(AccessLevel.NONE)
+    private volatile RequestBudget retryBudget;
+
+    /**
+     * 对冲读策略，为 null 时不对冲
+     */
+    @Setter(AccessLevel.NONE)
+    private volatile HedgePolicy hedgePolicy;
+
+    /**
+     * 对冲预算，随对冲读策略一起创建
+     */
+    @Setter(AccessLevel.NONE)
+    private volatile RequestBudget hedgeBudget;
+
+    /**
+     * 读请求的耗时（从发出到得到答复），用于按百分位计算对冲触发时长
+     */
+    @Setter(AccessLevel.NONE)
+    private final LatencyHistogram readLatency = new LatencyHistogram();
+
+    /**
+     * 触发对冲请求的定时线程，首次开启对冲时创建
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile ScheduledThreadPoolExecutor hedgeScheduler;
+
+    /**
+     * 已发出的对冲请求数
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final LongAdder hedges = new LongAdder();
+
+    /**
+     * 对冲请求先于第一次请求答复的次数
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final LongAdder hedgeWins = new LongAdder();
+
+    /**
+     * 熔断器，为 null 时不熔断
+     */
+    @Setter(AccessLevel.NONE)
+    private volatile CircuitBreaker circuitBreaker;
+
+    /**
+     * 按请求类别（下标为 {@link RequestKind#ordinal()}）配置的限流器，元素为 null 时该类别不限流
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final AtomicReferenceArray<RateLimiter> rateLimiters = new AtomicReferenceArray<>(RequestKind.values().length);
+
+    /**
+     * 等待限流许可的最长时间，为 null 时一直等待；超时时请求以 {@link RateLimitExceededException} 失败
+     */
+    private volatile Duration rateLimitMaxWait;
+
+    /**
+     * HTTP 分阶段耗时统计；使用外部提供的 OkHttpClient 时为 null
+     */
+    private final HttpPhaseTimings phaseTimings;
+
+    /**
+     * 内置的请求统计
+     */
+    @Setter(AccessLevel.NONE)
+    private final ApolloClientStats stats = new ApolloClientStats();
+
+    /**
+     * 请求监听器
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final List<ApolloRequestListener> requestListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 重试次数
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final LongAdder retries = new LongAdder();
+
+    /**
+     * 达到次数或耗时上限、或预算不足而放弃重试的次数
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final LongAdder retriesExhausted = new LongAdder();
+
     /**
      * 构造函数，创建 Apollo 客户端实例
      *
@@ -57,9 +198,178 @@ public class ApolloClient {
      * @param token API 访问令牌，可以为空（但会影响需要认证的 API 调用）
      */
     public ApolloClient(String portalUrl, String token) {
-        this.client = new OkHttpClient();
+        this(portalUrl, token, HttpTransportConfig.defaults());
+    }
+
+    /**
+     * 构造函数，按传输层配置创建 Apollo 客户端实例
+     *
+     * <p>内部 OkHttp 客户端按 {@link HttpTransportConfig} 设置超时、连接池、调度器和协议，
+     * 并挂载分阶段耗时统计。</p>
+     *
+     * @param portalUrl Apollo Portal 的基础 URL，不能为空
+     * @param token API 访问令牌，可以为空（但会影响需要认证的 API 调用）
+     * @param transport 传输层配置，不能为 null
+     */
+    public ApolloClient(String portalUrl, String token, HttpTransportConfig transport) {
+        this(new HttpPhaseTimings(), portalUrl, token, transport);
+    }
+
+    /**
+     * 构造函数，创建挂载了分阶段耗时统计的 OkHttp 客户端
+     */
+    private ApolloClient(HttpPhaseTimings phaseTimings, String portalUrl, String token,
+                         HttpTransportConfig transport) {
+        this.client = transport.newClientBuilder()
+                .eventListenerFactory(phaseTimings.eventListenerFactory())
+                .build();
         this.portalUrl = portalUrl;
         this.token = token;
+        this.defaultHeaders = defaultHeaders(token);
+        this.phaseTimings = phaseTimings;
+    }
+
+    /**
+     * 构造函数，使用外部提供的 OkHttp 客户端创建 Apollo 客户端实例
+     *
+     * <p>外部客户端不会被挂载分阶段耗时统计，{@link #getPhaseTimings()} 返回 null。</p>
+     *
+     * @param client OkHttp 客户端实例，不能为 null
+     * @param portalUrl Apollo Portal 的基础 URL，不能为空
+     * @param token API 访问令牌，可以为空（但会影响需要认证的 API 调用）
+     */
+    public ApolloClient(OkHttpClient client, String portalUrl, String token) {
+        this.client = client;
+        this.portalUrl = portalUrl;
+        this.token = token;
+        this.defaultHeaders = defaultHeaders(token);
+        this.phaseTimings = null;
+    }
+
+    /**
+     * 设置重试策略
+     *
+     * <p>同时作用于同步调用和 {@link ApolloAsyncClient} 的异步调用：异步调用在退避时长之后重新排队，
+     * 退避期间不占用线程和在途名额。每次设置都会按新策略重新创建重试预算。</p>
+     *
+     * @param retryPolicy 重试策略，为 null 时关闭重试
+     */
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryBudget = retryPolicy == null ? null
+                : new RequestBudget(retryPolicy.getBudgetRatio(), Math.max(1, retryPolicy.getBudgetBurst()));
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * 设置对冲读策略
+     *
+     * <p>只作用于读请求（GET）。每次设置都会按新策略重新创建对冲预算。对冲请求同样需要读限流许可，
+     * 拿不到许可时不发出，不会等待。</p>
+     *
+     * @param hedgePolicy 对冲读策略，为 null 时关闭对冲
+     */
+    public void setHedgePolicy(HedgePolicy hedgePolicy) {
+        if (hedgePolicy != null && hedgeScheduler == null) {
+            synchronized (this) {
+                if (hedgeScheduler == null) {
+                    ScheduledThreadPoolExecutor scheduler =
+                            new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("apollo-sdk-hedge"));
+                    scheduler.setRemoveOnCancelPolicy(true);
+                    hedgeScheduler = scheduler;
+                }
+            }
+        }
+        this.hedgeBudget = hedgePolicy == null ? null
+                : new RequestBudget(hedgePolicy.getBudgetRatio(), Math.max(1, hedgePolicy.getBudgetBurst()));
+        this.hedgePolicy = hedgePolicy;
+    }
+
+    /**
+     * 获取已发出的对冲请求数
+     *
+     * @return 对冲请求数
+     */
+    public long getHedgeCount() {
+        return hedges.sum();
+    }
+
+    /**
+     * 获取对冲请求胜出的次数
+     *
+     * @return 对冲请求先于第一次请求答复的次数
+     */
+    public long getHedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    /**
+     * 按配置开启熔断器，熔断器以 Portal 地址命名
+     *
+     * @param config 熔断器配置，为 null 时关闭熔断
+     * @return 新创建的熔断器，关闭时返回 null
+     */
+    public CircuitBreaker enableCircuitBreaker(CircuitBreakerConfig config) {
+        CircuitBreaker breaker = config == null ? null : new CircuitBreaker(portalUrl, config);
+        this.circuitBreaker = breaker;
+        return breaker;
+    }
+
+    /**
+     * 设置某一类请求的限流器
+     *
+     * <p>重试发出的请求同样需要获取许可。</p>
+     *
+     * @param kind 请求类别
+     * @param rateLimiter 限流器，为 null 时该类别不限流
+     */
+    public void setRateLimiter(RequestKind kind, RateLimiter rateLimiter) {
+        rateLimiters.set(kind.ordinal(), rateLimiter);
+    }
+
+    /**
+     * 获取某一类请求的限流器
+     *
+     * @param kind 请求类别
+     * @return 限流器，未配置时返回 null
+     */
+    public RateLimiter getRateLimiter(RequestKind kind) {
+        return rateLimiters.get(kind.ordinal());
+    }
+
+    /**
+     * 添加请求监听器
+     *
+     * @param listener 请求监听器
+     */
+    public void addRequestListener(ApolloRequestListener listener) {
+        requestListeners.add(listener);
+    }
+
+    /**
+     * 移除请求监听器
+     *
+     * @param listener 请求监听器
+     */
+    public void removeRequestListener(ApolloRequestListener listener) {
+        requestListeners.remove(listener);
+    }
+
+    /**
+     * 获取重试次数
+     *
+     * @return 已发出的重试请求数
+     */
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    /**
+     * 获取放弃重试的次数
+     *
+     * @return 因达到次数或耗时上限、或预算不足而放弃重试的次数
+     */
+    public long getRetryExhaustedCount() {
+        return retriesExhausted.sum();
     }
 
     /**
@@ -75,28 +385,63 @@ public class ApolloClient {
      * @param path API 路径，例如 "/openapi/v1/apps"
      * @return 配置好基础信息的请求构建器
      */
-    private Request.Builder baseBuilder(String path) {
-        // 处理 URL 拼接，避免双斜杠问题
-        String url = portalUrl.endsWith("/") && path.startsWith("/")
+    Request.Builder baseBuilder(String path) {
+        return new Request.Builder().url(join(path)).headers(defaultHeaders);
+    }
+
+    /**
+     * 以预先解析好的 URL 创建基础请求构建器，不再拼接和解析 URL
+     *
+     * @param url 完整的请求 URL，通常来自 {@link #resolve(String)}
+     * @return 配置好基础信息的请求构建器
+     */
+    Request.Builder baseBuilder(HttpUrl url) {
+        return new Request.Builder().url(url).headers(defaultHeaders);
+    }
+
+    /**
+     * 把 API 路径解析为完整的请求 URL
+     *
+     * <p>解析结果可以缓存下来，配合 {@link #get(HttpUrl)} 等重载方法重复使用，
+     * 省去每次请求的 URL 拼接和解析。</p>
+     *
+     * @param path 已编码的 API 路径，例如 "/openapi/v1/apps"
+     * @return 完整的请求 URL
+     * @throws IllegalArgumentException 拼接后不是合法的 HTTP URL
+     */
+    public HttpUrl resolve(String path) {
+        return HttpUrl.get(join(path));
+    }
+
+    /**
+     * 拼接 Portal 地址和 API 路径，避免双斜杠问题
+     */
+    private String join(String path) {
+        return portalUrl.endsWith("/") && path.startsWith("/")
             ? portalUrl + path.substring(1)
             : portalUrl + path;
+    }
 
-        Request.Builder builder = new Request.Builder().url(url);
+    /**
+     * 计算公共请求头
+     */
+    private static Headers defaultHeaders(String token) {
+        Headers.Builder headers = new Headers.Builder();
 
         // 设置认证头部
         if (token != null && !token.isBlank()) {
             if (token.toLowerCase().startsWith("bearer ")) {
-                builder.header("Authorization", token);
+                headers.set("Authorization", token);
             } else {
-                builder.header("Authorization", "Bearer " + token);
+                headers.set("Authorization", "Bearer " + token);
             }
         }
 
         // 设置内容类型和接受类型
-        builder.header("Content-Type", "application/json");
-        builder.header("Accept", "application/json");
+        headers.set("Content-Type", "application/json");
+        headers.set("Accept", "application/json");
 
-        return builder;
+        return headers.build();
     }
 
     /**
@@ -109,15 +454,10 @@ public class ApolloClient {
      * @throws ApolloHttpException HTTP 状态码异常（非 2xx）
      */
     public String post(String path, String jsonBody) throws IOException {
-        RequestBody body = RequestBody.create(
-            jsonBody == null ? "" : jsonBody,
-            MediaType.get("application/json; charset=utf-8")
-        );
+        RequestBody body = jsonBody(jsonBody);
         Request request = baseBuilder(path).post(body).build();
 
-        try (Response response = client.newCall(request).execute()) {
-            return unwrapResponse(response);
-        }
+        return execute(request);
     }
 
     /**
@@ -131,9 +471,43 @@ public class ApolloClient {
     public String get(String path) throws IOException {
         Request request = baseBuilder(path).get().build();
 
-        try (Response response = client.newCall(request).execute()) {
-            return unwrapResponse(response);
+        return execute(request);
+    }
+
+    /**
+     * 以流的方式执行 GET 请求
+     *
+     * <p>与 {@link #get(String)} 不同，该方法不会把响应体读入内存，而是直接返回底层响应流，
+     * 适用于响应体很大、需要边读边解析的场景。调用方必须关闭返回的流，关闭时会一并释放 HTTP 连接。
+     * 监听器记录的耗时到收到响应头为止，不包含读取响应体的时间。</p>
+     *
+     * @param path API 路径
+     * @return 响应体输入流
+     * @throws IOException 网络请求异常
+     * @throws ApolloHttpException HTTP 状态码异常（非 2xx）
+     */
+    public InputStream openStream(String path) throws IOException {
+        Request request = baseBuilder(path).get().build();
+        ApolloRequestEvent event = requestStarted(request);
+        Response response;
+        try {
+            response = call(request);
+        } catch (IOException | RuntimeException e) {
+            requestCompleted(event, statusOf(e), e);
+            throw e;
         }
+        requestCompleted(event, response.code(), null);
+
+        return new FilterInputStream(response.body().byteStream()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    response.close();
+                }
+            }
+        };
     }
 
     /**
@@ -146,15 +520,10 @@ public class ApolloClient {
      * @throws ApolloHttpException HTTP 状态码异常（非 2xx）
      */
     public String put(String path, String jsonBody) throws IOException {
-        RequestBody body = RequestBody.create(
-            jsonBody == null ? "" : jsonBody,
-            MediaType.get("application/json; charset=utf-8")
-        );
+        RequestBody body = jsonBody(jsonBody);
         Request request = baseBuilder(path).put(body).build();
 
-        try (Response response = client.newCall(request).execute()) {
-            return unwrapResponse(response);
-        }
+        return execute(request);
     }
 
     /**
@@ -168,11 +537,464 @@ public class ApolloClient {
     public String delete(String path) throws IOException {
         Request request = baseBuilder(path).delete().build();
 
-        try (Response response = client.newCall(request).execute()) {
-            return unwrapResponse(response);
+        return execute(request);
+    }
+
+    /**
+     * 以预先解析好的 URL 执行 GET 请求
+     *
+     * @param url 完整的请求 URL
+     * @return 响应体内容
+     * @throws IOException 网络请求异常
+     * @throws ApolloHttpException HTTP 状态码异常（非 2xx）
+     */
+    public String get(HttpUrl url) throws IOException {
+        return execute(baseBuilder(url).get().build());
+    }
+
+    /**
+     * 以预先解析好的 URL 和已构建的请求体执行 POST 请求
+     *
+     * @param url 完整的请求 URL
+     * @param body 请求体
+     * @return 响应体内容
+     * @throws IOException 网络请求异常
+     * @throws ApolloHttpException HTTP 状态码异常（非 2xx）
+     */
+    public String post(HttpUrl url, RequestBody body) throws IOException {
+        return execute(baseBuilder(url).post(body).build());
+    }
+
+    /**
+     * 以预先解析好的 URL 和已构建的请求体执行 PUT 请求
+     *
+     * @param url 完整的请求 URL
+     * @param body 请求体
+     * @return 响应体内容
+     * @throws IOException 网络请求异常
+     * @throws ApolloHttpException HTTP 状态码异常（非 2xx）
+     */
+    public String put(HttpUrl url, RequestBody body) throws IOException {
+        return execute(baseBuilder(url).put(body).build());
+    }
+
+    /**
+     * 执行 GET 请求，响应体以字节流直接交给 Jackson 解析，不经过中间的 String
+     *
+     * @param path API 路径
+     * @param reader 响应体的 reader
+     * @param <T> 响应类型
+     * @return 解析后的响应
+     * @throws IOException 网络请求或解析异常
+     * @throws ApolloHttpException HTTP 状态码异常（非 2xx）
+     */
+    public <T> T get(String path, ObjectReader reader) throws IOException {
+        return execute(baseBuilder(path).get().build(), reader);
+    }
+
+    /**
+     * 以预先解析好的 URL 执行 GET 请求，响应体以字节流直接交给 Jackson 解析
+     *
+     * @param url 完整的请求 URL
+     * @param reader 响应体的 reader
+     * @param <T> 响应类型
+     * @return 解析后的响应
+     * @throws IOException 网络请求或解析异常
+     * @throws ApolloHttpException HTTP 状态码异常（非 2xx）
+     */
+    public <T> T get(HttpUrl url, ObjectReader reader) throws IOException {
+        return execute(baseBuilder(url).get().build(), reader);
+    }
+
+    /**
+     * 以预先解析好的 URL 执行 POST 请求，响应体以字节流直接交给 Jackson 解析
+     *
+     * @param url 完整的请求 URL
+     * @param body 请求体，通常来自 {@link #jsonBody(ObjectWriter, Object)}
+     * @param reader 响应体的 reader，为 null 时丢弃响应体并返回 null
+     * @param <T> 响应类型
+     * @return 解析后的响应
+     * @throws IOException 网络请求或解析异常
+     * @throws ApolloHttpException HTTP 状态码异常（非 2xx）
+     */
+    public <T> T post(HttpUrl url, RequestBody body, ObjectReader reader) throws IOException {
+        return execute(baseBuilder(url).post(body).build(), reader);
+    }
+
+    /**
+     * 以预先解析好的 URL 执行 PUT 请求，响应体以字节流直接交给 Jackson 解析
+     *
+     * @param url 完整的请求 URL
+     * @param body 请求体，通常来自 {@link #jsonBody(ObjectWriter, Object)}
+     * @param reader 响应体的 reader，为 null 时丢弃响应体并返回 null
+     * @param <T> 响应类型
+     * @return 解析后的响应
+     * @throws IOException 网络请求或解析异常
+     * @throws ApolloHttpException HTTP 状态码异常（非 2xx）
+     */
+    public <T> T put(HttpUrl url, RequestBody body, ObjectReader reader) throws IOException {
+        return execute(baseBuilder(url).put(body).build(), reader);
+    }
+
+    /**
+     * 以预先解析好的 URL 执行 DELETE 请求
+     *
+     * @param url 完整的请求 URL
+     * @return 响应体内容
+     * @throws IOException 网络请求异常
+     * @throws ApolloHttpException HTTP 状态码异常（非 2xx）
+     */
+    public String delete(HttpUrl url) throws IOException {
+        return execute(baseBuilder(url).delete().build());
+    }
+
+    /**
+     * 执行请求并读取响应体，同时通知请求监听器
+     */
+    private String execute(Request request) throws IOException {
+        ApolloRequestEvent event = requestStarted(request);
+        try (Response response = call(request)) {
+            String body = unwrapResponse(response);
+            requestCompleted(event, response.code(), null);
+            return body;
+        } catch (IOException | RuntimeException e) {
+            requestCompleted(event, statusOf(e), e);
+            throw e;
+        }
+    }
+
+    /**
+     * 执行请求并用 reader 直接从响应流解析响应体，同时通知请求监听器
+     */
+    private <T> T execute(Request request, ObjectReader reader) throws IOException {
+        ApolloRequestEvent event = requestStarted(request);
+        try (Response response = call(request)) {
+            T value = readResponse(response, reader);
+            requestCompleted(event, response.code(), null);
+            return value;
+        } catch (IOException | RuntimeException e) {
+            requestCompleted(event, statusOf(e), e);
+            throw e;
+        }
+    }
+
+    /**
+     * 请求开始，通知统计和监听器
+     *
+     * @param request HTTP 请求
+     * @return 请求事件，请求结束时传给 {@link #requestCompleted}
+     */
+    ApolloRequestEvent requestStarted(Request request) {
+        ApolloRequestEvent event = ApolloRequestEvent.of(request);
+        stats.onStart(event);
+        for (ApolloRequestListener listener : requestListeners) {
+            try {
+                listener.onStart(event);
+            } catch (RuntimeException e) {
+                log.warn("Request listener failed on start: {}", e.getMessage());
+            }
+        }
+        return event;
+    }
+
+    /**
+     * 请求结束，通知统计和监听器
+     *
+     * @param event 请求开始时创建的事件
+     * @param statusCode HTTP 状态码，未拿到响应时为 0
+     * @param error 失败时的异常，成功时为 null
+     */
+    void requestCompleted(ApolloRequestEvent event, int statusCode, Throwable error) {
+        long durationNanos = System.nanoTime() - event.getStartNanos();
+        stats.onComplete(event, statusCode, durationNanos, error);
+        for (ApolloRequestListener listener : requestListeners) {
+            try {
+                listener.onComplete(event, statusCode, durationNanos, error);
+            } catch (RuntimeException e) {
+                log.warn("Request listener failed on complete: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 从异常中取出 HTTP 状态码
+     *
+     * @param error 请求异常
+     * @return {@link ApolloHttpException} 的状态码，其他异常返回 0
+     */
+    static int statusOf(Throwable error) {
+        return error instanceof ApolloHttpException ? ((ApolloHttpException) error).getStatusCode() : 0;
+    }
+
+    /**
+     * 执行请求（按重试策略重试），返回 2xx 响应
+     *
+     * <p>所有同步调用都经过该方法。返回的响应由调用方负责关闭；非 2xx 响应会被读取并关闭，
+     * 然后以 {@link ApolloHttpException} 抛出。熔断器打开时不会重试。</p>
+     *
+     * @param request HTTP 请求
+     * @return 2xx 响应
+     * @throws IOException 网络请求异常
+     * @throws ApolloHttpException HTTP 状态码异常（非 2xx）
+     * @throws CircuitBreakerOpenException 熔断器打开时抛出
+     * @throws RateLimitExceededException 最长等待时间内拿不到限流许可时抛出
+     */
+    Response call(Request request) throws IOException {
+        RetryState retry = startRetries(request);
+        if (retry == null) {
+            return callOnce(request);
+        }
+
+        while (true) {
+            try {
+                return callOnce(request);
+            } catch (ApolloHttpException e) {
+                awaitRetry(nextRetryBackoff(retry, e), e);
+            } catch (IOException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw e;
+                }
+                awaitRetry(nextRetryBackoff(retry, e), e);
+            }
+        }
+    }
+
+    /**
+     * 开始一次请求的重试计数，同步和异步调用共用
+     *
+     * @param request HTTP 请求
+     * @return 重试状态；未开启重试或该类请求不重试时返回 null
+     */
+    RetryState startRetries(Request request) {
+        RetryPolicy policy = retryPolicy;
+        RequestBudget budget = retryBudget;
+        if (policy == null || budget == null || !policy.appliesTo(RequestKind.of(request))) {
+            return null;
+        }
+        budget.onRequest();
+        return new RetryState(policy, budget, System.nanoTime() + policy.getMaxElapsed().toNanos());
+    }
+
+    /**
+     * 一次失败之后判断能否重试：可重试的 HTTP 状态码和网络异常才重试，并受次数、总耗时和重试预算限制
+     *
+     * @param retry 重试状态
+     * @param failure 本次失败
+     * @return 重试前的退避时长（纳秒）；不能重试时返回 -1
+     */
+    long nextRetryBackoff(RetryState retry, Throwable failure) {
+        boolean retryable = failure instanceof ApolloHttpException
+                ? retry.policy.isRetryableStatus(((ApolloHttpException) failure).getStatusCode())
+                : failure instanceof IOException;
+        if (!retryable) {
+            return -1;
+        }
+        int attempt = ++retry.failures;
+        long backoff = retry.policy.backoffNanos(attempt);
+        if (attempt >= retry.policy.getMaxAttempts() || System.nanoTime() + backoff >= retry.deadline
+                || !retry.budget.tryAcquire()) {
+            retriesExhausted.increment();
+            return -1;
+        }
+        retries.increment();
+        return backoff;
+    }
+
+    /**
+     * 等待退避时长；不能重试（退避时长为负）时重新抛出本次失败
+     */
+    private <E extends Exception> void awaitRetry(long backoff, E failure) throws E, InterruptedIOException {
+        if (backoff < 0) {
+            throw failure;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(backoff);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException interrupted = new InterruptedIOException("Interrupted while waiting to retry");
+            interrupted.addSuppressed(failure);
+            throw interrupted;
+        }
+    }
+
+    /**
+     * 执行一次请求，非 2xx 时读取响应体并抛出 {@link ApolloHttpException}
+     */
+    private Response callOnce(Request request) throws IOException {
+        awaitRateLimit(request);
+
+        CircuitBreaker breaker = circuitBreaker;
+        if (breaker != null) {
+            breaker.acquirePermission();
+        }
+
+        long start = System.nanoTime();
+        Throwable error = null;
+        try {
+            Response response = send(request);
+            if (!response.isSuccessful()) {
+                try (response) {
+                    String body = response.body() != null ? response.body().string() : "";
+                    throw new ApolloHttpException(response.code(), body);
+                }
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            if (breaker != null) {
+                breaker.onResult(System.nanoTime() - start, error);
+            }
+        }
+    }
+
+    /**
+     * 发出一次 HTTP 调用；开启对冲时，读请求以可对冲的方式发出
+     */
+    private Response send(Request request) throws IOException {
+        HedgePolicy policy = hedgePolicy;
+        RequestBudget budget = hedgeBudget;
+        ScheduledThreadPoolExecutor scheduler = hedgeScheduler;
+        if (policy == null || budget == null || scheduler == null || RequestKind.of(request) != RequestKind.READ) {
+            return client.newCall(request).execute();
+        }
+
+        budget.onRequest();
+        HedgedCall call = new HedgedCall(client, request);
+        long start = System.nanoTime();
+        ScheduledFuture<?> trigger = scheduler.schedule(() -> startHedge(call, budget),
+                policy.triggerNanos(readLatency), TimeUnit.NANOSECONDS);
+        try {
+            Response response = call.execute();
+            // 对冲胜出时记录的是第一次请求耗时的下界，避免对冲本身把百分位越拉越低
+            readLatency.record(System.nanoTime() - start);
+            if (call.isHedgeWon()) {
+                hedgeWins.increment();
+            }
+            return response;
+        } finally {
+            trigger.cancel(false);
+        }
+    }
+
+    /**
+     * 触发时长到达，在预算和读限流许可允许时发出对冲请求
+     */
+    private void startHedge(HedgedCall call, RequestBudget budget) {
+        if (!call.isAwaitingPrimary()) {
+            return;
+        }
+        // 先检查读限流，被限流时不消耗对冲预算
+        RateLimiter limiter = rateLimiters.get(RequestKind.READ.ordinal());
+        if (limiter != null && !limiter.tryAcquire()) {
+            return;
+        }
+        if (!budget.tryAcquire()) {
+            return;
+        }
+        if (call.startHedge()) {
+            hedges.increment();
+        }
+    }
+
+    /**
+     * 阻塞等待该类请求的限流许可
+     */
+    private void awaitRateLimit(Request request) throws InterruptedIOException {
+        RequestKind kind = RequestKind.of(request);
+        RateLimiter limiter = rateLimiters.get(kind.ordinal());
+        if (limiter == null) {
+            return;
+        }
+        Duration maxWait = rateLimitMaxWait;
+        try {
+            if (maxWait == null) {
+                limiter.acquire();
+            } else if (!limiter.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new RateLimitExceededException(kind, maxWait.toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for rate limit permit");
         }
     }
 
+    /**
+     * 异步等待该类请求的限流许可，供 {@link ApolloAsyncClient} 使用
+     *
+     * @param request HTTP 请求
+     * @return 获得许可时完成的 Future；该类请求不限流时返回 null
+     */
+    CompletableFuture<Void> acquireRateLimitAsync(Request request) {
+        RequestKind kind = RequestKind.of(request);
+        RateLimiter limiter = rateLimiters.get(kind.ordinal());
+        if (limiter == null) {
+            return null;
+        }
+        Duration maxWait = rateLimitMaxWait;
+        if (maxWait == null) {
+            return limiter.acquireAsync();
+        }
+        return limiter.tryAcquireAsync(maxWait.toNanos(), TimeUnit.NANOSECONDS).thenApply(acquired -> {
+            if (!acquired) {
+                throw new CompletionException(new RateLimitExceededException(kind, maxWait.toMillis()));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 将 JSON 字符串包装为请求体
+     *
+     * @param jsonBody JSON 格式的请求体，可以为 null
+     * @return 请求体
+     */
+    static RequestBody jsonBody(String jsonBody) {
+        return RequestBody.create(jsonBody == null ? "" : jsonBody, JSON);
+    }
+
+    /**
+     * 以 Jackson 直接写入请求流的方式构建 JSON 请求体
+     *
+     * <p>与 {@link #jsonBody(String)} 相比，不产生中间的 String 和字节数组。</p>
+     *
+     * @param writer 序列化使用的 writer，建议预先构建并复用
+     * @param value 要序列化的对象
+     * @return 请求体
+     */
+    public static RequestBody jsonBody(ObjectWriter writer, Object value) {
+        return new JacksonRequestBody(writer, value);
+    }
+
+    /**
+     * 检查 HTTP 状态码，并用 reader 直接从响应流解析响应体
+     *
+     * <p>非 2xx 时把响应体读为字符串放入 {@link ApolloHttpException}，与 {@link #unwrapResponse} 一致。</p>
+     *
+     * @param response HTTP 响应对象
+     * @param reader 响应体的 reader，为 null 时不解析响应体并返回 null
+     * @param <T> 响应类型
+     * @return 解析后的响应
+     * @throws IOException 读取或解析响应体异常
+     * @throws ApolloHttpException HTTP 状态码异常（非 2xx）
+     */
+    <T> T readResponse(Response response, ObjectReader reader) throws IOException {
+        if (response == null) {
+            throw new ApolloHttpException(-1, "No response from server");
+        }
+
+        int code = response.code();
+        ResponseBody body = response.body();
+        if (code < 200 || code >= 300) {
+            throw new ApolloHttpException(code, body != null ? body.string() : "");
+        }
+        if (reader == null || body == null) {
+            return null;
+        }
+        return reader.readValue(body.byteStream());
+    }
+
     /**
      * 解析 HTTP 响应，处理状态码和响应体
      *
@@ -187,7 +1009,7 @@ public class ApolloClient {
      * @throws IOException 读取响应体异常
      * @throws ApolloHttpException HTTP 状态码异常（非 2xx）
      */
-    private String unwrapResponse(Response response) throws IOException {
+    String unwrapResponse(Response response) throws IOException {
         if (response == null) {
             throw new ApolloHttpException(-1, "No response from server");
         }
@@ -201,4 +1023,24 @@ public class ApolloClient {
             throw new ApolloHttpException(code, body);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 一次请求的重试状态：策略、预算、截止时间和已失败次数；同一时刻只有一次尝试在进行
+     */
+    static final class RetryState {
+
+        private final RetryPolicy policy;
+
+        private final RequestBudget budget;
+
+        private final long deadline;
+
+        private int failures;
+
+        private RetryState(RetryPolicy policy, RequestBudget budget, long deadline) {
+            this.policy = policy;
+            this.budget = budget;
+            this.deadline = deadline;
+        }
+    }
+}
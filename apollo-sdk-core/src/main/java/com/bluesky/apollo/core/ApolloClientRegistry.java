@@ -0,0 +1,202 @@
+package com.bluesky.apollo.core;
+
+import com.bluesky.apollo.exception.ApolloException;
+import okhttp3.OkHttpClient;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 多 Portal 客户端注册表
+ *
+ * <p>按名称管理连接不同 Portal（或同一 Portal 的不同令牌）的 {@link ApolloClient} 和
+ * {@link ApolloConfigServiceCore}。所有客户端都从同一个共享的 OkHttp 客户端派生
+ * （{@link OkHttpClient#newBuilder()}），共用一个连接池和调度器，
+ * 避免每个客户端各自创建连接池和调度线程；超时和协议仍可以按 Portal 单独配置。</p>
+ *
+ * <p>注册表负责关闭它创建的配置服务（{@link ApolloConfigServiceCore#close()}），
+ * 其中可能有定制逻辑开启的写入通道、发布组提交等后台线程；共享的 OkHttp 客户端由调用方管理。</p>
+ *
+ * <p>使用示例：</p>
+ * <pre>{@code
+ * ApolloClientRegistry registry = new ApolloClientRegistry(new OkHttpClient());
+ * registry.register("main", "http://portal-a.example.com", "token-a", null);
+ * registry.register("overseas", "http://portal-b.example.com", "token-b", null);
+ *
+ * registry.getService("overseas").publishSingle("myApp", "PRO", "default", "application",
+ *                                               "timeout", "5000", "设置超时时间", "admin");
+ * }</pre>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public class ApolloClientRegistry implements AutoCloseable {
+
+    /**
+     * 共享的 OkHttp 客户端，提供连接池和调度器
+     */
+    private final OkHttpClient sharedClient;
+
+    /**
+     * 注册后对每个客户端执行的定制逻辑（重试、熔断、限流等），可以为 null
+     */
+    private final Consumer<ApolloClient> clientCustomizer;
+
+    /**
+     * 注册后对每个配置服务执行的定制逻辑（批量并发、缓存等），可以为 null
+     */
+    private final Consumer<ApolloConfigServiceCore> serviceCustomizer;
+
+    /**
+     * 已注册的 Portal，按名称索引
+     */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     *
+     * @param sharedClient 共享的 OkHttp 客户端，不能为 null
+     */
+    public ApolloClientRegistry(OkHttpClient sharedClient) {
+        this(sharedClient, null, null);
+    }
+
+    /**
+     * 构造函数，指定注册时的定制逻辑
+     *
+     * @param sharedClient 共享的 OkHttp 客户端，不能为 null
+     * @param clientCustomizer 对每个新客户端执行的定制逻辑，可以为 null
+     * @param serviceCustomizer 对每个新配置服务执行的定制逻辑，可以为 null
+     */
+    public ApolloClientRegistry(OkHttpClient sharedClient, Consumer<ApolloClient> clientCustomizer,
+                                Consumer<ApolloConfigServiceCore> serviceCustomizer) {
+        this.sharedClient = sharedClient;
+        this.clientCustomizer = clientCustomizer;
+        this.serviceCustomizer = serviceCustomizer;
+    }
+
+    /**
+     * 注册一个 Portal，创建对应的客户端和配置服务
+     *
+     * <p>使用传输层配置的副本，并把副本的 {@code sharedClient} 设置为注册表的共享客户端，
+     * 因此其中的连接池和调度器配置不生效，只有超时和协议按该 Portal 生效；传入的配置不会被修改。</p>
+     *
+     * @param name Portal 名称，不能重复
+     * @param portalUrl Apollo Portal 的基础 URL
+     * @param token API 访问令牌
+     * @param transport 传输层配置，为 null 时使用默认超时
+     * @return 新创建的配置服务
+     * @throws ApolloException 名称已被注册时抛出
+     */
+    public ApolloConfigServiceCore register(String name, String portalUrl, String token,
+                                            HttpTransportConfig transport) {
+        HttpTransportConfig config = transport == null ? HttpTransportConfig.defaults() : transport.copy();
+        config.setSharedClient(sharedClient);
+
+        ApolloClient client = new ApolloClient(portalUrl, token, config);
+        if (clientCustomizer != null) {
+            clientCustomizer.accept(client);
+        }
+        ApolloConfigServiceCore service = new ApolloConfigServiceCore(client);
+        if (serviceCustomizer != null) {
+            serviceCustomizer.accept(service);
+        }
+
+        if (entries.putIfAbsent(name, new Entry(client, service)) != null) {
+            // 定制逻辑可能已经启动了后台线程
+            service.close();
+            throw new ApolloException("Apollo portal already registered: " + name);
+        }
+        return service;
+    }
+
+    /**
+     * 获取命名的客户端
+     *
+     * @param name Portal 名称
+     * @return Apollo HTTP 客户端
+     * @throws ApolloException 名称未注册时抛出
+     */
+    public ApolloClient getClient(String name) {
+        return entry(name).client;
+    }
+
+    /**
+     * 获取命名的配置服务
+     *
+     * @param name Portal 名称
+     * @return 配置服务
+     * @throws ApolloException 名称未注册时抛出
+     */
+    public ApolloConfigServiceCore getService(String name) {
+        return entry(name).service;
+    }
+
+    /**
+     * 判断名称是否已注册
+     *
+     * @param name Portal 名称
+     * @return 已注册返回 true
+     */
+    public boolean contains(String name) {
+        return entries.containsKey(name);
+    }
+
+    /**
+     * 获取已注册的名称
+     *
+     * @return 名称集合（只读）
+     */
+    public Set<String> getNames() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    /**
+     * 获取共享的 OkHttp 客户端
+     *
+     * @return 共享的 OkHttp 客户端
+     */
+    public OkHttpClient getSharedClient() {
+        return sharedClient;
+    }
+
+    /**
+     * 关闭并移除所有已注册的配置服务，之后可以重新注册
+     */
+    @Override
+    public void close() {
+        for (String name : entries.keySet()) {
+            Entry entry = entries.remove(name);
+            if (entry != null) {
+                entry.service.close();
+            }
+        }
+    }
+
+    private Entry entry(String name) {
+        Entry entry = entries.get(name);
+        if (entry == null) {
+            throw new ApolloException("Unknown Apollo portal: " + name + ", registered: " + entries.keySet());
+        }
+        return entry;
+    }
+
+    /**
+     * 一个 Portal 对应的客户端和配置服务
+     */
+    private static final class Entry {
+
+        private final ApolloClient client;
+
+        private final ApolloConfigServiceCore service;
+
+        private Entry(ApolloClient client, ApolloConfigServiceCore service) {
+            this.client = client;
+            this.service = service;
+        }
+    }
+}
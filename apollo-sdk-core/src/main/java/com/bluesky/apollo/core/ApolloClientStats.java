@@ -0,0 +1,152 @@
+package com.bluesky.apollo.core;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Portal 请求统计
+ *
+ * <p>{@link ApolloClient} 内置的请求统计，始终开启。所有计数都基于 {@link LongAdder}，
+ * 多线程并发更新时没有锁，也不会在同一个缓存行上争用。按操作名（见 {@link ApolloRequestEvent}）分别统计。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public class ApolloClientStats implements ApolloRequestListener {
+
+    private final LongAdder inFlight = new LongAdder();
+
+    private final ConcurrentHashMap<String, OperationStats> operations = new ConcurrentHashMap<>();
+
+    @Override
+    public void onStart(ApolloRequestEvent event) {
+        inFlight.increment();
+    }
+
+    @Override
+    public void onComplete(ApolloRequestEvent event, int statusCode, long durationNanos, Throwable error) {
+        inFlight.decrement();
+        operations.computeIfAbsent(event.getOperation(), k -> new OperationStats())
+                .record(durationNanos, error != null);
+    }
+
+    /**
+     * 获取当前在途的请求数
+     *
+     * @return 在途请求数
+     */
+    public long getInFlight() {
+        return inFlight.sum();
+    }
+
+    /**
+     * 获取请求总数
+     *
+     * @return 已完成的请求数
+     */
+    public long getRequestCount() {
+        return operations.values().stream().mapToLong(OperationStats::getCount).sum();
+    }
+
+    /**
+     * 获取失败总数
+     *
+     * @return 失败的请求数
+     */
+    public long getFailureCount() {
+        return operations.values().stream().mapToLong(OperationStats::getFailureCount).sum();
+    }
+
+    /**
+     * 获取某个操作的统计
+     *
+     * @param operation 操作名
+     * @return 统计，尚无该操作的请求时返回 null
+     */
+    public OperationStats getOperation(String operation) {
+        return operations.get(operation);
+    }
+
+    /**
+     * 获取所有操作的统计
+     *
+     * @return 不可修改的 操作名 -> 统计 映射
+     */
+    public Map<String, OperationStats> getOperations() {
+        return Collections.unmodifiableMap(operations);
+    }
+
+    /**
+     * 单个操作的统计
+     */
+    public static final class OperationStats {
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder failures = new LongAdder();
+
+        private final LongAdder totalNanos = new LongAdder();
+
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+        private void record(long durationNanos, boolean failed) {
+            count.increment();
+            if (failed) {
+                failures.increment();
+            }
+            totalNanos.add(durationNanos);
+            maxNanos.accumulate(durationNanos);
+        }
+
+        /**
+         * 获取请求数
+         *
+         * @return 请求数
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * 获取失败数
+         *
+         * @return 失败数
+         */
+        public long getFailureCount() {
+            return failures.sum();
+        }
+
+        /**
+         * 获取累计耗时
+         *
+         * @return 累计耗时
+         */
+        public Duration getTotalTime() {
+            return Duration.ofNanos(totalNanos.sum());
+        }
+
+        /**
+         * 获取平均耗时
+         *
+         * @return 平均耗时，尚无请求时返回零
+         */
+        public Duration getMeanTime() {
+            long n = count.sum();
+            return n == 0 ? Duration.ZERO : Duration.ofNanos(totalNanos.sum() / n);
+        }
+
+        /**
+         * 获取最大耗时
+         *
+         * @return 最大耗时
+         */
+        public Duration getMaxTime() {
+            return Duration.ofNanos(maxNanos.get());
+        }
+    }
+}
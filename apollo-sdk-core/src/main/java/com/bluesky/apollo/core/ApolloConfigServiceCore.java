@@ -1,15 +1,49 @@
 package com.bluesky.apollo.core;
 
 import com.bluesky.apollo.exception.ApolloException;
+import com.bluesky.apollo.exception.ApolloHttpException;
+import com.bluesky.apollo.model.ApplyResult;
+import com.bluesky.apollo.model.BatchWriteResult;
+import com.bluesky.apollo.model.EnvPublishResult;
 import com.bluesky.apollo.model.ItemResponse;
+import com.bluesky.apollo.model.ItemSpec;
+import com.bluesky.apollo.model.MultiEnvPublishResult;
+import com.bluesky.apollo.model.NamespaceCoordinate;
+import com.bluesky.apollo.model.NamespaceDiff;
+import com.bluesky.apollo.model.OutboxEntry;
 import com.bluesky.apollo.model.PublishItemRequest;
 import com.bluesky.apollo.model.ReleaseRequest;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Apollo 配置服务核心类，提供对外的易用 API
@@ -19,7 +53,16 @@ import java.util.Map;
  *   <li>配置项的创建、更新、删除和查询</li>
  *   <li>命名空间的发布操作</li>
  *   <li>一键发布单个配置项（类似 Diamond 的 publishSingle）</li>
- *   <li>批量获取命名空间下的所有配置项</li>
+ *   <li>批量获取命名空间下的所有配置项，大命名空间可流式逐个解析</li>
+ *   <li>批量写入配置项（有界并发），并只发布一次</li>
+ *   <li>多环境扇出发布：同一个配置项并行发布到多个环境，返回各环境的结果和耗时</li>
+ *   <li>按期望状态同步命名空间：只写入有变化的配置项，没有变化时不发布</li>
+ *   <li>可选的发布组提交：同一命名空间短时间内的多次发布合并为一次 release</li>
+ *   <li>可选的读缓存：缓存 getItem 和 listNamespaceItems 的结果，本实例写入时自动失效</li>
+ *   <li>可选的写入发件箱（{@link WriteOutbox}）：写入先落本地日志，Portal 故障期间不丢失，恢复后按序重放</li>
+ *   <li>命名空间快照：一次加载整个命名空间，本地索引读取，后台定时刷新</li>
+ *   <li>命名空间句柄（{@link NamespaceHandle}）：预先编码路径、解析 URL、构建 JSON reader/writer，用于高频读写</li>
+ *   <li>以上常用操作的异步版本（{@code *Async}），基于 {@link ApolloAsyncClient}，不阻塞调用方线程</li>
  * </ul>
  *
  * <p>使用示例：</p>
@@ -41,6 +84,11 @@ import java.util.Map;
  */
 public class ApolloConfigServiceCore {
 
+    /**
+     * 默认的批量写入并发上限
+     */
+    public static final int DEFAULT_BATCH_CONCURRENCY = 8;
+
     /**
      * Apollo HTTP 客户端，用于与 Apollo Portal API 通信
      */
@@ -51,13 +99,80 @@ public class ApolloConfigServiceCore {
      */
     private final ObjectMapper mapper = new ObjectMapper();
 
+    /**
+     * Apollo 异步客户端，未显式指定时在首次调用异步方法时创建
+     */
+    private volatile ApolloAsyncClient asyncClient;
+
+    /**
+     * 批量写入时的并发上限
+     */
+    private volatile int batchConcurrency = DEFAULT_BATCH_CONCURRENCY;
+
+    /**
+     * 批量写入、多环境发布和命名空间同步共用的并行线程池，最多 {@link #batchConcurrency} 个线程，
+     * 首次使用时创建，空闲线程会自动回收，由 {@link #parallelLock} 保护
+     */
+    private ThreadPoolExecutor parallelExecutor;
+
+    /**
+     * 并行线程池的锁；不使用 this 锁，因为关闭写入通道、发件箱时会持有 this 锁等待仍在使用线程池的写操作
+     */
+    private final Object parallelLock = new Object();
+
+    /**
+     * 发布组提交器，为 null 时每次发布都直接调用 Portal
+     */
+    private volatile ReleaseGroupCommitter releaseCommitter;
+
+    /**
+     * 配置项读缓存，为 null 时不缓存
+     */
+    private volatile ItemCache itemCache;
+
+    /**
+     * 写入发件箱，为 null 时写入直接调用 Portal
+     */
+    private volatile WriteOutbox outbox;
+
+    /**
+     * 按命名空间分条的有序写入通道，为 null 时写操作在调用方线程上直接执行
+     */
+    private volatile WriteLanes writeLanes;
+
+    /**
+     * 已创建的命名空间句柄
+     */
+    private final Map<NamespaceCoordinate, NamespaceHandle> handles = new ConcurrentHashMap<>();
+
+    /**
+     * 并发相同读请求的合并
+     */
+    private final SingleFlight readFlights = new SingleFlight();
+
+    /**
+     * 是否合并并发的相同读请求，默认关闭
+     */
+    private volatile boolean readCoalescing;
+
     /**
      * 构造函数，创建 Apollo 配置服务实例
      *
      * @param client Apollo HTTP 客户端实例，不能为 null
      */
     public ApolloConfigServiceCore(ApolloClient client) {
+        this(client, null);
+    }
+
+    /**
+     * 构造函数，创建 Apollo 配置服务实例并指定异步客户端
+     *
+     * @param client Apollo HTTP 客户端实例，不能为 null
+     * @param asyncClient Apollo 异步客户端，为 null 时按默认配置创建
+     */
+    public ApolloConfigServiceCore(ApolloClient client, ApolloAsyncClient asyncClient) {
         this.client = client;
+        this.asyncClient = asyncClient;
     }
 
     /**
@@ -72,6 +187,9 @@ public class ApolloConfigServiceCore {
      * <p><strong>注意：</strong>此操作只是修改配置项，不会自动发布。
      * 需要调用 {@link #publishNamespace} 或 {@link #publishSingle} 来发布配置。</p>
      *
+     * <p>开启写入发件箱（{@link #enableOutbox}）后，该方法只把写入意图追加到本地日志，落盘后即返回。
+     * 开启有序写入通道（{@link #enableWriteLanes}）时，写入在命名空间所在的通道上按提交顺序执行，调用方等待其完成。</p>
+     *
      * @param appId 应用 ID
      * @param env 环境名称（如：DEV、TEST、PROD）
      * @param cluster 集群名称（通常为 default）
@@ -84,14 +202,37 @@ public class ApolloConfigServiceCore {
      */
     public void createOrUpdateItem(String appId, String env, String cluster, String namespace,
                                       String key, String value, String comment, String operator) {
+        WriteOutbox current = outbox;
+        if (current != null) {
+            awaitOutbox(current.appendItem(NamespaceCoordinate.of(appId, env, cluster, namespace),
+                    key, value, comment, operator), "Failed to create or update item: " + key);
+            return;
+        }
+        WriteLanes lanes = writeLanes;
+        if (lanes != null) {
+            awaitLane(lanes.submit(NamespaceCoordinate.of(appId, env, cluster, namespace), () -> {
+                doCreateOrUpdateItem(appId, env, cluster, namespace, key, value, comment, operator);
+                return null;
+            }), "Failed to create or update item: " + key);
+            return;
+        }
+        doCreateOrUpdateItem(appId, env, cluster, namespace, key, value, comment, operator);
+    }
+
+    /**
+     * 直接调用 Portal 创建或更新配置项
+     */
+    private void doCreateOrUpdateItem(String appId, String env, String cluster, String namespace,
+                                      String key, String value, String comment, String operator) {
         try {
-            String path = String.format("/openapi/v1/apps/%s/envs/%s/clusters/%s/namespaces/%s/items/",
-                    urlEncode(appId), urlEncode(env), urlEncode(cluster), urlEncode(namespace));
+            String path = itemsPath(appId, env, cluster, namespace) + "/";
             PublishItemRequest request = new PublishItemRequest(key, value, comment, operator);
             String jsonBody = mapper.writeValueAsString(request);
             client.post(path, jsonBody);
         } catch (Exception e) {
             throw new ApolloException("Failed to create or update item: " + key, e);
+        } finally {
+            invalidateCache(appId, env, cluster, namespace);
         }
     }
 
@@ -102,6 +243,11 @@ public class ApolloConfigServiceCore {
      *
      * <p><strong>重要：</strong>只有发布后，配置的变更才会对客户端生效。</p>
      *
+     * <p>开启发布组提交（{@link #enableReleaseGroupCommit}）后，该方法会与同一命名空间的其他发布请求合并，
+     * 并阻塞到合并后的 release 完成。开启写入发件箱（{@link #enableOutbox}）时，
+     * 发布意图追加到本地日志，落盘后即返回。开启有序写入通道（{@link #enableWriteLanes}）时，
+     * 发布排在该命名空间之前提交的写操作之后执行。</p>
+     *
      * @param appId 应用 ID
      * @param env 环境名称（如：DEV、TEST、PROD）
      * @param cluster 集群名称（通常为 default）
@@ -113,14 +259,54 @@ public class ApolloConfigServiceCore {
      */
     public void publishNamespace(String appId, String env, String cluster, String namespace,
                                     String releaseTitle, String releaseComment, String releasedBy) {
+        WriteOutbox current = outbox;
+        if (current != null) {
+            awaitOutbox(current.appendRelease(NamespaceCoordinate.of(appId, env, cluster, namespace),
+                    releaseTitle, releaseComment, releasedBy), "Failed to publish namespace: " + namespace);
+            return;
+        }
+        WriteLanes lanes = writeLanes;
+        if (lanes != null) {
+            awaitLane(lanes.submit(NamespaceCoordinate.of(appId, env, cluster, namespace), () -> {
+                releaseNamespace(appId, env, cluster, namespace, releaseTitle, releaseComment, releasedBy);
+                return null;
+            }), "Failed to publish namespace: " + namespace);
+            return;
+        }
+        releaseNamespace(appId, env, cluster, namespace, releaseTitle, releaseComment, releasedBy);
+    }
+
+    /**
+     * 发布命名空间，开启发布组提交时与同一命名空间的其他发布请求合并
+     *
+     * <p>在写入通道上执行时不经过组提交：通道同一时刻只执行该命名空间的一个操作，组提交等不到可合并的请求，
+     * 只会让通道线程空等整个合并窗口，并阻塞映射到同一通道的其他命名空间。</p>
+     */
+    private void releaseNamespace(String appId, String env, String cluster, String namespace,
+                                  String releaseTitle, String releaseComment, String releasedBy) {
+        ReleaseGroupCommitter committer = releaseCommitter;
+        if (committer != null && !isOnWriteLane(NamespaceCoordinate.of(appId, env, cluster, namespace))) {
+            awaitRelease(committer.submit(NamespaceCoordinate.of(appId, env, cluster, namespace),
+                    releaseTitle, releaseComment, releasedBy), namespace);
+            return;
+        }
+        doPublishNamespace(appId, env, cluster, namespace, releaseTitle, releaseComment, releasedBy);
+    }
+
+    /**
+     * 直接调用 Portal 发布命名空间
+     */
+    private void doPublishNamespace(String appId, String env, String cluster, String namespace,
+                                    String releaseTitle, String releaseComment, String releasedBy) {
         try {
-            String path = String.format("/openapi/v1/apps/%s/envs/%s/clusters/%s/namespaces/%s/releases",
-                    urlEncode(appId), urlEncode(env), urlEncode(cluster), urlEncode(namespace));
+            String path = releasesPath(appId, env, cluster, namespace);
             ReleaseRequest request = new ReleaseRequest(releaseTitle, releasedBy, releaseComment);
             String jsonBody = mapper.writeValueAsString(request);
             client.post(path, jsonBody);
         } catch (Exception e) {
             throw new ApolloException("Failed to publish namespace: " + namespace, e);
+        } finally {
+            invalidateCache(appId, env, cluster, namespace);
         }
     }
 
@@ -155,6 +341,264 @@ public class ApolloConfigServiceCore {
                         "Auto release - " + key, comment, operator);
     }
 
+    /**
+     * 把同一个配置项发布到多个环境（遇到失败继续处理其余环境）
+     *
+     * <p>等价于 {@link #publishAcrossEnvs(String, Set, String, String, String, String, String, String, boolean)}
+     * 且 {@code failFast = false}。</p>
+     *
+     * @param appId 应用 ID
+     * @param envs 环境名称集合（如：DEV、FAT、UAT、PRO），结果按集合的迭代顺序排列
+     * @param cluster 集群名称（通常为 default）
+     * @param namespace 命名空间名称（如：application）
+     * @param key 配置项的键
+     * @param value 配置项的值
+     * @param comment 配置项的注释说明
+     * @param operator 操作人员标识
+     * @return 各环境的发布结果
+     */
+    public MultiEnvPublishResult publishAcrossEnvs(String appId, Set<String> envs, String cluster, String namespace,
+                                                   String key, String value, String comment, String operator) {
+        return publishAcrossEnvs(appId, envs, cluster, namespace, key, value, comment, operator, false);
+    }
+
+    /**
+     * 把同一个配置项发布到多个环境
+     *
+     * <p>每个环境依次执行 {@link #createOrUpdateItem} 和 {@link #publishNamespace}（与 {@link #publishSingle} 相同），
+     * 各环境之间以不超过 {@link #getBatchConcurrency()} 的并发度并行执行。
+     * 单个环境的失败记录在结果中，不会以异常抛出。</p>
+     *
+     * <p>{@code failFast} 为 true 时，一旦有环境失败，尚未开始的环境不再执行，结果标记为
+     * {@link EnvPublishResult.Status#SKIPPED}；已经开始的环境仍会完成写入和发布，
+     * 避免留下已修改但未发布的配置项。</p>
+     *
+     * @param appId 应用 ID
+     * @param envs 环境名称集合（如：DEV、FAT、UAT、PRO），结果按集合的迭代顺序排列
+     * @param cluster 集群名称（通常为 default）
+     * @param namespace 命名空间名称（如：application）
+     * @param key 配置项的键
+     * @param value 配置项的值
+     * @param comment 配置项的注释说明
+     * @param operator 操作人员标识
+     * @param failFast 是否在第一个环境失败后跳过其余未开始的环境
+     * @return 各环境的发布结果
+     */
+    public MultiEnvPublishResult publishAcrossEnvs(String appId, Set<String> envs, String cluster, String namespace,
+                                                   String key, String value, String comment, String operator,
+                                                   boolean failFast) {
+        long start = System.nanoTime();
+        Map<String, EnvPublishResult> byEnv = new ConcurrentHashMap<>();
+        AtomicBoolean failed = new AtomicBoolean();
+
+        BoundedParallel.forEach(envs, batchConcurrency, parallelExecutor(), env -> {
+            if (failFast && failed.get()) {
+                byEnv.put(env, EnvPublishResult.skipped(env));
+                return;
+            }
+            EnvPublishResult result = publishToEnv(appId, env, cluster, namespace, key, value, comment, operator);
+            if (!result.isSuccess()) {
+                failed.set(true);
+            }
+            byEnv.put(env, result);
+        });
+
+        // 按传入顺序整理结果
+        Map<String, EnvPublishResult> results = new LinkedHashMap<>();
+        for (String env : envs) {
+            results.put(env, byEnv.get(env));
+        }
+        return new MultiEnvPublishResult(key, results, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * 在单个环境中写入并发布配置项，记录各阶段耗时
+     */
+    private EnvPublishResult publishToEnv(String appId, String env, String cluster, String namespace,
+                                          String key, String value, String comment, String operator) {
+        long itemStart = System.nanoTime();
+        try {
+            createOrUpdateItem(appId, env, cluster, namespace, key, value, comment, operator);
+        } catch (RuntimeException e) {
+            return new EnvPublishResult(env, EnvPublishResult.Status.ITEM_FAILED, asApolloException(e, key),
+                    (System.nanoTime() - itemStart) / 1_000_000, 0);
+        }
+        long itemMillis = (System.nanoTime() - itemStart) / 1_000_000;
+
+        long releaseStart = System.nanoTime();
+        try {
+            publishNamespace(appId, env, cluster, namespace, "Auto release - " + key, comment, operator);
+        } catch (RuntimeException e) {
+            return new EnvPublishResult(env, EnvPublishResult.Status.RELEASE_FAILED, asApolloException(e, key),
+                    itemMillis, (System.nanoTime() - releaseStart) / 1_000_000);
+        }
+        return new EnvPublishResult(env, EnvPublishResult.Status.SUCCEEDED, null,
+                itemMillis, (System.nanoTime() - releaseStart) / 1_000_000);
+    }
+
+    /**
+     * 把非 ApolloException 的运行时异常包装为 ApolloException
+     */
+    private static ApolloException asApolloException(RuntimeException e, String key) {
+        return e instanceof ApolloException ? (ApolloException) e
+                : new ApolloException("Failed to publish item: " + key, e);
+    }
+
+    /**
+     * 批量创建或更新配置项（不发布）
+     *
+     * <p>各配置项的写入请求以不超过 {@link #getBatchConcurrency()} 的并发度发出，
+     * 单个配置项失败不会中断其他配置项，失败明细记录在返回结果中。</p>
+     *
+     * @param appId 应用 ID
+     * @param env 环境名称（如：DEV、TEST、PROD）
+     * @param cluster 集群名称（通常为 default）
+     * @param namespace 命名空间名称（如：application）
+     * @param items 配置项键到期望值的映射
+     * @param operator 操作人员标识
+     * @return 批量写入结果
+     */
+    public BatchWriteResult createOrUpdateItems(String appId, String env, String cluster, String namespace,
+                                                Map<String, ItemSpec> items, String operator) {
+        return writeBatch(appId, env, cluster, namespace, items, operator, false, null, null);
+    }
+
+    /**
+     * 批量创建或更新配置项，并在最后只发布一次命名空间
+     *
+     * <p>写入阶段与 {@link #createOrUpdateItems} 相同；只要有配置项写入成功，
+     * 就会调用一次 {@link #publishNamespace} 发布这些变更。全部写入失败时不发布。
+     * 发布失败同样记录在结果中，而不是抛出异常。</p>
+     *
+     * @param appId 应用 ID
+     * @param env 环境名称（如：DEV、TEST、PROD）
+     * @param cluster 集群名称（通常为 default）
+     * @param namespace 命名空间名称（如：application）
+     * @param items 配置项键到期望值的映射
+     * @param releaseTitle 发布标题，为 null 时自动生成
+     * @param releaseComment 发布说明
+     * @param operator 操作人员标识，同时作为发布人员
+     * @return 批量写入结果
+     */
+    public BatchWriteResult publishBatch(String appId, String env, String cluster, String namespace,
+                                         Map<String, ItemSpec> items, String releaseTitle,
+                                         String releaseComment, String operator) {
+        return writeBatch(appId, env, cluster, namespace, items, operator, true, releaseTitle, releaseComment);
+    }
+
+    /**
+     * 计算命名空间当前内容与期望状态之间的差异（不做任何修改）
+     *
+     * <p>可作为 {@link #applyDesiredState} 的预演（dry-run）。</p>
+     *
+     * @param appId 应用 ID
+     * @param env 环境名称（如：DEV、TEST、PROD）
+     * @param cluster 集群名称（通常为 default）
+     * @param namespace 命名空间名称（如：application）
+     * @param desired 期望的配置项，键到期望值的映射
+     * @param deleteMissing 是否把期望状态中不存在的配置项计为删除
+     * @return 命名空间差异
+     * @throws ApolloException 读取命名空间失败时抛出
+     */
+    public NamespaceDiff diffDesiredState(String appId, String env, String cluster, String namespace,
+                                          Map<String, ItemSpec> desired, boolean deleteMissing) {
+        return NamespaceDiff.between(loadNamespaceItems(appId, env, cluster, namespace), desired, deleteMissing);
+    }
+
+    /**
+     * 按期望状态同步命名空间
+     *
+     * <p>先读取一次命名空间的当前内容（不经过读缓存），与期望状态比较值和注释，
+     * 然后只对新增、修改（以及 {@code deleteMissing} 时需要删除）的配置项发出请求，
+     * 最后发布一次。没有任何差异时既不写入也不发布，避免产生空 release。</p>
+     *
+     * <p>写入和删除以不超过 {@link #getBatchConcurrency()} 的并发度执行，单个配置项失败不会中断其他配置项；
+     * 只要有变更成功就会发布。</p>
+     *
+     * @param appId 应用 ID
+     * @param env 环境名称（如：DEV、TEST、PROD）
+     * @param cluster 集群名称（通常为 default）
+     * @param namespace 命名空间名称（如：application）
+     * @param desired 期望的配置项，键到期望值的映射
+     * @param deleteMissing 是否删除期望状态中不存在的配置项
+     * @param operator 操作人员标识，同时作为发布人员
+     * @return 应用结果，包含计算出的差异
+     * @throws ApolloException 读取命名空间失败时抛出
+     */
+    public ApplyResult applyDesiredState(String appId, String env, String cluster, String namespace,
+                                         Map<String, ItemSpec> desired, boolean deleteMissing, String operator) {
+        long start = System.nanoTime();
+        NamespaceDiff diff = diffDesiredState(appId, env, cluster, namespace, desired, deleteMissing);
+        return applyDiff(appId, env, cluster, namespace, diff, operator, null, start);
+    }
+
+    /**
+     * 执行差异中的变更，并在有变更成功时发布一次
+     *
+     * @param diff 需要执行的差异
+     * @param operator 操作人员标识
+     * @param releaseTitle 发布标题，为 null 时根据差异生成
+     * @param startNanos 操作开始时间，用于计算耗时
+     * @return 应用结果
+     */
+    ApplyResult applyDiff(String appId, String env, String cluster, String namespace, NamespaceDiff diff,
+                          String operator, String releaseTitle, long startNanos) {
+        if (diff.isEmpty()) {
+            return new ApplyResult(diff, Map.of(), false, null, (System.nanoTime() - startNanos) / 1_000_000);
+        }
+        WriteLanes lanes = laneForBatch(NamespaceCoordinate.of(appId, env, cluster, namespace));
+        if (lanes != null) {
+            return awaitLane(lanes.submit(NamespaceCoordinate.of(appId, env, cluster, namespace), () ->
+                    applyDiff(appId, env, cluster, namespace, diff, operator, releaseTitle, startNanos)),
+                    "Failed to apply diff to namespace: " + namespace);
+        }
+
+        // 已在写入通道上执行时直接调用 Portal，避免各配置项再排队等待当前通道
+        boolean onLane = isOnWriteLane(NamespaceCoordinate.of(appId, env, cluster, namespace));
+        List<Map.Entry<String, Runnable>> operations = new ArrayList<>(diff.getChangeCount());
+        diff.getUpserts().forEach((key, spec) -> operations.add(Map.entry(key, onLane
+                ? () -> doCreateOrUpdateItem(appId, env, cluster, namespace, key, spec.getValue(), spec.getComment(), operator)
+                : () -> createOrUpdateItem(appId, env, cluster, namespace, key, spec.getValue(), spec.getComment(), operator))));
+        for (String key : diff.getDeleted()) {
+            operations.add(Map.entry(key, onLane
+                    ? () -> doDeleteItem(appId, env, cluster, namespace, key, operator)
+                    : () -> deleteItem(appId, env, cluster, namespace, key, operator)));
+        }
+
+        Map<String, ApolloException> errors = new ConcurrentHashMap<>();
+        BoundedParallel.forEach(operations, batchConcurrency, parallelExecutor(), operation -> {
+            try {
+                operation.getValue().run();
+            } catch (ApolloException e) {
+                errors.put(operation.getKey(), e);
+            } catch (RuntimeException e) {
+                errors.put(operation.getKey(), new ApolloException("Failed to apply item: " + operation.getKey(), e));
+            }
+        });
+
+        Map<String, ApolloException> failures = new LinkedHashMap<>();
+        for (Map.Entry<String, Runnable> operation : operations) {
+            ApolloException error = errors.get(operation.getKey());
+            if (error != null) {
+                failures.put(operation.getKey(), error);
+            }
+        }
+
+        boolean released = false;
+        ApolloException releaseError = null;
+        if (failures.size() < operations.size()) {
+            String title = releaseTitle != null ? releaseTitle : String.format("Desired state sync - +%d ~%d -%d",
+                    diff.getAddedCount(), diff.getUpdatedCount(), diff.getDeletedCount());
+            try {
+                publishNamespace(appId, env, cluster, namespace, title, diff.toString(), operator);
+                released = true;
+            } catch (ApolloException e) {
+                releaseError = e;
+            }
+        }
+        return new ApplyResult(diff, failures, released, releaseError, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
     /**
      * 获取单个配置项的值
      *
@@ -167,23 +611,64 @@ public class ApolloConfigServiceCore {
      * @throws ApolloException 当配置项不存在或 API 调用失败时抛出
      */
     public String getItem(String appId, String env, String cluster, String namespace, String key) {
+        ItemCache cache = itemCache;
+        if (cache == null) {
+            return loadItem(appId, env, cluster, namespace, key);
+        }
+        return cachedItem(cache, NamespaceCoordinate.of(appId, env, cluster, namespace), key,
+                () -> loadItem(appId, env, cluster, namespace, key));
+    }
+
+    /**
+     * 经过读缓存读取单个配置项的值，未命中时调用 loader 加载，404 作为不存在的结果缓存
+     */
+    String cachedItem(ItemCache cache, NamespaceCoordinate coordinate, String key, Supplier<String> loader) {
+        ItemCache.Entry entry = cache.lookup(coordinate, key);
+        if (entry != null) {
+            if (entry.isMissing()) {
+                throw new ApolloException("Failed to get item: " + key, entry.missing());
+            }
+            return (String) entry.value();
+        }
+
+        long generation = cache.generation(coordinate);
         try {
-            String path = String.format("/openapi/v1/apps/%s/envs/%s/clusters/%s/namespaces/%s/items/%s",
-                    urlEncode(appId), urlEncode(env), urlEncode(cluster), urlEncode(namespace), urlEncode(key));
-            String responseJson = client.get(path);
-            ItemResponse item = mapper.readValue(responseJson, ItemResponse.class);
-            return item.getValue();
-        } catch (Exception e) {
-            throw new ApolloException("Failed to get item: " + key, e);
+            String value = loader.get();
+            cache.put(coordinate, key, value, generation);
+            return value;
+        } catch (ApolloException e) {
+            if (isNotFound(e)) {
+                cache.putMissing(coordinate, key, (ApolloHttpException) e.getCause(), generation);
+            }
+            throw e;
         }
     }
 
+    /**
+     * 直接从 Portal 读取单个配置项的值
+     */
+    private String loadItem(String appId, String env, String cluster, String namespace, String key) {
+        String path = itemPath(appId, env, cluster, namespace, key);
+        return coalesce(path, () -> {
+            try {
+                String responseJson = client.get(path);
+                ItemResponse item = mapper.readValue(responseJson, ItemResponse.class);
+                return item.getValue();
+            } catch (Exception e) {
+                throw new ApolloException("Failed to get item: " + key, e);
+            }
+        });
+    }
+
     /**
      * 删除单个配置项
      *
      * <p><strong>注意：</strong>删除操作只是标记配置项为删除状态，
      * 需要调用 {@link #publishNamespace} 来发布变更，删除才会生效。</p>
      *
+     * <p>开启写入发件箱（{@link #enableOutbox}）后，该方法只把删除意图追加到本地日志，落盘后即返回。
+     * 开启有序写入通道（{@link #enableWriteLanes}）时，删除在命名空间所在的通道上按提交顺序执行。</p>
+     *
      * @param appId 应用 ID
      * @param env 环境名称（如：DEV、TEST、PROD）
      * @param cluster 集群名称（通常为 default）
@@ -193,15 +678,37 @@ public class ApolloConfigServiceCore {
      * @throws ApolloException 当 API 调用失败时抛出
      */
     public void deleteItem(String appId, String env, String cluster, String namespace, String key, String operator) {
+        WriteOutbox current = outbox;
+        if (current != null) {
+            awaitOutbox(current.appendDelete(NamespaceCoordinate.of(appId, env, cluster, namespace), key, operator),
+                    "Failed to delete item: " + key);
+            return;
+        }
+        WriteLanes lanes = writeLanes;
+        if (lanes != null) {
+            awaitLane(lanes.submit(NamespaceCoordinate.of(appId, env, cluster, namespace), () -> {
+                doDeleteItem(appId, env, cluster, namespace, key, operator);
+                return null;
+            }), "Failed to delete item: " + key);
+            return;
+        }
+        doDeleteItem(appId, env, cluster, namespace, key, operator);
+    }
+
+    /**
+     * 直接调用 Portal 删除配置项
+     */
+    private void doDeleteItem(String appId, String env, String cluster, String namespace, String key, String operator) {
         try {
-            String path = String.format("/openapi/v1/apps/%s/envs/%s/clusters/%s/namespaces/%s/items/%s",
-                    urlEncode(appId), urlEncode(env), urlEncode(cluster), urlEncode(namespace), urlEncode(key));
+            String path = itemPath(appId, env, cluster, namespace, key);
 
             // 通过查询参数传递操作人员信息
             String deleteUrl = path + "?operator=" + urlEncode(operator);
             client.delete(deleteUrl);
         } catch (Exception e) {
             throw new ApolloException("Failed to delete item: " + key, e);
+        } finally {
+            invalidateCache(appId, env, cluster, namespace);
         }
     }
 
@@ -216,14 +723,1022 @@ public class ApolloConfigServiceCore {
      * @throws ApolloException 当 API 调用失败时抛出
      */
     public List<ItemResponse> listNamespaceItems(String appId, String env, String cluster, String namespace) {
+        ItemCache cache = itemCache;
+        if (cache == null) {
+            return loadNamespaceItems(appId, env, cluster, namespace);
+        }
+
+        return cachedItems(cache, NamespaceCoordinate.of(appId, env, cluster, namespace),
+                () -> loadNamespaceItems(appId, env, cluster, namespace));
+    }
+
+    /**
+     * 经过读缓存读取命名空间下的所有配置项，未命中时调用 loader 加载
+     */
+    List<ItemResponse> cachedItems(ItemCache cache, NamespaceCoordinate coordinate,
+                                   Supplier<List<ItemResponse>> loader) {
+        ItemCache.Entry entry = cache.lookup(coordinate, null);
+        if (entry != null) {
+            return copyItems(entry.value());
+        }
+
+        long generation = cache.generation(coordinate);
+        List<ItemResponse> items = loader.get();
+        cache.put(coordinate, null, List.copyOf(copyItems(items)), generation);
+        return items;
+    }
+
+    /**
+     * 直接从 Portal 读取命名空间下的所有配置项
+     */
+    List<ItemResponse> loadNamespaceItems(String appId, String env, String cluster, String namespace) {
+        String path = itemsPath(appId, env, cluster, namespace);
+        return copyItems(coalesce(path, () -> {
+            try {
+                String responseJson = client.get(path);
+                return mapper.readValue(responseJson, new TypeReference<List<ItemResponse>>() {});
+            } catch (Exception e) {
+                throw new ApolloException("Failed to list namespace items for: " + namespace, e);
+            }
+        }));
+    }
+
+    /**
+     * 执行读请求，开启读请求合并时，与在途的相同路径请求共享一次 HTTP 调用
+     *
+     * @param path 编码后的请求路径
+     * @param loader 发出调用并反序列化结果的加载函数
+     * @return 调用结果，合并时与其他调用方共享同一个对象，可变结果需由调用方复制后再返回
+     */
+    <T> T coalesce(String path, Supplier<T> loader) {
+        return readCoalescing ? readFlights.execute(path, loader) : loader.get();
+    }
+
+    /**
+     * 异步执行读请求，开启读请求合并时，与在途的相同路径请求共享一次 HTTP 调用
+     */
+    private <T> CompletableFuture<T> coalesceAsync(String path, Supplier<CompletableFuture<T>> loader) {
+        return readCoalescing ? readFlights.executeAsync(path, loader) : loader.get();
+    }
+
+    /**
+     * 以流的方式获取命名空间下的所有配置项
+     *
+     * <p>与 {@link #listNamespaceItems} 不同，该方法不会把整个响应体读成字符串，也不会一次性构建完整列表，
+     * 而是直接从 HTTP 响应流上用 Jackson 流式解析器逐个解析配置项，适用于值很大（大段 JSON/XML）
+     * 或配置项很多的命名空间。该方法不经过读缓存。</p>
+     *
+     * <p><strong>注意：</strong>返回的 Stream 持有 HTTP 连接，必须关闭（推荐使用 try-with-resources）。
+     * 遍历过程中的解析或网络错误以 {@link ApolloException} 抛出。</p>
+     *
+     * <pre>{@code
+     * try (Stream<ItemResponse> items = service.streamNamespaceItems("myApp", "DEV", "default", "application")) {
+     *     items.filter(item -> item.getKey().startsWith("db.")).forEach(this::handle);
+     * }
+     * }</pre>
+     *
+     * @param appId 应用 ID
+     * @param env 环境名称（如：DEV、TEST、PROD）
+     * @param cluster 集群名称（通常为 default）
+     * @param namespace 命名空间名称（如：application）
+     * @return 配置项流，关闭时释放 HTTP 连接
+     * @throws ApolloException 当 API 调用失败时抛出
+     */
+    public Stream<ItemResponse> streamNamespaceItems(String appId, String env, String cluster, String namespace) {
+        String errorMessage = "Failed to stream namespace items for: " + namespace;
+        InputStream input = null;
         try {
-            String path = String.format("/openapi/v1/apps/%s/envs/%s/clusters/%s/namespaces/%s/items",
-                    urlEncode(appId), urlEncode(env), urlEncode(cluster), urlEncode(namespace));
-            String responseJson = client.get(path);
-            return mapper.readValue(responseJson, new TypeReference<List<ItemResponse>>() {});
+            input = client.openStream(itemsPath(appId, env, cluster, namespace));
+            ItemIterator iterator = new ItemIterator(mapper.getFactory().createParser(input),
+                    mapper.readerFor(ItemResponse.class), errorMessage);
+            return StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(iterator::close);
         } catch (Exception e) {
-            throw new ApolloException("Failed to list namespace items for: " + namespace, e);
+            closeQuietly(input);
+            throw new ApolloException(errorMessage, e);
+        }
+    }
+
+    /**
+     * 以流的方式逐个访问命名空间下的配置项
+     *
+     * <p>{@link #streamNamespaceItems} 的回调形式，遍历结束或出现异常时自动释放 HTTP 连接。</p>
+     *
+     * @param appId 应用 ID
+     * @param env 环境名称（如：DEV、TEST、PROD）
+     * @param cluster 集群名称（通常为 default）
+     * @param namespace 命名空间名称（如：application）
+     * @param visitor 配置项访问回调
+     * @throws ApolloException 当 API 调用或解析失败时抛出
+     */
+    public void forEachNamespaceItem(String appId, String env, String cluster, String namespace,
+                                     Consumer<ItemResponse> visitor) {
+        try (Stream<ItemResponse> items = streamNamespaceItems(appId, env, cluster, namespace)) {
+            items.forEach(visitor);
+        }
+    }
+
+    /**
+     * 打开命名空间快照
+     *
+     * <p>快照会立即加载整个命名空间（不经过读缓存），之后的单键读取在本地完成；
+     * 需要读取同一命名空间的大量配置项时，比逐个调用 {@link #getItem} 少很多次 Portal 往返。
+     * 使用完毕后应调用 {@link NamespaceSnapshot#close()} 停止后台刷新。</p>
+     *
+     * @param appId 应用 ID
+     * @param env 环境名称（如：DEV、TEST、PROD）
+     * @param cluster 集群名称（通常为 default）
+     * @param namespace 命名空间名称（如：application）
+     * @param refreshInterval 后台刷新间隔，为 null 或零时不自动刷新
+     * @return 命名空间快照
+     * @throws ApolloException 首次加载失败时抛出
+     */
+    public NamespaceSnapshot openSnapshot(String appId, String env, String cluster, String namespace,
+                                          Duration refreshInterval) {
+        return new NamespaceSnapshot(NamespaceCoordinate.of(appId, env, cluster, namespace),
+                () -> loadNamespaceItems(appId, env, cluster, namespace), refreshInterval);
+    }
+
+    /**
+     * 异步创建或更新单个配置项
+     *
+     * <p>语义与 {@link #createOrUpdateItem} 相同，请求通过 {@link ApolloAsyncClient} 发出，
+     * 调用方线程不会等待 Portal 响应。开启有序写入通道时，请求改为在命名空间所在的通道上按提交顺序发出。</p>
+     *
+     * @param appId 应用 ID
+     * @param env 环境名称（如：DEV、TEST、PROD）
+     * @param cluster 集群名称（通常为 default）
+     * @param namespace 命名空间名称（如：application）
+     * @param key 配置项的键
+     * @param value 配置项的值
+     * @param comment 配置项的注释说明
+     * @param operator 操作人员标识
+     * @return 完成信号；失败时以 {@link ApolloException} 异常完成
+     */
+    public CompletableFuture<Void> createOrUpdateItemAsync(String appId, String env, String cluster, String namespace,
+                                                           String key, String value, String comment, String operator) {
+        String errorMessage = "Failed to create or update item: " + key;
+        WriteOutbox current = outbox;
+        if (current != null) {
+            return current.appendItem(NamespaceCoordinate.of(appId, env, cluster, namespace),
+                    key, value, comment, operator);
+        }
+        WriteLanes lanes = writeLanes;
+        if (lanes != null) {
+            return submitToLane(lanes, NamespaceCoordinate.of(appId, env, cluster, namespace), () ->
+                    doCreateOrUpdateItem(appId, env, cluster, namespace, key, value, comment, operator));
         }
+        try {
+            String path = itemsPath(appId, env, cluster, namespace) + "/";
+            String jsonBody = mapper.writeValueAsString(new PublishItemRequest(key, value, comment, operator));
+            return this.<Void>wrapAsync(asyncClient().post(path, jsonBody), response -> null, errorMessage)
+                    .whenComplete((ignored, error) -> invalidateCache(appId, env, cluster, namespace));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(new ApolloException(errorMessage, e));
+        }
+    }
+
+    /**
+     * 异步发布命名空间（创建 release）
+     *
+     * <p>开启有序写入通道时，发布在命名空间所在的通道上排在之前提交的写操作之后执行。</p>
+     *
+     * @param appId 应用 ID
+     * @param env 环境名称（如：DEV、TEST、PROD）
+     * @param cluster 集群名称（通常为 default）
+     * @param namespace 命名空间名称（如：application）
+     * @param releaseTitle 发布标题，用于标识本次发布
+     * @param releaseComment 发布说明，描述本次发布的内容
+     * @param releasedBy 发布人员标识
+     * @return 完成信号；失败时以 {@link ApolloException} 异常完成
+     */
+    public CompletableFuture<Void> publishNamespaceAsync(String appId, String env, String cluster, String namespace,
+                                                         String releaseTitle, String releaseComment, String releasedBy) {
+        WriteOutbox current = outbox;
+        if (current != null) {
+            return current.appendRelease(NamespaceCoordinate.of(appId, env, cluster, namespace),
+                    releaseTitle, releaseComment, releasedBy);
+        }
+        WriteLanes lanes = writeLanes;
+        if (lanes != null) {
+            return submitToLane(lanes, NamespaceCoordinate.of(appId, env, cluster, namespace), () ->
+                    releaseNamespace(appId, env, cluster, namespace, releaseTitle, releaseComment, releasedBy));
+        }
+        ReleaseGroupCommitter committer = releaseCommitter;
+        if (committer != null) {
+            return committer.submit(NamespaceCoordinate.of(appId, env, cluster, namespace),
+                    releaseTitle, releaseComment, releasedBy);
+        }
+        String errorMessage = "Failed to publish namespace: " + namespace;
+        try {
+            String path = releasesPath(appId, env, cluster, namespace);
+            String jsonBody = mapper.writeValueAsString(new ReleaseRequest(releaseTitle, releasedBy, releaseComment));
+            return this.<Void>wrapAsync(asyncClient().post(path, jsonBody), response -> null, errorMessage)
+                    .whenComplete((ignored, error) -> invalidateCache(appId, env, cluster, namespace));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(new ApolloException(errorMessage, e));
+        }
+    }
+
+    /**
+     * 异步一键创建/更新并发布配置项
+     *
+     * <p>配置项写入成功后才会发起发布；任一步骤失败，返回的 Future 以对应的 {@link ApolloException} 异常完成。</p>
+     *
+     * @param appId 应用 ID
+     * @param env 环境名称（如：DEV、TEST、PROD）
+     * @param cluster 集群名称（通常为 default）
+     * @param namespace 命名空间名称（如：application）
+     * @param key 配置项的键
+     * @param value 配置项的值
+     * @param comment 配置项的注释说明
+     * @param operator 操作人员标识
+     * @return 完成信号
+     */
+    public CompletableFuture<Void> publishSingleAsync(String appId, String env, String cluster, String namespace,
+                                                      String key, String value, String comment, String operator) {
+        return createOrUpdateItemAsync(appId, env, cluster, namespace, key, value, comment, operator)
+                .thenCompose(ignored -> publishNamespaceAsync(appId, env, cluster, namespace,
+                        "Auto release - " + key, comment, operator));
+    }
+
+    /**
+     * 异步获取单个配置项的值
+     *
+     * @param appId 应用 ID
+     * @param env 环境名称（如：DEV、TEST、PROD）
+     * @param cluster 集群名称（通常为 default）
+     * @param namespace 命名空间名称（如：application）
+     * @param key 配置项的键
+     * @return 配置项的值；配置项不存在或调用失败时以 {@link ApolloException} 异常完成
+     */
+    public CompletableFuture<String> getItemAsync(String appId, String env, String cluster, String namespace, String key) {
+        String errorMessage = "Failed to get item: " + key;
+        ItemCache cache = itemCache;
+        NamespaceCoordinate coordinate = NamespaceCoordinate.of(appId, env, cluster, namespace);
+        long generation = 0L;
+        if (cache != null) {
+            ItemCache.Entry entry = cache.lookup(coordinate, key);
+            if (entry != null) {
+                return entry.isMissing()
+                        ? CompletableFuture.failedFuture(new ApolloException(errorMessage, entry.missing()))
+                        : CompletableFuture.completedFuture((String) entry.value());
+            }
+            generation = cache.generation(coordinate);
+        }
+
+        String path = itemPath(appId, env, cluster, namespace, key);
+        CompletableFuture<String> future = coalesceAsync(path, () -> wrapAsync(asyncClient().get(path),
+                responseJson -> mapper.readValue(responseJson, ItemResponse.class).getValue(), errorMessage));
+        if (cache != null) {
+            long loadGeneration = generation;
+            future.whenComplete((value, error) -> {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                if (cause == null) {
+                    cache.put(coordinate, key, value, loadGeneration);
+                } else if (cause instanceof ApolloException && isNotFound((ApolloException) cause)) {
+                    cache.putMissing(coordinate, key, (ApolloHttpException) cause.getCause(), loadGeneration);
+                }
+            });
+        }
+        return future;
+    }
+
+    /**
+     * 异步获取命名空间下的所有配置项
+     *
+     * @param appId 应用 ID
+     * @param env 环境名称（如：DEV、TEST、PROD）
+     * @param cluster 集群名称（通常为 default）
+     * @param namespace 命名空间名称（如：application）
+     * @return 配置项列表；调用失败时以 {@link ApolloException} 异常完成
+     */
+    public CompletableFuture<List<ItemResponse>> listNamespaceItemsAsync(String appId, String env,
+                                                                         String cluster, String namespace) {
+        ItemCache cache = itemCache;
+        NamespaceCoordinate coordinate = NamespaceCoordinate.of(appId, env, cluster, namespace);
+        if (cache == null) {
+            return loadNamespaceItemsAsync(appId, env, cluster, namespace);
+        }
+        ItemCache.Entry entry = cache.lookup(coordinate, null);
+        if (entry != null) {
+            return CompletableFuture.completedFuture(copyItems(entry.value()));
+        }
+        long generation = cache.generation(coordinate);
+        return loadNamespaceItemsAsync(appId, env, cluster, namespace).thenApply(items -> {
+            cache.put(coordinate, null, List.copyOf(copyItems(items)), generation);
+            return items;
+        });
+    }
+
+    /**
+     * 异步从 Portal 读取命名空间下的所有配置项
+     */
+    private CompletableFuture<List<ItemResponse>> loadNamespaceItemsAsync(String appId, String env,
+                                                                          String cluster, String namespace) {
+        String path = itemsPath(appId, env, cluster, namespace);
+        return coalesceAsync(path, () -> wrapAsync(asyncClient().get(path),
+                responseJson -> mapper.readValue(responseJson, new TypeReference<List<ItemResponse>>() {}),
+                "Failed to list namespace items for: " + namespace))
+                .thenApply(ApolloConfigServiceCore::copyItems);
+    }
+
+    /**
+     * 获取批量写入的并发上限
+     *
+     * @return 并发上限
+     */
+    public int getBatchConcurrency() {
+        return batchConcurrency;
+    }
+
+    /**
+     * 设置批量写入的并发上限，同时调整共享并行线程池的大小
+     *
+     * @param batchConcurrency 并发上限，必须大于 0
+     */
+    public void setBatchConcurrency(int batchConcurrency) {
+        if (batchConcurrency <= 0) {
+            throw new IllegalArgumentException("batchConcurrency must be positive: " + batchConcurrency);
+        }
+        synchronized (parallelLock) {
+            this.batchConcurrency = batchConcurrency;
+            if (parallelExecutor != null) {
+                if (batchConcurrency > parallelExecutor.getMaximumPoolSize()) {
+                    parallelExecutor.setMaximumPoolSize(batchConcurrency);
+                    parallelExecutor.setCorePoolSize(batchConcurrency);
+                } else {
+                    parallelExecutor.setCorePoolSize(batchConcurrency);
+                    parallelExecutor.setMaximumPoolSize(batchConcurrency);
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取共享的并行线程池，不存在或已关闭时创建
+     *
+     * <p>线程池被占满时，{@link BoundedParallel} 由调用方线程完成剩余工作，嵌套使用也不会死锁。</p>
+     *
+     * @return 并行线程池
+     */
+    ExecutorService parallelExecutor() {
+        synchronized (parallelLock) {
+            if (parallelExecutor == null) {
+                parallelExecutor = new ThreadPoolExecutor(batchConcurrency, batchConcurrency, 60L, TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(), new NamedThreadFactory("apollo-sdk-parallel"));
+                parallelExecutor.allowCoreThreadTimeOut(true);
+            }
+            return parallelExecutor;
+        }
+    }
+
+    /**
+     * 关闭共享的并行线程池，已开始的任务继续执行完；之后的并行调用会重新创建线程池
+     */
+    private void shutdownParallelExecutor() {
+        synchronized (parallelLock) {
+            if (parallelExecutor != null) {
+                parallelExecutor.shutdown();
+                parallelExecutor = null;
+            }
+        }
+    }
+
+    /**
+     * 开启发布组提交
+     *
+     * <p>开启后，同一命名空间在 {@code windowMillis} 内（或累计达到 {@code maxBatchSize} 个）的发布请求
+     * 会合并为一次 Portal release，所有调用方以同一结果完成。适用于大量线程并发调用
+     * {@link #publishSingle} 的场景。开启写入通道时，通道已按命名空间串行执行发布，通道上的发布不经过组提交。
+     * 不同命名空间同时在途的 release 数不超过开启时的 {@link #getBatchConcurrency()}。
+     * 重复调用会替换之前的配置，旧的组提交器会先发出已等待的请求。</p>
+     *
+     * @param windowMillis 合并时间窗口（毫秒）
+     * @param maxBatchSize 单次 release 合并的最大请求数
+     */
+    public synchronized void enableReleaseGroupCommit(long windowMillis, int maxBatchSize) {
+        ReleaseGroupCommitter previous = releaseCommitter;
+        releaseCommitter = new ReleaseGroupCommitter((coordinate, title, comment, releasedBy) ->
+                doPublishNamespace(coordinate.getAppId(), coordinate.getEnv(), coordinate.getCluster(),
+                        coordinate.getNamespace(), title, comment, releasedBy), windowMillis, maxBatchSize,
+                batchConcurrency);
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    /**
+     * 关闭发布组提交，之后的发布请求直接调用 Portal
+     */
+    public synchronized void disableReleaseGroupCommit() {
+        ReleaseGroupCommitter previous = releaseCommitter;
+        releaseCommitter = null;
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    /**
+     * 获取当前的发布组提交器，可用于查看合并统计
+     *
+     * @return 发布组提交器，未开启时返回 null
+     */
+    public ReleaseGroupCommitter getReleaseGroupCommitter() {
+        return releaseCommitter;
+    }
+
+    /**
+     * 开启写入发件箱
+     *
+     * <p>开启后，{@link #createOrUpdateItem}、{@link #deleteItem}、{@link #publishNamespace}（以及依赖它们的
+     * {@link #publishSingle}、批量写入和异步版本）只把写入意图追加到本地日志，落盘后即返回；
+     * 后台按命名空间内的顺序重放到 Portal，Portal 不可用时退避重试，不会丢失变更。
+     * 日志中已有的未重放条目会在开启时继续重放。</p>
+     *
+     * <p>注意：写入在重放之前对 Portal 不可见，开启后 {@link #getItem} 等读操作可能读到旧值。
+     * 重复调用会替换之前的发件箱，旧的发件箱关闭后其未重放的条目保留在原目录中。</p>
+     *
+     * @param config 发件箱配置
+     * @return 新的写入发件箱
+     * @throws ApolloException 打开或恢复日志失败时抛出
+     */
+    public synchronized WriteOutbox enableOutbox(OutboxConfig config) {
+        WriteOutbox previous = outbox;
+        if (previous != null) {
+            outbox = null;
+            previous.close();
+        }
+        WriteOutbox created = new WriteOutbox(config, this::replayOutboxEntry);
+        outbox = created;
+        return created;
+    }
+
+    /**
+     * 关闭写入发件箱，之后的写入直接调用 Portal；未重放的条目保留在日志中，下次开启时继续重放
+     */
+    public synchronized void disableOutbox() {
+        WriteOutbox previous = outbox;
+        outbox = null;
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    /**
+     * 获取当前的写入发件箱，可用于查看积压和重放统计
+     *
+     * @return 写入发件箱，未开启时返回 null
+     */
+    public WriteOutbox getOutbox() {
+        return outbox;
+    }
+
+    /**
+     * 开启按命名空间分条的有序写入通道
+     *
+     * <p>开启后，{@link #createOrUpdateItem}、{@link #deleteItem}、{@link #publishNamespace}（以及依赖它们的
+     * {@link #publishSingle}、批量写入、期望状态同步和异步版本）按命名空间映射到固定的通道：
+     * 同一命名空间的写操作严格按提交顺序逐个执行，不同命名空间在各通道上并行执行。
+     * 批量写入和期望状态同步作为一个整体在通道上执行，内部仍以 {@link #getBatchConcurrency()} 的并发度写入配置项，
+     * 完成后再执行同一命名空间之后提交的操作。</p>
+     *
+     * <p>同时开启写入发件箱时以发件箱为准，发件箱本身已按命名空间顺序重放。
+     * 同时开启发布组提交时，通道上的发布直接调用 Portal，不再等待合并窗口。
+     * 重复调用会替换之前的写入通道，旧通道中已提交的操作继续执行完。</p>
+     *
+     * @param laneCount 通道数，即不同命名空间写入的最大并行度，必须大于 0
+     * @return 新的写入通道
+     */
+    public synchronized WriteLanes enableWriteLanes(int laneCount) {
+        WriteLanes created = new WriteLanes(laneCount);
+        WriteLanes previous = writeLanes;
+        writeLanes = created;
+        if (previous != null) {
+            previous.close();
+        }
+        return created;
+    }
+
+    /**
+     * 关闭有序写入通道，已提交的操作继续执行完，之后的写操作在调用方线程上直接执行
+     */
+    public synchronized void disableWriteLanes() {
+        WriteLanes previous = writeLanes;
+        writeLanes = null;
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    /**
+     * 获取当前的有序写入通道，可用于查看各通道的排队深度和忙碌时间占比
+     *
+     * @return 写入通道，未开启时返回 null
+     */
+    public WriteLanes getWriteLanes() {
+        return writeLanes;
+    }
+
+    /**
+     * 关闭写入发件箱、有序写入通道、发布组提交和共享的并行线程池，适合在应用退出时调用
+     *
+     * <p>发件箱中未重放的条目保留在日志中，下次开启时继续重放；写入通道中已提交的操作继续执行完；
+     * 发布组提交中等待的请求立即发出。</p>
+     */
+    public void close() {
+        disableOutbox();
+        disableWriteLanes();
+        disableReleaseGroupCommit();
+        shutdownParallelExecutor();
+    }
+
+    /**
+     * 开启配置项读缓存
+     *
+     * <p>开启后 {@link #getItem} 和 {@link #listNamespaceItems}（及其异步版本）优先从进程内缓存读取。
+     * 本实例对某个命名空间的写入、删除和发布会使该命名空间的缓存立即失效；
+     * 其他进程或 Portal 页面上的修改只能等待条目过期后才会被读到。</p>
+     *
+     * @param maxEntries 最大条目数
+     * @param ttl 条目存活时间
+     * @param negativeTtl 配置项不存在时的负缓存存活时间，为零时不做负缓存
+     */
+    public void enableItemCache(int maxEntries, Duration ttl, Duration negativeTtl) {
+        this.itemCache = new ItemCache(maxEntries, ttl, negativeTtl);
+    }
+
+    /**
+     * 关闭配置项读缓存
+     */
+    public void disableItemCache() {
+        this.itemCache = null;
+    }
+
+    /**
+     * 获取配置项读缓存，可用于查看命中率等统计
+     *
+     * @return 配置项读缓存，未开启时返回 null
+     */
+    public ItemCache getItemCache() {
+        return itemCache;
+    }
+
+    /**
+     * 设置是否合并并发的相同读请求
+     *
+     * <p>开启时，同一时刻对相同配置项或相同命名空间的 {@link #getItem}、{@link #listNamespaceItems}
+     * （及其异步版本和命名空间句柄上的读方法）只发出一次 HTTP 调用，其余调用方共享同一次调用的结果，
+     * 因此可能读到在自己发起读取之前就已开始的那次调用的结果。与读缓存不同，调用完成后不保留结果。
+     * 每个调用方拿到的配置项列表和配置项都是各自的副本。默认关闭。</p>
+     *
+     * @param readCoalescing 是否合并
+     */
+    public void setReadCoalescing(boolean readCoalescing) {
+        this.readCoalescing = readCoalescing;
+    }
+
+    /**
+     * 是否合并并发的相同读请求
+     *
+     * @return 合并时返回 true
+     */
+    public boolean isReadCoalescing() {
+        return readCoalescing;
+    }
+
+    /**
+     * 获取读请求合并器，可用于查看被合并的请求数等统计
+     *
+     * @return 读请求合并器
+     */
+    public SingleFlight getSingleFlight() {
+        return readFlights;
+    }
+
+    /**
+     * 获取绑定到命名空间的操作句柄
+     *
+     * <p>句柄预先完成路径编码、URL 解析和 JSON reader/writer 的构建，适合对同一命名空间高频读写的调用方
+     * 长期持有。同一命名空间返回同一个实例。</p>
+     *
+     * @param appId 应用 ID
+     * @param env 环境名称（如：DEV、TEST、PROD）
+     * @param cluster 集群名称（通常为 default）
+     * @param namespace 命名空间名称（如：application）
+     * @return 命名空间句柄
+     */
+    public NamespaceHandle namespace(String appId, String env, String cluster, String namespace) {
+        return handles.computeIfAbsent(NamespaceCoordinate.of(appId, env, cluster, namespace),
+                coordinate -> new NamespaceHandle(this, client, mapper, coordinate,
+                        namespacePath(appId, env, cluster, namespace)));
+    }
+
+    /**
+     * 使命名空间的读缓存失效
+     */
+    private void invalidateCache(String appId, String env, String cluster, String namespace) {
+        // 先移除在途读请求，再使缓存失效：读取到新版本号的调用方不会再合并到写入之前发出的请求上
+        readFlights.forget(itemsPath(appId, env, cluster, namespace));
+        ItemCache cache = itemCache;
+        if (cache != null) {
+            cache.invalidate(NamespaceCoordinate.of(appId, env, cluster, namespace));
+        }
+    }
+
+    /**
+     * 使命名空间的读缓存失效
+     */
+    void invalidateCache(NamespaceCoordinate coordinate) {
+        readFlights.forget(itemsPath(coordinate.getAppId(), coordinate.getEnv(), coordinate.getCluster(),
+                coordinate.getNamespace()));
+        ItemCache cache = itemCache;
+        if (cache != null) {
+            cache.invalidate(coordinate);
+        }
+    }
+
+    /**
+     * 判断异常是否由配置项不存在（HTTP 404）引起
+     */
+    private static boolean isNotFound(ApolloException e) {
+        return e.getCause() instanceof ApolloHttpException
+                && ((ApolloHttpException) e.getCause()).getStatusCode() == 404;
+    }
+
+    /**
+     * 复制配置项列表及其中的每个配置项，避免调用方修改读缓存或合并读取中共享的内容
+     */
+    @SuppressWarnings("unchecked")
+    static List<ItemResponse> copyItems(Object items) {
+        List<ItemResponse> source = (List<ItemResponse>) items;
+        List<ItemResponse> copies = new ArrayList<>(source.size());
+        for (ItemResponse item : source) {
+            ItemResponse copy = new ItemResponse();
+            copy.setKey(item.getKey());
+            copy.setValue(item.getValue());
+            copy.setComment(item.getComment());
+            copy.setDataChangeCreatedBy(item.getDataChangeCreatedBy());
+            copies.add(copy);
+        }
+        return copies;
+    }
+
+    /**
+     * 把发件箱条目直接应用到 Portal
+     */
+    private void replayOutboxEntry(OutboxEntry entry) {
+        NamespaceCoordinate c = entry.getCoordinate();
+        switch (entry.getType()) {
+            case ITEM:
+                doCreateOrUpdateItem(c.getAppId(), c.getEnv(), c.getCluster(), c.getNamespace(),
+                        entry.getKey(), entry.getValue(), entry.getComment(), entry.getOperator());
+                break;
+            case DELETE:
+                doDeleteItem(c.getAppId(), c.getEnv(), c.getCluster(), c.getNamespace(),
+                        entry.getKey(), entry.getOperator());
+                break;
+            default:
+                doPublishNamespace(c.getAppId(), c.getEnv(), c.getCluster(), c.getNamespace(),
+                        entry.getReleaseTitle(), entry.getComment(), entry.getOperator());
+                break;
+        }
+    }
+
+    /**
+     * 等待发件箱落盘
+     */
+    private static void awaitOutbox(CompletableFuture<Void> future, String errorMessage) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApolloException("Interrupted while waiting for outbox: " + errorMessage, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ApolloException) {
+                throw (ApolloException) cause;
+            }
+            throw new ApolloException(errorMessage, cause);
+        }
+    }
+
+    /**
+     * 等待组提交的 release 完成
+     */
+    private void awaitRelease(CompletableFuture<Void> future, String namespace) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApolloException("Interrupted while waiting for release of namespace: " + namespace, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ApolloException) {
+                throw (ApolloException) cause;
+            }
+            throw new ApolloException("Failed to publish namespace: " + namespace, cause);
+        }
+    }
+
+    /**
+     * 获取批量操作需要整体提交到的写入通道
+     *
+     * @return 开启了写入通道且当前不在该命名空间的通道上时返回写入通道，否则返回 null
+     */
+    private WriteLanes laneForBatch(NamespaceCoordinate coordinate) {
+        WriteLanes lanes = writeLanes;
+        if (outbox != null || lanes == null || lanes.isOnLane(coordinate)) {
+            return null;
+        }
+        return lanes;
+    }
+
+    /**
+     * 当前线程是否正在命名空间所在的写入通道上执行（发件箱开启时不使用写入通道）
+     */
+    private boolean isOnWriteLane(NamespaceCoordinate coordinate) {
+        WriteLanes lanes = writeLanes;
+        return outbox == null && lanes != null && lanes.isOnLane(coordinate);
+    }
+
+    /**
+     * 等待写入通道上的操作完成
+     */
+    private static <T> T awaitLane(CompletableFuture<T> future, String errorMessage) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApolloException("Interrupted while waiting for write lane: " + errorMessage, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ApolloException) {
+                throw (ApolloException) cause;
+            }
+            throw new ApolloException(errorMessage, cause);
+        }
+    }
+
+    /**
+     * 把无返回值的写操作提交到写入通道，通道已关闭时返回异常完成的 future
+     */
+    private static CompletableFuture<Void> submitToLane(WriteLanes lanes, NamespaceCoordinate coordinate,
+                                                        Runnable operation) {
+        try {
+            return lanes.submit(coordinate, () -> {
+                operation.run();
+                return null;
+            });
+        } catch (ApolloException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 批量写入的公共实现
+     */
+    private BatchWriteResult writeBatch(String appId, String env, String cluster, String namespace,
+                                        Map<String, ItemSpec> items, String operator, boolean release,
+                                        String releaseTitle, String releaseComment) {
+        WriteLanes lanes = laneForBatch(NamespaceCoordinate.of(appId, env, cluster, namespace));
+        if (lanes != null) {
+            return awaitLane(lanes.submit(NamespaceCoordinate.of(appId, env, cluster, namespace), () ->
+                    writeBatch(appId, env, cluster, namespace, items, operator, release, releaseTitle, releaseComment)),
+                    "Failed to write batch to namespace: " + namespace);
+        }
+
+        long start = System.nanoTime();
+        Map<String, ApolloException> errors = new ConcurrentHashMap<>();
+
+        // 已在写入通道上执行时直接调用 Portal，避免各配置项再排队等待当前通道
+        boolean onLane = isOnWriteLane(NamespaceCoordinate.of(appId, env, cluster, namespace));
+        BoundedParallel.forEach(items.entrySet(), batchConcurrency, parallelExecutor(), entry -> {
+            ItemSpec spec = entry.getValue();
+            String value = spec == null ? null : spec.getValue();
+            String comment = spec == null ? null : spec.getComment();
+            try {
+                if (onLane) {
+                    doCreateOrUpdateItem(appId, env, cluster, namespace, entry.getKey(), value, comment, operator);
+                } else {
+                    createOrUpdateItem(appId, env, cluster, namespace, entry.getKey(), value, comment, operator);
+                }
+            } catch (ApolloException e) {
+                errors.put(entry.getKey(), e);
+            } catch (RuntimeException e) {
+                errors.put(entry.getKey(), new ApolloException("Failed to create or update item: " + entry.getKey(), e));
+            }
+        });
+
+        // 按提交顺序整理结果
+        List<String> succeeded = new ArrayList<>(items.size() - errors.size());
+        Map<String, ApolloException> failures = new LinkedHashMap<>();
+        for (String key : items.keySet()) {
+            ApolloException error = errors.get(key);
+            if (error == null) {
+                succeeded.add(key);
+            } else {
+                failures.put(key, error);
+            }
+        }
+
+        boolean released = false;
+        ApolloException releaseError = null;
+        if (release && !succeeded.isEmpty()) {
+            String title = releaseTitle != null ? releaseTitle : "Batch release - " + succeeded.size() + " items";
+            try {
+                publishNamespace(appId, env, cluster, namespace, title, releaseComment, operator);
+                released = true;
+            } catch (ApolloException e) {
+                releaseError = e;
+            }
+        }
+
+        long durationMillis = (System.nanoTime() - start) / 1_000_000;
+        return new BatchWriteResult(items.size(), succeeded, failures, released, releaseError, durationMillis);
+    }
+
+    /**
+     * 获取异步客户端，未指定时按默认配置创建
+     *
+     * @return Apollo 异步客户端
+     */
+    private ApolloAsyncClient asyncClient() {
+        ApolloAsyncClient current = asyncClient;
+        if (current == null) {
+            synchronized (this) {
+                current = asyncClient;
+                if (current == null) {
+                    current = new ApolloAsyncClient(client);
+                    asyncClient = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 转换异步响应，并将失败统一包装为 {@link ApolloException}
+     *
+     * @param future 原始响应 Future
+     * @param converter 响应体转换逻辑
+     * @param errorMessage 失败时的异常消息
+     * @param <T> 结果类型
+     * @return 转换后的 Future
+     */
+    private <T> CompletableFuture<T> wrapAsync(CompletableFuture<String> future,
+                                               ResponseConverter<T> converter, String errorMessage) {
+        CompletableFuture<T> result = future.handle((responseJson, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                throw new CompletionException(new ApolloException(errorMessage, cause));
+            }
+            try {
+                return converter.convert(responseJson);
+            } catch (Exception e) {
+                throw new CompletionException(new ApolloException(errorMessage, e));
+            }
+        });
+        // 调用方取消结果时同时取消底层请求
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 命名空间下配置项集合的路径
+     */
+    private String itemsPath(String appId, String env, String cluster, String namespace) {
+        return namespacePath(appId, env, cluster, namespace) + "/items";
+    }
+
+    /**
+     * 单个配置项的路径
+     */
+    private String itemPath(String appId, String env, String cluster, String namespace, String key) {
+        return itemsPath(appId, env, cluster, namespace) + "/" + urlEncode(key);
+    }
+
+    /**
+     * 命名空间发布接口的路径
+     */
+    private String releasesPath(String appId, String env, String cluster, String namespace) {
+        return namespacePath(appId, env, cluster, namespace) + "/releases";
+    }
+
+    /**
+     * 命名空间的基础路径
+     */
+    private String namespacePath(String appId, String env, String cluster, String namespace) {
+        return String.format("/openapi/v1/apps/%s/envs/%s/clusters/%s/namespaces/%s",
+                urlEncode(appId), urlEncode(env), urlEncode(cluster), urlEncode(namespace));
+    }
+
+    /**
+     * 安静地关闭输入流
+     */
+    private static void closeQuietly(InputStream input) {
+        if (input != null) {
+            try {
+                input.close();
+            } catch (IOException ignored) {
+                // 已经在处理更早的异常，这里忽略
+            }
+        }
+    }
+
+    /**
+     * 基于 Jackson 流式解析器的配置项迭代器，逐个解析 JSON 数组中的元素
+     */
+    private static final class ItemIterator implements Iterator<ItemResponse> {
+
+        private final JsonParser parser;
+
+        private final ObjectReader reader;
+
+        private final String errorMessage;
+
+        private boolean started;
+
+        private boolean finished;
+
+        private ItemResponse next;
+
+        private ItemIterator(JsonParser parser, ObjectReader reader, String errorMessage) {
+            this.parser = parser;
+            this.reader = reader;
+            this.errorMessage = errorMessage;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (finished) {
+                return false;
+            }
+            try {
+                if (!started) {
+                    started = true;
+                    JsonToken first = parser.nextToken();
+                    if (first == null) {
+                        finished = true;
+                        return false;
+                    }
+                    if (first != JsonToken.START_ARRAY) {
+                        throw new IOException("Expected JSON array but got " + first);
+                    }
+                }
+                JsonToken token = parser.nextToken();
+                if (token == null || token == JsonToken.END_ARRAY) {
+                    finished = true;
+                    return false;
+                }
+                next = reader.readValue(parser);
+                return true;
+            } catch (IOException e) {
+                finished = true;
+                throw new ApolloException(errorMessage, e);
+            }
+        }
+
+        @Override
+        public ItemResponse next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ItemResponse item = next;
+            next = null;
+            return item;
+        }
+
+        /**
+         * 关闭解析器，同时关闭底层响应流和 HTTP 连接
+         */
+        private void close() {
+            finished = true;
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // 关闭阶段的异常不影响已经解析出的结果
+            }
+        }
+    }
+
+    /**
+     * 响应体转换逻辑，允许抛出受检异常
+     *
+     * @param <T> 结果类型
+     */
+    @FunctionalInterface
+    private interface ResponseConverter<T> {
+        T convert(String responseJson) throws Exception;
     }
 
     /**
@@ -0,0 +1,157 @@
+package com.bluesky.apollo.core;
+
+import lombok.Getter;
+import okhttp3.Request;
+
+import java.util.List;
+
+/**
+ * Portal 请求事件
+ *
+ * <p>描述一次发往 Portal 的逻辑请求（包含重试），由 {@link ApolloClient} 在请求开始时创建，
+ * 传给 {@link ApolloRequestListener}。操作名和命名空间坐标从 OpenAPI 路径中解析：</p>
+ * <ul>
+ *   <li>{@code GET .../items/{key}} - {@link #OP_GET_ITEM}</li>
+ *   <li>{@code GET .../items} - {@link #OP_LIST_ITEMS}</li>
+ *   <li>{@code POST .../items} - {@link #OP_CREATE_OR_UPDATE_ITEM}</li>
+ *   <li>{@code PUT .../items/{key}} - {@link #OP_UPDATE_ITEM}</li>
+ *   <li>{@code DELETE .../items/{key}} - {@link #OP_DELETE_ITEM}</li>
+ *   <li>{@code POST .../releases} - {@link #OP_PUBLISH_NAMESPACE}</li>
+ *   <li>其他请求 - {@link #OP_OTHER}</li>
+ * </ul>
+ *
+ * <p>路径中不包含的坐标字段为 {@code null}。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Getter
+public class ApolloRequestEvent {
+
+    /**
+     * 操作名：查询单个配置项
+     */
+    public static final String OP_GET_ITEM = "getItem";
+
+    /**
+     * 操作名：查询命名空间下的所有配置项
+     */
+    public static final String OP_LIST_ITEMS = "listNamespaceItems";
+
+    /**
+     * 操作名：创建或更新配置项
+     */
+    public static final String OP_CREATE_OR_UPDATE_ITEM = "createOrUpdateItem";
+
+    /**
+     * 操作名：修改配置项
+     */
+    public static final String OP_UPDATE_ITEM = "updateItem";
+
+    /**
+     * 操作名：删除配置项
+     */
+    public static final String OP_DELETE_ITEM = "deleteItem";
+
+    /**
+     * 操作名：发布命名空间
+     */
+    public static final String OP_PUBLISH_NAMESPACE = "publishNamespace";
+
+    /**
+     * 操作名：其他请求
+     */
+    public static final String OP_OTHER = "other";
+
+    /**
+     * 操作名
+     */
+    private final String operation;
+
+    /**
+     * HTTP 方法
+     */
+    private final String method;
+
+    /**
+     * 应用 ID
+     */
+    private final String appId;
+
+    /**
+     * 环境名称
+     */
+    private final String env;
+
+    /**
+     * 集群名称
+     */
+    private final String cluster;
+
+    /**
+     * 命名空间名称
+     */
+    private final String namespace;
+
+    /**
+     * 请求开始时间（{@link System#nanoTime()}）
+     */
+    private final long startNanos;
+
+    private ApolloRequestEvent(String operation, String method, String appId, String env, String cluster,
+                               String namespace, long startNanos) {
+        this.operation = operation;
+        this.method = method;
+        this.appId = appId;
+        this.env = env;
+        this.cluster = cluster;
+        this.namespace = namespace;
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * 根据 HTTP 请求创建事件
+     *
+     * @param request HTTP 请求
+     * @return 请求事件
+     */
+    static ApolloRequestEvent of(Request request) {
+        String method = request.method();
+        long startNanos = System.nanoTime();
+        // /openapi/v1/apps/{appId}/envs/{env}/clusters/{cluster}/namespaces/{namespace}/...
+        List<String> segments = request.url().pathSegments();
+        if (segments.size() < 10 || !"apps".equals(segments.get(2)) || !"envs".equals(segments.get(4))
+                || !"clusters".equals(segments.get(6)) || !"namespaces".equals(segments.get(8))) {
+            return new ApolloRequestEvent(OP_OTHER, method, null, null, null, null, startNanos);
+        }
+        return new ApolloRequestEvent(operation(method, segments), method, segments.get(3), segments.get(5),
+                segments.get(7), segments.get(9), startNanos);
+    }
+
+    /**
+     * 根据命名空间之后的路径段判断操作名
+     */
+    private static String operation(String method, List<String> segments) {
+        String resource = segments.size() > 10 ? segments.get(10) : "";
+        boolean hasKey = segments.size() > 11 && !segments.get(11).isEmpty();
+        if ("items".equals(resource)) {
+            switch (method) {
+                case "GET":
+                    return hasKey ? OP_GET_ITEM : OP_LIST_ITEMS;
+                case "POST":
+                    return OP_CREATE_OR_UPDATE_ITEM;
+                case "PUT":
+                    return OP_UPDATE_ITEM;
+                case "DELETE":
+                    return OP_DELETE_ITEM;
+                default:
+                    return OP_OTHER;
+            }
+        }
+        if ("releases".equals(resource) && "POST".equals(method)) {
+            return OP_PUBLISH_NAMESPACE;
+        }
+        return OP_OTHER;
+    }
+}
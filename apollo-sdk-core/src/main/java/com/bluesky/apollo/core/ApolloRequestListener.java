@@ -0,0 +1,35 @@
+package com.bluesky.apollo.core;
+
+/**
+ * Portal 请求监听器
+ *
+ * <p>通过 {@link ApolloClient#addRequestListener(ApolloRequestListener)} 注册，
+ * 同步和异步客户端发出的每个逻辑请求（包含其重试）都会回调一次开始和一次结束，
+ * 可用于对接 Micrometer 等监控系统，核心模块本身不依赖任何监控库。</p>
+ *
+ * <p>回调在请求线程上同步执行，实现应当足够轻量且不抛出异常；抛出的异常会被记录日志后忽略。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public interface ApolloRequestListener {
+
+    /**
+     * 请求开始
+     *
+     * @param event 请求事件
+     */
+    default void onStart(ApolloRequestEvent event) {
+    }
+
+    /**
+     * 请求结束
+     *
+     * @param event 请求事件
+     * @param statusCode HTTP 状态码；未拿到响应（网络异常、熔断、限流等）时为 0
+     * @param durationNanos 从开始到结束的耗时（纳秒）
+     * @param error 失败时的异常，成功时为 null
+     */
+    void onComplete(ApolloRequestEvent event, int statusCode, long durationNanos, Throwable error);
+}
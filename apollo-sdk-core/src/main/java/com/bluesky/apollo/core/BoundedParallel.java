@@ -0,0 +1,130 @@
+package com.bluesky.apollo.core;
+
+import com.bluesky.apollo.exception.ApolloException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 有界并发执行工具
+ *
+ * <p>在调用方提供的共享线程池上扇出一批任务，不再为每次调用创建线程池。
+ * 调用方线程本身也参与处理：它和提交到线程池的辅助任务从同一个队列中取元素，
+ * 取完后取消尚未开始的辅助任务，只等待已经开始的。因此线程池被占满（包括嵌套调用）时
+ * 只会降低并行度，不会因为等待排队中的任务而死锁。
+ * 每个任务自行处理和记录异常，这里只负责扇出和等待。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+final class BoundedParallel {
+
+    private BoundedParallel() {
+    }
+
+    /**
+     * 以有界并发对每个元素执行操作，并等待全部完成
+     *
+     * @param items 待处理元素
+     * @param concurrency 并发上限（包含调用方线程），小于 1 时按 1 处理
+     * @param executor 执行辅助任务的共享线程池
+     * @param action 对单个元素执行的操作，应自行捕获业务异常
+     * @param <T> 元素类型
+     * @throws ApolloException 等待过程中线程被中断时抛出
+     */
+    static <T> void forEach(Collection<T> items, int concurrency, Executor executor, Consumer<T> action) {
+        if (items.isEmpty()) {
+            return;
+        }
+        int threads = Math.max(1, Math.min(concurrency, items.size()));
+        if (threads == 1) {
+            items.forEach(action);
+            return;
+        }
+
+        Queue<T> queue = new ConcurrentLinkedQueue<>(items);
+        Runnable worker = () -> {
+            T item;
+            while ((item = queue.poll()) != null) {
+                action.accept(item);
+            }
+        };
+        List<Helper> helpers = new ArrayList<>(threads - 1);
+        try {
+            for (int i = 1; i < threads; i++) {
+                Helper helper = new Helper(worker);
+                executor.execute(helper);
+                helpers.add(helper);
+            }
+        } catch (RejectedExecutionException e) {
+            // 线程池已关闭，剩余元素由调用方线程处理
+        }
+
+        try {
+            worker.run();
+        } catch (RuntimeException | Error e) {
+            queue.clear();
+            helpers.forEach(Helper::claim);
+            throw e;
+        }
+        try {
+            for (Helper helper : helpers) {
+                if (!helper.claim()) {
+                    helper.done.get();
+                }
+            }
+        } catch (InterruptedException e) {
+            queue.clear();
+            Thread.currentThread().interrupt();
+            throw new ApolloException("Interrupted while waiting for parallel tasks", e);
+        } catch (ExecutionException e) {
+            throw new ApolloException("Parallel task failed unexpectedly", e.getCause());
+        }
+    }
+
+    /**
+     * 提交到线程池的辅助任务，开始执行前可以被调用方认领（取消）
+     */
+    private static final class Helper implements Runnable {
+
+        private final Runnable worker;
+
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private Helper(Runnable worker) {
+            this.worker = worker;
+        }
+
+        @Override
+        public void run() {
+            if (!claim()) {
+                return;
+            }
+            try {
+                worker.run();
+                done.complete(null);
+            } catch (Throwable t) {
+                done.completeExceptionally(t);
+            }
+        }
+
+        /**
+         * 认领任务，返回 false 表示任务已经开始执行
+         */
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package com.bluesky.apollo.core;
+
+import com.bluesky.apollo.exception.ApolloHttpException;
+import com.bluesky.apollo.exception.CircuitBreakerOpenException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Portal 熔断器
+ *
+ * <p>每个 {@link ApolloClient}（即每个 Portal 地址）对应一个熔断器，状态机如下：</p>
+ * <ul>
+ *   <li>{@link State#CLOSED} - 正常放行，按滑动窗口统计失败率和慢调用率，任一达到阈值即打开</li>
+ *   <li>{@link State#OPEN} - 所有请求立即以 {@link CircuitBreakerOpenException} 失败，
+ *       持续 {@code waitDurationInOpenState} 后进入半开</li>
+ *   <li>{@link State#HALF_OPEN} - 只放行有限个探测请求，探测结果全部返回后重新计算比例，
+ *       低于阈值则关闭，否则再次打开</li>
+ * </ul>
+ *
+ * <p>计为失败的情况：网络异常（{@link IOException}）和 5xx 响应。4xx 属于调用方错误，计为成功。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    /**
+     * 熔断器状态
+     */
+    public enum State {
+
+        /**
+         * 关闭：正常放行
+         */
+        CLOSED,
+
+        /**
+         * 打开：拒绝所有请求
+         */
+        OPEN,
+
+        /**
+         * 半开：放行有限的探测请求
+         */
+        HALF_OPEN
+    }
+
+    private static final byte FAILED = 1;
+
+    private static final byte SLOW = 2;
+
+    /**
+     * 熔断器名称
+     */
+    private final String name;
+
+    /**
+     * 熔断器配置
+     */
+    private final CircuitBreakerConfig config;
+
+    /**
+     * 状态变化监听器
+     */
+    private final List<CircuitBreakerListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 慢调用耗时阈值（纳秒）
+     */
+    private final long slowCallNanos;
+
+    /**
+     * 打开状态持续时间（纳秒）
+     */
+    private final long openNanos;
+
+    /**
+     * 滑动窗口，每个元素记录一次调用的失败/慢调用标记；以下状态字段都由 this 锁保护
+     */
+    private final byte[] window;
+
+    private int windowIndex;
+
+    private int windowCount;
+
+    private int failedCount;
+
+    private int slowCount;
+
+    private State state = State.CLOSED;
+
+    private long openedAt;
+
+    /**
+     * 半开状态下已放行的探测请求数
+     */
+    private int halfOpenPermits;
+
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * 构造函数
+     *
+     * @param name 熔断器名称（通常为 Portal 地址）
+     * @param config 熔断器配置
+     * @throws IllegalArgumentException 窗口大小不为正数，或最小调用数、半开探测数大于窗口大小时抛出
+     */
+    public CircuitBreaker(String name, CircuitBreakerConfig config) {
+        if (config.getSlidingWindowSize() <= 0) {
+            throw new IllegalArgumentException("slidingWindowSize must be positive: " + config.getSlidingWindowSize());
+        }
+        // 窗口计数不会超过窗口大小，超出的阈值永远达不到：熔断器无法打开，或半开后无法结束
+        if (config.getMinimumNumberOfCalls() > config.getSlidingWindowSize()) {
+            throw new IllegalArgumentException("minimumNumberOfCalls " + config.getMinimumNumberOfCalls()
+                    + " must not exceed slidingWindowSize " + config.getSlidingWindowSize());
+        }
+        if (config.getPermittedCallsInHalfOpenState() > config.getSlidingWindowSize()) {
+            throw new IllegalArgumentException("permittedCallsInHalfOpenState " + config.getPermittedCallsInHalfOpenState()
+                    + " must not exceed slidingWindowSize " + config.getSlidingWindowSize());
+        }
+        this.name = name;
+        this.config = config;
+        this.slowCallNanos = config.getSlowCallDuration().toNanos();
+        this.openNanos = config.getWaitDurationInOpenState().toNanos();
+        this.window = new byte[config.getSlidingWindowSize()];
+    }
+
+    /**
+     * 添加状态变化监听器
+     *
+     * @param listener 监听器
+     */
+    public void addListener(CircuitBreakerListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * 移除状态变化监听器
+     *
+     * @param listener 监听器
+     */
+    public void removeListener(CircuitBreakerListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * 申请调用许可
+     *
+     * @throws CircuitBreakerOpenException 熔断器打开，或半开状态下探测请求已满时抛出
+     */
+    public void acquirePermission() {
+        State from = null;
+        synchronized (this) {
+            if (state == State.OPEN) {
+                long remaining = openNanos - (System.nanoTime() - openedAt);
+                if (remaining > 0) {
+                    rejected.increment();
+                    throw new CircuitBreakerOpenException(name, remaining / 1_000_000);
+                }
+                from = transitionTo(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenPermits >= config.getPermittedCallsInHalfOpenState()) {
+                    rejected.increment();
+                    throw new CircuitBreakerOpenException(name, 0);
+                }
+                halfOpenPermits++;
+            }
+        }
+        notifyListeners(from, State.HALF_OPEN);
+    }
+
+    /**
+     * 归还一次调用许可，不记录调用结果
+     *
+     * <p>用于调用方在得到结果之前放弃的调用（例如被取消的异步请求）。半开状态下归还探测名额，
+     * 否则探测结果永远凑不齐，熔断器会一直拒绝请求；其他状态下无需处理。</p>
+     */
+    public synchronized void releasePermission() {
+        // 只归还尚未返回结果的探测名额，不会低于已记录的探测数
+        if (state == State.HALF_OPEN && halfOpenPermits > windowCount) {
+            halfOpenPermits--;
+        }
+    }
+
+    /**
+     * 记录一次调用结果
+     *
+     * @param durationNanos 调用耗时（纳秒）
+     * @param error 调用异常，成功时为 null
+     */
+    public void onResult(long durationNanos, Throwable error) {
+        byte outcome = 0;
+        if (isFailure(error)) {
+            outcome |= FAILED;
+        }
+        if (durationNanos >= slowCallNanos) {
+            outcome |= SLOW;
+        }
+
+        State from = null;
+        State to = null;
+        synchronized (this) {
+            if (state == State.OPEN) {
+                // 打开前就已发出的请求，结果不再计入
+                return;
+            }
+            record(outcome);
+            if (state == State.HALF_OPEN) {
+                if (windowCount >= config.getPermittedCallsInHalfOpenState()) {
+                    to = exceedsThreshold(windowCount) ? State.OPEN : State.CLOSED;
+                    from = transitionTo(to);
+                }
+            } else if (windowCount >= Math.max(1, config.getMinimumNumberOfCalls()) && exceedsThreshold(windowCount)) {
+                to = State.OPEN;
+                from = transitionTo(to);
+            }
+        }
+        notifyListeners(from, to);
+    }
+
+    /**
+     * 获取当前状态
+     *
+     * @return 熔断器状态
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * 获取熔断器名称
+     *
+     * @return 名称
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 获取窗口内的失败率
+     *
+     * @return 失败率（百分比），窗口为空时返回 0
+     */
+    public synchronized float getFailureRate() {
+        return windowCount == 0 ? 0f : failedCount * 100f / windowCount;
+    }
+
+    /**
+     * 获取窗口内的慢调用率
+     *
+     * @return 慢调用率（百分比），窗口为空时返回 0
+     */
+    public synchronized float getSlowCallRate() {
+        return windowCount == 0 ? 0f : slowCount * 100f / windowCount;
+    }
+
+    /**
+     * 获取被拒绝的请求数
+     *
+     * @return 被拒绝的请求数
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * 强制将熔断器重置为关闭状态并清空统计
+     */
+    public void reset() {
+        State from;
+        synchronized (this) {
+            from = transitionTo(State.CLOSED);
+        }
+        notifyListeners(from, State.CLOSED);
+    }
+
+    /**
+     * 判断异常是否计为失败
+     */
+    private static boolean isFailure(Throwable error) {
+        if (error == null) {
+            return false;
+        }
+        if (error instanceof ApolloHttpException) {
+            return ((ApolloHttpException) error).getStatusCode() >= 500;
+        }
+        return error instanceof IOException;
+    }
+
+    /**
+     * 在滑动窗口中记录一次结果，调用方需持有 this 锁
+     */
+    private void record(byte outcome) {
+        if (windowCount == window.length) {
+            byte evicted = window[windowIndex];
+            failedCount -= evicted & FAILED;
+            slowCount -= (evicted & SLOW) >> 1;
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = outcome;
+        failedCount += outcome & FAILED;
+        slowCount += (outcome & SLOW) >> 1;
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    /**
+     * 判断失败率或慢调用率是否达到阈值，调用方需持有 this 锁
+     */
+    private boolean exceedsThreshold(int calls) {
+        return failedCount * 100f / calls >= config.getFailureRateThreshold()
+                || slowCount * 100f / calls >= config.getSlowCallRateThreshold();
+    }
+
+    /**
+     * 切换状态并清空窗口，调用方需持有 this 锁
+     *
+     * @return 原状态，状态未变化时返回 null
+     */
+    private State transitionTo(State to) {
+        State from = state;
+        if (from == to) {
+            return null;
+        }
+        state = to;
+        windowIndex = 0;
+        windowCount = 0;
+        failedCount = 0;
+        slowCount = 0;
+        halfOpenPermits = 0;
+        if (to == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+        return from;
+    }
+
+    /**
+     * 在锁外通知监听器
+     */
+    private void notifyListeners(State from, State to) {
+        if (from == null || to == null) {
+            return;
+        }
+        if (to == State.OPEN) {
+            log.warn("Circuit breaker {} transitioned from {} to {}", name, from, to);
+        } else {
+            log.info("Circuit breaker {} transitioned from {} to {}", name, from, to);
+        }
+        for (CircuitBreakerListener listener : listeners) {
+            try {
+                listener.onStateTransition(this, from, to);
+            } catch (RuntimeException e) {
+                log.warn("Circuit breaker listener failed: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.bluesky.apollo.core;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * 熔断器配置
+ *
+ * <p>熔断器基于最近 {@link #getSlidingWindowSize()} 次调用的滑动窗口统计失败率和慢调用率，
+ * 任一比例达到阈值（且窗口内调用数不少于 {@link #getMinimumNumberOfCalls()}）时打开。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Data
+public class CircuitBreakerConfig {
+
+    /**
+     * 失败率阈值（百分比），达到即打开熔断器
+     * 默认值：50
+     */
+    private float failureRateThreshold = 50;
+
+    /**
+     * 慢调用率阈值（百分比），达到即打开熔断器
+     * 默认值：100
+     */
+    private float slowCallRateThreshold = 100;
+
+    /**
+     * 慢调用的耗时阈值
+     * 默认值：5s
+     */
+    private Duration slowCallDuration = Duration.ofSeconds(5);
+
+    /**
+     * 滑动窗口大小（调用次数）
+     * 默认值：50
+     */
+    private int slidingWindowSize = 50;
+
+    /**
+     * 计算比例前窗口内至少需要的调用次数，不能大于滑动窗口大小
+     * 默认值：20
+     */
+    private int minimumNumberOfCalls = 20;
+
+    /**
+     * 打开状态持续时间，到期后进入半开状态
+     * 默认值：30s
+     */
+    private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+
+    /**
+     * 半开状态下允许通过的探测调用数，不能大于滑动窗口大小
+     * 默认值：5
+     */
+    private int permittedCallsInHalfOpenState = 5;
+
+    /**
+     * 创建默认的熔断器配置
+     *
+     * @return 熔断器配置
+     */
+    public static CircuitBreakerConfig defaults() {
+        return new CircuitBreakerConfig();
+    }
+}
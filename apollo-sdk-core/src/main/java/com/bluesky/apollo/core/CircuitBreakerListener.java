@@ -0,0 +1,23 @@
+package com.bluesky.apollo.core;
+
+/**
+ * 熔断器状态变化监听器
+ *
+ * <p>回调在触发状态变化的调用线程上同步执行，实现应尽量轻量，不应抛出异常。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface CircuitBreakerListener {
+
+    /**
+     * 熔断器状态发生变化
+     *
+     * @param breaker 熔断器
+     * @param from 原状态
+     * @param to 新状态
+     */
+    void onStateTransition(CircuitBreaker breaker, CircuitBreaker.State from, CircuitBreaker.State to);
+}
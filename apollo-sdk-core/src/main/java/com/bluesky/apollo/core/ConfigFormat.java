@@ -0,0 +1,51 @@
+package com.bluesky.apollo.core;
+
+import com.bluesky.apollo.exception.ApolloException;
+
+import java.util.Locale;
+
+/**
+ * 导入导出支持的配置文件格式
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public enum ConfigFormat {
+
+    /**
+     * Java properties 文件（.properties）
+     */
+    PROPERTIES,
+
+    /**
+     * YAML 文件（.yml / .yaml），需要 classpath 中存在 jackson-dataformat-yaml
+     */
+    YAML,
+
+    /**
+     * JSON 文件（.json）
+     */
+    JSON;
+
+    /**
+     * 根据文件扩展名判断格式
+     *
+     * @param fileName 文件名
+     * @return 配置文件格式
+     * @throws ApolloException 扩展名不受支持时抛出
+     */
+    public static ConfigFormat fromFileName(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".properties")) {
+            return PROPERTIES;
+        }
+        if (name.endsWith(".yml") || name.endsWith(".yaml")) {
+            return YAML;
+        }
+        if (name.endsWith(".json")) {
+            return JSON;
+        }
+        throw new ApolloException("Unsupported config file format: " + fileName);
+    }
+}
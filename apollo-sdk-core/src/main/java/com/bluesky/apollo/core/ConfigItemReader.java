@@ -0,0 +1,370 @@
+package com.bluesky.apollo.core;
+
+import com.bluesky.apollo.exception.ApolloException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * 逐条读取配置文件中的配置项
+ *
+ * <p>所有格式都是流式解析，同一时刻只在内存中保留当前配置项，文件大小不影响内存占用：</p>
+ * <ul>
+ *   <li>properties：按 {@link java.util.Properties#load(java.io.Reader)} 的语法逐个逻辑行解析
+ *       （续行、转义、{@code =}/{@code :}/空白分隔），紧邻配置项之前的注释行作为配置项的注释</li>
+ *   <li>JSON / YAML：基于 Jackson 的流式解析器，嵌套对象展开为以 {@code .} 连接的键，
+ *       数组元素展开为 {@code key[0]}，null 按空字符串处理；YAML 的多个文档依次读取</li>
+ * </ul>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+abstract class ConfigItemReader implements Closeable {
+
+    /**
+     * 当前配置项的键
+     */
+    protected String key;
+
+    /**
+     * 当前配置项的值
+     */
+    protected String value;
+
+    /**
+     * 当前配置项的注释，没有时为 null
+     */
+    protected String comment;
+
+    /**
+     * 按格式打开读取器，关闭读取器时关闭输入流
+     *
+     * @param input 输入流，按 UTF-8 解码
+     * @param format 配置文件格式
+     * @param jsonFactory 解析 JSON 使用的工厂
+     * @return 配置项读取器
+     * @throws IOException 创建解析器失败时抛出
+     */
+    static ConfigItemReader open(InputStream input, ConfigFormat format, JsonFactory jsonFactory) throws IOException {
+        switch (format) {
+            case PROPERTIES:
+                return new PropertiesReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+            case YAML:
+                return new StructuredReader(YamlSupport.factory().createParser(input));
+            default:
+                return new StructuredReader(jsonFactory.createParser(input));
+        }
+    }
+
+    /**
+     * 读取下一个配置项
+     *
+     * @return 读到配置项返回 true，文件结束返回 false
+     * @throws IOException 读取或解析失败时抛出
+     */
+    abstract boolean next() throws IOException;
+
+    String key() {
+        return key;
+    }
+
+    String value() {
+        return value;
+    }
+
+    String comment() {
+        return comment;
+    }
+
+    /**
+     * properties 格式的流式读取器
+     */
+    static final class PropertiesReader extends ConfigItemReader {
+
+        private final BufferedReader reader;
+
+        /**
+         * 紧邻下一个配置项之前的注释行
+         */
+        private final StringBuilder pendingComment = new StringBuilder();
+
+        PropertiesReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        boolean next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int start = skipWhitespace(line, 0);
+                if (start == line.length()) {
+                    // 空行隔开的注释不属于后面的配置项
+                    pendingComment.setLength(0);
+                    continue;
+                }
+                char first = line.charAt(start);
+                if (first == '#' || first == '!') {
+                    if (pendingComment.length() > 0) {
+                        pendingComment.append(' ');
+                    }
+                    pendingComment.append(line.substring(start + 1).trim());
+                    continue;
+                }
+
+                String logical = readLogicalLine(line.substring(start));
+                parse(logical);
+                comment = pendingComment.length() == 0 ? null : pendingComment.toString();
+                pendingComment.setLength(0);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+
+        /**
+         * 拼接以奇数个反斜杠结尾的续行
+         */
+        private String readLogicalLine(String line) throws IOException {
+            StringBuilder logical = new StringBuilder(line);
+            while (endsWithContinuation(logical)) {
+                logical.setLength(logical.length() - 1);
+                String next = reader.readLine();
+                if (next == null) {
+                    break;
+                }
+                logical.append(next, skipWhitespace(next, 0), next.length());
+            }
+            return logical.toString();
+        }
+
+        /**
+         * 拆分键和值并处理转义
+         */
+        private void parse(String line) {
+            int length = line.length();
+            int keyEnd = 0;
+            boolean hasSeparator = false;
+            while (keyEnd < length) {
+                char c = line.charAt(keyEnd);
+                if (c == '\\') {
+                    keyEnd += 2;
+                    continue;
+                }
+                if (c == '=' || c == ':') {
+                    hasSeparator = true;
+                    break;
+                }
+                if (isWhitespace(c)) {
+                    break;
+                }
+                keyEnd++;
+            }
+            keyEnd = Math.min(keyEnd, length);
+
+            int valueStart = keyEnd + (hasSeparator ? 1 : 0);
+            valueStart = skipWhitespace(line, valueStart);
+            if (!hasSeparator && valueStart < length && (line.charAt(valueStart) == '=' || line.charAt(valueStart) == ':')) {
+                valueStart = skipWhitespace(line, valueStart + 1);
+            }
+            key = unescape(line, 0, keyEnd);
+            value = unescape(line, valueStart, length);
+        }
+
+        private static boolean endsWithContinuation(CharSequence line) {
+            int backslashes = 0;
+            for (int i = line.length() - 1; i >= 0 && line.charAt(i) == '\\'; i--) {
+                backslashes++;
+            }
+            return backslashes % 2 == 1;
+        }
+
+        private static int skipWhitespace(String line, int from) {
+            int i = from;
+            while (i < line.length() && isWhitespace(line.charAt(i))) {
+                i++;
+            }
+            return i;
+        }
+
+        private static boolean isWhitespace(char c) {
+            return c == ' ' || c == '\t' || c == '\f';
+        }
+
+        private static String unescape(String text, int from, int to) {
+            if (text.indexOf('\\', from) < 0 || text.indexOf('\\', from) >= to) {
+                return text.substring(from, to);
+            }
+            StringBuilder out = new StringBuilder(to - from);
+            for (int i = from; i < to; i++) {
+                char c = text.charAt(i);
+                if (c != '\\' || i + 1 >= to) {
+                    out.append(c);
+                    continue;
+                }
+                char escaped = text.charAt(++i);
+                switch (escaped) {
+                    case 't':
+                        out.append('\t');
+                        break;
+                    case 'n':
+                        out.append('\n');
+                        break;
+                    case 'r':
+                        out.append('\r');
+                        break;
+                    case 'f':
+                        out.append('\f');
+                        break;
+                    case 'u':
+                        if (i + 4 >= to) {
+                            throw new IllegalArgumentException("Malformed \\uxxxx encoding in: " + text);
+                        }
+                        out.append((char) Integer.parseInt(text.substring(i + 1, i + 5), 16));
+                        i += 4;
+                        break;
+                    default:
+                        out.append(escaped);
+                        break;
+                }
+            }
+            return out.toString();
+        }
+    }
+
+    /**
+     * JSON / YAML 格式的流式读取器，嵌套结构展开为扁平的键
+     */
+    static final class StructuredReader extends ConfigItemReader {
+
+        private final JsonParser parser;
+
+        /**
+         * 当前所在的对象或数组，栈顶为最内层
+         */
+        private final Deque<Frame> frames = new ArrayDeque<>();
+
+        StructuredReader(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        @Override
+        boolean next() throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                switch (token) {
+                    case START_OBJECT:
+                    case START_ARRAY:
+                        frames.push(new Frame(frames.isEmpty() ? "" : slotKey(), token == JsonToken.START_ARRAY));
+                        break;
+                    case END_OBJECT:
+                    case END_ARRAY:
+                        frames.pop();
+                        advance();
+                        break;
+                    case FIELD_NAME:
+                        frames.peek().name = parser.getCurrentName();
+                        break;
+                    default:
+                        if (frames.isEmpty()) {
+                            // 顶层的标量（如空的 YAML 文档）没有键
+                            continue;
+                        }
+                        key = slotKey();
+                        value = token == JsonToken.VALUE_NULL ? "" : parser.getText();
+                        comment = null;
+                        advance();
+                        return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+
+        /**
+         * 当前位置对应的扁平键
+         */
+        private String slotKey() {
+            Frame frame = frames.peek();
+            if (frame.array) {
+                return frame.prefix + "[" + frame.index + "]";
+            }
+            return frame.prefix.isEmpty() ? frame.name : frame.prefix + "." + frame.name;
+        }
+
+        /**
+         * 数组中的一个元素读取完毕
+         */
+        private void advance() {
+            Frame frame = frames.peek();
+            if (frame != null && frame.array) {
+                frame.index++;
+            }
+        }
+
+        private static final class Frame {
+
+            private final String prefix;
+
+            private final boolean array;
+
+            private String name;
+
+            private int index;
+
+            private Frame(String prefix, boolean array) {
+                this.prefix = prefix;
+                this.array = array;
+            }
+        }
+    }
+
+    /**
+     * 隔离对可选依赖 jackson-dataformat-yaml 的引用，缺少该依赖时只有使用 YAML 才会失败
+     */
+    static final class YamlSupport {
+
+        private YamlSupport() {
+        }
+
+        static JsonFactory factory() {
+            try {
+                return YamlFactoryHolder.create();
+            } catch (NoClassDefFoundError e) {
+                throw new ApolloException("YAML support requires com.fasterxml.jackson.dataformat:"
+                        + "jackson-dataformat-yaml on the classpath", e);
+            }
+        }
+    }
+
+    /**
+     * 唯一直接引用 YAML 工厂的类
+     */
+    static final class YamlFactoryHolder {
+
+        private YamlFactoryHolder() {
+        }
+
+        static JsonFactory create() {
+            return new com.fasterxml.jackson.dataformat.yaml.YAMLFactory()
+                    .disable(com.fasterxml.jackson.dataformat.yaml.YAMLGenerator.Feature.WRITE_DOC_START_MARKER);
+        }
+    }
+}
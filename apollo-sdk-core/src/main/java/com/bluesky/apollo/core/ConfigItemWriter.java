@@ -0,0 +1,180 @@
+package com.bluesky.apollo.core;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 逐条把配置项写入配置文件
+ *
+ * <p>与 {@link ConfigItemReader} 对应，每个配置项写出后不再保留。键原样写出，不还原为嵌套结构，
+ * 因此 JSON / YAML 中是扁平的 {@code "a.b": "value"}，再次导入得到相同的键：</p>
+ * <ul>
+ *   <li>properties：按 {@link java.util.Properties#store(java.io.Writer, String)} 的规则转义，
+ *       键和值中的非 ASCII 字符写为 {@code \}{@code uXXXX}，可以被任何 properties 解析器读取；
+ *       配置项的注释写在其前一行</li>
+ *   <li>JSON：一个扁平对象，带缩进</li>
+ *   <li>YAML：一个扁平映射</li>
+ * </ul>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+abstract class ConfigItemWriter implements Closeable {
+
+    /**
+     * 按格式打开写入器，关闭写入器时不关闭输出流，只刷新
+     *
+     * @param output 输出流，按 UTF-8 编码
+     * @param format 配置文件格式
+     * @param jsonFactory 生成 JSON 使用的工厂
+     * @return 配置项写入器
+     * @throws IOException 创建生成器失败时抛出
+     */
+    static ConfigItemWriter open(OutputStream output, ConfigFormat format, JsonFactory jsonFactory) throws IOException {
+        switch (format) {
+            case PROPERTIES:
+                return new PropertiesWriter(new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8)));
+            case YAML:
+                return new StructuredWriter(ConfigItemReader.YamlSupport.factory().createGenerator(output), false);
+            default:
+                return new StructuredWriter(jsonFactory.createGenerator(output), true);
+        }
+    }
+
+    /**
+     * 写入一个配置项
+     *
+     * @param key 配置项的键
+     * @param value 配置项的值
+     * @param comment 配置项的注释，可以为 null
+     * @throws IOException 写入失败时抛出
+     */
+    abstract void write(String key, String value, String comment) throws IOException;
+
+    /**
+     * properties 格式的写入器
+     */
+    static final class PropertiesWriter extends ConfigItemWriter {
+
+        private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+        private final Writer writer;
+
+        PropertiesWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        void write(String key, String value, String comment) throws IOException {
+            if (comment != null && !comment.isBlank()) {
+                // 注释不会被解析为配置，只需保证不跨行
+                writer.write("# ");
+                for (int i = 0; i < comment.length(); i++) {
+                    char c = comment.charAt(i);
+                    writer.write(c < 0x20 ? ' ' : c);
+                }
+                writer.write('\n');
+            }
+            escape(key, true);
+            writer.write('=');
+            escape(value == null ? "" : value, false);
+            writer.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+
+        private void escape(String text, boolean isKey) throws IOException {
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c > 0x7e) {
+                    writeUnicode(c);
+                    continue;
+                }
+                switch (c) {
+                    case ' ':
+                        // 值中间的空格无需转义，开头的空格会被解析器跳过
+                        if (i == 0 || isKey) {
+                            writer.write('\\');
+                        }
+                        writer.write(' ');
+                        break;
+                    case '\t':
+                        writer.write("\\t");
+                        break;
+                    case '\n':
+                        writer.write("\\n");
+                        break;
+                    case '\r':
+                        writer.write("\\r");
+                        break;
+                    case '\f':
+                        writer.write("\\f");
+                        break;
+                    case '=':
+                    case ':':
+                    case '#':
+                    case '!':
+                    case '\\':
+                        writer.write('\\');
+                        writer.write(c);
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            writeUnicode(c);
+                        } else {
+                            writer.write(c);
+                        }
+                        break;
+                }
+            }
+        }
+
+        private void writeUnicode(char c) throws IOException {
+            writer.write("\\u");
+            writer.write(HEX[(c >> 12) & 0xF]);
+            writer.write(HEX[(c >> 8) & 0xF]);
+            writer.write(HEX[(c >> 4) & 0xF]);
+            writer.write(HEX[c & 0xF]);
+        }
+    }
+
+    /**
+     * JSON / YAML 格式的写入器
+     */
+    static final class StructuredWriter extends ConfigItemWriter {
+
+        private final JsonGenerator generator;
+
+        StructuredWriter(JsonGenerator generator, boolean pretty) throws IOException {
+            this.generator = generator;
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (pretty) {
+                generator.useDefaultPrettyPrinter();
+            }
+            generator.writeStartObject();
+        }
+
+        @Override
+        void write(String key, String value, String comment) throws IOException {
+            generator.writeStringField(key, value == null ? "" : value);
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.writeEndObject();
+            generator.close();
+        }
+    }
+}
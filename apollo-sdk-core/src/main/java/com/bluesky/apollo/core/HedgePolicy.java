@@ -0,0 +1,77 @@
+package com.bluesky.apollo.core;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * 对冲读策略
+ *
+ * <p>描述 {@link ApolloClient} 如何对读请求（GET，幂等）发出对冲请求以降低尾延迟：</p>
+ * <ul>
+ *   <li>触发：第一次请求在触发时长内没有得到响应时，再发出一次相同的请求，先得到响应的一方胜出，另一方被取消</li>
+ *   <li>触发时长：{@link #getPercentile()} 大于 0 且已观测到至少 {@link #getMinSamples()} 个读请求时，
+ *       取观测到的读请求耗时的该百分位；否则取固定的 {@link #getDelay()}</li>
+ *   <li>预算：对冲请求数不超过读请求数的 {@link #getBudgetRatio()} 倍（允许 {@link #getBudgetBurst()} 个突发），
+ *       Portal 整体变慢时不会让读负载翻倍</li>
+ * </ul>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Data
+public class HedgePolicy {
+
+    /**
+     * 固定的触发时长，未启用百分位或样本不足时使用
+     * 默认值：100ms
+     */
+    private Duration delay = Duration.ofMillis(100);
+
+    /**
+     * 以观测到的读请求耗时的该百分位作为触发时长，取值 (0, 1]，为 0 时只使用固定时长
+     * 默认值：0
+     */
+    private double percentile = 0;
+
+    /**
+     * 使用百分位之前至少需要观测到的读请求数
+     * 默认值：100
+     */
+    private int minSamples = 100;
+
+    /**
+     * 对冲预算：对冲请求数占读请求数的比例上限
+     * 默认值：0.1
+     */
+    private double budgetRatio = 0.1;
+
+    /**
+     * 对冲预算：允许突发的对冲请求数
+     * 默认值：10
+     */
+    private int budgetBurst = 10;
+
+    /**
+     * 创建默认的对冲读策略
+     *
+     * @return 对冲读策略
+     */
+    public static HedgePolicy defaults() {
+        return new HedgePolicy();
+    }
+
+    /**
+     * 按观测到的读请求耗时计算触发时长
+     *
+     * @param readLatency 读请求耗时直方图
+     * @return 触发时长（纳秒）
+     */
+    public long triggerNanos(LatencyHistogram readLatency) {
+        if (percentile > 0 && readLatency.getCount() >= minSamples) {
+            return readLatency.getPercentile(percentile).toNanos();
+        }
+        return delay.toNanos();
+    }
+}
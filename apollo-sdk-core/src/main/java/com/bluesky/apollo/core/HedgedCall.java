@@ -0,0 +1,198 @@
+package com.bluesky.apollo.core;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 一次可对冲的读请求
+ *
+ * <p>第一次请求（primary）在调用方线程上同步执行；触发时长到达后由 {@link ApolloClient} 的定时线程调用
+ * {@link #startHedge()}，以异步方式发出相同的对冲请求（hedge）。任何 HTTP 响应（包括非 2xx）都视为得到答复：</p>
+ * <ul>
+ *   <li>primary 先答复：取消 hedge，返回 primary 的响应</li>
+ *   <li>hedge 先答复：取消 primary，primary 的 {@code execute()} 因取消而抛出异常，调用方线程改为返回 hedge 的响应</li>
+ *   <li>一方网络失败：等待另一方；两者都失败时抛出 primary 的异常，hedge 的异常作为 suppressed</li>
+ * </ul>
+ *
+ * <p>状态由 this 锁保护，锁内只做状态判断、取消和异步提交，不做阻塞操作。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+final class HedgedCall implements Callback {
+
+    private final OkHttpClient client;
+
+    private final Request request;
+
+    private final Call primary;
+
+    /**
+     * hedge 答复或失败时完成
+     */
+    private final CompletableFuture<Void> hedgeDone = new CompletableFuture<>();
+
+    private Call hedge;
+
+    private boolean primaryAnswered;
+
+    private boolean primaryFailed;
+
+    private boolean hedgeWon;
+
+    /**
+     * 调用方在等待 hedge 时被中断，之后到达的 hedge 响应直接关闭
+     */
+    private boolean abandoned;
+
+    private Response hedgeResponse;
+
+    private IOException hedgeError;
+
+    HedgedCall(OkHttpClient client, Request request) {
+        this.client = client;
+        this.request = request;
+        this.primary = client.newCall(request);
+    }
+
+    /**
+     * 在调用方线程上执行请求，返回先答复的一方的响应
+     *
+     * @return HTTP 响应，由调用方关闭
+     * @throws IOException 两次请求都失败，或在等待 hedge 时被中断
+     */
+    Response execute() throws IOException {
+        Response response;
+        try {
+            response = primary.execute();
+        } catch (IOException e) {
+            return onPrimaryFailure(e);
+        }
+        synchronized (this) {
+            primaryAnswered = true;
+            if (!hedgeWon) {
+                if (hedge != null) {
+                    hedge.cancel();
+                }
+                return response;
+            }
+        }
+        response.close();
+        return hedgeResponse;
+    }
+
+    /**
+     * 发出对冲请求；primary 已经结束或已发出过对冲请求时不发出
+     *
+     * @return 发出了对冲请求返回 true
+     */
+    synchronized boolean startHedge() {
+        if (primaryAnswered || primaryFailed || hedge != null) {
+            return false;
+        }
+        hedge = client.newCall(request);
+        hedge.enqueue(this);
+        return true;
+    }
+
+    /**
+     * 是否仍在等待 primary 答复，可以发出对冲请求
+     *
+     * @return 可以发出对冲请求时返回 true
+     */
+    synchronized boolean isAwaitingPrimary() {
+        return !primaryAnswered && !primaryFailed && hedge == null;
+    }
+
+    /**
+     * 返回的响应是否来自对冲请求
+     *
+     * @return 对冲请求胜出时返回 true
+     */
+    synchronized boolean isHedgeWon() {
+        return hedgeWon;
+    }
+
+    @Override
+    public void onResponse(Call call, Response response) {
+        synchronized (this) {
+            if (primaryAnswered || abandoned) {
+                response.close();
+            } else {
+                hedgeWon = true;
+                hedgeResponse = response;
+                if (!primaryFailed) {
+                    primary.cancel();
+                }
+            }
+        }
+        hedgeDone.complete(null);
+    }
+
+    @Override
+    public void onFailure(Call call, IOException e) {
+        synchronized (this) {
+            hedgeError = e;
+        }
+        hedgeDone.complete(null);
+    }
+
+    private Response onPrimaryFailure(IOException primaryError) throws IOException {
+        synchronized (this) {
+            primaryFailed = true;
+            if (hedgeWon) {
+                return hedgeResponse;
+            }
+            if (hedge == null) {
+                throw primaryError;
+            }
+        }
+
+        // hedge 仍在途，等待它的结果
+        try {
+            hedgeDone.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abandon();
+            InterruptedIOException interrupted = new InterruptedIOException("Interrupted while waiting for hedged request");
+            interrupted.addSuppressed(primaryError);
+            throw interrupted;
+        } catch (ExecutionException e) {
+            // hedgeDone 只会正常完成
+        }
+        synchronized (this) {
+            if (hedgeWon) {
+                return hedgeResponse;
+            }
+            if (hedgeError != null) {
+                primaryError.addSuppressed(hedgeError);
+            }
+        }
+        throw primaryError;
+    }
+
+    /**
+     * 放弃等待 hedge：取消在途的 hedge，已经胜出但尚未被取走的响应在这里关闭
+     */
+    private void abandon() {
+        Response won;
+        synchronized (this) {
+            abandoned = true;
+            won = hedgeWon ? hedgeResponse : null;
+            hedgeResponse = null;
+        }
+        hedge.cancel();
+        if (won != null) {
+            won.close();
+        }
+    }
+}
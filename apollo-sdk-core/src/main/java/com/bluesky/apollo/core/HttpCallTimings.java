@@ -0,0 +1,118 @@
+package com.bluesky.apollo.core;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单次 HTTP 调用的分阶段耗时
+ *
+ * <p>由 {@link HttpPhaseTimings} 在调用结束时生成，传给注册的回调，并用于慢调用日志。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public final class HttpCallTimings {
+
+    private final String method;
+
+    private final String path;
+
+    private final long[] phaseNanos;
+
+    private final boolean failed;
+
+    HttpCallTimings(String method, String path, long[] phaseNanos, boolean failed) {
+        this.method = method;
+        this.path = path;
+        this.phaseNanos = phaseNanos;
+        this.failed = failed;
+    }
+
+    /**
+     * 获取 HTTP 方法
+     *
+     * @return HTTP 方法
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * 获取请求路径（不包含查询参数）
+     *
+     * @return 请求路径
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * 调用是否失败（网络异常或被取消）
+     *
+     * @return 失败返回 true
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * 判断阶段是否发生
+     *
+     * @param phase 阶段
+     * @return 发生返回 true
+     */
+    public boolean has(HttpPhase phase) {
+        return phaseNanos[phase.ordinal()] >= 0;
+    }
+
+    /**
+     * 获取阶段耗时（纳秒）
+     *
+     * @param phase 阶段
+     * @return 耗时（纳秒），阶段未发生时返回 -1
+     */
+    public long getNanos(HttpPhase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * 获取阶段耗时
+     *
+     * @param phase 阶段
+     * @return 耗时，阶段未发生时返回零
+     */
+    public Duration get(HttpPhase phase) {
+        return Duration.ofNanos(Math.max(0L, phaseNanos[phase.ordinal()]));
+    }
+
+    /**
+     * 输出形如 {@code POST /path total=1200ms (dns=0ms connect=3ms ttfb=1150ms ...)} 的耗时分解
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(128)
+                .append(method).append(' ').append(path)
+                .append(" total=").append(millis(phaseNanos[HttpPhase.TOTAL.ordinal()])).append("ms (");
+        boolean first = true;
+        for (HttpPhase phase : HttpPhase.values()) {
+            if (phase == HttpPhase.TOTAL || !has(phase)) {
+                continue;
+            }
+            if (!first) {
+                sb.append(' ');
+            }
+            sb.append(phase.name().toLowerCase()).append('=').append(millis(getNanos(phase))).append("ms");
+            first = false;
+        }
+        sb.append(')');
+        if (failed) {
+            sb.append(" FAILED");
+        }
+        return sb.toString();
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(Math.max(0L, nanos));
+    }
+}
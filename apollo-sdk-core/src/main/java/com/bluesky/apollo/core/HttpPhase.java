@@ -0,0 +1,49 @@
+package com.bluesky.apollo.core;
+
+/**
+ * HTTP 调用阶段
+ *
+ * <p>由 {@link HttpPhaseTimings} 根据 OkHttp 的 {@code EventListener} 事件计算。复用连接池中的连接时，
+ * {@link #DNS}、{@link #CONNECT}、{@link #TLS} 三个阶段不会发生。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public enum HttpPhase {
+
+    /**
+     * DNS 解析
+     */
+    DNS,
+
+    /**
+     * TCP 建连（不包含 TLS 握手）
+     */
+    CONNECT,
+
+    /**
+     * TLS 握手
+     */
+    TLS,
+
+    /**
+     * 发送请求头和请求体
+     */
+    REQUEST,
+
+    /**
+     * 首字节等待：请求发送完成到开始收到响应头，主要是 Portal 服务端的处理时间
+     */
+    TTFB,
+
+    /**
+     * 接收响应体：收到响应头到响应体读取完成
+     */
+    RESPONSE_BODY,
+
+    /**
+     * 整个调用：从调用开始到调用结束或失败
+     */
+    TOTAL
+}
@@ -0,0 +1,303 @@
+package com.bluesky.apollo.core;
+
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * HTTP 分阶段耗时统计
+ *
+ * <p>通过 OkHttp 的 {@link EventListener} 记录每次调用在各个 {@link HttpPhase} 上的耗时：</p>
+ * <ul>
+ *   <li>每个阶段一个 {@link LatencyHistogram}，可查询次数、平均值、最大值和百分位</li>
+ *   <li>调用总耗时超过 {@link #getSlowCallThreshold()} 时输出一条带耗时分解的 WARN 日志，
+ *       便于区分 Portal 服务端耗时（{@link HttpPhase#TTFB}）和网络耗时（DNS、建连、TLS、传输）</li>
+ *   <li>可注册回调接收每次调用的 {@link HttpCallTimings}，用于对接监控系统</li>
+ * </ul>
+ *
+ * <p>{@link ApolloClient} 自行创建 OkHttpClient 时会自动挂载；使用外部 OkHttpClient 时，
+ * 可以在构建时通过 {@code eventListenerFactory(timings.eventListenerFactory())} 手动挂载。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Slf4j
+public class HttpPhaseTimings {
+
+    /**
+     * 默认的慢调用阈值
+     */
+    public static final Duration DEFAULT_SLOW_CALL_THRESHOLD = Duration.ofSeconds(2);
+
+    private static final HttpPhase[] PHASES = HttpPhase.values();
+
+    /**
+     * 各阶段的耗时直方图
+     */
+    private final Map<HttpPhase, LatencyHistogram> histograms = new EnumMap<>(HttpPhase.class);
+
+    /**
+     * 调用结束回调
+     */
+    private final List<Consumer<HttpCallTimings>> callbacks = new CopyOnWriteArrayList<>();
+
+    private final LongAdder slowCalls = new LongAdder();
+
+    /**
+     * 慢调用阈值（纳秒），小于等于 0 时不输出慢调用日志
+     */
+    private volatile long slowCallThresholdNanos = DEFAULT_SLOW_CALL_THRESHOLD.toNanos();
+
+    /**
+     * 构造函数
+     */
+    public HttpPhaseTimings() {
+        for (HttpPhase phase : PHASES) {
+            histograms.put(phase, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * 获取 OkHttp 事件监听器工厂，每个调用创建一个独立的监听器
+     *
+     * @return 事件监听器工厂
+     */
+    public EventListener.Factory eventListenerFactory() {
+        return call -> new PhaseListener();
+    }
+
+    /**
+     * 获取阶段的耗时直方图
+     *
+     * @param phase 阶段
+     * @return 耗时直方图
+     */
+    public LatencyHistogram getHistogram(HttpPhase phase) {
+        return histograms.get(phase);
+    }
+
+    /**
+     * 获取慢调用阈值
+     *
+     * @return 慢调用阈值
+     */
+    public Duration getSlowCallThreshold() {
+        return Duration.ofNanos(slowCallThresholdNanos);
+    }
+
+    /**
+     * 设置慢调用阈值
+     *
+     * @param threshold 慢调用阈值，为 null 或零时不输出慢调用日志
+     */
+    public void setSlowCallThreshold(Duration threshold) {
+        this.slowCallThresholdNanos = threshold == null ? 0L : threshold.toNanos();
+    }
+
+    /**
+     * 获取慢调用次数
+     *
+     * @return 慢调用次数
+     */
+    public long getSlowCallCount() {
+        return slowCalls.sum();
+    }
+
+    /**
+     * 添加调用结束回调，回调在调用线程上执行
+     *
+     * @param callback 回调
+     */
+    public void addCallback(Consumer<HttpCallTimings> callback) {
+        callbacks.add(callback);
+    }
+
+    /**
+     * 移除调用结束回调
+     *
+     * @param callback 回调
+     */
+    public void removeCallback(Consumer<HttpCallTimings> callback) {
+        callbacks.remove(callback);
+    }
+
+    /**
+     * 记录一次调用的耗时
+     */
+    private void record(HttpCallTimings timings) {
+        for (HttpPhase phase : PHASES) {
+            if (timings.has(phase)) {
+                histograms.get(phase).record(timings.getNanos(phase));
+            }
+        }
+        long threshold = slowCallThresholdNanos;
+        if (threshold > 0 && timings.getNanos(HttpPhase.TOTAL) >= threshold) {
+            slowCalls.increment();
+            log.warn("Slow Apollo portal call: {}", timings);
+        }
+        for (Consumer<HttpCallTimings> callback : callbacks) {
+            try {
+                callback.accept(timings);
+            } catch (RuntimeException e) {
+                log.warn("Http timing callback failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 单个调用的事件监听器
+     *
+     * <p>同一个调用的事件按顺序触发，不需要同步。重定向等导致的重复阶段耗时累加。</p>
+     */
+    private final class PhaseListener extends EventListener {
+
+        private final long[] phaseNanos = new long[PHASES.length];
+
+        private long callStart;
+
+        private long dnsStart;
+
+        private long connectStart;
+
+        private long tlsStart;
+
+        private long requestStart = -1;
+
+        private long requestEnd;
+
+        private long responseHeadersEnd;
+
+        private boolean finished;
+
+        private PhaseListener() {
+            Arrays.fill(phaseNanos, -1L);
+        }
+
+        @Override
+        public void callStart(Call call) {
+            callStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsStart(Call call, String domainName) {
+            dnsStart = System.nanoTime();
+        }
+
+        @Override
+        public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+            add(HttpPhase.DNS, System.nanoTime() - dnsStart);
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            connectStart = System.nanoTime();
+            tlsStart = 0;
+        }
+
+        @Override
+        public void secureConnectStart(Call call) {
+            tlsStart = System.nanoTime();
+        }
+
+        @Override
+        public void secureConnectEnd(Call call, Handshake handshake) {
+            add(HttpPhase.TLS, System.nanoTime() - tlsStart);
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+            connectDone();
+        }
+
+        @Override
+        public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol,
+                                  IOException ioe) {
+            connectDone();
+        }
+
+        @Override
+        public void requestHeadersStart(Call call) {
+            if (requestStart < 0) {
+                requestStart = System.nanoTime();
+            }
+        }
+
+        @Override
+        public void requestHeadersEnd(Call call, okhttp3.Request request) {
+            requestEnd = System.nanoTime();
+        }
+
+        @Override
+        public void requestBodyEnd(Call call, long byteCount) {
+            requestEnd = System.nanoTime();
+        }
+
+        @Override
+        public void responseHeadersStart(Call call) {
+            long now = System.nanoTime();
+            if (requestStart >= 0) {
+                add(HttpPhase.REQUEST, requestEnd - requestStart);
+                add(HttpPhase.TTFB, now - requestEnd);
+                requestStart = -1;
+            }
+        }
+
+        @Override
+        public void responseHeadersEnd(Call call, Response response) {
+            responseHeadersEnd = System.nanoTime();
+        }
+
+        @Override
+        public void responseBodyEnd(Call call, long byteCount) {
+            add(HttpPhase.RESPONSE_BODY, System.nanoTime() - responseHeadersEnd);
+        }
+
+        @Override
+        public void callEnd(Call call) {
+            finish(call, false);
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            finish(call, true);
+        }
+
+        private void connectDone() {
+            long now = System.nanoTime();
+            long tls = tlsStart > 0 ? now - tlsStart : 0L;
+            add(HttpPhase.CONNECT, now - connectStart - tls);
+        }
+
+        private void add(HttpPhase phase, long nanos) {
+            int i = phase.ordinal();
+            phaseNanos[i] = Math.max(0L, phaseNanos[i]) + Math.max(0L, nanos);
+        }
+
+        private void finish(Call call, boolean failed) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            phaseNanos[HttpPhase.TOTAL.ordinal()] = System.nanoTime() - callStart;
+            okhttp3.Request request = call.request();
+            record(new HttpCallTimings(request.method(), request.url().encodedPath(), phaseNanos, failed));
+        }
+    }
+}
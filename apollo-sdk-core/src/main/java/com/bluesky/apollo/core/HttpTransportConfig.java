@@ -0,0 +1,167 @@
+package com.bluesky.apollo.core;
+
+import lombok.Data;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP 传输层配置
+ *
+ * <p>控制 {@link ApolloClient} 内部 OkHttp 客户端的超时、连接池、调度器和协议。默认值与 OkHttp 自身的默认值一致。</p>
+ *
+ * <p>注意：OkHttp 调度器的 {@link #getMaxRequestsPerHost()} 默认为 5，而 Portal 只有一个主机，
+ * 因此它同时也是 {@link ApolloAsyncClient} 真正的并发上限。批量、扇出类负载需要一并调大该值和连接池大小。</p>
+ *
+ * <p>设置了 {@link #getSharedClient()} 时，从共享客户端派生（{@link OkHttpClient#newBuilder()}），
+ * 复用其连接池和调度器，此时连接池和调度器相关的配置不生效，只覆盖超时和协议。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Data
+public class HttpTransportConfig {
+
+    /**
+     * 建立连接的超时时间，为 0 时不限制
+     * 默认值：10s
+     */
+    private Duration connectTimeout = Duration.ofSeconds(10);
+
+    /**
+     * 读取的超时时间（两次读取之间的最大间隔），为 0 时不限制
+     * 默认值：10s
+     */
+    private Duration readTimeout = Duration.ofSeconds(10);
+
+    /**
+     * 写入的超时时间（两次写入之间的最大间隔），为 0 时不限制
+     * 默认值：10s
+     */
+    private Duration writeTimeout = Duration.ofSeconds(10);
+
+    /**
+     * 单次调用（含 DNS、建连、发送、等待和读取响应体）的总超时时间，为 0 时不限制
+     * 默认值：0
+     */
+    private Duration callTimeout = Duration.ZERO;
+
+    /**
+     * 连接池中保留的最大空闲连接数
+     * 默认值：5
+     */
+    private int maxIdleConnections = 5;
+
+    /**
+     * 空闲连接的保活时间，超过后被连接池回收
+     * 默认值：5m
+     */
+    private Duration keepAlive = Duration.ofMinutes(5);
+
+    /**
+     * 调度器的最大并发请求数（仅影响异步请求）
+     * 默认值：64
+     */
+    private int maxRequests = 64;
+
+    /**
+     * 调度器对单个主机的最大并发请求数（仅影响异步请求）
+     * 默认值：5
+     */
+    private int maxRequestsPerHost = 5;
+
+    /**
+     * 是否启用 HTTP/2，启用时 HTTPS 连接通过 ALPN 协商，关闭时只使用 HTTP/1.1
+     * 默认值：true
+     */
+    private boolean http2Enabled = true;
+
+    /**
+     * 是否以明文 HTTP/2（h2c prior knowledge）连接 Portal，仅适用于确认支持 h2c 的 http:// 地址
+     * 默认值：false
+     */
+    private boolean http2PriorKnowledge = false;
+
+    /**
+     * 连接失败时是否自动换路由重试（OkHttp 内置行为，与 {@link RetryPolicy} 无关）
+     * 默认值：true
+     */
+    private boolean retryOnConnectionFailure = true;
+
+    /**
+     * 共享的 OkHttp 客户端，为 null 时创建独立的连接池和调度器
+     * 默认值：null
+     */
+    private OkHttpClient sharedClient;
+
+    /**
+     * 创建默认的传输层配置
+     *
+     * @return 传输层配置
+     */
+    public static HttpTransportConfig defaults() {
+        return new HttpTransportConfig();
+    }
+
+    /**
+     * 复制一份配置，修改副本不影响原配置
+     *
+     * @return 配置副本
+     */
+    public HttpTransportConfig copy() {
+        HttpTransportConfig copy = new HttpTransportConfig();
+        copy.connectTimeout = connectTimeout;
+        copy.readTimeout = readTimeout;
+        copy.writeTimeout = writeTimeout;
+        copy.callTimeout = callTimeout;
+        copy.maxIdleConnections = maxIdleConnections;
+        copy.keepAlive = keepAlive;
+        copy.maxRequests = maxRequests;
+        copy.maxRequestsPerHost = maxRequestsPerHost;
+        copy.http2Enabled = http2Enabled;
+        copy.http2PriorKnowledge = http2PriorKnowledge;
+        copy.retryOnConnectionFailure = retryOnConnectionFailure;
+        copy.sharedClient = sharedClient;
+        return copy;
+    }
+
+    /**
+     * 按配置创建 OkHttp 客户端构建器
+     *
+     * @return OkHttp 客户端构建器
+     */
+    public OkHttpClient.Builder newClientBuilder() {
+        OkHttpClient.Builder builder;
+        if (sharedClient != null) {
+            builder = sharedClient.newBuilder();
+        } else {
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(maxRequests);
+            dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+            builder = new OkHttpClient.Builder()
+                    .connectionPool(new ConnectionPool(maxIdleConnections, keepAlive.toMillis(), TimeUnit.MILLISECONDS))
+                    .dispatcher(dispatcher);
+        }
+
+        builder.connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .writeTimeout(writeTimeout)
+                .callTimeout(callTimeout)
+                .retryOnConnectionFailure(retryOnConnectionFailure);
+
+        if (http2PriorKnowledge) {
+            builder.protocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE));
+        } else if (http2Enabled) {
+            builder.protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1));
+        } else {
+            builder.protocols(List.of(Protocol.HTTP_1_1));
+        }
+        return builder;
+    }
+}
@@ -0,0 +1,405 @@
+package com.bluesky.apollo.core;
+
+import com.bluesky.apollo.model.NamespaceCoordinate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 配置项读缓存
+ *
+ * <p>为 {@link ApolloConfigServiceCore#getItem} 和 {@link ApolloConfigServiceCore#listNamespaceItems}
+ * 提供进程内的读穿透缓存：</p>
+ * <ul>
+ *   <li>每个条目独立过期（TTL），未找到的配置项使用单独的较短 TTL 做负缓存</li>
+ *   <li>按条目数上限做近似 LRU 淘汰：读取只更新条目的访问时间，不加锁；
+ *       超过上限时由一个线程批量清理过期条目和最久未访问的条目，降到上限的 90%</li>
+ *   <li>按命名空间失效：命名空间按哈希映射到固定数量的版本号槽位，写入、删除、发布时递增，
+ *       旧版本号下加载的条目在读取时视为失效，加载过程中发生的写入也不会留下脏数据；
+ *       槽位数量固定，不随命名空间数量增长，共用槽位的命名空间只会多一次未命中</li>
+ *   <li>命中、未命中、淘汰次数统计</li>
+ * </ul>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public class ItemCache {
+
+    /**
+     * 默认的最大条目数
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    /**
+     * 默认的条目存活时间
+     */
+    public static final Duration DEFAULT_TTL = Duration.ofSeconds(30);
+
+    /**
+     * 默认的负缓存存活时间
+     */
+    public static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(5);
+
+    /**
+     * 版本号槽位数，必须是 2 的幂
+     */
+    private static final int GENERATION_SLOTS = 1024;
+
+    /**
+     * 最大条目数
+     */
+    private final int maxEntries;
+
+    /**
+     * 条目存活时间（纳秒）
+     */
+    private final long ttlNanos;
+
+    /**
+     * 负缓存存活时间（纳秒）
+     */
+    private final long negativeTtlNanos;
+
+    /**
+     * 缓存条目
+     */
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * 版本号槽位，命名空间按哈希映射到其中一个
+     */
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_SLOTS);
+
+    /**
+     * 淘汰锁，同一时刻只有一个线程做批量淘汰
+     */
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * 构造函数，使用默认配置
+     */
+    public ItemCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL, DEFAULT_NEGATIVE_TTL);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param maxEntries 最大条目数，必须大于 0
+     * @param ttl 条目存活时间
+     * @param negativeTtl 负缓存存活时间，为零时不做负缓存
+     */
+    public ItemCache(int maxEntries, Duration ttl, Duration negativeTtl) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.negativeTtlNanos = negativeTtl.toNanos();
+    }
+
+    /**
+     * 获取命名空间当前的版本号，加载数据前调用，加载完成后随数据一起写回
+     *
+     * @param coordinate 命名空间坐标
+     * @return 版本号
+     */
+    long generation(NamespaceCoordinate coordinate) {
+        return generations.get(slot(coordinate));
+    }
+
+    private static int slot(NamespaceCoordinate coordinate) {
+        int h = coordinate.hashCode();
+        return (h ^ (h >>> 16)) & (GENERATION_SLOTS - 1);
+    }
+
+    /**
+     * 查找缓存条目，过期或已失效的条目会被移除并计为未命中
+     *
+     * @param coordinate 命名空间坐标
+     * @param itemKey 配置项的键，为 null 表示整个命名空间的列表
+     * @return 缓存条目，未命中时返回 null
+     */
+    Entry lookup(NamespaceCoordinate coordinate, String itemKey) {
+        Key key = new Key(coordinate, itemKey);
+        long currentGeneration = generation(coordinate);
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (entry.generation == currentGeneration && now - entry.expiresAt < 0) {
+                entry.lastAccess = now;
+                hits.increment();
+                return entry;
+            }
+            entries.remove(key, entry);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * 写入加载到的值
+     *
+     * @param coordinate 命名空间坐标
+     * @param itemKey 配置项的键，为 null 表示整个命名空间的列表
+     * @param value 加载到的值
+     * @param generation 加载前获取的版本号
+     */
+    void put(NamespaceCoordinate coordinate, String itemKey, Object value, long generation) {
+        store(coordinate, itemKey, new Entry(value, null, generation, System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * 写入负缓存条目（配置项不存在）
+     *
+     * @param coordinate 命名空间坐标
+     * @param itemKey 配置项的键
+     * @param missing 配置项不存在时的原始异常
+     * @param generation 加载前获取的版本号
+     */
+    void putMissing(NamespaceCoordinate coordinate, String itemKey, RuntimeException missing, long generation) {
+        if (negativeTtlNanos <= 0) {
+            return;
+        }
+        store(coordinate, itemKey, new Entry(null, missing, generation, System.nanoTime() + negativeTtlNanos));
+    }
+
+    private void store(NamespaceCoordinate coordinate, String itemKey, Entry entry) {
+        if (entry.generation != generation(coordinate)) {
+            // 加载期间命名空间已被修改，丢弃旧数据
+            return;
+        }
+        entries.put(new Key(coordinate, itemKey), entry);
+        if (entries.size() > maxEntries) {
+            evict();
+        }
+    }
+
+    /**
+     * 批量淘汰：先移除过期和已失效的条目，仍超过上限时按访问时间移除最久未访问的条目，
+     * 降到上限的 90%，使淘汰的开销分摊到多次写入上；已有线程在淘汰时直接返回
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.nanoTime();
+            List<Candidate> live = new ArrayList<>(entries.size());
+            for (Map.Entry<Key, Entry> e : entries.entrySet()) {
+                Entry entry = e.getValue();
+                if (entry.generation != generation(e.getKey().coordinate) || now - entry.expiresAt >= 0) {
+                    entries.remove(e.getKey(), entry);
+                } else {
+                    // 访问时间在排序期间仍会被命中更新，先取快照，保证比较结果稳定
+                    live.add(new Candidate(e.getKey(), entry, now - entry.lastAccess));
+                }
+            }
+            int target = maxEntries - maxEntries / 10;
+            int excess = live.size() - target;
+            if (excess <= 0) {
+                return;
+            }
+            live.sort(Comparator.comparingLong((Candidate c) -> c.idleNanos).reversed());
+            for (int i = 0; i < excess; i++) {
+                Candidate candidate = live.get(i);
+                if (entries.remove(candidate.key, candidate.entry)) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * 使命名空间下的所有条目失效
+     *
+     * @param coordinate 命名空间坐标
+     */
+    public void invalidate(NamespaceCoordinate coordinate) {
+        generations.incrementAndGet(slot(coordinate));
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        for (int i = 0; i < GENERATION_SLOTS; i++) {
+            generations.incrementAndGet(i);
+        }
+        entries.clear();
+    }
+
+    /**
+     * 获取当前条目数（包含尚未清理的过期条目）
+     *
+     * @return 条目数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 获取命中次数
+     *
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * 获取未命中次数
+     *
+     * @return 未命中次数
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 获取因容量上限被淘汰的条目数
+     *
+     * @return 淘汰次数
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * 获取命中率
+     *
+     * @return 命中率，尚无请求时返回 0
+     */
+    public double getHitRate() {
+        long hit = hits.sum();
+        long total = hit + misses.sum();
+        return total == 0 ? 0.0 : (double) hit / total;
+    }
+
+    /**
+     * 获取最大条目数
+     *
+     * @return 最大条目数
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * 缓存条目
+     */
+    static final class Entry {
+
+        private final Object value;
+
+        private final RuntimeException missing;
+
+        private final long generation;
+
+        private final long expiresAt;
+
+        /**
+         * 最近一次命中的时间（纳秒），淘汰时参考
+         */
+        private volatile long lastAccess;
+
+        private Entry(Object value, RuntimeException missing, long generation, long expiresAt) {
+            this.value = value;
+            this.missing = missing;
+            this.generation = generation;
+            this.expiresAt = expiresAt;
+            this.lastAccess = System.nanoTime();
+        }
+
+        /**
+         * 缓存的值
+         */
+        Object value() {
+            return value;
+        }
+
+        /**
+         * 是否为负缓存条目
+         */
+        boolean isMissing() {
+            return missing != null;
+        }
+
+        /**
+         * 负缓存条目对应的原始异常
+         */
+        RuntimeException missing() {
+            return missing;
+        }
+    }
+
+    /**
+     * 淘汰候选条目，带有取快照时的空闲时长
+     */
+    private static final class Candidate {
+
+        private final Key key;
+
+        private final Entry entry;
+
+        private final long idleNanos;
+
+        private Candidate(Key key, Entry entry, long idleNanos) {
+            this.key = key;
+            this.entry = entry;
+            this.idleNanos = idleNanos;
+        }
+    }
+
+    /**
+     * 缓存键
+     */
+    private static final class Key {
+
+        private final NamespaceCoordinate coordinate;
+
+        private final String itemKey;
+
+        private final int hash;
+
+        private Key(NamespaceCoordinate coordinate, String itemKey) {
+            this.coordinate = coordinate;
+            this.itemKey = itemKey;
+            this.hash = 31 * coordinate.hashCode() + Objects.hashCode(itemKey);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return coordinate.equals(other.coordinate) && Objects.equals(itemKey, other.itemKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
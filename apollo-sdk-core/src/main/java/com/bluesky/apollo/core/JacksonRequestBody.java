@@ -0,0 +1,60 @@
+package com.bluesky.apollo.core;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+import java.io.IOException;
+
+/**
+ * 由 Jackson 直接写入 Okio sink 的 JSON 请求体
+ *
+ * <p>与先序列化为 String 再包装为请求体相比，省去了中间的 String 和 UTF-8 字节数组两次复制，
+ * Jackson 的输出直接进入 OkHttp 的发送缓冲区。</p>
+ *
+ * <p>请求体长度未知（{@link #contentLength()} 返回 -1），HTTP/1.1 下以 chunked 方式发送。
+ * 每次 {@link #writeTo} 都重新序列化，因此重试时可以重复发送。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+final class JacksonRequestBody extends RequestBody {
+
+    /**
+     * 序列化使用的 writer
+     */
+    private final ObjectWriter writer;
+
+    /**
+     * 要序列化的对象
+     */
+    private final Object value;
+
+    /**
+     * 构造函数
+     *
+     * @param writer 序列化使用的 writer
+     * @param value 要序列化的对象
+     */
+    JacksonRequestBody(ObjectWriter writer, Object value) {
+        this.writer = writer;
+        this.value = value;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return ApolloClient.JSON;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        // sink 由 OkHttp 管理，关闭 generator 时不能关闭底层输出流
+        try (JsonGenerator generator = writer.createGenerator(sink.outputStream())) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            writer.writeValue(generator, value);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.bluesky.apollo.core;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 耗时直方图
+ *
+ * <p>以微秒为单位按对数分桶：每个 2 的幂区间再线性等分为 8 个子桶，相对误差不超过 12.5%，
+ * 覆盖从 0 到 {@code Long.MAX_VALUE} 微秒的全部取值，内存占用固定（约 4KB）。
+ * 记录操作只有几次原子加法，没有锁，适合在每个 HTTP 请求上调用。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public class LatencyHistogram {
+
+    /**
+     * 每个 2 的幂区间的子桶数（以 2 为底的对数）
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * 记录一次耗时
+     *
+     * @param nanos 耗时（纳秒），负数按 0 处理
+     */
+    public void record(long nanos) {
+        long value = Math.max(0L, nanos);
+        buckets.incrementAndGet(index(value / 1_000L));
+        count.increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    /**
+     * 获取记录次数
+     *
+     * @return 记录次数
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * 获取累计耗时
+     *
+     * @return 累计耗时
+     */
+    public Duration getTotal() {
+        return Duration.ofNanos(totalNanos.sum());
+    }
+
+    /**
+     * 获取平均耗时
+     *
+     * @return 平均耗时，尚无记录时返回零
+     */
+    public Duration getMean() {
+        long n = count.sum();
+        return n == 0 ? Duration.ZERO : Duration.ofNanos(totalNanos.sum() / n);
+    }
+
+    /**
+     * 获取最大耗时
+     *
+     * @return 最大耗时
+     */
+    public Duration getMax() {
+        return Duration.ofNanos(maxNanos.get());
+    }
+
+    /**
+     * 获取百分位耗时（所在桶的上界，不超过最大值）
+     *
+     * @param percentile 百分位，取值 (0, 1]，例如 0.99
+     * @return 百分位耗时，尚无记录时返回零
+     */
+    public Duration getPercentile(double percentile) {
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("percentile must be in (0, 1]: " + percentile);
+        }
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return Duration.ZERO;
+        }
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                long upperMicros = i + 1 < BUCKETS ? lowerBound(i + 1) - 1 : Long.MAX_VALUE / 1_000L;
+                return Duration.ofNanos(Math.min(maxNanos.get(), upperMicros * 1_000L + 999L));
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * 计算取值所在的桶
+     */
+    static int index(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) ((micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * 计算桶的下界（微秒）
+     */
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        return (1L << exponent) | (subBucket << (exponent - SUB_BUCKET_BITS));
+    }
+}
@@ -0,0 +1,59 @@
+package com.bluesky.apollo.core;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 带名称前缀的线程工厂
+ *
+ * <p>SDK 内部创建的线程统一使用该工厂，线程名形如 {@code apollo-sdk-async-1}，
+ * 便于在线程 dump 中定位；默认创建守护线程，不会阻止 JVM 退出。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public class NamedThreadFactory implements ThreadFactory {
+
+    /**
+     * 线程名前缀
+     */
+    private final String prefix;
+
+    /**
+     * 是否为守护线程
+     */
+    private final boolean daemon;
+
+    /**
+     * 线程序号
+     */
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    /**
+     * 构造函数，创建守护线程工厂
+     *
+     * @param prefix 线程名前缀
+     */
+    public NamedThreadFactory(String prefix) {
+        this(prefix, true);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param prefix 线程名前缀
+     * @param daemon 是否为守护线程
+     */
+    public NamedThreadFactory(String prefix, boolean daemon) {
+        this.prefix = prefix;
+        this.daemon = daemon;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+        thread.setDaemon(daemon);
+        return thread;
+    }
+}
@@ -0,0 +1,274 @@
+package com.bluesky.apollo.core;
+
+import com.bluesky.apollo.exception.ApolloException;
+import com.bluesky.apollo.model.ItemResponse;
+import com.bluesky.apollo.model.NamespaceCoordinate;
+import com.bluesky.apollo.model.PublishItemRequest;
+import com.bluesky.apollo.model.ReleaseRequest;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.Getter;
+import okhttp3.HttpUrl;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 绑定到单个命名空间的操作句柄
+ *
+ * <p>{@link ApolloConfigServiceCore} 的每次调用都要重新格式化、编码命名空间路径，拼接并解析完整 URL，
+ * 再由 Jackson 查找序列化器。对同一个命名空间高频读写时，这些工作都是重复的。
+ * 句柄在创建时一次性完成：</p>
+ * <ul>
+ *   <li>编码后的命名空间路径，以及解析好的配置项集合、发布接口 {@link HttpUrl}</li>
+ *   <li>认证等公共请求头（由 {@link ApolloClient} 在构造时计算）</li>
+ *   <li>预先构建的 {@link ObjectReader} 和 {@link ObjectWriter}</li>
+ * </ul>
+ *
+ * <p>之后每次请求只需追加配置项的键，请求体由 Jackson 直接写入请求流，响应体直接从响应流解析，
+ * 不经过中间的 String，请求构建几乎不产生额外分配。
+ * 句柄与创建它的服务共享读缓存、发布组提交、写入发件箱和有序写入通道：读操作经过读缓存，写操作后使缓存失效，
+ * 开启发布组提交时发布请求同样会被合并，开启写入发件箱时写操作同样先追加到本地日志，
+ * 开启有序写入通道时写操作与服务上同一命名空间的写操作一起按提交顺序执行。</p>
+ *
+ * <p>句柄是线程安全的，通过 {@link ApolloConfigServiceCore#namespace} 获取，同一命名空间返回同一个实例：</p>
+ * <pre>{@code
+ * NamespaceHandle handle = service.namespace("myApp", "DEV", "default", "application");
+ * handle.createOrUpdateItem("timeout", "5000", "设置超时时间", "admin");
+ * handle.publish("Release timeout", "设置超时时间", "admin");
+ * String value = handle.getItem("timeout");
+ * }</pre>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public final class NamespaceHandle {
+
+    private static final TypeReference<List<ItemResponse>> ITEM_LIST = new TypeReference<List<ItemResponse>>() {};
+
+    /**
+     * 命名空间坐标
+     */
+    @Getter
+    private final NamespaceCoordinate coordinate;
+
+    /**
+     * 编码后的命名空间路径，例如 /openapi/v1/apps/myApp/envs/DEV/clusters/default/namespaces/application
+     */
+    @Getter
+    private final String basePath;
+
+    /**
+     * 创建句柄的服务，用于共享读缓存和发布组提交
+     */
+    private final ApolloConfigServiceCore service;
+
+    /**
+     * Apollo HTTP 客户端
+     */
+    private final ApolloClient client;
+
+    /**
+     * 配置项集合的 URL，单个配置项的 URL 在其后追加键
+     */
+    private final HttpUrl itemsUrl;
+
+    /**
+     * 创建或更新配置项的 URL（带末尾斜杠）
+     */
+    private final HttpUrl itemsWriteUrl;
+
+    /**
+     * 发布接口的 URL
+     */
+    private final HttpUrl releasesUrl;
+
+    private final ObjectReader itemReader;
+
+    private final ObjectReader itemListReader;
+
+    private final ObjectWriter itemWriter;
+
+    private final ObjectWriter releaseWriter;
+
+    /**
+     * 构造函数
+     *
+     * @param service 创建句柄的服务
+     * @param client Apollo HTTP 客户端
+     * @param mapper 用于构建 reader/writer 的 ObjectMapper
+     * @param coordinate 命名空间坐标
+     * @param basePath 编码后的命名空间路径
+     */
+    NamespaceHandle(ApolloConfigServiceCore service, ApolloClient client, ObjectMapper mapper,
+                    NamespaceCoordinate coordinate, String basePath) {
+        this.service = service;
+        this.client = client;
+        this.coordinate = coordinate;
+        this.basePath = basePath;
+        this.itemsUrl = client.resolve(basePath + "/items");
+        this.itemsWriteUrl = client.resolve(basePath + "/items/");
+        this.releasesUrl = client.resolve(basePath + "/releases");
+        this.itemReader = mapper.readerFor(ItemResponse.class);
+        this.itemListReader = mapper.readerFor(ITEM_LIST);
+        this.itemWriter = mapper.writerFor(PublishItemRequest.class);
+        this.releaseWriter = mapper.writerFor(ReleaseRequest.class);
+    }
+
+    /**
+     * 获取单个配置项的值
+     *
+     * @param key 配置项的键
+     * @return 配置项的值
+     * @throws ApolloException 当配置项不存在或 API 调用失败时抛出
+     */
+    public String getItem(String key) {
+        ItemCache cache = service.getItemCache();
+        if (cache == null) {
+            return loadItem(key);
+        }
+        return service.cachedItem(cache, coordinate, key, () -> loadItem(key));
+    }
+
+    /**
+     * 获取命名空间下的所有配置项
+     *
+     * @return 配置项列表
+     * @throws ApolloException 当 API 调用失败时抛出
+     */
+    public List<ItemResponse> listItems() {
+        ItemCache cache = service.getItemCache();
+        if (cache == null) {
+            return loadItems();
+        }
+        return service.cachedItems(cache, coordinate, this::loadItems);
+    }
+
+    /**
+     * 创建或更新单个配置项（不发布）
+     *
+     * @param key 配置项的键
+     * @param value 配置项的值
+     * @param comment 配置项的注释说明
+     * @param operator 操作人员标识
+     * @throws ApolloException 当 API 调用失败时抛出
+     */
+    public void createOrUpdateItem(String key, String value, String comment, String operator) {
+        if (service.getOutbox() != null || service.getWriteLanes() != null) {
+            service.createOrUpdateItem(coordinate.getAppId(), coordinate.getEnv(), coordinate.getCluster(),
+                    coordinate.getNamespace(), key, value, comment, operator);
+            return;
+        }
+        try {
+            PublishItemRequest request = new PublishItemRequest(key, value, comment, operator);
+            client.post(itemsWriteUrl, ApolloClient.jsonBody(itemWriter, request), null);
+        } catch (Exception e) {
+            throw new ApolloException("Failed to create or update item: " + key, e);
+        } finally {
+            service.invalidateCache(coordinate);
+        }
+    }
+
+    /**
+     * 删除单个配置项（不发布）
+     *
+     * @param key 要删除的配置项的键
+     * @param operator 操作人员标识
+     * @throws ApolloException 当 API 调用失败时抛出
+     */
+    public void deleteItem(String key, String operator) {
+        if (service.getOutbox() != null || service.getWriteLanes() != null) {
+            service.deleteItem(coordinate.getAppId(), coordinate.getEnv(), coordinate.getCluster(),
+                    coordinate.getNamespace(), key, operator);
+            return;
+        }
+        try {
+            HttpUrl url = itemsUrl.newBuilder()
+                    .addPathSegment(key)
+                    .addQueryParameter("operator", operator)
+                    .build();
+            client.delete(url);
+        } catch (Exception e) {
+            throw new ApolloException("Failed to delete item: " + key, e);
+        } finally {
+            service.invalidateCache(coordinate);
+        }
+    }
+
+    /**
+     * 发布命名空间
+     *
+     * <p>服务开启了发布组提交、写入发件箱或有序写入通道时，交给服务处理。</p>
+     *
+     * @param releaseTitle 发布标题
+     * @param releaseComment 发布说明
+     * @param releasedBy 发布人员标识
+     * @throws ApolloException 当 API 调用失败时抛出
+     */
+    public void publish(String releaseTitle, String releaseComment, String releasedBy) {
+        if (service.getReleaseGroupCommitter() != null || service.getOutbox() != null
+                || service.getWriteLanes() != null) {
+            service.publishNamespace(coordinate.getAppId(), coordinate.getEnv(), coordinate.getCluster(),
+                    coordinate.getNamespace(), releaseTitle, releaseComment, releasedBy);
+            return;
+        }
+        try {
+            ReleaseRequest request = new ReleaseRequest(releaseTitle, releasedBy, releaseComment);
+            client.post(releasesUrl, ApolloClient.jsonBody(releaseWriter, request), null);
+        } catch (Exception e) {
+            throw new ApolloException("Failed to publish namespace: " + coordinate.getNamespace(), e);
+        } finally {
+            service.invalidateCache(coordinate);
+        }
+    }
+
+    /**
+     * 一键创建/更新并发布配置项
+     *
+     * @param key 配置项的键
+     * @param value 配置项的值
+     * @param comment 配置项的注释说明
+     * @param operator 操作人员标识
+     * @throws ApolloException 当任一步骤失败时抛出
+     */
+    public void publishSingle(String key, String value, String comment, String operator) {
+        createOrUpdateItem(key, value, comment, operator);
+        publish("Auto release - " + key, comment, operator);
+    }
+
+    /**
+     * 直接从 Portal 读取单个配置项的值
+     */
+    private String loadItem(String key) {
+        return service.coalesce(basePath + "/items/" + URLEncoder.encode(key, StandardCharsets.UTF_8), () -> {
+            try {
+                ItemResponse item = client.get(itemsUrl.newBuilder().addPathSegment(key).build(), itemReader);
+                return item.getValue();
+            } catch (Exception e) {
+                throw new ApolloException("Failed to get item: " + key, e);
+            }
+        });
+    }
+
+    /**
+     * 直接从 Portal 读取命名空间下的所有配置项
+     */
+    private List<ItemResponse> loadItems() {
+        return ApolloConfigServiceCore.copyItems(service.coalesce(basePath + "/items", () -> {
+            try {
+                return client.get(itemsUrl, itemListReader);
+            } catch (Exception e) {
+                throw new ApolloException("Failed to list namespace items for: " + coordinate.getNamespace(), e);
+            }
+        }));
+    }
+
+    @Override
+    public String toString() {
+        return "NamespaceHandle(" + coordinate + ")";
+    }
+}
@@ -0,0 +1,284 @@
+package com.bluesky.apollo.core;
+
+import com.bluesky.apollo.exception.ApolloException;
+import com.bluesky.apollo.model.ItemResponse;
+import com.bluesky.apollo.model.NamespaceCoordinate;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 命名空间快照
+ *
+ * <p>一次性加载整个命名空间的配置项，建立不可变的 键 -> 配置项 哈希索引，
+ * 之后的单键读取全部在本地完成，不再逐个请求 Portal。</p>
+ *
+ * <p>主要特性：</p>
+ * <ul>
+ *   <li>按配置的间隔在后台线程刷新，刷新时构建新的索引，再整体替换引用</li>
+ *   <li>读操作只读取一次 volatile 引用，不加锁，也不会读到刷新到一半的数据</li>
+ *   <li>刷新失败时保留上一份快照，失败次数和最后一次异常可查询</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>{@code
+ * try (NamespaceSnapshot snapshot = service.openSnapshot("myApp", "DEV", "default", "application",
+ *                                                         Duration.ofSeconds(30))) {
+ *     String timeout = snapshot.getValue("timeout", "3000");
+ * }
+ * }</pre>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Slf4j
+public class NamespaceSnapshot implements AutoCloseable {
+
+    /**
+     * 命名空间坐标
+     */
+    private final NamespaceCoordinate coordinate;
+
+    /**
+     * 命名空间配置项的加载逻辑
+     */
+    private final Supplier<List<ItemResponse>> loader;
+
+    /**
+     * 后台刷新调度器，未开启自动刷新时为 null
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 当前索引，整体替换
+     */
+    private volatile Index index;
+
+    /**
+     * 最后一次刷新失败的异常，刷新成功后清空
+     */
+    private volatile Throwable lastError;
+
+    private final LongAdder refreshCount = new LongAdder();
+
+    private final LongAdder refreshFailures = new LongAdder();
+
+    /**
+     * 构造函数，同步加载第一份快照，并按间隔开启后台刷新
+     *
+     * @param coordinate 命名空间坐标
+     * @param loader 命名空间配置项的加载逻辑
+     * @param refreshInterval 刷新间隔，为 null 或零时不自动刷新
+     * @throws ApolloException 第一次加载失败时抛出
+     */
+    public NamespaceSnapshot(NamespaceCoordinate coordinate, Supplier<List<ItemResponse>> loader,
+                             Duration refreshInterval) {
+        this.coordinate = coordinate;
+        this.loader = loader;
+        this.index = load();
+        refreshCount.increment();
+
+        if (refreshInterval != null && !refreshInterval.isZero() && !refreshInterval.isNegative()) {
+            long intervalMillis = refreshInterval.toMillis();
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                    new NamedThreadFactory("apollo-sdk-snapshot"));
+            scheduler.scheduleWithFixedDelay(this::refreshQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * 获取配置项
+     *
+     * @param key 配置项的键
+     * @return 配置项，不存在时返回 null
+     */
+    public ItemResponse get(String key) {
+        return index.items.get(key);
+    }
+
+    /**
+     * 获取配置项的值
+     *
+     * @param key 配置项的键
+     * @return 配置项的值，不存在时返回 null
+     */
+    public String getValue(String key) {
+        ItemResponse item = index.items.get(key);
+        return item == null ? null : item.getValue();
+    }
+
+    /**
+     * 获取配置项的值，不存在时返回默认值
+     *
+     * @param key 配置项的键
+     * @param defaultValue 默认值
+     * @return 配置项的值
+     */
+    public String getValue(String key, String defaultValue) {
+        ItemResponse item = index.items.get(key);
+        return item == null ? defaultValue : item.getValue();
+    }
+
+    /**
+     * 判断配置项是否存在
+     *
+     * @param key 配置项的键
+     * @return 存在返回 true
+     */
+    public boolean contains(String key) {
+        return index.items.containsKey(key);
+    }
+
+    /**
+     * 获取所有配置项的键
+     *
+     * @return 不可修改的键集合
+     */
+    public Set<String> keys() {
+        return index.items.keySet();
+    }
+
+    /**
+     * 获取当前快照的完整内容
+     *
+     * @return 不可修改的 键 -> 配置项 映射
+     */
+    public Map<String, ItemResponse> asMap() {
+        return index.items;
+    }
+
+    /**
+     * 获取配置项数量
+     *
+     * @return 配置项数量
+     */
+    public int size() {
+        return index.items.size();
+    }
+
+    /**
+     * 获取当前快照的加载时间
+     *
+     * @return 加载完成时的毫秒时间戳
+     */
+    public long getLoadedAt() {
+        return index.loadedAt;
+    }
+
+    /**
+     * 获取命名空间坐标
+     *
+     * @return 命名空间坐标
+     */
+    public NamespaceCoordinate getCoordinate() {
+        return coordinate;
+    }
+
+    /**
+     * 获取成功刷新的次数（包含首次加载）
+     *
+     * @return 刷新次数
+     */
+    public long getRefreshCount() {
+        return refreshCount.sum();
+    }
+
+    /**
+     * 获取刷新失败的次数
+     *
+     * @return 失败次数
+     */
+    public long getRefreshFailures() {
+        return refreshFailures.sum();
+    }
+
+    /**
+     * 获取最后一次刷新失败的异常
+     *
+     * @return 异常，最近一次刷新成功时返回 null
+     */
+    public Throwable getLastError() {
+        return lastError;
+    }
+
+    /**
+     * 立即刷新快照
+     *
+     * @throws ApolloException 加载失败时抛出，当前快照保持不变
+     */
+    public void refresh() {
+        try {
+            Index fresh = load();
+            index = fresh;
+            lastError = null;
+            refreshCount.increment();
+        } catch (RuntimeException e) {
+            lastError = e;
+            refreshFailures.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * 停止后台刷新，已加载的快照仍可读取
+     */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 后台刷新，失败时只记录日志
+     */
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh namespace snapshot {}: {}", coordinate, e.getMessage());
+        }
+    }
+
+    /**
+     * 加载命名空间并构建索引
+     */
+    private Index load() {
+        List<ItemResponse> items = loader.get();
+        Map<String, ItemResponse> byKey = new HashMap<>(Math.max(16, (int) (items.size() / 0.75f) + 1));
+        for (ItemResponse item : items) {
+            if (item.getKey() != null) {
+                byKey.put(item.getKey(), item);
+            }
+        }
+        return new Index(Collections.unmodifiableMap(byKey), System.currentTimeMillis());
+    }
+
+    /**
+     * 不可变的配置项索引
+     */
+    private static final class Index {
+
+        private final Map<String, ItemResponse> items;
+
+        private final long loadedAt;
+
+        private Index(Map<String, ItemResponse> items, long loadedAt) {
+            this.items = items;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.bluesky.apollo.core;
+
+import com.bluesky.apollo.exception.ApolloException;
+import com.bluesky.apollo.model.ApplyResult;
+import com.bluesky.apollo.model.ItemResponse;
+import com.bluesky.apollo.model.ItemSpec;
+import com.bluesky.apollo.model.NamespaceCoordinate;
+import com.bluesky.apollo.model.NamespaceDiff;
+import com.bluesky.apollo.model.SyncPair;
+import com.bluesky.apollo.model.SyncReport;
+import com.bluesky.apollo.model.SyncResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 跨环境 / 集群的命名空间同步
+ *
+ * <p>把源命名空间的配置项（值和注释）同步到目标命名空间，适用于把 DEV 的配置推广到 TEST、PRO，
+ * 或在集群之间对齐配置。每个同步对的处理过程：</p>
+ * <ol>
+ *   <li>并行读取源和目标的当前内容（不经过读缓存）</li>
+ *   <li>以源为期望状态计算新增、修改和（开启 {@link #setDeleteMissing(boolean) deleteMissing} 时）删除</li>
+ *   <li>以不超过目标服务 {@link ApolloConfigServiceCore#getBatchConcurrency()} 的并发度执行变更，
+ *       有变更成功时发布目标命名空间一次；没有差异时既不写入也不发布</li>
+ * </ol>
+ *
+ * <p>多个同步对以不超过 {@link #getConcurrency()} 的并发度并行处理，同一次调用中相同的源只读取一次，
+ * 因此把一个源推广到多个目标时不会重复读取。单个同步对失败不会影响其他同步对。
+ * 同步对的处理和源的后台读取都在目标服务的共享并行线程池上执行，不会为每次调用创建线程。
+ * 预演（{@link #plan}、{@link #planAll}）只读取和比较，不做任何修改。</p>
+ *
+ * <p>同步时一次调用中不能包含相同的目标：两个源同时写同一个命名空间既无法保证只发布一次，
+ * 结果也取决于执行顺序，因此 {@link #syncAll} 遇到重复目标时直接拒绝，不做任何读取和写入；
+ * 预演不修改目标，允许重复目标，可以用来比较多个源与同一个目标的差异。</p>
+ *
+ * <p>使用示例：</p>
+ * <pre>{@code
+ * NamespaceSyncer syncer = new NamespaceSyncer(service);
+ * List<SyncPair> pairs = namespaces.stream()
+ *         .map(ns -> SyncPair.ofEnvs("myApp", "DEV", "TEST", "default", ns))
+ *         .collect(Collectors.toList());
+ *
+ * log.info("plan:\n{}", syncer.planAll(pairs).describe());
+ * SyncReport report = syncer.syncAll(pairs, "admin");
+ * }</pre>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Slf4j
+public class NamespaceSyncer {
+
+    /**
+     * 读取源命名空间的配置服务
+     */
+    private final ApolloConfigServiceCore sourceService;
+
+    /**
+     * 读取并写入目标命名空间的配置服务
+     */
+    private final ApolloConfigServiceCore targetService;
+
+    /**
+     * 同时处理的同步对数量
+     */
+    private volatile int concurrency;
+
+    /**
+     * 是否删除目标中存在而源中不存在的配置项
+     */
+    private volatile boolean deleteMissing;
+
+    /**
+     * 构造函数，源和目标位于同一个 Portal
+     *
+     * @param service 配置服务，不能为 null
+     */
+    public NamespaceSyncer(ApolloConfigServiceCore service) {
+        this(service, service);
+    }
+
+    /**
+     * 构造函数，源和目标可以位于不同的 Portal（如 {@link ApolloClientRegistry} 中的两个服务）
+     *
+     * <p>同步对的并发度默认取目标服务的批量写入并发上限与 CPU 核数中的较大值。</p>
+     *
+     * @param sourceService 读取源命名空间的配置服务，不能为 null
+     * @param targetService 写入目标命名空间的配置服务，不能为 null
+     */
+    public NamespaceSyncer(ApolloConfigServiceCore sourceService, ApolloConfigServiceCore targetService) {
+        this.sourceService = sourceService;
+        this.targetService = targetService;
+        this.concurrency = Math.max(targetService.getBatchConcurrency(), Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 同步单个命名空间
+     *
+     * @param pair 同步对
+     * @param operator 操作人员标识，同时作为发布人员
+     * @return 同步结果，读取失败时记录在结果中而不是抛出
+     */
+    public SyncResult sync(SyncPair pair, String operator) {
+        return run(List.of(pair), operator, false).getResults().get(0);
+    }
+
+    /**
+     * 预演单个命名空间的同步，只读取两端并计算差异
+     *
+     * @param pair 同步对
+     * @return 同步结果，{@link SyncResult#getApplyResult()} 为 null
+     */
+    public SyncResult plan(SyncPair pair) {
+        return run(List.of(pair), null, true).getResults().get(0);
+    }
+
+    /**
+     * 并行同步多个命名空间，每个目标命名空间最多发布一次
+     *
+     * @param pairs 同步对
+     * @param operator 操作人员标识，同时作为发布人员
+     * @return 同步报告，结果顺序与 {@code pairs} 的迭代顺序一致
+     * @throws IllegalArgumentException 多个同步对的目标相同时抛出
+     * @throws ApolloException 等待过程中线程被中断时抛出
+     */
+    public SyncReport syncAll(Collection<SyncPair> pairs, String operator) {
+        return run(pairs, operator, false);
+    }
+
+    /**
+     * 并行预演多个命名空间的同步，只读取两端并计算差异
+     *
+     * @param pairs 同步对
+     * @return 同步报告，可通过 {@link SyncReport#describe()} 查看差异明细
+     * @throws ApolloException 等待过程中线程被中断时抛出
+     */
+    public SyncReport planAll(Collection<SyncPair> pairs) {
+        return run(pairs, null, true);
+    }
+
+    /**
+     * 获取同时处理的同步对数量
+     *
+     * @return 并发度
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * 设置同时处理的同步对数量；每个同步对内部的写入并发度由目标服务的批量写入并发上限决定
+     *
+     * @param concurrency 并发度，必须大于 0
+     */
+    public void setConcurrency(int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be positive: " + concurrency);
+        }
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * 是否删除目标中存在而源中不存在的配置项
+     *
+     * @return 删除时返回 true
+     */
+    public boolean isDeleteMissing() {
+        return deleteMissing;
+    }
+
+    /**
+     * 设置是否删除目标中存在而源中不存在的配置项，默认不删除，只新增和修改
+     *
+     * @param deleteMissing 是否删除
+     */
+    public void setDeleteMissing(boolean deleteMissing) {
+        this.deleteMissing = deleteMissing;
+    }
+
+    private SyncReport run(Collection<SyncPair> pairs, String operator, boolean dryRun) {
+        long start = System.nanoTime();
+        List<SyncPair> ordered = new ArrayList<>(pairs);
+        if (!dryRun) {
+            requireDistinctTargets(ordered);
+        }
+        SyncResult[] results = new SyncResult[ordered.size()];
+        List<Integer> indexes = new ArrayList<>(ordered.size());
+        for (int i = 0; i < ordered.size(); i++) {
+            indexes.add(i);
+        }
+
+        Executor executor = targetService.parallelExecutor();
+        Map<NamespaceCoordinate, FutureTask<List<ItemResponse>>> sources = new ConcurrentHashMap<>();
+        BoundedParallel.forEach(indexes, concurrency, executor, i ->
+                results[i] = syncPair(ordered.get(i), operator, dryRun, sources, executor));
+
+        SyncReport report = new SyncReport(List.of(results), dryRun, elapsedMillis(start));
+        if (!report.isSuccess()) {
+            log.warn("Namespace sync finished with {} failed pairs: {}", report.getFailed().size(), report);
+        }
+        return report;
+    }
+
+    private SyncResult syncPair(SyncPair pair, String operator, boolean dryRun,
+                                Map<NamespaceCoordinate, FutureTask<List<ItemResponse>>> sources,
+                                Executor executor) {
+        long start = System.nanoTime();
+        NamespaceCoordinate source = pair.getSource();
+        NamespaceCoordinate target = pair.getTarget();
+
+        // 源在后台线程读取，目标在当前线程读取，两者并行
+        FutureTask<List<ItemResponse>> sourceItems = sources.computeIfAbsent(source,
+                coordinate -> fetchInBackground(coordinate, executor));
+        NamespaceDiff diff;
+        try {
+            List<ItemResponse> targetItems = targetService.loadNamespaceItems(
+                    target.getAppId(), target.getEnv(), target.getCluster(), target.getNamespace());
+            diff = NamespaceDiff.between(targetItems, desiredState(join(sourceItems)), deleteMissing);
+        } catch (ApolloException e) {
+            long elapsed = elapsedMillis(start);
+            return new SyncResult(pair, null, null, e, dryRun, elapsed, 0, elapsed);
+        }
+        long fetchMillis = elapsedMillis(start);
+        if (dryRun) {
+            return new SyncResult(pair, diff, null, null, true, fetchMillis, 0, fetchMillis);
+        }
+
+        long applyStart = System.nanoTime();
+        String title = String.format("Sync from %s - +%d ~%d -%d", source,
+                diff.getAddedCount(), diff.getUpdatedCount(), diff.getDeletedCount());
+        ApplyResult applyResult;
+        try {
+            applyResult = targetService.applyDiff(target.getAppId(), target.getEnv(), target.getCluster(),
+                    target.getNamespace(), diff, operator, title, applyStart);
+        } catch (ApolloException e) {
+            return new SyncResult(pair, diff, null, e, false, fetchMillis, elapsedMillis(applyStart),
+                    elapsedMillis(start));
+        }
+        return new SyncResult(pair, diff, applyResult, null, false, fetchMillis, elapsedMillis(applyStart),
+                elapsedMillis(start));
+    }
+
+    /**
+     * 检查同步对的目标互不相同，保证每个目标最多发布一次
+     */
+    private static void requireDistinctTargets(List<SyncPair> pairs) {
+        Map<NamespaceCoordinate, SyncPair> byTarget = new HashMap<>(pairs.size() * 2);
+        for (SyncPair pair : pairs) {
+            SyncPair previous = byTarget.putIfAbsent(pair.getTarget(), pair);
+            if (previous != null) {
+                throw new IllegalArgumentException("Duplicate sync target " + pair.getTarget()
+                        + " from sources " + previous.getSource() + " and " + pair.getSource());
+            }
+        }
+    }
+
+    /**
+     * 以源命名空间的配置项作为期望状态，跳过空行和注释行（键为空的条目）
+     */
+    private static Map<String, ItemSpec> desiredState(List<ItemResponse> items) {
+        Map<String, ItemSpec> desired = new LinkedHashMap<>(items.size() * 2);
+        for (ItemResponse item : items) {
+            if (item.getKey() != null && !item.getKey().isEmpty()) {
+                desired.put(item.getKey(), ItemSpec.of(item.getValue(), item.getComment()));
+            }
+        }
+        return desired;
+    }
+
+    private FutureTask<List<ItemResponse>> fetchInBackground(NamespaceCoordinate coordinate, Executor executor) {
+        FutureTask<List<ItemResponse>> task = new FutureTask<>(() -> sourceService.loadNamespaceItems(
+                coordinate.getAppId(), coordinate.getEnv(), coordinate.getCluster(), coordinate.getNamespace()));
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // 线程池已关闭，等待结果时在当前线程读取
+        }
+        return task;
+    }
+
+    /**
+     * 等待源的读取结果；线程池繁忙、读取尚未开始时直接在当前线程执行，不排队等待
+     */
+    private static List<ItemResponse> join(FutureTask<List<ItemResponse>> task) {
+        task.run();
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApolloException("Interrupted while reading source namespace", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ApolloException) {
+                throw (ApolloException) e.getCause();
+            }
+            throw new ApolloException("Failed to read source namespace", e.getCause());
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,388 @@
+package com.bluesky.apollo.core;
+
+import com.bluesky.apollo.exception.ApolloException;
+import com.bluesky.apollo.model.BatchWriteResult;
+import com.bluesky.apollo.model.TransferStats;
+import com.fasterxml.jackson.core.JsonFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 命名空间的批量导入导出
+ *
+ * <p>在 {@link ApolloConfigServiceCore} 之上，把 properties、YAML、JSON 文件导入到命名空间，
+ * 或把命名空间导出为这些格式。导入导出都是流式的，适合上万个配置项的命名空间：</p>
+ * <ul>
+ *   <li>导入：边解析边写入，文件不会整体加载到内存（只保留已提交的键，用于整理结果）。
+ *       写入以 {@link #getConcurrency()} 个写线程并行，在途请求数有上限，解析速度不会超过写入速度；
+ *       同一个键总是由同一个写线程处理，文件中重复的键按出现顺序生效。全部写入完成后只发布一次</li>
+ *   <li>导出：通过 {@link ApolloConfigServiceCore#forEachNamespaceItem} 边解析响应边写出，
+ *       命名空间不会整体加载到内存</li>
+ *   <li>进度：每处理 {@link #getProgressInterval()} 个配置项回调一次 {@link TransferStats}（含吞吐量），结束时再回调一次</li>
+ * </ul>
+ *
+ * <p>嵌套的 JSON / YAML 展开为以 {@code .} 连接的键，导出时键原样写出，因此导出再导入得到相同的配置项。
+ * YAML 需要 classpath 中存在 jackson-dataformat-yaml。</p>
+ *
+ * <p>使用示例：</p>
+ * <pre>{@code
+ * NamespaceTransfer transfer = new NamespaceTransfer(service);
+ * transfer.setProgressListener(stats -> log.info("import progress: {}", stats));
+ *
+ * BatchWriteResult result = transfer.importFile(Paths.get("application.yml"),
+ *         "myApp", "DEV", "default", "application", "admin", true);
+ * transfer.exportFile(Paths.get("application-dev.properties"), "myApp", "DEV", "default", "application");
+ * }</pre>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Slf4j
+public class NamespaceTransfer {
+
+    /**
+     * 默认的进度回调间隔（配置项数）
+     */
+    public static final int DEFAULT_PROGRESS_INTERVAL = 1000;
+
+    /**
+     * 每个写线程允许的在途写入数
+     */
+    private static final int IN_FLIGHT_PER_WRITER = 4;
+
+    /**
+     * 配置服务
+     */
+    private final ApolloConfigServiceCore service;
+
+    /**
+     * 解析和生成 JSON 使用的工厂
+     */
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * 导入时的写线程数
+     */
+    private volatile int concurrency;
+
+    /**
+     * 进度回调间隔（配置项数）
+     */
+    private volatile int progressInterval = DEFAULT_PROGRESS_INTERVAL;
+
+    /**
+     * 进度回调，为 null 时不回调
+     */
+    private volatile Consumer<TransferStats> progressListener;
+
+    /**
+     * 构造函数，写线程数默认取服务的批量写入并发上限
+     *
+     * @param service 配置服务，不能为 null
+     */
+    public NamespaceTransfer(ApolloConfigServiceCore service) {
+        this.service = service;
+        this.concurrency = service.getBatchConcurrency();
+    }
+
+    /**
+     * 从文件导入配置项，格式按扩展名判断
+     *
+     * @param file 配置文件（.properties / .yml / .yaml / .json）
+     * @param appId 应用 ID
+     * @param env 环境名称（如：DEV、TEST、PROD）
+     * @param cluster 集群名称（通常为 default）
+     * @param namespace 命名空间名称（如：application）
+     * @param operator 操作人员标识，同时作为发布人员
+     * @param release 写入完成后是否发布一次
+     * @return 导入结果
+     * @throws ApolloException 读取或解析文件失败时抛出
+     */
+    public BatchWriteResult importFile(Path file, String appId, String env, String cluster, String namespace,
+                                       String operator, boolean release) {
+        ConfigFormat format = ConfigFormat.fromFileName(file.getFileName().toString());
+        try (InputStream input = Files.newInputStream(file)) {
+            return importItems(input, format, appId, env, cluster, namespace, operator, release);
+        } catch (IOException e) {
+            throw new ApolloException("Failed to read config file: " + file, e);
+        }
+    }
+
+    /**
+     * 从输入流导入配置项
+     *
+     * <p>单个配置项写入失败不会中断导入，失败明细记录在结果中；只要有配置项写入成功，且 {@code release} 为 true，
+     * 就在最后发布一次。文件解析失败时，等待已提交的写入完成后抛出异常，不发布。</p>
+     *
+     * @param input 输入流，按 UTF-8 解码，导入结束后关闭
+     * @param format 配置文件格式
+     * @param appId 应用 ID
+     * @param env 环境名称（如：DEV、TEST、PROD）
+     * @param cluster 集群名称（通常为 default）
+     * @param namespace 命名空间名称（如：application）
+     * @param operator 操作人员标识，同时作为发布人员
+     * @param release 写入完成后是否发布一次
+     * @return 导入结果
+     * @throws ApolloException 解析失败或等待写入时线程被中断时抛出
+     */
+    public BatchWriteResult importItems(InputStream input, ConfigFormat format, String appId, String env,
+                                        String cluster, String namespace, String operator, boolean release) {
+        long start = System.nanoTime();
+        int writers = Math.max(1, concurrency);
+        int maxInFlight = writers * IN_FLIGHT_PER_WRITER;
+        Semaphore permits = new Semaphore(maxInFlight);
+        ExecutorService[] lanes = new ExecutorService[writers];
+        NamedThreadFactory threadFactory = new NamedThreadFactory("apollo-sdk-import");
+        for (int i = 0; i < writers; i++) {
+            lanes[i] = Executors.newSingleThreadExecutor(threadFactory);
+        }
+
+        Set<String> keys = new LinkedHashSet<>();
+        Map<String, ApolloException> errors = new ConcurrentHashMap<>();
+        AtomicLong completed = new AtomicLong();
+        Exception parseError = null;
+        try (ConfigItemReader reader = ConfigItemReader.open(input, format, jsonFactory)) {
+            while (reader.next()) {
+                String key = reader.key();
+                if (key.isEmpty()) {
+                    continue;
+                }
+                String value = reader.value();
+                String comment = reader.comment();
+                keys.add(key);
+                permits.acquire();
+                lanes[Math.floorMod(key.hashCode(), writers)].execute(() -> {
+                    try {
+                        service.createOrUpdateItem(appId, env, cluster, namespace, key, value, comment, operator);
+                        errors.remove(key);
+                    } catch (ApolloException e) {
+                        errors.put(key, e);
+                    } catch (RuntimeException e) {
+                        errors.put(key, new ApolloException("Failed to create or update item: " + key, e));
+                    } finally {
+                        long done = completed.incrementAndGet();
+                        if (done % progressInterval == 0) {
+                            report(new TransferStats(done, errors.size(), elapsedMillis(start), false));
+                        }
+                        // 回调之后才归还名额，最终的进度回调总在所有中间回调之后
+                        permits.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            shutdown(lanes);
+            throw new ApolloException("Interrupted while importing namespace: " + namespace, e);
+        } catch (IOException | RuntimeException e) {
+            parseError = e;
+        }
+
+        // 等待所有在途写入完成
+        try {
+            permits.acquire(maxInFlight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApolloException("Interrupted while importing namespace: " + namespace, e);
+        } finally {
+            shutdown(lanes);
+        }
+        if (parseError != null) {
+            throw new ApolloException("Failed to parse " + format + " input for namespace: " + namespace
+                    + " after " + keys.size() + " items", parseError);
+        }
+
+        List<String> succeeded = new ArrayList<>(keys.size());
+        Map<String, ApolloException> failures = new LinkedHashMap<>();
+        for (String key : keys) {
+            ApolloException error = errors.get(key);
+            if (error == null) {
+                succeeded.add(key);
+            } else {
+                failures.put(key, error);
+            }
+        }
+
+        boolean released = false;
+        ApolloException releaseError = null;
+        if (release && !succeeded.isEmpty()) {
+            try {
+                service.publishNamespace(appId, env, cluster, namespace,
+                        "Import - " + succeeded.size() + " items", null, operator);
+                released = true;
+            } catch (ApolloException e) {
+                releaseError = e;
+            }
+        }
+
+        long durationMillis = elapsedMillis(start);
+        report(new TransferStats(completed.get(), failures.size(), durationMillis, true));
+        return new BatchWriteResult(keys.size(), succeeded, failures, released, releaseError, durationMillis);
+    }
+
+    /**
+     * 把命名空间导出到文件，格式按扩展名判断
+     *
+     * <p>先写入同目录下的临时文件，完成后再替换目标文件，导出失败不会留下不完整的文件。</p>
+     *
+     * @param file 目标文件（.properties / .yml / .yaml / .json）
+     * @param appId 应用 ID
+     * @param env 环境名称（如：DEV、TEST、PROD）
+     * @param cluster 集群名称（通常为 default）
+     * @param namespace 命名空间名称（如：application）
+     * @return 导出统计
+     * @throws ApolloException 读取命名空间或写入文件失败时抛出
+     */
+    public TransferStats exportFile(Path file, String appId, String env, String cluster, String namespace) {
+        ConfigFormat format = ConfigFormat.fromFileName(file.getFileName().toString());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            TransferStats stats;
+            try (OutputStream output = Files.newOutputStream(temp)) {
+                stats = exportItems(output, format, appId, env, cluster, namespace);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return stats;
+        } catch (IOException e) {
+            throw new ApolloException("Failed to write config file: " + file, e);
+        } finally {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException e) {
+                log.warn("Failed to delete temporary export file {}: {}", temp, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 把命名空间导出到输出流
+     *
+     * <p>跳过 Portal 返回的空行和注释行（键为空的条目）。properties 格式会把配置项的注释写在其前一行。</p>
+     *
+     * @param output 输出流，按 UTF-8 编码，导出结束后只刷新不关闭
+     * @param format 配置文件格式
+     * @param appId 应用 ID
+     * @param env 环境名称（如：DEV、TEST、PROD）
+     * @param cluster 集群名称（通常为 default）
+     * @param namespace 命名空间名称（如：application）
+     * @return 导出统计
+     * @throws ApolloException 读取命名空间或写入失败时抛出
+     */
+    public TransferStats exportItems(OutputStream output, ConfigFormat format, String appId, String env,
+                                     String cluster, String namespace) {
+        long start = System.nanoTime();
+        long[] exported = new long[1];
+        try (ConfigItemWriter writer = ConfigItemWriter.open(output, format, jsonFactory)) {
+            service.forEachNamespaceItem(appId, env, cluster, namespace, item -> {
+                if (item.getKey() == null || item.getKey().isEmpty()) {
+                    return;
+                }
+                try {
+                    writer.write(item.getKey(), item.getValue(), item.getComment());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (++exported[0] % progressInterval == 0) {
+                    report(new TransferStats(exported[0], 0, elapsedMillis(start), false));
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            throw new ApolloException("Failed to export namespace: " + namespace, e);
+        }
+        TransferStats stats = new TransferStats(exported[0], 0, elapsedMillis(start), true);
+        report(stats);
+        return stats;
+    }
+
+    /**
+     * 获取导入时的写线程数
+     *
+     * @return 写线程数
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * 设置导入时的写线程数，在途写入数上限为写线程数的 4 倍
+     *
+     * @param concurrency 写线程数，必须大于 0
+     */
+    public void setConcurrency(int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("concurrency must be positive: " + concurrency);
+        }
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * 获取进度回调间隔
+     *
+     * @return 配置项数
+     */
+    public int getProgressInterval() {
+        return progressInterval;
+    }
+
+    /**
+     * 设置进度回调间隔
+     *
+     * @param progressInterval 每处理多少个配置项回调一次，必须大于 0
+     */
+    public void setProgressInterval(int progressInterval) {
+        if (progressInterval <= 0) {
+            throw new IllegalArgumentException("progressInterval must be positive: " + progressInterval);
+        }
+        this.progressInterval = progressInterval;
+    }
+
+    /**
+     * 设置进度回调；导入时在写线程中调用，需要自行保证线程安全且尽快返回
+     *
+     * @param progressListener 进度回调，为 null 时不回调
+     */
+    public void setProgressListener(Consumer<TransferStats> progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    private void report(TransferStats stats) {
+        Consumer<TransferStats> listener = progressListener;
+        if (listener == null) {
+            return;
+        }
+        try {
+            listener.accept(stats);
+        } catch (RuntimeException e) {
+            log.warn("Transfer progress listener failed: {}", e.getMessage());
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    private static void shutdown(ExecutorService[] lanes) {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.bluesky.apollo.core;
+
+import lombok.Data;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * 写入发件箱配置
+ *
+ * <p>控制 {@link WriteOutbox} 的日志目录、分段大小、刷盘方式、重放并发度和 Portal 不可用时的重放退避。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Data
+public class OutboxConfig {
+
+    /**
+     * 日志目录，不存在时自动创建；同一目录同一时刻只能被一个发件箱使用
+     */
+    private Path directory;
+
+    /**
+     * 单个日志分段文件的大小（字节），单条记录不能超过该值
+     * 默认值：16MB
+     */
+    private int segmentBytes = 16 * 1024 * 1024;
+
+    /**
+     * 是否在确认调用方之前把日志刷到磁盘；关闭时只写入页缓存，进程崩溃不丢失，掉电可能丢失
+     * 默认值：true
+     */
+    private boolean fsync = true;
+
+    /**
+     * 同时重放的命名空间数，同一命名空间内始终串行
+     * 默认值：4
+     */
+    private int replayConcurrency = 4;
+
+    /**
+     * Portal 不可用时的初始重放间隔，之后按 2 倍递增
+     * 默认值：1s
+     */
+    private Duration retryInterval = Duration.ofSeconds(1);
+
+    /**
+     * 重放间隔的上限
+     * 默认值：30s
+     */
+    private Duration maxRetryInterval = Duration.ofSeconds(30);
+
+    /**
+     * 重放时直接丢弃、不再重试的 HTTP 状态码（请求本身有误，重试也不会成功）
+     * 默认值：400、404、413、422
+     */
+    private Set<Integer> discardStatusCodes = Set.of(400, 404, 413, 422);
+
+    /**
+     * 触发压缩的分段文件数：分段数超过该值且存活记录不足一半容量时，把存活记录重写到新分段并删除旧分段
+     * 默认值：4
+     */
+    private int compactionSegments = 4;
+
+    /**
+     * 关闭时等待进行中的重放和刷盘完成的最长时间；超时后仍在进行的重放结果不再确认，下次打开时重新重放
+     * 默认值：5s
+     */
+    private Duration closeTimeout = Duration.ofSeconds(5);
+
+    /**
+     * 创建指定目录的默认发件箱配置
+     *
+     * @param directory 日志目录
+     * @return 发件箱配置
+     */
+    public static OutboxConfig of(Path directory) {
+        OutboxConfig config = new OutboxConfig();
+        config.setDirectory(directory);
+        return config;
+    }
+}
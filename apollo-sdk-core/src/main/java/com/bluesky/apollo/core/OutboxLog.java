@@ -0,0 +1,349 @@
+package com.bluesky.apollo.core;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * 发件箱使用的分段追加日志
+ *
+ * <p>日志由目录下的若干分段文件 {@code outbox-0000000001.log} 组成，每个分段按固定大小预分配并通过内存映射写入，
+ * 追加只是一次内存复制。记录格式为 {@code [长度 int][CRC32 int][内容]}，长度为 0 表示分段结束；
+ * 读取时遇到长度越界或 CRC 不匹配（写入中途崩溃留下的残缺记录）同样视为结束。</p>
+ *
+ * <p>每个分段记录尚未确认的数据记录数，最旧的连续若干个分段全部确认后即被删除。
+ * 只删除最旧的前缀保证了确认记录（总是写在被确认记录之后的分段中）不会先于被确认的记录消失。</p>
+ *
+ * <p>关闭后不再追加、切换或删除分段，避免迟到的写入在关闭后重新创建分段文件。</p>
+ *
+ * <p>追加、切换和删除分段由 this 锁保护；{@link #sync()} 只在锁内取出待刷盘的分段，刷盘本身在锁外进行，
+ * 因此刷盘期间其他线程可以继续追加，下一次刷盘会一并覆盖它们（组提交）。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Slf4j
+final class OutboxLog implements Closeable {
+
+    /**
+     * 记录头长度：长度和 CRC32 各 4 字节
+     */
+    static final int HEADER_BYTES = 8;
+
+    private static final String PREFIX = "outbox-";
+
+    private static final String SUFFIX = ".log";
+
+    /**
+     * 日志目录
+     */
+    private final Path directory;
+
+    /**
+     * 单个分段文件的大小
+     */
+    private final int segmentBytes;
+
+    /**
+     * 按编号升序排列的分段，最后一个是当前写入的分段
+     */
+    private final List<Segment> segments = new ArrayList<>();
+
+    /**
+     * 自上次刷盘以来写入过的分段
+     */
+    private final List<Segment> dirty = new ArrayList<>();
+
+    /**
+     * 下一个分段的编号
+     */
+    private long nextSegmentId = 1;
+
+    /**
+     * 是否已关闭
+     */
+    private boolean closed;
+
+    /**
+     * 构造函数，打开日志目录，不存在时创建
+     *
+     * @param directory 日志目录
+     * @param segmentBytes 单个分段文件的大小
+     * @throws IOException 创建目录失败时抛出
+     */
+    OutboxLog(Path directory, int segmentBytes) throws IOException {
+        if (segmentBytes <= HEADER_BYTES) {
+            throw new IllegalArgumentException("segmentBytes is too small: " + segmentBytes);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = segmentBytes;
+    }
+
+    /**
+     * 读取目录中已有分段的全部有效记录，分段保留在日志中，直到被 {@link #deleteBefore} 删除
+     *
+     * @return 各记录的内容，按分段编号和写入顺序排列
+     * @throws IOException 读取失败时抛出
+     */
+    synchronized List<byte[]> readExisting() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+
+        List<byte[]> records = new ArrayList<>();
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long id = Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+            Segment segment = Segment.open(id, file, (int) Math.max(Files.size(file), HEADER_BYTES));
+            segments.add(segment);
+            nextSegmentId = Math.max(nextSegmentId, id + 1);
+            readRecords(segment, records);
+        }
+        return records;
+    }
+
+    /**
+     * 追加一条记录，当前分段剩余空间不足时切换到新分段
+     *
+     * @param payload 记录内容
+     * @return 记录所在的分段
+     * @throws IOException 创建分段失败、记录超过分段大小或日志已关闭时抛出
+     */
+    synchronized Segment append(byte[] payload) throws IOException {
+        ensureOpen();
+        int size = HEADER_BYTES + payload.length;
+        if (size > segmentBytes) {
+            throw new IOException("Outbox record of " + payload.length + " bytes exceeds segment size " + segmentBytes);
+        }
+        Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (segment == null || segment.sealed || segment.buffer.remaining() < size) {
+            segment = newSegment();
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        segment.buffer.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+        if (!segment.dirty) {
+            segment.dirty = true;
+            dirty.add(segment);
+        }
+        return segment;
+    }
+
+    /**
+     * 结束当前分段，之后的记录写入新分段
+     *
+     * @return 新分段的编号，早于该编号的分段可以通过 {@link #deleteBefore} 整体删除
+     * @throws IOException 创建分段失败或日志已关闭时抛出
+     */
+    synchronized long roll() throws IOException {
+        ensureOpen();
+        return newSegment().id;
+    }
+
+    /**
+     * 把写入过的分段刷到磁盘
+     *
+     * @throws IOException 刷盘失败时抛出
+     */
+    void sync() throws IOException {
+        List<Segment> toSync;
+        synchronized (this) {
+            if (dirty.isEmpty()) {
+                return;
+            }
+            toSync = new ArrayList<>(dirty);
+            dirty.clear();
+            for (Segment segment : toSync) {
+                segment.dirty = false;
+            }
+        }
+        for (Segment segment : toSync) {
+            segment.buffer.force();
+        }
+    }
+
+    /**
+     * 分段内的一条数据记录被确认，最旧的连续若干个分段全部确认后被删除
+     *
+     * @param segment 数据记录所在的分段
+     */
+    synchronized void release(Segment segment) {
+        if (closed) {
+            return;
+        }
+        segment.live--;
+        while (segments.size() > 1) {
+            Segment oldest = segments.get(0);
+            if (oldest.live > 0) {
+                break;
+            }
+            delete(oldest);
+        }
+    }
+
+    /**
+     * 删除编号早于指定值的全部分段
+     *
+     * @param segmentId 分段编号
+     */
+    synchronized void deleteBefore(long segmentId) {
+        if (closed) {
+            return;
+        }
+        while (!segments.isEmpty() && segments.get(0).id < segmentId) {
+            delete(segments.get(0));
+        }
+    }
+
+    /**
+     * 获取分段文件数
+     *
+     * @return 分段文件数
+     */
+    synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * 获取单个分段文件的大小
+     *
+     * @return 分段大小（字节）
+     */
+    int getSegmentBytes() {
+        return segmentBytes;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        IOException error = null;
+        for (Segment segment : segments) {
+            try {
+                segment.buffer.force();
+                segment.channel.close();
+            } catch (IOException e) {
+                error = e;
+            }
+        }
+        segments.clear();
+        dirty.clear();
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Outbox log is closed: " + directory);
+        }
+    }
+
+    private Segment newSegment() throws IOException {
+        if (!segments.isEmpty()) {
+            segments.get(segments.size() - 1).sealed = true;
+        }
+        long id = nextSegmentId++;
+        Path file = directory.resolve(String.format("%s%010d%s", PREFIX, id, SUFFIX));
+        Segment segment = Segment.open(id, file, segmentBytes);
+        segments.add(segment);
+        return segment;
+    }
+
+    private void delete(Segment segment) {
+        segments.remove(segment);
+        dirty.remove(segment);
+        try {
+            segment.channel.close();
+            Files.deleteIfExists(segment.file);
+        } catch (IOException e) {
+            log.warn("Failed to delete outbox segment {}: {}", segment.file, e.getMessage());
+        }
+    }
+
+    /**
+     * 顺序读取分段中的有效记录，并把写入位置移到最后一条有效记录之后
+     */
+    private static void readRecords(Segment segment, List<byte[]> records) {
+        MappedByteBuffer buffer = segment.buffer;
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                buffer.position(start);
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                log.warn("Outbox segment {} has a corrupt record at offset {}, ignoring the rest", segment.file, start);
+                buffer.position(start);
+                break;
+            }
+            records.add(payload);
+        }
+        // 已有分段只读不写，新记录总是写入新分段
+        segment.sealed = true;
+    }
+
+    /**
+     * 日志分段
+     */
+    static final class Segment {
+
+        private final long id;
+
+        private final Path file;
+
+        private final FileChannel channel;
+
+        private final MappedByteBuffer buffer;
+
+        /**
+         * 尚未确认的数据记录数，由发件箱维护
+         */
+        int live;
+
+        private boolean dirty;
+
+        private boolean sealed;
+
+        private Segment(long id, Path file, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.file = file;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        private static Segment open(long id, Path file, int size) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            try {
+                return new Segment(id, file, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+    }
+}
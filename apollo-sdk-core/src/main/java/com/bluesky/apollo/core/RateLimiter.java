@@ -0,0 +1,250 @@
+package com.bluesky.apollo.core;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 令牌桶限流器
+ *
+ * <p>按固定速率生成许可，桶内最多积累 {@code burst} 个许可，用于把对 Portal 的请求速率控制在配额以内。
+ * 实现上采用 GCRA（通用信元速率算法）：只保存一个"理论到达时间"，每次申请许可时用 CAS 把它向后推进一个发放间隔，
+ * 不需要加锁，也没有后台补充线程，多线程高并发下不会成为争用点。</p>
+ *
+ * <p>支持三种申请方式：</p>
+ * <ul>
+ *   <li>{@link #acquire()} - 阻塞直到获得许可</li>
+ *   <li>{@link #tryAcquire()} / {@link #tryAcquire(long, TimeUnit)} - 立即或在超时内获得许可，否则返回 false，不占用许可</li>
+ *   <li>{@link #acquireAsync()} / {@link #tryAcquireAsync(long, TimeUnit)} - 不阻塞调用方线程，许可可用时完成返回的 Future</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>{@code
+ * // 每秒 20 个发布请求，允许 5 个突发
+ * client.setRateLimiter(RequestKind.RELEASE, new RateLimiter(20, 5));
+ * }</pre>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public class RateLimiter {
+
+    /**
+     * 每秒许可数
+     */
+    private final double permitsPerSecond;
+
+    /**
+     * 允许突发的许可数
+     */
+    private final int burst;
+
+    /**
+     * 相邻两个许可的发放间隔（纳秒）
+     */
+    private final long intervalNanos;
+
+    /**
+     * 桶容量对应的时长（纳秒），即理论到达时间最多可以落后当前时间多少
+     */
+    private final long burstNanos;
+
+    /**
+     * 理论到达时间（纳秒，相对于 {@link System#nanoTime()}）
+     */
+    private final AtomicLong theoreticalArrival;
+
+    private final LongAdder granted = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder waitedNanos = new LongAdder();
+
+    /**
+     * 构造函数
+     *
+     * @param permitsPerSecond 每秒许可数，必须大于 0
+     * @param burst 允许突发的许可数，必须大于 0
+     */
+    public RateLimiter(double permitsPerSecond, int burst) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("burst must be positive: " + burst);
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.intervalNanos = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = intervalNanos * burst;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime() - burstNanos);
+    }
+
+    /**
+     * 阻塞直到获得一个许可
+     *
+     * @return 等待的时长（纳秒）
+     * @throws InterruptedException 等待期间线程被中断；此时许可已被预留，不会归还
+     */
+    public long acquire() throws InterruptedException {
+        long waitNanos = reserve(Long.MAX_VALUE);
+        sleep(waitNanos);
+        return waitNanos;
+    }
+
+    /**
+     * 尝试立即获得一个许可
+     *
+     * @return 获得许可返回 true
+     */
+    public boolean tryAcquire() {
+        return reserve(0) == 0;
+    }
+
+    /**
+     * 尝试在超时内获得一个许可
+     *
+     * <p>只有在超时内一定能拿到许可时才会预留并等待，否则立即返回 false，不占用许可。</p>
+     *
+     * @param timeout 最长等待时间
+     * @param unit 时间单位
+     * @return 获得许可返回 true
+     * @throws InterruptedException 等待期间线程被中断
+     */
+    public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        long waitNanos = reserve(unit.toNanos(timeout));
+        if (waitNanos < 0) {
+            return false;
+        }
+        sleep(waitNanos);
+        return true;
+    }
+
+    /**
+     * 异步获得一个许可，不阻塞调用方线程
+     *
+     * @return 获得许可时完成的 Future
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        return delay(reserve(Long.MAX_VALUE));
+    }
+
+    /**
+     * 异步尝试在超时内获得一个许可，不阻塞调用方线程
+     *
+     * @param timeout 最长等待时间
+     * @param unit 时间单位
+     * @return 获得许可时以 true 完成；超时内拿不到许可时立即以 false 完成
+     */
+    public CompletableFuture<Boolean> tryAcquireAsync(long timeout, TimeUnit unit) {
+        long waitNanos = reserve(unit.toNanos(timeout));
+        if (waitNanos < 0) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return delay(waitNanos).thenApply(v -> true);
+    }
+
+    /**
+     * 获取每秒许可数
+     *
+     * @return 每秒许可数
+     */
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    /**
+     * 获取允许突发的许可数
+     *
+     * @return 突发许可数
+     */
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * 获取当前可立即获得的许可数（估算值）
+     *
+     * @return 可用许可数
+     */
+    public int getAvailablePermits() {
+        long lag = System.nanoTime() - theoreticalArrival.get();
+        if (lag <= 0) {
+            return 0;
+        }
+        return (int) Math.min(burst, lag / intervalNanos);
+    }
+
+    /**
+     * 获取已发放的许可数
+     *
+     * @return 许可数
+     */
+    public long getGrantedCount() {
+        return granted.sum();
+    }
+
+    /**
+     * 获取因超时内拿不到许可而被拒绝的次数
+     *
+     * @return 拒绝次数
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * 获取所有许可累计的等待时长
+     *
+     * @return 累计等待时长
+     */
+    public Duration getTotalWait() {
+        return Duration.ofNanos(waitedNanos.sum());
+    }
+
+    /**
+     * 预留一个许可
+     *
+     * @param maxWaitNanos 最长可接受的等待时间（纳秒）
+     * @return 需要等待的时长（纳秒）；超出 {@code maxWaitNanos} 时返回 -1 且不预留
+     */
+    private long reserve(long maxWaitNanos) {
+        long now = System.nanoTime();
+        long current;
+        long next;
+        long waitNanos;
+        do {
+            current = theoreticalArrival.get();
+            // 桶已满时理论到达时间不能落后于 now - burstNanos，否则空闲越久可突发的许可越多
+            long base = current - (now - burstNanos) < 0 ? now - burstNanos : current;
+            next = base + intervalNanos;
+            waitNanos = Math.max(0L, next - now);
+            if (waitNanos > maxWaitNanos) {
+                rejected.increment();
+                return -1;
+            }
+        } while (!theoreticalArrival.compareAndSet(current, next));
+        granted.increment();
+        if (waitNanos > 0) {
+            waitedNanos.add(waitNanos);
+        }
+        return waitNanos;
+    }
+
+    private static void sleep(long nanos) throws InterruptedException {
+        if (nanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        }
+    }
+
+    private static CompletableFuture<Void> delay(long nanos) {
+        if (nanos <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> { },
+                CompletableFuture.delayedExecutor(nanos, TimeUnit.NANOSECONDS));
+    }
+}
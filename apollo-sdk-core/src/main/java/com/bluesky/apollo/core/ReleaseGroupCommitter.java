@@ -0,0 +1,388 @@
+package com.bluesky.apollo.core;
+
+import com.bluesky.apollo.exception.ApolloException;
+import com.bluesky.apollo.model.NamespaceCoordinate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 命名空间发布的组提交器
+ *
+ * <p>同一命名空间 (appId, env, cluster, namespace) 在时间窗口内收到的多个发布请求，
+ * 会合并为一次 Portal release，所有等待中的调用方以同一个结果完成。</p>
+ *
+ * <p>合并规则：</p>
+ * <ul>
+ *   <li>命名空间收到第一个发布请求时开启时间窗口，窗口到期或累计请求数达到上限时发出 release</li>
+ *   <li>同一命名空间同一时刻最多只有一个 release 在途；在途期间到达的请求进入下一批，
+ *       上一批完成后立即发出，不再额外等待窗口</li>
+ *   <li>release 一定在调用方提交请求之后才发出，因此调用方提交前完成的配置项写入都会包含在内</li>
+ *   <li>合并后的 release 以批次中第一个请求的发布人员为准，标题和说明汇总批次内各请求的内容</li>
+ * </ul>
+ *
+ * <p>release 在固定大小的线程池上执行，不同命名空间同时在途的 release 数不超过 {@code flushConcurrency}，
+ * 超出的批次排队等待线程空闲。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public class ReleaseGroupCommitter implements AutoCloseable {
+
+    /**
+     * 合并后发布标题和说明的最大长度
+     */
+    private static final int MAX_TEXT_LENGTH = 200;
+
+    /**
+     * 默认的 release 并发上限
+     */
+    public static final int DEFAULT_FLUSH_CONCURRENCY = 8;
+
+    /**
+     * 实际执行 release 的操作
+     */
+    private final ReleaseAction action;
+
+    /**
+     * 合并时间窗口（毫秒）
+     */
+    private final long windowMillis;
+
+    /**
+     * 单次 release 合并的最大请求数
+     */
+    private final int maxBatchSize;
+
+    /**
+     * 各命名空间的等待队列，由 this 锁保护
+     */
+    private final Map<NamespaceCoordinate, NamespaceQueue> queues = new HashMap<>();
+
+    /**
+     * 时间窗口调度器
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * 执行 release 的线程池，线程数固定为 release 并发上限，空闲时回收
+     */
+    private final ThreadPoolExecutor flushExecutor;
+
+    /**
+     * 收到的发布请求数
+     */
+    private final LongAdder requested = new LongAdder();
+
+    /**
+     * 实际发出的 release 数
+     */
+    private final LongAdder releases = new LongAdder();
+
+    /**
+     * 构造函数，release 并发上限为 {@link #DEFAULT_FLUSH_CONCURRENCY}
+     *
+     * @param action 实际执行 release 的操作
+     * @param windowMillis 合并时间窗口（毫秒），不能为负数
+     * @param maxBatchSize 单次 release 合并的最大请求数，必须大于 0
+     */
+    public ReleaseGroupCommitter(ReleaseAction action, long windowMillis, int maxBatchSize) {
+        this(action, windowMillis, maxBatchSize, DEFAULT_FLUSH_CONCURRENCY);
+    }
+
+    /**
+     * 构造函数
+     *
+     * @param action 实际执行 release 的操作
+     * @param windowMillis 合并时间窗口（毫秒），不能为负数
+     * @param maxBatchSize 单次 release 合并的最大请求数，必须大于 0
+     * @param flushConcurrency 同时在途的 release 数上限，必须大于 0
+     */
+    public ReleaseGroupCommitter(ReleaseAction action, long windowMillis, int maxBatchSize, int flushConcurrency) {
+        if (windowMillis < 0) {
+            throw new IllegalArgumentException("windowMillis must not be negative: " + windowMillis);
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+        }
+        if (flushConcurrency <= 0) {
+            throw new IllegalArgumentException("flushConcurrency must be positive: " + flushConcurrency);
+        }
+        this.action = action;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("apollo-sdk-release-window"));
+        this.flushExecutor = new ThreadPoolExecutor(flushConcurrency, flushConcurrency, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new NamedThreadFactory("apollo-sdk-release"));
+        this.flushExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 提交发布请求
+     *
+     * @param coordinate 命名空间坐标
+     * @param releaseTitle 发布标题
+     * @param releaseComment 发布说明
+     * @param releasedBy 发布人员标识
+     * @return 所在批次 release 的结果；release 失败时以 {@link ApolloException} 异常完成
+     */
+    public CompletableFuture<Void> submit(NamespaceCoordinate coordinate, String releaseTitle,
+                                          String releaseComment, String releasedBy) {
+        Waiter waiter = new Waiter(releaseTitle, releaseComment, releasedBy);
+        requested.increment();
+        synchronized (this) {
+            if (flushExecutor.isShutdown()) {
+                throw new ApolloException("Release group committer is closed");
+            }
+            NamespaceQueue queue = queues.computeIfAbsent(coordinate, k -> new NamespaceQueue());
+            queue.waiting.add(waiter);
+            if (!queue.flushing) {
+                if (queue.waiting.size() >= maxBatchSize || windowMillis == 0) {
+                    startFlush(coordinate, queue);
+                } else if (queue.timer == null) {
+                    queue.timer = scheduler.schedule(() -> onWindowExpired(coordinate), windowMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+        return waiter.future;
+    }
+
+    /**
+     * 获取收到的发布请求数
+     *
+     * @return 发布请求数
+     */
+    public long getRequestedCount() {
+        return requested.sum();
+    }
+
+    /**
+     * 获取实际发出的 release 数
+     *
+     * @return release 数
+     */
+    public long getReleaseCount() {
+        return releases.sum();
+    }
+
+    /**
+     * 获取被合并掉的发布请求数
+     *
+     * @return 被合并掉的请求数
+     */
+    public long getCoalescedCount() {
+        return Math.max(0, requested.sum() - releases.sum());
+    }
+
+    /**
+     * 获取合并时间窗口（毫秒）
+     *
+     * @return 时间窗口
+     */
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * 获取单次 release 合并的最大请求数
+     *
+     * @return 最大请求数
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * 关闭组提交器：立即发出所有等待中的批次，之后不再接受新请求
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            for (Map.Entry<NamespaceCoordinate, NamespaceQueue> entry : new ArrayList<>(queues.entrySet())) {
+                NamespaceQueue queue = entry.getValue();
+                if (!queue.flushing && !queue.waiting.isEmpty()) {
+                    startFlush(entry.getKey(), queue);
+                }
+            }
+            scheduler.shutdownNow();
+            flushExecutor.shutdown();
+        }
+    }
+
+    /**
+     * 时间窗口到期
+     */
+    private void onWindowExpired(NamespaceCoordinate coordinate) {
+        synchronized (this) {
+            NamespaceQueue queue = queues.get(coordinate);
+            if (queue == null) {
+                return;
+            }
+            queue.timer = null;
+            if (!queue.flushing && !queue.waiting.isEmpty()) {
+                startFlush(coordinate, queue);
+            }
+        }
+    }
+
+    /**
+     * 取出一批请求并异步发出 release，调用方需持有 this 锁
+     */
+    private void startFlush(NamespaceCoordinate coordinate, NamespaceQueue queue) {
+        if (queue.timer != null) {
+            queue.timer.cancel(false);
+            queue.timer = null;
+        }
+        int size = Math.min(maxBatchSize, queue.waiting.size());
+        List<Waiter> batch = new ArrayList<>(queue.waiting.subList(0, size));
+        queue.waiting.subList(0, size).clear();
+        queue.flushing = true;
+        flushExecutor.execute(() -> flush(coordinate, queue, batch));
+    }
+
+    /**
+     * 发出合并后的 release，并以同一结果完成批次内的所有请求
+     */
+    private void flush(NamespaceCoordinate coordinate, NamespaceQueue queue, List<Waiter> batch) {
+        Throwable error = null;
+        try {
+            Waiter first = batch.get(0);
+            releases.increment();
+            action.release(coordinate, mergeTitles(batch), mergeComments(batch), first.releasedBy);
+        } catch (Throwable t) {
+            error = t;
+        }
+
+        for (Waiter waiter : batch) {
+            if (error == null) {
+                waiter.future.complete(null);
+            } else {
+                waiter.future.completeExceptionally(error);
+            }
+        }
+
+        synchronized (this) {
+            queue.flushing = false;
+            if (!queue.waiting.isEmpty()) {
+                // 在途期间到达的请求已经等待过一个 release 的时间，直接发出下一批
+                if (flushExecutor.isShutdown()) {
+                    failRemaining(queue);
+                } else {
+                    startFlush(coordinate, queue);
+                }
+            } else if (queue.timer == null) {
+                queues.remove(coordinate);
+            }
+        }
+    }
+
+    /**
+     * 组提交器已关闭时，以异常完成剩余的请求
+     */
+    private void failRemaining(NamespaceQueue queue) {
+        ApolloException closed = new ApolloException("Release group committer is closed");
+        for (Waiter waiter : queue.waiting) {
+            waiter.future.completeExceptionally(closed);
+        }
+        queue.waiting.clear();
+    }
+
+    /**
+     * 合并批次内的发布标题
+     */
+    private static String mergeTitles(List<Waiter> batch) {
+        if (batch.size() == 1) {
+            return batch.get(0).releaseTitle;
+        }
+        return truncate("Group release (" + batch.size() + " requests) - "
+                + String.join("; ", distinct(batch, true)));
+    }
+
+    /**
+     * 合并批次内的发布说明
+     */
+    private static String mergeComments(List<Waiter> batch) {
+        if (batch.size() == 1) {
+            return batch.get(0).releaseComment;
+        }
+        Set<String> comments = distinct(batch, false);
+        return comments.isEmpty() ? null : truncate(String.join("; ", comments));
+    }
+
+    private static Set<String> distinct(List<Waiter> batch, boolean titles) {
+        Set<String> values = new LinkedHashSet<>();
+        for (Waiter waiter : batch) {
+            String value = titles ? waiter.releaseTitle : waiter.releaseComment;
+            if (value != null && !value.isBlank()) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    private static String truncate(String text) {
+        return text.length() <= MAX_TEXT_LENGTH ? text : text.substring(0, MAX_TEXT_LENGTH - 3) + "...";
+    }
+
+    /**
+     * 实际执行 release 的操作
+     */
+    @FunctionalInterface
+    public interface ReleaseAction {
+
+        /**
+         * 发布命名空间
+         *
+         * @param coordinate 命名空间坐标
+         * @param releaseTitle 发布标题
+         * @param releaseComment 发布说明
+         * @param releasedBy 发布人员标识
+         */
+        void release(NamespaceCoordinate coordinate, String releaseTitle, String releaseComment, String releasedBy);
+    }
+
+    /**
+     * 单个命名空间的等待队列
+     */
+    private static final class NamespaceQueue {
+
+        private final List<Waiter> waiting = new ArrayList<>();
+
+        private boolean flushing;
+
+        private ScheduledFuture<?> timer;
+    }
+
+    /**
+     * 等待中的发布请求
+     */
+    private static final class Waiter {
+
+        private final String releaseTitle;
+
+        private final String releaseComment;
+
+        private final String releasedBy;
+
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private Waiter(String releaseTitle, String releaseComment, String releasedBy) {
+            this.releaseTitle = releaseTitle;
+            this.releaseComment = releaseComment;
+            this.releasedBy = releasedBy;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.bluesky.apollo.core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 额外请求预算
+ *
+ * <p>用于限制重试等"额外请求"相对于正常请求的比例：每个正常请求存入 {@code ratio} 个令牌，
+ * 每个额外请求取出 1 个令牌，令牌不足时拒绝。令牌数有上限，初始为满。
+ * 这样在 Portal 整体故障时，额外请求最多只会让负载放大 {@code 1 + ratio} 倍，而不是 {@code maxAttempts} 倍。</p>
+ *
+ * <p>令牌以千分之一为单位保存在一个 {@link AtomicLong} 中，存取都是无锁的 CAS 操作。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public class RequestBudget {
+
+    /**
+     * 令牌的计量单位（千分之一个令牌）
+     */
+    private static final long SCALE = 1000L;
+
+    /**
+     * 每个正常请求存入的令牌数（千分之一单位）
+     */
+    private final long depositPerRequest;
+
+    /**
+     * 令牌上限（千分之一单位）
+     */
+    private final long capacity;
+
+    /**
+     * 当前令牌数（千分之一单位）
+     */
+    private final AtomicLong tokens;
+
+    /**
+     * 成功取出令牌的次数
+     */
+    private final LongAdder granted = new LongAdder();
+
+    /**
+     * 因令牌不足被拒绝的次数
+     */
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * 构造函数
+     *
+     * @param ratio 每个正常请求存入的令牌数，即额外请求占正常请求的比例上限，不能为负数
+     * @param maxTokens 令牌上限，即允许突发的额外请求数，必须大于 0
+     */
+    public RequestBudget(double ratio, int maxTokens) {
+        if (ratio < 0) {
+            throw new IllegalArgumentException("ratio must not be negative: " + ratio);
+        }
+        if (maxTokens <= 0) {
+            throw new IllegalArgumentException("maxTokens must be positive: " + maxTokens);
+        }
+        this.depositPerRequest = Math.round(ratio * SCALE);
+        this.capacity = maxTokens * SCALE;
+        this.tokens = new AtomicLong(capacity);
+    }
+
+    /**
+     * 记录一个正常请求，存入令牌
+     */
+    public void onRequest() {
+        if (depositPerRequest == 0) {
+            return;
+        }
+        long current;
+        do {
+            current = tokens.get();
+            if (current >= capacity) {
+                return;
+            }
+        } while (!tokens.compareAndSet(current, Math.min(capacity, current + depositPerRequest)));
+    }
+
+    /**
+     * 尝试为一个额外请求取出令牌
+     *
+     * @return 取出成功返回 true，令牌不足返回 false
+     */
+    public boolean tryAcquire() {
+        long current;
+        do {
+            current = tokens.get();
+            if (current < SCALE) {
+                rejected.increment();
+                return false;
+            }
+        } while (!tokens.compareAndSet(current, current - SCALE));
+        granted.increment();
+        return true;
+    }
+
+    /**
+     * 获取当前可用的令牌数
+     *
+     * @return 令牌数
+     */
+    public double getAvailableTokens() {
+        return (double) tokens.get() / SCALE;
+    }
+
+    /**
+     * 获取成功取出令牌的次数
+     *
+     * @return 次数
+     */
+    public long getGrantedCount() {
+        return granted.sum();
+    }
+
+    /**
+     * 获取因令牌不足被拒绝的次数
+     *
+     * @return 次数
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
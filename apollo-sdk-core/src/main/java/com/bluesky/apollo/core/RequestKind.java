@@ -0,0 +1,77 @@
+package com.bluesky.apollo.core;
+
+import okhttp3.Request;
+
+/**
+ * Portal 请求类别
+ *
+ * <p>根据 HTTP 方法和路径对请求分类，重试、限流等策略按类别分别配置：</p>
+ * <ul>
+ *   <li>{@link #READ} - GET 请求，幂等</li>
+ *   <li>{@link #ITEM_WRITE} - 配置项的创建/更新（POST items）、修改（PUT）和删除（DELETE），
+ *       Portal 的 item 接口按键覆盖写入，重复执行结果相同</li>
+ *   <li>{@link #RELEASE} - 发布命名空间（POST releases），每次执行都会产生一个新的 release，不幂等</li>
+ *   <li>{@link #OTHER} - 其他请求</li>
+ * </ul>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public enum RequestKind {
+
+    /**
+     * 读请求
+     */
+    READ,
+
+    /**
+     * 配置项写请求
+     */
+    ITEM_WRITE,
+
+    /**
+     * 发布请求
+     */
+    RELEASE,
+
+    /**
+     * 其他请求
+     */
+    OTHER;
+
+    /**
+     * 对请求分类
+     *
+     * @param request HTTP 请求
+     * @return 请求类别
+     */
+    public static RequestKind of(Request request) {
+        return of(request.method(), request.url().encodedPath());
+    }
+
+    /**
+     * 根据 HTTP 方法和路径分类
+     *
+     * @param method HTTP 方法
+     * @param path 请求路径
+     * @return 请求类别
+     */
+    public static RequestKind of(String method, String path) {
+        switch (method) {
+            case "GET":
+            case "HEAD":
+                return READ;
+            case "PUT":
+            case "DELETE":
+                return path.contains("/items") ? ITEM_WRITE : OTHER;
+            case "POST":
+                if (path.endsWith("/releases")) {
+                    return RELEASE;
+                }
+                return path.contains("/items") ? ITEM_WRITE : OTHER;
+            default:
+                return OTHER;
+        }
+    }
+}
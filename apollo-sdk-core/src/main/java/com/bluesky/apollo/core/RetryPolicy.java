@@ -0,0 +1,129 @@
+package com.bluesky.apollo.core;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 重试策略
+ *
+ * <p>描述 {@link ApolloClient} 在遇到暂时性故障时如何重试：</p>
+ * <ul>
+ *   <li>可重试的故障：网络异常（连接被重置、超时等）以及 {@link #getRetryableStatusCodes()} 中的 HTTP 状态码</li>
+ *   <li>可重试的请求：读请求和配置项写请求（均为幂等）；发布请求每次都会产生新的 release，
+ *       只有 {@link #isRetryReleases()} 为 true 时才重试</li>
+ *   <li>退避：指数退避加完全抖动（full jitter），第 n 次重试前等待 {@code [0, min(maxBackoff, initialBackoff * 2^(n-1))]}
+ *       之间的随机时长</li>
+ *   <li>上限：总尝试次数不超过 {@link #getMaxAttempts()}，从第一次尝试起的总耗时不超过 {@link #getMaxElapsed()}</li>
+ *   <li>预算：重试请求数不超过正常请求数的 {@link #getBudgetRatio()} 倍（允许 {@link #getBudgetBurst()} 个突发），
+ *       避免 Portal 故障时重试放大负载</li>
+ * </ul>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Data
+public class RetryPolicy {
+
+    /**
+     * 最大尝试次数（包含第一次）
+     * 默认值：3
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * 初始退避时长
+     * 默认值：100ms
+     */
+    private Duration initialBackoff = Duration.ofMillis(100);
+
+    /**
+     * 最大退避时长
+     * 默认值：2s
+     */
+    private Duration maxBackoff = Duration.ofSeconds(2);
+
+    /**
+     * 从第一次尝试起的总耗时上限
+     * 默认值：10s
+     */
+    private Duration maxElapsed = Duration.ofSeconds(10);
+
+    /**
+     * 可重试的 HTTP 状态码
+     * 默认值：429、502、503、504
+     */
+    private Set<Integer> retryableStatusCodes = Set.of(429, 502, 503, 504);
+
+    /**
+     * 是否重试发布请求
+     * 默认值：false
+     */
+    private boolean retryReleases = false;
+
+    /**
+     * 重试预算：重试请求数占正常请求数的比例上限
+     * 默认值：0.2
+     */
+    private double budgetRatio = 0.2;
+
+    /**
+     * 重试预算：允许突发的重试请求数
+     * 默认值：10
+     */
+    private int budgetBurst = 10;
+
+    /**
+     * 创建默认的重试策略
+     *
+     * @return 重试策略
+     */
+    public static RetryPolicy defaults() {
+        return new RetryPolicy();
+    }
+
+    /**
+     * 判断该类别的请求是否允许重试
+     *
+     * @param kind 请求类别
+     * @return 允许重试返回 true
+     */
+    public boolean appliesTo(RequestKind kind) {
+        switch (kind) {
+            case READ:
+            case ITEM_WRITE:
+                return true;
+            case RELEASE:
+                return retryReleases;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * 判断 HTTP 状态码是否可重试
+     *
+     * @param statusCode HTTP 状态码
+     * @return 可重试返回 true
+     */
+    public boolean isRetryableStatus(int statusCode) {
+        return retryableStatusCodes != null && retryableStatusCodes.contains(statusCode);
+    }
+
+    /**
+     * 计算第 n 次重试前的退避时长（完全抖动）
+     *
+     * @param retry 重试序号，从 1 开始
+     * @return 退避时长（纳秒）
+     */
+    public long backoffNanos(int retry) {
+        long initial = initialBackoff.toNanos();
+        long max = maxBackoff.toNanos();
+        int shift = Math.min(Math.max(retry - 1, 0), 30);
+        long ceiling = initial > (max >> shift) ? max : Math.min(max, initial << shift);
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
@@ -0,0 +1,179 @@
+package com.bluesky.apollo.core;
+
+import com.bluesky.apollo.exception.ApolloException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 并发相同读请求的合并（single-flight）
+ *
+ * <p>以编码后的请求路径为键，同一时刻相同路径的读请求只有第一个（leader）真正发出 HTTP 调用，
+ * 其余调用方（follower）等待并共享 leader 反序列化后的结果或异常。调用完成后立即从在途表中移除，
+ * 因此不会缓存任何结果，之后的读请求会重新发出调用。</p>
+ *
+ * <p>在途表是一个 {@link ConcurrentHashMap}，加入和移除都通过 {@code putIfAbsent} / {@code remove(key, value)}
+ * 完成，不持有锁。写入命名空间后由 {@link #forget(String)} 移除该命名空间下的在途条目，
+ * 写入之后发起的读请求不会合并到写入之前发出的调用上。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public class SingleFlight {
+
+    /**
+     * 在途调用，键为编码后的请求路径
+     */
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder calls = new LongAdder();
+
+    private final LongAdder collapsed = new LongAdder();
+
+    /**
+     * 执行读请求；已有相同路径的调用在途时等待并返回其结果
+     *
+     * @param key 编码后的请求路径
+     * @param loader 真正发出调用的加载函数，只在 leader 线程中执行
+     * @param <T> 结果类型，相同路径的调用必须返回相同类型
+     * @return 调用结果
+     * @throws ApolloException 调用失败时抛出，follower 得到与 leader 相同的异常
+     */
+    @SuppressWarnings("unchecked")
+    <T> T execute(String key, Supplier<T> loader) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        calls.increment();
+        if (existing != null) {
+            collapsed.increment();
+            return (T) await(existing);
+        }
+
+        try {
+            T result = loader.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * 异步执行读请求；已有相同路径的调用在途时返回依赖于该调用的 future
+     *
+     * <p>leader 和每个 follower 都得到各自的依赖 future，取消或完成它不会影响共享的调用，
+     * 也不会中断正在进行的 HTTP 请求；其他调用方仍会得到调用结果。</p>
+     *
+     * @param key 编码后的请求路径
+     * @param loader 真正发出调用的加载函数，只在 leader 中执行
+     * @param <T> 结果类型，相同路径的调用必须返回相同类型
+     * @return 调用结果的 future
+     */
+    @SuppressWarnings("unchecked")
+    <T> CompletableFuture<T> executeAsync(String key, Supplier<CompletableFuture<T>> loader) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        calls.increment();
+        if (existing != null) {
+            collapsed.increment();
+            return existing.thenApply(result -> (T) result);
+        }
+
+        CompletableFuture<T> call;
+        try {
+            call = loader.get();
+        } catch (RuntimeException e) {
+            inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+            return CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((result, error) -> {
+            inFlight.remove(key, flight);
+            if (error != null) {
+                flight.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+            } else {
+                flight.complete(result);
+            }
+        });
+        return flight.thenApply(result -> (T) result);
+    }
+
+    /**
+     * 移除路径以指定前缀开头的在途调用，之后的相同读请求会重新发出调用
+     *
+     * <p>已经在等待的 follower 仍会得到原调用的结果。</p>
+     *
+     * @param pathPrefix 路径前缀
+     */
+    void forget(String pathPrefix) {
+        if (!inFlight.isEmpty()) {
+            inFlight.keySet().removeIf(key -> key.startsWith(pathPrefix));
+        }
+    }
+
+    /**
+     * 获取经过合并的读请求总数（包含 leader 和 follower）
+     *
+     * @return 读请求数
+     */
+    public long getCallCount() {
+        return calls.sum();
+    }
+
+    /**
+     * 获取被合并的读请求数，即没有发出 HTTP 调用、共享了其他请求结果的次数
+     *
+     * @return 被合并的读请求数
+     */
+    public long getCollapsedCount() {
+        return collapsed.sum();
+    }
+
+    /**
+     * 获取当前在途的不同路径数
+     *
+     * @return 在途调用数
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * 获取合并率
+     *
+     * @return 被合并的读请求占比，尚无请求时返回 0
+     */
+    public double getCollapseRate() {
+        long total = calls.sum();
+        return total == 0 ? 0.0 : (double) collapsed.sum() / total;
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ApolloException("Coalesced read failed", cause);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SingleFlight{calls=" + calls.sum()
+                + ", collapsed=" + collapsed.sum()
+                + ", inFlight=" + inFlight.size() + "}";
+    }
+}
@@ -0,0 +1,337 @@
+package com.bluesky.apollo.core;
+
+import com.bluesky.apollo.exception.ApolloException;
+import com.bluesky.apollo.model.NamespaceCoordinate;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 按命名空间分条的有序写入通道
+ *
+ * <p>固定数量的通道（lane），每个通道由一个单线程执行器串行执行提交给它的写操作。
+ * 命名空间 (appId, env, cluster, namespace) 按坐标的哈希值映射到固定的通道，因此：</p>
+ * <ul>
+ *   <li>同一命名空间的写操作严格按提交顺序逐个执行，前一个完成（成功或失败）后才开始下一个</li>
+ *   <li>不同命名空间分布在不同通道上并行执行，并行度上限为通道数</li>
+ *   <li>映射到同一通道的不同命名空间之间也会排队，通道数越多，无关命名空间互相等待的概率越小</li>
+ * </ul>
+ *
+ * <p>在通道线程上再向同一通道提交的操作直接在当前线程执行，不会因等待自身而死锁。
+ * 各通道的排队深度和最近 10 秒左右的忙碌时间占比可通过 {@link #getQueueDepth(int)}、{@link #getUtilization(int)} 观察。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public class WriteLanes implements AutoCloseable {
+
+    /**
+     * 忙碌时间统计窗口的桶数
+     */
+    private static final int WINDOW_BUCKETS = 10;
+
+    /**
+     * 每个桶的时长（纳秒），窗口长度为 {@code WINDOW_BUCKETS * BUCKET_NANOS}
+     */
+    private static final long BUCKET_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * 各通道
+     */
+    private final Lane[] lanes;
+
+    /**
+     * 当前线程所属的通道，非通道线程为 null
+     */
+    private final ThreadLocal<Lane> currentLane = new ThreadLocal<>();
+
+    /**
+     * 创建时间（纳秒），忙碌时间按相对于它的秒数分桶
+     */
+    private final long createdNanos = System.nanoTime();
+
+    /**
+     * 提交的写操作数
+     */
+    private final LongAdder submitted = new LongAdder();
+
+    /**
+     * 执行完成的写操作数（包含失败）
+     */
+    private final LongAdder completed = new LongAdder();
+
+    /**
+     * 构造函数
+     *
+     * @param laneCount 通道数，必须大于 0
+     */
+    public WriteLanes(int laneCount) {
+        if (laneCount <= 0) {
+            throw new IllegalArgumentException("laneCount must be positive: " + laneCount);
+        }
+        NamedThreadFactory threadFactory = new NamedThreadFactory("apollo-sdk-write-lane");
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane(threadFactory);
+        }
+    }
+
+    /**
+     * 把写操作提交到命名空间所在的通道
+     *
+     * @param coordinate 命名空间坐标
+     * @param operation 写操作，在通道线程上执行
+     * @param <T> 结果类型
+     * @return 写操作的结果；操作抛出异常时以该异常完成
+     * @throws ApolloException 写入通道已关闭时抛出
+     */
+    public <T> CompletableFuture<T> submit(NamespaceCoordinate coordinate, Supplier<T> operation) {
+        Lane lane = lanes[laneOf(coordinate)];
+        submitted.increment();
+        if (currentLane.get() == lane) {
+            return lane.run(operation);
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            lane.executor.execute(() -> lane.run(operation).whenComplete((result, error) -> {
+                if (error != null) {
+                    future.completeExceptionally(error);
+                } else {
+                    future.complete(result);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            submitted.decrement();
+            throw new ApolloException("Write lanes are closed", e);
+        }
+        return future;
+    }
+
+    /**
+     * 当前线程是否正是命名空间所在通道的线程
+     *
+     * @param coordinate 命名空间坐标
+     * @return 在该命名空间的通道线程上时返回 true
+     */
+    public boolean isOnLane(NamespaceCoordinate coordinate) {
+        return currentLane.get() == lanes[laneOf(coordinate)];
+    }
+
+    /**
+     * 获取命名空间映射到的通道序号
+     *
+     * @param coordinate 命名空间坐标
+     * @return 通道序号，取值 [0, {@link #getLaneCount()})
+     */
+    public int laneOf(NamespaceCoordinate coordinate) {
+        int hash = coordinate.hashCode();
+        return Math.floorMod(hash ^ (hash >>> 16), lanes.length);
+    }
+
+    /**
+     * 获取通道数
+     *
+     * @return 通道数
+     */
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * 获取所有通道排队等待执行的写操作总数（不含正在执行的操作）
+     *
+     * @return 排队深度
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (Lane lane : lanes) {
+            depth += lane.executor.getQueue().size();
+        }
+        return depth;
+    }
+
+    /**
+     * 获取指定通道排队等待执行的写操作数（不含正在执行的操作）
+     *
+     * @param lane 通道序号
+     * @return 排队深度
+     */
+    public int getQueueDepth(int lane) {
+        return lanes[lane].executor.getQueue().size();
+    }
+
+    /**
+     * 获取排队最深的通道的排队深度，可用于发现热点命名空间
+     *
+     * @return 最大排队深度
+     */
+    public int getMaxQueueDepth() {
+        int max = 0;
+        for (Lane lane : lanes) {
+            max = Math.max(max, lane.executor.getQueue().size());
+        }
+        return max;
+    }
+
+    /**
+     * 获取指定通道最近一个统计窗口（约 10 秒，按整秒分桶）内的忙碌时间占比
+     *
+     * <p>只反映当前的饱和程度：通道持续忙碌时接近 1，空闲 10 秒后回到 0。</p>
+     *
+     * @param lane 通道序号
+     * @return 忙碌时间占比，取值 [0, 1]
+     */
+    public double getUtilization(int lane) {
+        return lanes[lane].utilization(System.nanoTime());
+    }
+
+    /**
+     * 获取所有通道最近一个统计窗口内的平均忙碌时间占比
+     *
+     * @return 平均忙碌时间占比，取值 [0, 1]
+     */
+    public double getUtilization() {
+        double total = 0;
+        for (int i = 0; i < lanes.length; i++) {
+            total += getUtilization(i);
+        }
+        return total / lanes.length;
+    }
+
+    /**
+     * 获取提交的写操作数
+     *
+     * @return 写操作数
+     */
+    public long getSubmittedCount() {
+        return submitted.sum();
+    }
+
+    /**
+     * 获取执行完成的写操作数（包含失败）
+     *
+     * @return 写操作数
+     */
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    /**
+     * 关闭写入通道：已提交的写操作继续按顺序执行完，之后不再接受新操作
+     */
+    @Override
+    public void close() {
+        for (Lane lane : lanes) {
+            lane.executor.shutdown();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "WriteLanes{lanes=" + lanes.length
+                + ", submitted=" + submitted.sum()
+                + ", completed=" + completed.sum()
+                + ", queueDepth=" + getQueueDepth() + "}";
+    }
+
+    /**
+     * 单个通道
+     */
+    private final class Lane {
+
+        private final ThreadPoolExecutor executor;
+
+        /**
+         * 各桶对应的秒序号，与 {@link #bucketBusy} 一起组成环形窗口；以下字段都由 this 锁保护
+         */
+        private final long[] bucketEpoch = new long[WINDOW_BUCKETS];
+
+        /**
+         * 各桶内的忙碌时间（纳秒）
+         */
+        private final long[] bucketBusy = new long[WINDOW_BUCKETS];
+
+        /**
+         * 正在执行的操作的开始时间，空闲时为 0
+         */
+        private long runningSince;
+
+        private Lane(NamedThreadFactory threadFactory) {
+            this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(), threadFactory);
+            Arrays.fill(bucketEpoch, -1);
+        }
+
+        /**
+         * 在当前线程执行写操作；嵌套执行时只计入最外层的忙碌时间
+         */
+        private <T> CompletableFuture<T> run(Supplier<T> operation) {
+            boolean outermost = currentLane.get() == null;
+            long start = System.nanoTime();
+            if (outermost) {
+                currentLane.set(this);
+                started(start);
+            }
+            try {
+                return CompletableFuture.completedFuture(operation.get());
+            } catch (RuntimeException | Error e) {
+                return CompletableFuture.failedFuture(e);
+            } finally {
+                if (outermost) {
+                    finished(start, System.nanoTime());
+                    currentLane.remove();
+                }
+                completed.increment();
+            }
+        }
+
+        private synchronized void started(long start) {
+            runningSince = start;
+        }
+
+        /**
+         * 把一次执行的忙碌时间按秒拆分记入各桶，早于窗口的部分直接丢弃
+         */
+        private synchronized void finished(long start, long end) {
+            runningSince = 0;
+            long from = Math.max(start, end - WINDOW_BUCKETS * BUCKET_NANOS);
+            while (from < end) {
+                long epoch = (from - createdNanos) / BUCKET_NANOS;
+                long to = Math.min(end, createdNanos + (epoch + 1) * BUCKET_NANOS);
+                int slot = (int) (epoch % WINDOW_BUCKETS);
+                if (bucketEpoch[slot] != epoch) {
+                    bucketEpoch[slot] = epoch;
+                    bucketBusy[slot] = 0;
+                }
+                bucketBusy[slot] += to - from;
+                from = to;
+            }
+        }
+
+        /**
+         * 计算从窗口内最旧的桶开始到现在的忙碌时间占比，包含正在执行的操作
+         */
+        private synchronized double utilization(long now) {
+            long oldestEpoch = Math.max(0, (now - createdNanos) / BUCKET_NANOS - WINDOW_BUCKETS + 1);
+            long windowStart = createdNanos + oldestEpoch * BUCKET_NANOS;
+            long busy = 0;
+            for (int i = 0; i < WINDOW_BUCKETS; i++) {
+                if (bucketEpoch[i] >= oldestEpoch) {
+                    busy += bucketBusy[i];
+                }
+            }
+            if (runningSince != 0) {
+                busy += now - Math.max(runningSince, windowStart);
+            }
+            long elapsed = now - windowStart;
+            return elapsed <= 0 ? 0.0 : Math.min(1.0, (double) busy / elapsed);
+        }
+    }
+}
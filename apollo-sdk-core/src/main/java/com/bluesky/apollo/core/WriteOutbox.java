@@ -0,0 +1,808 @@
+package com.bluesky.apollo.core;
+
+import com.bluesky.apollo.exception.ApolloException;
+import com.bluesky.apollo.exception.ApolloHttpException;
+import com.bluesky.apollo.model.NamespaceCoordinate;
+import com.bluesky.apollo.model.OutboxEntry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 持久化的写入发件箱
+ *
+ * <p>Portal 不可用时，直接调用 Portal 的写入会失败，变更只能由调用方自行保存和重试。
+ * 发件箱先把每个配置项写入、删除和发布意图追加到本地的分段日志（{@link OutboxLog}），
+ * 刷盘后立即确认调用方，再由后台线程按命名空间内的顺序重放到 Portal：</p>
+ * <ul>
+ *   <li>持久化：日志分段通过内存映射写入，每条记录带 CRC32；多个调用方的刷盘合并为一次 fsync（组提交），
+ *       吞吐取决于刷盘次数而不是写入次数</li>
+ *   <li>顺序：同一命名空间的条目严格按追加顺序串行重放，不同命名空间之间以
+ *       {@link OutboxConfig#getReplayConcurrency()} 的并发度并行</li>
+ *   <li>重试：Portal 不可用（网络异常、5xx、熔断、限流等）时，该命名空间暂停并按指数退避重试；
+ *       {@link OutboxConfig#getDiscardStatusCodes()} 中的状态码说明请求本身有误，记录日志后丢弃</li>
+ *   <li>压缩：同一命名空间两次发布之间对同一个键的多次写入只保留最后一次，相邻的多次发布合并为一次；
+ *       分段过多时把存活记录重写到新分段，回收旧分段</li>
+ *   <li>恢复：重启后读取已有分段，跳过已确认的条目，继续重放其余条目</li>
+ * </ul>
+ *
+ * <p>重放语义是至少一次：条目在 Portal 上生效后、确认记录落盘前崩溃，重启后会再次重放。
+ * 配置项写入和删除是幂等的，重复的发布只会多产生一个内容相同的 release。</p>
+ *
+ * <p>通常通过 {@link ApolloConfigServiceCore#enableOutbox} 开启，之后服务的写入、删除和发布都经过发件箱：</p>
+ * <pre>{@code
+ * service.enableOutbox(OutboxConfig.of(Paths.get("/var/lib/myapp/apollo-outbox")));
+ * service.publishSingle("myApp", "DEV", "default", "application",
+ *                       "timeout", "5000", "设置超时时间", "admin");   // 落盘后即返回
+ * }</pre>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Slf4j
+public class WriteOutbox implements AutoCloseable {
+
+    private static final byte RECORD_ITEM = 1;
+
+    private static final byte RECORD_DELETE = 2;
+
+    private static final byte RECORD_RELEASE = 3;
+
+    private static final byte RECORD_ACK = 9;
+
+    /**
+     * 发件箱配置
+     */
+    private final OutboxConfig config;
+
+    /**
+     * 重放条目的操作
+     */
+    private final Handler handler;
+
+    /**
+     * 分段日志
+     */
+    private final OutboxLog outboxLog;
+
+    /**
+     * 各命名空间的重放队列，由 this 锁保护
+     */
+    private final Map<NamespaceCoordinate, Lane> lanes = new HashMap<>();
+
+    /**
+     * 等待刷盘的调用方，由 this 锁保护
+     */
+    private List<CompletableFuture<Void>> syncWaiters = new ArrayList<>();
+
+    /**
+     * 已被覆盖、但覆盖它的记录尚未刷盘的条目，由 this 锁保护
+     *
+     * <p>刷盘之前较早的记录仍是该键唯一落盘的版本，确认它会让日志提前删除所在分段，因此等下一次刷盘完成后再确认。</p>
+     */
+    private List<Pending> supersededUnsynced = new ArrayList<>();
+
+    /**
+     * 刷盘线程
+     */
+    private final ExecutorService syncExecutor;
+
+    /**
+     * 重放线程池
+     */
+    private final ExecutorService replayExecutor;
+
+    /**
+     * 重放退避调度器
+     */
+    private final ScheduledExecutorService retryScheduler;
+
+    /**
+     * 最后分配的序号，由 this 锁保护
+     */
+    private long lastSequence;
+
+    /**
+     * 尚未确认的条目数，由 this 锁保护
+     */
+    private int pending;
+
+    /**
+     * 尚未确认的条目占用的日志字节数，由 this 锁保护
+     */
+    private long liveBytes;
+
+    /**
+     * 是否已关闭，由 this 锁保护
+     */
+    private boolean closed;
+
+    private final LongAdder appended = new LongAdder();
+
+    private final LongAdder replayed = new LongAdder();
+
+    private final LongAdder superseded = new LongAdder();
+
+    private final LongAdder discarded = new LongAdder();
+
+    private final LongAdder syncs = new LongAdder();
+
+    private final LongAdder compactions = new LongAdder();
+
+    /**
+     * 构造函数，打开日志目录并恢复尚未重放的条目
+     *
+     * @param config 发件箱配置
+     * @param handler 重放条目的操作
+     * @throws ApolloException 打开或恢复日志失败时抛出
+     */
+    public WriteOutbox(OutboxConfig config, Handler handler) {
+        if (config.getDirectory() == null) {
+            throw new IllegalArgumentException("Outbox directory must be set");
+        }
+        if (config.getReplayConcurrency() <= 0) {
+            throw new IllegalArgumentException("replayConcurrency must be positive: " + config.getReplayConcurrency());
+        }
+        this.config = config;
+        this.handler = handler;
+        try {
+            this.outboxLog = new OutboxLog(config.getDirectory(), config.getSegmentBytes());
+        } catch (IOException e) {
+            throw new ApolloException("Failed to open outbox directory: " + config.getDirectory(), e);
+        }
+        this.syncExecutor = Executors.newSingleThreadExecutor(new NamedThreadFactory("apollo-sdk-outbox-sync"));
+        this.replayExecutor = Executors.newFixedThreadPool(config.getReplayConcurrency(),
+                new NamedThreadFactory("apollo-sdk-outbox-replay"));
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(new NamedThreadFactory("apollo-sdk-outbox-retry"));
+        try {
+            recover();
+        } catch (IOException | RuntimeException e) {
+            shutdownExecutors();
+            throw new ApolloException("Failed to recover outbox: " + config.getDirectory(), e);
+        }
+    }
+
+    /**
+     * 追加创建或更新配置项的意图
+     *
+     * @param coordinate 命名空间坐标
+     * @param key 配置项的键
+     * @param value 配置项的值
+     * @param comment 配置项的注释说明
+     * @param operator 操作人员标识
+     * @return 落盘后完成的 Future；写日志失败时以 {@link ApolloException} 异常完成
+     */
+    public CompletableFuture<Void> appendItem(NamespaceCoordinate coordinate, String key, String value,
+                                              String comment, String operator) {
+        return append(OutboxEntry.Type.ITEM, coordinate, key, value, comment, operator, null);
+    }
+
+    /**
+     * 追加删除配置项的意图
+     *
+     * @param coordinate 命名空间坐标
+     * @param key 配置项的键
+     * @param operator 操作人员标识
+     * @return 落盘后完成的 Future；写日志失败时以 {@link ApolloException} 异常完成
+     */
+    public CompletableFuture<Void> appendDelete(NamespaceCoordinate coordinate, String key, String operator) {
+        return append(OutboxEntry.Type.DELETE, coordinate, key, null, null, operator, null);
+    }
+
+    /**
+     * 追加发布命名空间的意图
+     *
+     * @param coordinate 命名空间坐标
+     * @param releaseTitle 发布标题
+     * @param releaseComment 发布说明
+     * @param releasedBy 发布人员标识
+     * @return 落盘后完成的 Future；写日志失败时以 {@link ApolloException} 异常完成
+     */
+    public CompletableFuture<Void> appendRelease(NamespaceCoordinate coordinate, String releaseTitle,
+                                                 String releaseComment, String releasedBy) {
+        return append(OutboxEntry.Type.RELEASE, coordinate, null, null, releaseComment, releasedBy, releaseTitle);
+    }
+
+    /**
+     * 等待所有条目重放完成
+     *
+     * @param timeout 最长等待时间
+     * @param unit 时间单位
+     * @return 在超时前全部重放完成返回 true
+     * @throws InterruptedException 等待被中断时抛出
+     */
+    public synchronized boolean awaitDrained(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (pending > 0) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+
+    /**
+     * 获取尚未重放的条目数
+     *
+     * @return 待重放条目数
+     */
+    public synchronized int getPendingCount() {
+        return pending;
+    }
+
+    /**
+     * 获取追加的条目数（不含恢复的条目）
+     *
+     * @return 追加的条目数
+     */
+    public long getAppendedCount() {
+        return appended.sum();
+    }
+
+    /**
+     * 获取成功重放的条目数，合并重放的发布按条目计数
+     *
+     * @return 重放的条目数
+     */
+    public long getReplayedCount() {
+        return replayed.sum();
+    }
+
+    /**
+     * 获取被后续写入覆盖、无需重放的条目数
+     *
+     * @return 被覆盖的条目数
+     */
+    public long getSupersededCount() {
+        return superseded.sum();
+    }
+
+    /**
+     * 获取因请求本身有误被丢弃的条目数
+     *
+     * @return 丢弃的条目数
+     */
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    /**
+     * 获取刷盘次数，与追加的条目数相比可以看出组提交的效果
+     *
+     * @return 刷盘次数
+     */
+    public long getSyncCount() {
+        return syncs.sum();
+    }
+
+    /**
+     * 获取日志压缩次数
+     *
+     * @return 压缩次数
+     */
+    public long getCompactionCount() {
+        return compactions.sum();
+    }
+
+    /**
+     * 获取当前的日志分段文件数
+     *
+     * @return 分段文件数
+     */
+    public int getSegmentCount() {
+        return outboxLog.getSegmentCount();
+    }
+
+    /**
+     * 关闭发件箱：不再接受新条目，停止重放并把日志刷到磁盘。未重放的条目保留在日志中，下次打开时继续重放
+     */
+    @Override
+    public void close() {
+        List<CompletableFuture<Void>> waiters;
+        List<Pending> unsynced;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            waiters = syncWaiters;
+            syncWaiters = new ArrayList<>();
+            unsynced = takeSupersededUnsynced();
+        }
+        shutdownExecutors();
+        try {
+            outboxLog.sync();
+            acknowledgeAll(unsynced);
+            outboxLog.close();
+            waiters.forEach(waiter -> waiter.complete(null));
+        } catch (IOException e) {
+            ApolloException error = new ApolloException("Failed to flush outbox on close", e);
+            waiters.forEach(waiter -> waiter.completeExceptionally(error));
+            throw error;
+        }
+    }
+
+    /**
+     * 追加条目并安排刷盘和重放
+     */
+    private CompletableFuture<Void> append(OutboxEntry.Type type, NamespaceCoordinate coordinate, String key,
+                                           String value, String comment, String operator, String releaseTitle) {
+        CompletableFuture<Void> durable = new CompletableFuture<>();
+        boolean startSync;
+        synchronized (this) {
+            if (closed) {
+                throw new ApolloException("Write outbox is closed");
+            }
+            OutboxEntry entry = new OutboxEntry(++lastSequence, type, coordinate, key, value,
+                    comment, operator, releaseTitle);
+            try {
+                enqueue(entry, encode(entry));
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(new ApolloException("Failed to append to outbox: " + entry, e));
+            }
+            appended.increment();
+            maybeCompact();
+            if (!config.isFsync()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            // 已有刷盘在等待或进行中时，本条目由下一次刷盘覆盖
+            startSync = syncWaiters.isEmpty();
+            syncWaiters.add(durable);
+        }
+        if (startSync) {
+            syncExecutor.execute(this::syncBatch);
+        }
+        return durable;
+    }
+
+    /**
+     * 写入日志并放入命名空间的重放队列，调用方需持有 this 锁
+     */
+    private void enqueue(OutboxEntry entry, byte[] payload) throws IOException {
+        Pending item = new Pending(entry, payload, outboxLog.append(payload));
+        item.segment.live++;
+        pending++;
+        liveBytes += payload.length + OutboxLog.HEADER_BYTES;
+
+        Lane lane = lanes.computeIfAbsent(entry.getCoordinate(), k -> new Lane());
+        lane.queue.add(item);
+        if (entry.getType() == OutboxEntry.Type.RELEASE) {
+            lane.latestSinceRelease.clear();
+        } else {
+            Pending previous = lane.latestSinceRelease.put(entry.getKey(), item);
+            if (previous != null && !previous.inFlight) {
+                // 同一次发布之前对同一个键的较早写入不会被任何 release 单独看到，不再重放；
+                // 需要落盘时，等本条记录刷盘后再确认
+                previous.superseded = true;
+                superseded.increment();
+                if (config.isFsync()) {
+                    supersededUnsynced.add(previous);
+                } else {
+                    acknowledge(previous);
+                }
+            }
+        }
+        if (!lane.draining) {
+            lane.draining = true;
+            replayExecutor.execute(() -> drain(entry.getCoordinate(), lane));
+        }
+    }
+
+    /**
+     * 合并刷盘：一次刷盘完成期间到达的所有调用方
+     */
+    private void syncBatch() {
+        List<CompletableFuture<Void>> waiters;
+        List<Pending> unsynced;
+        synchronized (this) {
+            waiters = syncWaiters;
+            syncWaiters = new ArrayList<>();
+            // 在刷盘之前取出，这些条目的覆盖记录都已写入，会被本次刷盘覆盖
+            unsynced = takeSupersededUnsynced();
+        }
+        if (waiters.isEmpty() && unsynced.isEmpty()) {
+            return;
+        }
+        try {
+            outboxLog.sync();
+            syncs.increment();
+            acknowledgeAll(unsynced);
+            waiters.forEach(waiter -> waiter.complete(null));
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {
+                // 留给下一次刷盘
+                supersededUnsynced.addAll(unsynced);
+            }
+            ApolloException error = new ApolloException("Failed to sync outbox", e);
+            waiters.forEach(waiter -> waiter.completeExceptionally(error));
+        }
+        synchronized (this) {
+            if (!syncWaiters.isEmpty() && !closed) {
+                syncExecutor.execute(this::syncBatch);
+            }
+        }
+    }
+
+    /**
+     * 按顺序重放一个命名空间的条目，直到队列为空或 Portal 不可用
+     */
+    private void drain(NamespaceCoordinate coordinate, Lane lane) {
+        while (true) {
+            List<Pending> batch;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                batch = nextBatch(lane);
+                if (batch.isEmpty()) {
+                    lane.draining = false;
+                    lanes.remove(coordinate, lane);
+                    return;
+                }
+            }
+
+            Throwable error = null;
+            try {
+                handler.apply(batch.get(0).entry);
+            } catch (Throwable t) {
+                error = t;
+            }
+
+            synchronized (this) {
+                if (closed) {
+                    // 关闭等待超时后才结束的重放：日志已关闭，不再确认，下次打开时重新重放
+                    return;
+                }
+                if (error == null || isDiscarded(error)) {
+                    if (error == null) {
+                        replayed.add(batch.size());
+                    } else {
+                        discarded.add(batch.size());
+                        log.error("Discarding outbox entry {} rejected by Apollo portal: {}",
+                                batch.get(0).entry, error.getMessage());
+                    }
+                    lane.backoffMillis = 0;
+                    for (Pending item : batch) {
+                        lane.queue.poll();
+                        acknowledge(item);
+                    }
+                    continue;
+                }
+
+                for (Pending item : batch) {
+                    item.inFlight = false;
+                }
+                lane.backoffMillis = lane.backoffMillis == 0 ? config.getRetryInterval().toMillis()
+                        : Math.min(lane.backoffMillis * 2, config.getMaxRetryInterval().toMillis());
+                log.warn("Failed to replay outbox entry {}, retrying in {}ms: {}",
+                        batch.get(0).entry, lane.backoffMillis, error.getMessage());
+                if (!closed) {
+                    retryScheduler.schedule(() -> replayExecutor.execute(() -> drain(coordinate, lane)),
+                            lane.backoffMillis, TimeUnit.MILLISECONDS);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * 取出队首待重放的条目；相邻的多次发布合并为一批，只重放第一次。调用方需持有 this 锁
+     */
+    private List<Pending> nextBatch(Lane lane) {
+        while (!lane.queue.isEmpty() && lane.queue.peek().superseded) {
+            lane.queue.poll();
+        }
+        Pending head = lane.queue.peek();
+        if (head == null) {
+            return List.of();
+        }
+        List<Pending> batch = new ArrayList<>();
+        for (Iterator<Pending> it = lane.queue.iterator(); it.hasNext(); ) {
+            Pending item = it.next();
+            if (!batch.isEmpty() && (head.entry.getType() != OutboxEntry.Type.RELEASE
+                    || item.entry.getType() != OutboxEntry.Type.RELEASE)) {
+                break;
+            }
+            item.inFlight = true;
+            batch.add(item);
+        }
+        if (head.entry.getType() != OutboxEntry.Type.RELEASE) {
+            lane.latestSinceRelease.remove(head.entry.getKey(), head);
+        }
+        return batch;
+    }
+
+    /**
+     * 判断重放失败是否因为请求本身有误，应当丢弃而不是重试
+     */
+    private boolean isDiscarded(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof ApolloHttpException) {
+                Set<Integer> codes = config.getDiscardStatusCodes();
+                return codes != null && codes.contains(((ApolloHttpException) t).getStatusCode());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 记录条目已确认，回收日志空间，调用方需持有 this 锁
+     */
+    private void acknowledge(Pending item) {
+        try {
+            outboxLog.append(encodeAck(item.entry.getSequence()));
+        } catch (IOException e) {
+            // 确认记录丢失只会导致重启后重复重放
+            log.warn("Failed to write outbox acknowledgement for {}: {}", item.entry, e.getMessage());
+        }
+        outboxLog.release(item.segment);
+        pending--;
+        liveBytes -= item.payload.length + OutboxLog.HEADER_BYTES;
+        if (pending == 0) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * 取出等待刷盘后确认的被覆盖条目，调用方需持有 this 锁
+     */
+    private List<Pending> takeSupersededUnsynced() {
+        if (supersededUnsynced.isEmpty()) {
+            return List.of();
+        }
+        List<Pending> taken = supersededUnsynced;
+        supersededUnsynced = new ArrayList<>();
+        return taken;
+    }
+
+    /**
+     * 覆盖记录刷盘后确认被覆盖的条目
+     */
+    private synchronized void acknowledgeAll(List<Pending> items) {
+        for (Pending item : items) {
+            acknowledge(item);
+        }
+    }
+
+    /**
+     * 分段过多且大部分记录已确认时，把存活记录重写到新分段并删除旧分段，调用方需持有 this 锁
+     */
+    private void maybeCompact() {
+        int segments = outboxLog.getSegmentCount();
+        if (segments <= config.getCompactionSegments()
+                || liveBytes * 2 > (long) (segments - 1) * outboxLog.getSegmentBytes()) {
+            return;
+        }
+        try {
+            rewriteLive();
+            compactions.increment();
+        } catch (IOException e) {
+            log.warn("Failed to compact outbox: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 把存活条目重写到新分段，刷盘后删除旧分段，调用方需持有 this 锁
+     */
+    private void rewriteLive() throws IOException {
+        long boundary = outboxLog.roll();
+        for (Lane lane : lanes.values()) {
+            for (Pending item : lane.queue) {
+                if (!item.superseded) {
+                    item.segment = outboxLog.append(item.payload);
+                    item.segment.live++;
+                }
+            }
+        }
+        outboxLog.sync();
+        acknowledgeAll(takeSupersededUnsynced());
+        outboxLog.deleteBefore(boundary);
+    }
+
+    /**
+     * 读取已有分段，跳过已确认的条目，其余条目重写到新分段后按序号重新入队
+     */
+    private synchronized void recover() throws IOException {
+        Map<Long, OutboxEntry> entries = new TreeMap<>();
+        Set<Long> acknowledged = new HashSet<>();
+        for (byte[] payload : outboxLog.readExisting()) {
+            decode(payload, entries, acknowledged);
+        }
+        for (long sequence : entries.keySet()) {
+            lastSequence = Math.max(lastSequence, sequence);
+        }
+        for (long sequence : acknowledged) {
+            lastSequence = Math.max(lastSequence, sequence);
+        }
+        entries.keySet().removeAll(acknowledged);
+
+        long boundary = outboxLog.roll();
+        for (OutboxEntry entry : entries.values()) {
+            enqueue(entry, encode(entry));
+        }
+        outboxLog.sync();
+        acknowledgeAll(takeSupersededUnsynced());
+        outboxLog.deleteBefore(boundary);
+        if (!entries.isEmpty()) {
+            log.info("Recovered {} pending outbox entries from {}", entries.size(), config.getDirectory());
+        }
+    }
+
+    private void shutdownExecutors() {
+        retryScheduler.shutdownNow();
+        replayExecutor.shutdown();
+        syncExecutor.shutdown();
+        try {
+            long timeoutMillis = config.getCloseTimeout().toMillis();
+            replayExecutor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+            syncExecutor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static byte[] encode(OutboxEntry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        switch (entry.getType()) {
+            case ITEM:
+                out.writeByte(RECORD_ITEM);
+                break;
+            case DELETE:
+                out.writeByte(RECORD_DELETE);
+                break;
+            default:
+                out.writeByte(RECORD_RELEASE);
+                break;
+        }
+        out.writeLong(entry.getSequence());
+        NamespaceCoordinate coordinate = entry.getCoordinate();
+        writeString(out, coordinate.getAppId());
+        writeString(out, coordinate.getEnv());
+        writeString(out, coordinate.getCluster());
+        writeString(out, coordinate.getNamespace());
+        writeString(out, entry.getKey());
+        writeString(out, entry.getValue());
+        writeString(out, entry.getComment());
+        writeString(out, entry.getOperator());
+        writeString(out, entry.getReleaseTitle());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static byte[] encodeAck(long sequence) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(9);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(RECORD_ACK);
+        out.writeLong(sequence);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void decode(byte[] payload, Map<Long, OutboxEntry> entries, Set<Long> acknowledged)
+            throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte kind = in.readByte();
+        long sequence = in.readLong();
+        OutboxEntry.Type type;
+        switch (kind) {
+            case RECORD_ACK:
+                acknowledged.add(sequence);
+                return;
+            case RECORD_ITEM:
+                type = OutboxEntry.Type.ITEM;
+                break;
+            case RECORD_DELETE:
+                type = OutboxEntry.Type.DELETE;
+                break;
+            case RECORD_RELEASE:
+                type = OutboxEntry.Type.RELEASE;
+                break;
+            default:
+                throw new IOException("Unknown outbox record type: " + kind);
+        }
+        NamespaceCoordinate coordinate = NamespaceCoordinate.of(readString(in), readString(in),
+                readString(in), readString(in));
+        entries.put(sequence, new OutboxEntry(sequence, type, coordinate, readString(in), readString(in),
+                readString(in), readString(in), readString(in)));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 重放条目的操作
+     */
+    @FunctionalInterface
+    public interface Handler {
+
+        /**
+         * 把条目应用到 Portal，抛出异常表示失败
+         *
+         * @param entry 发件箱条目
+         */
+        void apply(OutboxEntry entry);
+    }
+
+    /**
+     * 单个命名空间的重放队列
+     */
+    private static final class Lane {
+
+        private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+
+        /**
+         * 上一次发布之后各个键最近一次尚未重放的写入，用于覆盖较早的写入
+         */
+        private final Map<String, Pending> latestSinceRelease = new HashMap<>();
+
+        /**
+         * 是否有重放任务在运行或等待退避
+         */
+        private boolean draining;
+
+        private long backoffMillis;
+    }
+
+    /**
+     * 尚未确认的条目
+     */
+    private static final class Pending {
+
+        private final OutboxEntry entry;
+
+        private final byte[] payload;
+
+        private OutboxLog.Segment segment;
+
+        private boolean inFlight;
+
+        private boolean superseded;
+
+        private Pending(OutboxEntry entry, byte[] payload, OutboxLog.Segment segment) {
+            this.entry = entry;
+            this.payload = payload;
+            this.segment = segment;
+        }
+    }
+}
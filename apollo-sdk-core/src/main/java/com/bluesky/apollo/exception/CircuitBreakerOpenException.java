@@ -0,0 +1,39 @@
+package com.bluesky.apollo.exception;
+
+import lombok.Getter;
+
+/**
+ * 熔断器打开异常
+ *
+ * <p>当 Portal 处于熔断状态时，请求不会真正发出，而是立即以该异常失败，
+ * 避免调用方线程继续等待超时。调用方可以据此与普通的 HTTP 失败区分，做降级处理。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Getter
+public class CircuitBreakerOpenException extends ApolloException {
+
+    /**
+     * 熔断器名称（通常为 Portal 地址）
+     */
+    private final String breakerName;
+
+    /**
+     * 预计可以再次尝试的剩余时间（毫秒）
+     */
+    private final long retryAfterMillis;
+
+    /**
+     * 构造函数，创建熔断器打开异常
+     *
+     * @param breakerName 熔断器名称
+     * @param retryAfterMillis 预计可以再次尝试的剩余时间（毫秒）
+     */
+    public CircuitBreakerOpenException(String breakerName, long retryAfterMillis) {
+        super("Circuit breaker is open for " + breakerName + ", retry after " + retryAfterMillis + " ms");
+        this.breakerName = breakerName;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+}
@@ -0,0 +1,40 @@
+package com.bluesky.apollo.exception;
+
+import com.bluesky.apollo.core.RequestKind;
+import lombok.Getter;
+
+/**
+ * 限流超时异常
+ *
+ * <p>当客户端开启限流并设置了最长等待时间，而请求在该时间内拿不到许可时，请求不会发出，
+ * 直接以该异常失败。调用方可以据此与 Portal 返回的失败区分，稍后重试或降级处理。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Getter
+public class RateLimitExceededException extends ApolloException {
+
+    /**
+     * 被限流的请求类别
+     */
+    private final RequestKind requestKind;
+
+    /**
+     * 最长等待时间（毫秒）
+     */
+    private final long maxWaitMillis;
+
+    /**
+     * 构造函数，创建限流超时异常
+     *
+     * @param requestKind 被限流的请求类别
+     * @param maxWaitMillis 最长等待时间（毫秒）
+     */
+    public RateLimitExceededException(RequestKind requestKind, long maxWaitMillis) {
+        super("Rate limit exceeded for " + requestKind + " requests, no permit within " + maxWaitMillis + " ms");
+        this.requestKind = requestKind;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+}
@@ -0,0 +1,91 @@
+package com.bluesky.apollo.model;
+
+import com.bluesky.apollo.exception.ApolloException;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 期望状态应用结果模型
+ *
+ * <p>该类记录一次"按期望状态同步命名空间"的结果：计算出的差异、执行失败的配置项，以及发布情况。
+ * 没有任何差异时不会发出写入请求，也不会发布。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Getter
+public class ApplyResult {
+
+    /**
+     * 计算出的差异
+     */
+    private final NamespaceDiff diff;
+
+    /**
+     * 写入或删除失败的配置项键及对应异常
+     */
+    private final Map<String, ApolloException> failures;
+
+    /**
+     * 是否已成功发布命名空间
+     */
+    private final boolean released;
+
+    /**
+     * 发布失败时的异常，未发布或发布成功时为 null
+     */
+    private final ApolloException releaseError;
+
+    /**
+     * 整个操作的耗时（毫秒）
+     */
+    private final long durationMillis;
+
+    /**
+     * 构造函数，创建期望状态应用结果
+     *
+     * @param diff 计算出的差异
+     * @param failures 写入或删除失败的配置项键及对应异常
+     * @param released 是否已成功发布命名空间
+     * @param releaseError 发布失败时的异常
+     * @param durationMillis 耗时（毫秒）
+     */
+    public ApplyResult(NamespaceDiff diff, Map<String, ApolloException> failures,
+                       boolean released, ApolloException releaseError, long durationMillis) {
+        this.diff = diff;
+        this.failures = Collections.unmodifiableMap(failures);
+        this.released = released;
+        this.releaseError = releaseError;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * 是否全部成功
+     *
+     * @return 所有变更和发布都成功（或没有任何变更）时返回 true
+     */
+    public boolean isSuccess() {
+        return failures.isEmpty() && releaseError == null;
+    }
+
+    /**
+     * 是否没有任何变更（跳过了写入和发布）
+     *
+     * @return 没有变更返回 true
+     */
+    public boolean isNoop() {
+        return diff.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "ApplyResult{" + diff
+                + ", failed=" + failures.keySet()
+                + ", released=" + released
+                + (releaseError != null ? ", releaseError=" + releaseError.getMessage() : "")
+                + ", durationMillis=" + durationMillis + "}";
+    }
+}
@@ -0,0 +1,109 @@
+package com.bluesky.apollo.model;
+
+import com.bluesky.apollo.exception.ApolloException;
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 批量写入结果模型
+ *
+ * <p>该类记录一次批量写入中每个配置项的成功或失败情况，以及（如有）最终发布的结果。
+ * 批量写入不会因为单个配置项失败而中断，调用方通过 {@link #getFailures()} 获取失败明细。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Getter
+public class BatchWriteResult {
+
+    /**
+     * 提交的配置项总数
+     */
+    private final int total;
+
+    /**
+     * 写入成功的配置项键，按提交顺序排列
+     */
+    private final List<String> succeeded;
+
+    /**
+     * 写入失败的配置项键及对应异常，按提交顺序排列
+     */
+    private final Map<String, ApolloException> failures;
+
+    /**
+     * 是否已成功发布命名空间
+     */
+    private final boolean released;
+
+    /**
+     * 发布失败时的异常，未发布或发布成功时为 null
+     */
+    private final ApolloException releaseError;
+
+    /**
+     * 整个批量操作的耗时（毫秒）
+     */
+    private final long durationMillis;
+
+    /**
+     * 构造函数，创建批量写入结果
+     *
+     * @param total 提交的配置项总数
+     * @param succeeded 写入成功的配置项键
+     * @param failures 写入失败的配置项键及对应异常
+     * @param released 是否已成功发布命名空间
+     * @param releaseError 发布失败时的异常
+     * @param durationMillis 耗时（毫秒）
+     */
+    public BatchWriteResult(int total, List<String> succeeded, Map<String, ApolloException> failures,
+                            boolean released, ApolloException releaseError, long durationMillis) {
+        this.total = total;
+        this.succeeded = Collections.unmodifiableList(succeeded);
+        this.failures = Collections.unmodifiableMap(failures);
+        this.released = released;
+        this.releaseError = releaseError;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * 是否全部成功（所有配置项写入成功，且需要发布时发布成功）
+     *
+     * @return 全部成功返回 true
+     */
+    public boolean isSuccess() {
+        return failures.isEmpty() && releaseError == null;
+    }
+
+    /**
+     * 获取写入失败的配置项键
+     *
+     * @return 失败的配置项键
+     */
+    public List<String> getFailedKeys() {
+        return List.copyOf(failures.keySet());
+    }
+
+    /**
+     * 获取平均吞吐量
+     *
+     * @return 每秒处理的配置项数
+     */
+    public double getItemsPerSecond() {
+        return total * 1000.0 / Math.max(1, durationMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "BatchWriteResult{total=" + total
+                + ", succeeded=" + succeeded.size()
+                + ", failed=" + failures.keySet()
+                + ", released=" + released
+                + (releaseError != null ? ", releaseError=" + releaseError.getMessage() : "")
+                + ", durationMillis=" + durationMillis + "}";
+    }
+}
@@ -0,0 +1,123 @@
+package com.bluesky.apollo.model;
+
+import com.bluesky.apollo.exception.ApolloException;
+import lombok.Getter;
+
+/**
+ * 单个环境的发布结果
+ *
+ * <p>多环境扇出发布（{@code publishAcrossEnvs}）中，每个环境依次写入配置项、发布命名空间，
+ * 该类记录这个环境的最终状态、失败原因和各阶段耗时。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Getter
+public class EnvPublishResult {
+
+    /**
+     * 环境发布状态
+     */
+    public enum Status {
+
+        /**
+         * 写入和发布均成功
+         */
+        SUCCEEDED,
+
+        /**
+         * 写入配置项失败，未发布
+         */
+        ITEM_FAILED,
+
+        /**
+         * 写入成功，发布失败
+         */
+        RELEASE_FAILED,
+
+        /**
+         * 快速失败模式下，其他环境已失败，本环境未执行
+         */
+        SKIPPED
+    }
+
+    /**
+     * 环境名称
+     */
+    private final String env;
+
+    /**
+     * 发布状态
+     */
+    private final Status status;
+
+    /**
+     * 失败时的异常，成功或跳过时为 null
+     */
+    private final ApolloException error;
+
+    /**
+     * 写入配置项的耗时（毫秒），未执行时为 0
+     */
+    private final long itemMillis;
+
+    /**
+     * 发布命名空间的耗时（毫秒），未执行时为 0
+     */
+    private final long releaseMillis;
+
+    /**
+     * 构造函数，创建单个环境的发布结果
+     *
+     * @param env 环境名称
+     * @param status 发布状态
+     * @param error 失败时的异常
+     * @param itemMillis 写入配置项的耗时（毫秒）
+     * @param releaseMillis 发布命名空间的耗时（毫秒）
+     */
+    public EnvPublishResult(String env, Status status, ApolloException error, long itemMillis, long releaseMillis) {
+        this.env = env;
+        this.status = status;
+        this.error = error;
+        this.itemMillis = itemMillis;
+        this.releaseMillis = releaseMillis;
+    }
+
+    /**
+     * 创建跳过的结果
+     *
+     * @param env 环境名称
+     * @return 跳过的结果
+     */
+    public static EnvPublishResult skipped(String env) {
+        return new EnvPublishResult(env, Status.SKIPPED, null, 0, 0);
+    }
+
+    /**
+     * 是否成功
+     *
+     * @return 写入和发布均成功返回 true
+     */
+    public boolean isSuccess() {
+        return status == Status.SUCCEEDED;
+    }
+
+    /**
+     * 获取总耗时
+     *
+     * @return 写入和发布的总耗时（毫秒）
+     */
+    public long getDurationMillis() {
+        return itemMillis + releaseMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "EnvPublishResult{env=" + env
+                + ", status=" + status
+                + (error != null ? ", error=" + error.getMessage() : "")
+                + ", itemMillis=" + itemMillis
+                + ", releaseMillis=" + releaseMillis + "}";
+    }
+}
@@ -0,0 +1,64 @@
+package com.bluesky.apollo.model;
+
+import lombok.Data;
+
+/**
+ * 配置项期望值模型
+ *
+ * <p>该类用于描述批量写入时单个配置项的目标值和注释，键由所在 Map 的 key 给出。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Data
+public class ItemSpec {
+
+    /**
+     * 配置项的值
+     */
+    private String value;
+
+    /**
+     * 配置项的注释说明
+     */
+    private String comment;
+
+    /**
+     * 构造函数，创建配置项期望值
+     *
+     * @param value 配置项的值
+     * @param comment 配置项的注释说明
+     */
+    public ItemSpec(String value, String comment) {
+        this.value = value;
+        this.comment = comment;
+    }
+
+    /**
+     * 无参构造函数，用于 JSON 反序列化
+     */
+    public ItemSpec() {
+    }
+
+    /**
+     * 创建不带注释的配置项期望值
+     *
+     * @param value 配置项的值
+     * @return 配置项期望值
+     */
+    public static ItemSpec of(String value) {
+        return new ItemSpec(value, null);
+    }
+
+    /**
+     * 创建带注释的配置项期望值
+     *
+     * @param value 配置项的值
+     * @param comment 配置项的注释说明
+     * @return 配置项期望值
+     */
+    public static ItemSpec of(String value, String comment) {
+        return new ItemSpec(value, comment);
+    }
+}
@@ -0,0 +1,116 @@
+package com.bluesky.apollo.model;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 多环境扇出发布结果
+ *
+ * <p>记录同一个配置项发布到多个环境时每个环境的结果（{@link EnvPublishResult}），
+ * 单个环境失败不会以异常抛出，调用方通过 {@link #getFailedEnvs()} 获取失败的环境。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Getter
+public class MultiEnvPublishResult {
+
+    /**
+     * 配置项的键
+     */
+    private final String key;
+
+    /**
+     * 各环境的发布结果，按传入的环境顺序排列
+     */
+    private final Map<String, EnvPublishResult> results;
+
+    /**
+     * 整个扇出发布的耗时（毫秒）
+     */
+    private final long durationMillis;
+
+    /**
+     * 构造函数，创建多环境发布结果
+     *
+     * @param key 配置项的键
+     * @param results 各环境的发布结果
+     * @param durationMillis 耗时（毫秒）
+     */
+    public MultiEnvPublishResult(String key, Map<String, EnvPublishResult> results, long durationMillis) {
+        this.key = key;
+        this.results = Collections.unmodifiableMap(results);
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * 是否所有环境都发布成功
+     *
+     * @return 全部成功返回 true
+     */
+    public boolean isSuccess() {
+        return results.values().stream().allMatch(EnvPublishResult::isSuccess);
+    }
+
+    /**
+     * 获取单个环境的结果
+     *
+     * @param env 环境名称
+     * @return 发布结果，不在本次发布范围内时返回 null
+     */
+    public EnvPublishResult get(String env) {
+        return results.get(env);
+    }
+
+    /**
+     * 获取发布成功的环境
+     *
+     * @return 成功的环境
+     */
+    public List<String> getSucceededEnvs() {
+        return envsWith(EnvPublishResult.Status.SUCCEEDED);
+    }
+
+    /**
+     * 获取写入或发布失败的环境（不含跳过的环境）
+     *
+     * @return 失败的环境
+     */
+    public List<String> getFailedEnvs() {
+        return results.values().stream()
+                .filter(r -> r.getStatus() == EnvPublishResult.Status.ITEM_FAILED
+                        || r.getStatus() == EnvPublishResult.Status.RELEASE_FAILED)
+                .map(EnvPublishResult::getEnv)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 获取因快速失败而跳过的环境
+     *
+     * @return 跳过的环境
+     */
+    public List<String> getSkippedEnvs() {
+        return envsWith(EnvPublishResult.Status.SKIPPED);
+    }
+
+    private List<String> envsWith(EnvPublishResult.Status status) {
+        return results.values().stream()
+                .filter(r -> r.getStatus() == status)
+                .map(EnvPublishResult::getEnv)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        return "MultiEnvPublishResult{key=" + key
+                + ", succeeded=" + getSucceededEnvs()
+                + ", failed=" + getFailedEnvs()
+                + ", skipped=" + getSkippedEnvs()
+                + ", durationMillis=" + durationMillis + "}";
+    }
+}
@@ -0,0 +1,70 @@
+package com.bluesky.apollo.model;
+
+import lombok.Data;
+
+/**
+ * Apollo 命名空间坐标模型
+ *
+ * <p>该类用 (appId, env, cluster, namespace) 唯一标识一个命名空间，
+ * 不可变，可作为按命名空间分组、加锁或缓存时的键。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Data
+public class NamespaceCoordinate {
+
+    /**
+     * 应用 ID
+     */
+    private final String appId;
+
+    /**
+     * 环境名称
+     */
+    private final String env;
+
+    /**
+     * 集群名称
+     */
+    private final String cluster;
+
+    /**
+     * 命名空间名称
+     */
+    private final String namespace;
+
+    /**
+     * 构造函数，创建命名空间坐标
+     *
+     * @param appId 应用 ID
+     * @param env 环境名称
+     * @param cluster 集群名称
+     * @param namespace 命名空间名称
+     */
+    public NamespaceCoordinate(String appId, String env, String cluster, String namespace) {
+        this.appId = appId;
+        this.env = env;
+        this.cluster = cluster;
+        this.namespace = namespace;
+    }
+
+    /**
+     * 创建命名空间坐标
+     *
+     * @param appId 应用 ID
+     * @param env 环境名称
+     * @param cluster 集群名称
+     * @param namespace 命名空间名称
+     * @return 命名空间坐标
+     */
+    public static NamespaceCoordinate of(String appId, String env, String cluster, String namespace) {
+        return new NamespaceCoordinate(appId, env, cluster, namespace);
+    }
+
+    @Override
+    public String toString() {
+        return appId + "/" + env + "/" + cluster + "/" + namespace;
+    }
+}
@@ -0,0 +1,176 @@
+package com.bluesky.apollo.model;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 命名空间差异模型
+ *
+ * <p>该类描述命名空间当前内容与期望内容之间的差异：新增、修改、删除的配置项，以及未变化的配置项数量。
+ * 值和注释都参与比较，{@code null} 与空字符串视为相同。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Getter
+public class NamespaceDiff {
+
+    /**
+     * 需要新增的配置项
+     */
+    private final Map<String, ItemSpec> added;
+
+    /**
+     * 需要修改的配置项
+     */
+    private final Map<String, ItemSpec> updated;
+
+    /**
+     * 需要删除的配置项键
+     */
+    private final List<String> deleted;
+
+    /**
+     * 未变化的配置项数量
+     */
+    private final int unchangedCount;
+
+    /**
+     * 构造函数，创建命名空间差异
+     *
+     * @param added 需要新增的配置项
+     * @param updated 需要修改的配置项
+     * @param deleted 需要删除的配置项键
+     * @param unchangedCount 未变化的配置项数量
+     */
+    public NamespaceDiff(Map<String, ItemSpec> added, Map<String, ItemSpec> updated,
+                         List<String> deleted, int unchangedCount) {
+        this.added = Collections.unmodifiableMap(added);
+        this.updated = Collections.unmodifiableMap(updated);
+        this.deleted = Collections.unmodifiableList(deleted);
+        this.unchangedCount = unchangedCount;
+    }
+
+    /**
+     * 计算当前内容与期望内容之间的差异
+     *
+     * @param current 命名空间当前的配置项
+     * @param desired 期望的配置项，键到期望值的映射
+     * @param deleteMissing 是否删除期望内容中不存在的配置项
+     * @return 命名空间差异
+     */
+    public static NamespaceDiff between(List<ItemResponse> current, Map<String, ItemSpec> desired,
+                                        boolean deleteMissing) {
+        Map<String, ItemResponse> currentByKey = new LinkedHashMap<>();
+        for (ItemResponse item : current) {
+            // Portal 中 key 为空的条目是 properties 格式的注释或空行，不参与比较
+            if (item.getKey() != null && !item.getKey().isEmpty()) {
+                currentByKey.put(item.getKey(), item);
+            }
+        }
+
+        Map<String, ItemSpec> added = new LinkedHashMap<>();
+        Map<String, ItemSpec> updated = new LinkedHashMap<>();
+        int unchanged = 0;
+        for (Map.Entry<String, ItemSpec> entry : desired.entrySet()) {
+            ItemSpec spec = entry.getValue() != null ? entry.getValue() : new ItemSpec();
+            ItemResponse existing = currentByKey.get(entry.getKey());
+            if (existing == null) {
+                added.put(entry.getKey(), spec);
+            } else if (sameText(existing.getValue(), spec.getValue())
+                    && sameText(existing.getComment(), spec.getComment())) {
+                unchanged++;
+            } else {
+                updated.put(entry.getKey(), spec);
+            }
+        }
+
+        List<String> deleted = new ArrayList<>();
+        if (deleteMissing) {
+            Set<String> desiredKeys = new HashSet<>(desired.keySet());
+            for (String key : currentByKey.keySet()) {
+                if (!desiredKeys.contains(key)) {
+                    deleted.add(key);
+                }
+            }
+        }
+        return new NamespaceDiff(added, updated, deleted, unchanged);
+    }
+
+    /**
+     * 是否没有任何差异
+     *
+     * @return 没有差异返回 true
+     */
+    public boolean isEmpty() {
+        return added.isEmpty() && updated.isEmpty() && deleted.isEmpty();
+    }
+
+    /**
+     * 获取新增的配置项数量
+     *
+     * @return 新增数量
+     */
+    public int getAddedCount() {
+        return added.size();
+    }
+
+    /**
+     * 获取修改的配置项数量
+     *
+     * @return 修改数量
+     */
+    public int getUpdatedCount() {
+        return updated.size();
+    }
+
+    /**
+     * 获取删除的配置项数量
+     *
+     * @return 删除数量
+     */
+    public int getDeletedCount() {
+        return deleted.size();
+    }
+
+    /**
+     * 获取需要执行的变更总数
+     *
+     * @return 新增、修改、删除数量之和
+     */
+    public int getChangeCount() {
+        return added.size() + updated.size() + deleted.size();
+    }
+
+    /**
+     * 获取新增和修改的配置项（需要写入的部分）
+     *
+     * @return 需要写入的配置项
+     */
+    public Map<String, ItemSpec> getUpserts() {
+        Map<String, ItemSpec> upserts = new LinkedHashMap<>(added);
+        upserts.putAll(updated);
+        return upserts;
+    }
+
+    private static boolean sameText(String a, String b) {
+        return Objects.equals(a == null ? "" : a, b == null ? "" : b);
+    }
+
+    @Override
+    public String toString() {
+        return "NamespaceDiff{added=" + added.size()
+                + ", updated=" + updated.size()
+                + ", deleted=" + deleted.size()
+                + ", unchanged=" + unchangedCount + "}";
+    }
+}
@@ -0,0 +1,108 @@
+package com.bluesky.apollo.model;
+
+import lombok.Getter;
+
+/**
+ * 写入发件箱中的一条写操作
+ *
+ * <p>Portal 不可用时，配置项写入、删除和发布意图先追加到本地发件箱，Portal 恢复后按命名空间内的顺序重放。
+ * 该类不可变，{@link #getSequence()} 是发件箱分配的全局递增序号，同一命名空间内按序号重放。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Getter
+public class OutboxEntry {
+
+    /**
+     * 写操作类型
+     */
+    public enum Type {
+
+        /**
+         * 创建或更新配置项
+         */
+        ITEM,
+
+        /**
+         * 删除配置项
+         */
+        DELETE,
+
+        /**
+         * 发布命名空间
+         */
+        RELEASE
+    }
+
+    /**
+     * 发件箱分配的全局递增序号
+     */
+    private final long sequence;
+
+    /**
+     * 写操作类型
+     */
+    private final Type type;
+
+    /**
+     * 命名空间坐标
+     */
+    private final NamespaceCoordinate coordinate;
+
+    /**
+     * 配置项的键，发布时为 null
+     */
+    private final String key;
+
+    /**
+     * 配置项的值，仅 {@link Type#ITEM} 有效
+     */
+    private final String value;
+
+    /**
+     * 配置项的注释说明，发布时为发布说明
+     */
+    private final String comment;
+
+    /**
+     * 操作人员标识，发布时为发布人员
+     */
+    private final String operator;
+
+    /**
+     * 发布标题，仅 {@link Type#RELEASE} 有效
+     */
+    private final String releaseTitle;
+
+    /**
+     * 构造函数，创建发件箱条目
+     *
+     * @param sequence 全局递增序号
+     * @param type 写操作类型
+     * @param coordinate 命名空间坐标
+     * @param key 配置项的键
+     * @param value 配置项的值
+     * @param comment 注释或发布说明
+     * @param operator 操作人员或发布人员标识
+     * @param releaseTitle 发布标题
+     */
+    public OutboxEntry(long sequence, Type type, NamespaceCoordinate coordinate, String key, String value,
+                       String comment, String operator, String releaseTitle) {
+        this.sequence = sequence;
+        this.type = type;
+        this.coordinate = coordinate;
+        this.key = key;
+        this.value = value;
+        this.comment = comment;
+        this.operator = operator;
+        this.releaseTitle = releaseTitle;
+    }
+
+    @Override
+    public String toString() {
+        return "OutboxEntry(#" + sequence + " " + type + " " + coordinate
+                + (key == null ? "" : " key=" + key) + ")";
+    }
+}
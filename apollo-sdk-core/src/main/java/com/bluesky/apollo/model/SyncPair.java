@@ -0,0 +1,67 @@
+package com.bluesky.apollo.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.Objects;
+
+/**
+ * 命名空间同步对模型
+ *
+ * <p>描述一次"把源命名空间的配置项同步到目标命名空间"的两端，源和目标可以位于不同的环境、集群，
+ * 甚至不同的应用或命名空间。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Getter
+@EqualsAndHashCode
+public final class SyncPair {
+
+    /**
+     * 源命名空间，只读取
+     */
+    private final NamespaceCoordinate source;
+
+    /**
+     * 目标命名空间，写入并发布
+     */
+    private final NamespaceCoordinate target;
+
+    private SyncPair(NamespaceCoordinate source, NamespaceCoordinate target) {
+        this.source = Objects.requireNonNull(source, "source");
+        this.target = Objects.requireNonNull(target, "target");
+    }
+
+    /**
+     * 创建同步对
+     *
+     * @param source 源命名空间
+     * @param target 目标命名空间
+     * @return 同步对
+     */
+    public static SyncPair of(NamespaceCoordinate source, NamespaceCoordinate target) {
+        return new SyncPair(source, target);
+    }
+
+    /**
+     * 创建同一应用、集群和命名空间在两个环境之间的同步对
+     *
+     * @param appId 应用 ID
+     * @param sourceEnv 源环境
+     * @param targetEnv 目标环境
+     * @param cluster 集群名称（通常为 default）
+     * @param namespace 命名空间名称（如：application）
+     * @return 同步对
+     */
+    public static SyncPair ofEnvs(String appId, String sourceEnv, String targetEnv, String cluster, String namespace) {
+        return new SyncPair(NamespaceCoordinate.of(appId, sourceEnv, cluster, namespace),
+                NamespaceCoordinate.of(appId, targetEnv, cluster, namespace));
+    }
+
+    @Override
+    public String toString() {
+        return source + " -> " + target;
+    }
+}
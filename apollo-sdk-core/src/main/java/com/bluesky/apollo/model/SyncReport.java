@@ -0,0 +1,119 @@
+package com.bluesky.apollo.model;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 多个同步对的同步结果模型
+ *
+ * <p>按提交顺序保存每个同步对的 {@link SyncResult}，并提供汇总。预演时可通过 {@link #describe()}
+ * 输出每个同步对将要新增、修改和删除的键。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Getter
+public class SyncReport {
+
+    /**
+     * 各同步对的结果，顺序与提交顺序一致
+     */
+    private final List<SyncResult> results;
+
+    /**
+     * 是否为预演
+     */
+    private final boolean dryRun;
+
+    /**
+     * 整体耗时（毫秒）
+     */
+    private final long durationMillis;
+
+    /**
+     * 构造函数，创建同步报告
+     *
+     * @param results 各同步对的结果
+     * @param dryRun 是否为预演
+     * @param durationMillis 整体耗时（毫秒）
+     */
+    public SyncReport(List<SyncResult> results, boolean dryRun, long durationMillis) {
+        this.results = Collections.unmodifiableList(results);
+        this.dryRun = dryRun;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * 是否全部成功
+     *
+     * @return 所有同步对都成功时返回 true
+     */
+    public boolean isSuccess() {
+        return results.stream().allMatch(SyncResult::isSuccess);
+    }
+
+    /**
+     * 获取失败的同步对结果
+     *
+     * @return 读取、写入或发布失败的结果
+     */
+    public List<SyncResult> getFailed() {
+        return results.stream().filter(r -> !r.isSuccess()).collect(Collectors.toList());
+    }
+
+    /**
+     * 获取存在差异的同步对结果
+     *
+     * @return 读取成功且有差异的结果
+     */
+    public List<SyncResult> getChanged() {
+        return results.stream().filter(r -> r.getDiff() != null && !r.getDiff().isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 获取所有同步对的变更总数
+     *
+     * @return 新增、修改和删除的配置项总数
+     */
+    public int getChangeCount() {
+        return results.stream().filter(r -> r.getDiff() != null).mapToInt(r -> r.getDiff().getChangeCount()).sum();
+    }
+
+    /**
+     * 逐个同步对列出差异明细，适合预演时打印或审阅
+     *
+     * @return 多行文本，每个同步对一行摘要，其后每个变更的键一行（+ 新增，~ 修改，- 删除）
+     */
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        for (SyncResult result : results) {
+            sb.append(result.getPair());
+            NamespaceDiff diff = result.getDiff();
+            if (result.getError() != null) {
+                sb.append(": FAILED ").append(result.getError().getMessage()).append('\n');
+                continue;
+            }
+            sb.append(String.format(": +%d ~%d -%d (%d ms)%n", diff.getAddedCount(), diff.getUpdatedCount(),
+                    diff.getDeletedCount(), result.getDurationMillis()));
+            diff.getAdded().keySet().forEach(key -> sb.append("  + ").append(key).append('\n'));
+            diff.getUpdated().keySet().forEach(key -> sb.append("  ~ ").append(key).append('\n'));
+            diff.getDeleted().forEach(key -> sb.append("  - ").append(key).append('\n'));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "SyncReport{pairs=" + results.size()
+                + ", changed=" + getChanged().size()
+                + ", changes=" + getChangeCount()
+                + ", failed=" + getFailed().size()
+                + ", dryRun=" + dryRun
+                + ", durationMillis=" + durationMillis + "}";
+    }
+}
@@ -0,0 +1,119 @@
+package com.bluesky.apollo.model;
+
+import com.bluesky.apollo.exception.ApolloException;
+import lombok.Getter;
+
+/**
+ * 单个同步对的同步结果模型
+ *
+ * <p>记录一次命名空间同步的差异、执行结果以及各阶段耗时。预演（dry-run）时只读取两端并计算差异，
+ * {@link #getApplyResult()} 为 null；读取任意一端失败时 {@link #getError()} 不为 null，差异也为 null。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Getter
+public class SyncResult {
+
+    /**
+     * 同步对
+     */
+    private final SyncPair pair;
+
+    /**
+     * 目标相对于源的差异，读取失败时为 null
+     */
+    private final NamespaceDiff diff;
+
+    /**
+     * 执行差异的结果，预演或读取失败时为 null
+     */
+    private final ApplyResult applyResult;
+
+    /**
+     * 读取源或目标失败时的异常
+     */
+    private final ApolloException error;
+
+    /**
+     * 是否为预演
+     */
+    private final boolean dryRun;
+
+    /**
+     * 并行读取两端的耗时（毫秒）
+     */
+    private final long fetchMillis;
+
+    /**
+     * 写入和发布的耗时（毫秒），预演时为 0
+     */
+    private final long applyMillis;
+
+    /**
+     * 整个同步对的耗时（毫秒）
+     */
+    private final long durationMillis;
+
+    /**
+     * 构造函数，创建同步结果
+     *
+     * @param pair 同步对
+     * @param diff 目标相对于源的差异
+     * @param applyResult 执行差异的结果
+     * @param error 读取失败时的异常
+     * @param dryRun 是否为预演
+     * @param fetchMillis 读取耗时（毫秒）
+     * @param applyMillis 写入和发布耗时（毫秒）
+     * @param durationMillis 总耗时（毫秒）
+     */
+    public SyncResult(SyncPair pair, NamespaceDiff diff, ApplyResult applyResult, ApolloException error,
+                      boolean dryRun, long fetchMillis, long applyMillis, long durationMillis) {
+        this.pair = pair;
+        this.diff = diff;
+        this.applyResult = applyResult;
+        this.error = error;
+        this.dryRun = dryRun;
+        this.fetchMillis = fetchMillis;
+        this.applyMillis = applyMillis;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * 是否成功
+     *
+     * @return 读取成功，且（非预演时）所有变更和发布都成功时返回 true
+     */
+    public boolean isSuccess() {
+        return error == null && (applyResult == null || applyResult.isSuccess());
+    }
+
+    /**
+     * 目标与源是否已经一致
+     *
+     * @return 读取成功且没有差异时返回 true
+     */
+    public boolean isInSync() {
+        return diff != null && diff.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("SyncResult{").append(pair);
+        if (error != null) {
+            sb.append(", error=").append(error.getMessage());
+        } else {
+            sb.append(", ").append(diff);
+        }
+        if (dryRun) {
+            sb.append(", dryRun");
+        } else if (applyResult != null) {
+            sb.append(", failed=").append(applyResult.getFailures().keySet())
+                    .append(", released=").append(applyResult.isReleased());
+        }
+        return sb.append(", fetchMillis=").append(fetchMillis)
+                .append(", applyMillis=").append(applyMillis)
+                .append(", durationMillis=").append(durationMillis).append('}').toString();
+    }
+}
@@ -0,0 +1,66 @@
+package com.bluesky.apollo.model;
+
+import lombok.Getter;
+
+/**
+ * 命名空间导入导出的进度统计
+ *
+ * <p>导入导出过程中按固定条数回调一次，结束时再回调一次；导出完成后也以该类作为结果返回。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Getter
+public class TransferStats {
+
+    /**
+     * 已处理的配置项数（导入时为已完成写入的数量，含失败）
+     */
+    private final long processed;
+
+    /**
+     * 处理失败的配置项数
+     */
+    private final long failed;
+
+    /**
+     * 已耗时（毫秒）
+     */
+    private final long elapsedMillis;
+
+    /**
+     * 是否已结束
+     */
+    private final boolean finished;
+
+    /**
+     * 构造函数，创建进度统计
+     *
+     * @param processed 已处理的配置项数
+     * @param failed 处理失败的配置项数
+     * @param elapsedMillis 已耗时（毫秒）
+     * @param finished 是否已结束
+     */
+    public TransferStats(long processed, long failed, long elapsedMillis, boolean finished) {
+        this.processed = processed;
+        this.failed = failed;
+        this.elapsedMillis = elapsedMillis;
+        this.finished = finished;
+    }
+
+    /**
+     * 获取平均吞吐量
+     *
+     * @return 每秒处理的配置项数
+     */
+    public double getItemsPerSecond() {
+        return processed * 1000.0 / Math.max(1, elapsedMillis);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TransferStats{processed=%d, failed=%d, elapsedMillis=%d, itemsPerSecond=%.1f%s}",
+                processed, failed, elapsedMillis, getItemsPerSecond(), finished ? ", finished" : "");
+    }
+}
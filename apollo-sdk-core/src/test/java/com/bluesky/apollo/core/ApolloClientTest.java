@@ -0,0 +1,864 @@
+package com.bluesky.apollo.core;
+
+import com.bluesky.apollo.exception.ApolloException;
+import com.bluesky.apollo.exception.ApolloHttpException;
+import com.bluesky.apollo.exception.CircuitBreakerOpenException;
+import com.bluesky.apollo.exception.RateLimitExceededException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+import okhttp3.RequestBody;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ApolloClient 单元测试类
+ *
+ * <p>该测试类通过 OkHttp 拦截器模拟 Portal 响应，不发出真实的网络请求，
+ * 用于验证重试、熔断、限流、请求统计、分阶段耗时等客户端侧的策略。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public class ApolloClientTest {
+
+    /**
+     * 按顺序返回的模拟响应，状态码为负数时模拟连接被重置
+     */
+    private Deque<Integer> scriptedCodes;
+
+    /**
+     * 实际到达"服务端"的请求数
+     */
+    private AtomicInteger requestCount;
+
+    /**
+     * 被测试的客户端实例
+     */
+    private ApolloClient client;
+
+    /**
+     * 测试前的初始化设置
+     */
+    @BeforeEach
+    public void setUp() {
+        scriptedCodes = new ArrayDeque<>();
+        requestCount = new AtomicInteger();
+        Interceptor portal = chain -> {
+            requestCount.incrementAndGet();
+            Integer code = scriptedCodes.isEmpty() ? 200 : scriptedCodes.poll();
+            if (code < 0) {
+                throw new SocketException("Connection reset");
+            }
+            return new Response.Builder()
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(code)
+                    .message("scripted")
+                    .body(ResponseBody.create("{\"code\":" + code + "}", MediaType.get("application/json")))
+                    .build();
+        };
+        OkHttpClient okHttpClient = new OkHttpClient.Builder().addInterceptor(portal).build();
+        client = new ApolloClient(okHttpClient, "http://portal.test", "token");
+
+        RetryPolicy policy = RetryPolicy.defaults();
+        policy.setInitialBackoff(Duration.ofMillis(1));
+        policy.setMaxBackoff(Duration.ofMillis(5));
+        client.setRetryPolicy(policy);
+    }
+
+    /**
+     * 测试读请求遇到暂时性故障后重试成功
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testRetriesTransientFailures() throws Exception {
+        // Given: 先返回 503，再模拟连接被重置，然后成功
+        scriptedCodes.add(503);
+        scriptedCodes.add(-1);
+
+        // When: 执行 GET 请求
+        String body = client.get("/openapi/v1/apps");
+
+        // Then: 重试两次后成功
+        assertEquals("{\"code\":200}", body);
+        assertEquals(3, requestCount.get());
+        assertEquals(2, client.getRetryCount());
+    }
+
+    /**
+     * 测试发布请求默认不重试
+     */
+    @Test
+    public void testDoesNotRetryReleaseByDefault() {
+        // Given: 发布请求返回 503
+        scriptedCodes.add(503);
+
+        // When & Then: 直接抛出，不重试
+        ApolloHttpException error = assertThrows(ApolloHttpException.class, () ->
+                client.post("/openapi/v1/apps/a/envs/DEV/clusters/default/namespaces/application/releases", "{}"));
+        assertEquals(503, error.getStatusCode());
+        assertEquals(1, requestCount.get());
+    }
+
+    /**
+     * 测试异步请求与同步请求使用相同的重试策略
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testAsyncRetriesTransientFailures() throws Exception {
+        ApolloAsyncClient asyncClient = new ApolloAsyncClient(client);
+
+        // Given: 先返回 503，再模拟连接被重置，然后成功
+        scriptedCodes.add(503);
+        scriptedCodes.add(-1);
+
+        // When: 执行异步 GET 请求
+        String body = asyncClient.get("/openapi/v1/apps").get(5, TimeUnit.SECONDS);
+
+        // Then: 退避后重试两次成功
+        assertEquals("{\"code\":200}", body);
+        assertEquals(3, requestCount.get());
+        assertEquals(2, client.getRetryCount());
+
+        // Given: 发布请求返回 503
+        requestCount.set(0);
+        scriptedCodes.add(503);
+
+        // When & Then: 与同步调用一样默认不重试
+        ExecutionException error = assertThrows(ExecutionException.class, () -> asyncClient
+                .post("/openapi/v1/apps/a/envs/DEV/clusters/default/namespaces/application/releases", "{}")
+                .get(5, TimeUnit.SECONDS));
+        assertEquals(503, ((ApolloHttpException) error.getCause()).getStatusCode());
+        assertEquals(1, requestCount.get());
+        assertEquals(2, client.getRetryCount());
+    }
+
+    /**
+     * 测试不可重试的状态码和最大尝试次数
+     */
+    @Test
+    public void testStopsOnNonRetryableStatusAndMaxAttempts() {
+        // Given: 400 不可重试
+        scriptedCodes.add(400);
+        assertThrows(ApolloHttpException.class, () -> client.get("/openapi/v1/apps"));
+        assertEquals(1, requestCount.get());
+
+        // Given: 一直返回 502
+        requestCount.set(0);
+        for (int i = 0; i < 5; i++) {
+            scriptedCodes.add(502);
+        }
+
+        // When & Then: 最多尝试 3 次
+        assertThrows(ApolloHttpException.class, () -> client.get("/openapi/v1/apps"));
+        assertEquals(3, requestCount.get());
+        assertEquals(1, client.getRetryExhaustedCount());
+    }
+
+    /**
+     * 测试重试预算耗尽后不再重试
+     */
+    @Test
+    public void testRetryBudget() {
+        // Given: 预算只允许一次突发重试，且正常请求不补充预算
+        RetryPolicy policy = RetryPolicy.defaults();
+        policy.setInitialBackoff(Duration.ofMillis(1));
+        policy.setBudgetRatio(0);
+        policy.setBudgetBurst(1);
+        client.setRetryPolicy(policy);
+        for (int i = 0; i < 10; i++) {
+            scriptedCodes.add(503);
+        }
+
+        // When: 连续两个请求都失败
+        assertThrows(ApolloHttpException.class, () -> client.get("/openapi/v1/apps"));
+        assertThrows(ApolloHttpException.class, () -> client.get("/openapi/v1/apps"));
+
+        // Then: 只有第一个请求重试了一次，之后的两次重试都因预算不足被拒绝
+        assertEquals(3, requestCount.get());
+        assertEquals(1, client.getRetryCount());
+        assertEquals(2, client.getRetryBudget().getRejectedCount());
+    }
+
+    /**
+     * 测试未开启重试时的行为与之前一致
+     */
+    @Test
+    public void testNoRetryWithoutPolicy() {
+        client.setRetryPolicy(null);
+        scriptedCodes.add(503);
+        assertThrows(ApolloHttpException.class, () -> client.get("/openapi/v1/apps"));
+        assertEquals(1, requestCount.get());
+        assertThrows(IOException.class, () -> {
+            scriptedCodes.add(-1);
+            client.get("/openapi/v1/apps");
+        });
+    }
+
+    /**
+     * 测试失败率达到阈值后熔断器打开并快速失败
+     */
+    @Test
+    public void testCircuitBreakerOpensAndFailsFast() {
+        // Given: 关闭重试，窗口 4 次调用、失败率 50% 即熔断
+        client.setRetryPolicy(null);
+        CircuitBreakerConfig config = CircuitBreakerConfig.defaults();
+        config.setSlidingWindowSize(4);
+        config.setMinimumNumberOfCalls(4);
+        config.setPermittedCallsInHalfOpenState(2);
+        CircuitBreaker breaker = client.enableCircuitBreaker(config);
+        List<CircuitBreaker.State> transitions = new CopyOnWriteArrayList<>();
+        breaker.addListener((b, from, to) -> transitions.add(to));
+        scriptedCodes.add(200);
+        scriptedCodes.add(503);
+        scriptedCodes.add(404);
+        scriptedCodes.add(-1);
+
+        // When: 4 次调用中有 2 次计为失败（404 不计入失败）
+        for (int i = 0; i < 4; i++) {
+            try {
+                client.get("/openapi/v1/apps");
+            } catch (Exception ignored) {
+                // 预期中的失败
+            }
+        }
+
+        // Then: 熔断器打开，后续请求不再发出
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(List.of(CircuitBreaker.State.OPEN), transitions);
+        CircuitBreakerOpenException error = assertThrows(CircuitBreakerOpenException.class,
+                () -> client.get("/openapi/v1/apps"));
+        assertEquals("http://portal.test", error.getBreakerName());
+        assertTrue(error.getRetryAfterMillis() > 0);
+        assertEquals(4, requestCount.get());
+        assertEquals(1, breaker.getRejectedCount());
+    }
+
+    /**
+     * 测试熔断器拒绝永远达不到阈值的配置
+     */
+    @Test
+    public void testCircuitBreakerRejectsThresholdsAboveWindow() {
+        // Given: 窗口只有 4 次调用
+        CircuitBreakerConfig halfOpen = CircuitBreakerConfig.defaults();
+        halfOpen.setSlidingWindowSize(4);
+        halfOpen.setMinimumNumberOfCalls(4);
+        halfOpen.setPermittedCallsInHalfOpenState(5);
+        CircuitBreakerConfig minimum = CircuitBreakerConfig.defaults();
+        minimum.setSlidingWindowSize(4);
+        minimum.setMinimumNumberOfCalls(5);
+        minimum.setPermittedCallsInHalfOpenState(4);
+
+        // When & Then: 半开探测数或最小调用数大于窗口大小时拒绝创建
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker("portal", halfOpen));
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker("portal", minimum));
+        assertNotNull(new CircuitBreaker("portal", CircuitBreakerConfig.defaults()));
+    }
+
+    /**
+     * 测试熔断器经半开探测后恢复关闭
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testCircuitBreakerHalfOpenRecovers() throws Exception {
+        // Given: 打开后立即允许探测，半开状态放行 2 个探测请求
+        client.setRetryPolicy(null);
+        CircuitBreakerConfig config = CircuitBreakerConfig.defaults();
+        config.setSlidingWindowSize(2);
+        config.setMinimumNumberOfCalls(2);
+        config.setWaitDurationInOpenState(Duration.ZERO);
+        config.setPermittedCallsInHalfOpenState(2);
+        CircuitBreaker breaker = client.enableCircuitBreaker(config);
+        scriptedCodes.add(500);
+        scriptedCodes.add(500);
+        assertThrows(ApolloHttpException.class, () -> client.get("/openapi/v1/apps"));
+        assertThrows(ApolloHttpException.class, () -> client.get("/openapi/v1/apps"));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        // When: 两个探测请求都成功
+        client.get("/openapi/v1/apps");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        client.get("/openapi/v1/apps");
+
+        // Then: 熔断器恢复关闭
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0f, breaker.getFailureRate());
+    }
+
+    /**
+     * 测试异步客户端的在途上限、排队、回调线程池和取消
+     *
+     * <p>验证超出在途上限的请求排队等待，排队中被取消的请求不会发出，取消在途请求会取消底层 HTTP 调用，
+     * 结果在回调线程池上完成，关闭后回调线程池被关闭</p>
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testAsyncInFlightCapQueueAndCancel() throws Exception {
+        // Given: 路径中带 hang 的请求挂起，直到放行或被取消；在途上限为 2，1 个回调线程
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger arrived = new AtomicInteger();
+        AtomicInteger cancelled = new AtomicInteger();
+        OkHttpClient.Builder builder = client.getClient().newBuilder();
+        builder.interceptors().add(0, chain -> {
+            if (chain.request().url().encodedPath().contains("hang")) {
+                arrived.incrementAndGet();
+                while (release.getCount() > 0) {
+                    if (chain.call().isCanceled()) {
+                        cancelled.incrementAndGet();
+                        throw new IOException("Canceled");
+                    }
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrupted");
+                    }
+                }
+            }
+            return chain.proceed(chain.request());
+        });
+        ApolloClient hangingClient = new ApolloClient(builder.build(), "http://portal.test", "token");
+        ApolloAsyncClient asyncClient = new ApolloAsyncClient(hangingClient, 2, 1);
+        List<String> completedOn = new CopyOnWriteArrayList<>();
+        CountDownLatch completed = new CountDownLatch(5);
+
+        try {
+            // When: 提交 5 个请求
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                CompletableFuture<String> future = asyncClient.get("/openapi/v1/hang/" + i);
+                future.whenComplete((body, error) -> {
+                    if (!future.isCancelled()) {
+                        completedOn.add(Thread.currentThread().getName());
+                    }
+                    completed.countDown();
+                });
+                futures.add(future);
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (arrived.get() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+
+            // Then: 只有 2 个请求在途，其余排队
+            assertEquals(2, asyncClient.getInFlight());
+            assertEquals(3, asyncClient.getQueued());
+
+            // When: 取消一个排队中的请求和一个在途请求
+            futures.get(4).cancel(true);
+            futures.get(0).cancel(true);
+            while (cancelled.get() < 1 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            // Then: 在途请求的 HTTP 调用被取消，排队中被取消的请求没有发出，其余请求在回调线程上完成
+            assertTrue(completed.await(5, TimeUnit.SECONDS));
+            assertEquals(3, completedOn.size());
+            assertTrue(completedOn.stream().allMatch(name -> name.startsWith("apollo-sdk-callback")), completedOn.toString());
+            for (int i = 1; i <= 3; i++) {
+                assertEquals("{\"code\":200}", futures.get(i).get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, cancelled.get());
+            assertEquals(4, arrived.get());
+            assertEquals(0, asyncClient.getInFlight());
+            assertEquals(0, asyncClient.getQueued());
+        } finally {
+            release.countDown();
+            asyncClient.close();
+        }
+
+        // Then: 关闭后结果回到 OkHttp 调度线程上完成
+        assertEquals("{\"code\":200}", asyncClient.get("/openapi/v1/apps").get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * 测试大量排队请求被熔断器拒绝时不会递归耗尽调用栈
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testAsyncDrainDoesNotRecurse() throws Exception {
+        // Given: 在途上限为 1，唯一的名额被一个挂起的请求占用
+        CountDownLatch release = new CountDownLatch(1);
+        OkHttpClient.Builder builder = client.getClient().newBuilder();
+        builder.interceptors().add(0, chain -> {
+            if (chain.request().url().encodedPath().contains("hang")) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return chain.proceed(chain.request());
+        });
+        ApolloClient breakerClient = new ApolloClient(builder.build(), "http://portal.test", "token");
+        breakerClient.setRetryPolicy(null);
+        CircuitBreakerConfig config = CircuitBreakerConfig.defaults();
+        config.setSlidingWindowSize(1);
+        config.setMinimumNumberOfCalls(1);
+        config.setWaitDurationInOpenState(Duration.ofHours(1));
+        config.setPermittedCallsInHalfOpenState(1);
+        CircuitBreaker breaker = breakerClient.enableCircuitBreaker(config);
+        ApolloAsyncClient asyncClient = new ApolloAsyncClient(breakerClient, 1, null);
+        CompletableFuture<String> hanging = asyncClient.get("/openapi/v1/hang");
+
+        // When: 熔断器打开后排入大量请求，再释放名额
+        scriptedCodes.add(500);
+        assertThrows(ApolloHttpException.class, () -> breakerClient.get("/openapi/v1/apps"));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        int queued = 50_000;
+        List<CompletableFuture<String>> futures = new ArrayList<>(queued);
+        for (int i = 0; i < queued; i++) {
+            futures.add(asyncClient.get("/openapi/v1/apps"));
+        }
+        assertEquals(queued, asyncClient.getQueued());
+        release.countDown();
+        hanging.get(5, TimeUnit.SECONDS);
+
+        // Then: 所有排队请求都以熔断异常完成
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .exceptionally(error -> null).get(10, TimeUnit.SECONDS);
+        for (CompletableFuture<String> future : futures) {
+            ExecutionException error =
+                    assertThrows(ExecutionException.class, future::get);
+            assertInstanceOf(CircuitBreakerOpenException.class, error.getCause());
+        }
+        assertEquals(0, asyncClient.getInFlight());
+    }
+
+    /**
+     * 测试被取消的异步半开探测归还探测名额
+     *
+     * <p>验证取消的探测不计入结果，也不会让熔断器一直拒绝请求</p>
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testCancelledHalfOpenProbeReleasesPermit() throws Exception {
+        // Given: 路径中带 hang 的请求一直挂起到被取消；半开状态只放行 1 个探测请求
+        CountDownLatch hanging = new CountDownLatch(1);
+        OkHttpClient.Builder builder = client.getClient().newBuilder();
+        builder.interceptors().add(0, chain -> {
+            if (!chain.request().url().encodedPath().contains("hang")) {
+                return chain.proceed(chain.request());
+            }
+            hanging.countDown();
+            while (!chain.call().isCanceled()) {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            throw new IOException("Canceled");
+        });
+        ApolloClient breakerClient = new ApolloClient(builder.build(), "http://portal.test", "token");
+        breakerClient.setRetryPolicy(null);
+        CircuitBreakerConfig config = CircuitBreakerConfig.defaults();
+        config.setSlidingWindowSize(1);
+        config.setMinimumNumberOfCalls(1);
+        config.setWaitDurationInOpenState(Duration.ZERO);
+        config.setPermittedCallsInHalfOpenState(1);
+        CircuitBreaker breaker = breakerClient.enableCircuitBreaker(config);
+        ApolloAsyncClient asyncClient = new ApolloAsyncClient(breakerClient);
+        scriptedCodes.add(500);
+        assertThrows(ApolloHttpException.class, () -> breakerClient.get("/openapi/v1/apps"));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        // When: 占用唯一探测名额的异步请求被取消
+        CompletableFuture<String> probe = asyncClient.get("/openapi/v1/hang");
+        assertTrue(hanging.await(5, TimeUnit.SECONDS));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        probe.cancel(true);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (asyncClient.getInFlight() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+
+        // Then: 下一个探测请求被放行，成功后熔断器关闭
+        assertEquals(0, asyncClient.getInFlight());
+        assertEquals("{\"code\":200}", asyncClient.get("/openapi/v1/apps").get(5, TimeUnit.SECONDS));
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.getRejectedCount());
+    }
+
+    /**
+     * 测试限流器的突发许可和异步等待
+     */
+    @Test
+    public void testRateLimiterBurstAndAsyncWait() {
+        // Given: 每秒 20 个许可，允许 2 个突发
+        RateLimiter limiter = new RateLimiter(20, 2);
+
+        // When & Then: 突发许可立即可用，之后 tryAcquire 失败且不占用许可
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejectedCount());
+
+        // When & Then: 异步申请不阻塞，约 50ms 后完成
+        CompletableFuture<Void> permit = limiter.acquireAsync();
+        assertFalse(permit.isDone());
+        permit.join();
+        assertEquals(3, limiter.getGrantedCount());
+        assertTrue(limiter.getTotalWait().toMillis() > 0);
+    }
+
+    /**
+     * 测试超过最长等待时间的请求直接失败，且只限制配置的请求类别
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testRateLimitMaxWait() throws Exception {
+        // Given: 读请求每 10 秒 1 个许可，最多等待 10ms
+        client.setRateLimiter(RequestKind.READ, new RateLimiter(0.1, 1));
+        client.setRateLimitMaxWait(Duration.ofMillis(10));
+
+        // When: 连续两个读请求
+        client.get("/openapi/v1/apps");
+        RateLimitExceededException error = assertThrows(RateLimitExceededException.class,
+                () -> client.get("/openapi/v1/apps"));
+
+        // Then: 第二个请求没有发出；写请求不受读限流影响
+        assertEquals(RequestKind.READ, error.getRequestKind());
+        assertEquals(1, requestCount.get());
+        client.put("/openapi/v1/apps/a/envs/DEV/clusters/default/namespaces/application/items/k", "{}");
+        assertEquals(2, requestCount.get());
+    }
+
+    /**
+     * 测试请求监听器和内置统计
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testRequestListenerAndStats() throws Exception {
+        // Given: 注册一个记录事件的监听器
+        List<String> events = new CopyOnWriteArrayList<>();
+        client.addRequestListener((event, statusCode, durationNanos, error) ->
+                events.add(event.getOperation() + "/" + event.getAppId() + "/" + event.getNamespace() + "/" + statusCode));
+        String namespacePath = "/openapi/v1/apps/app%201/envs/DEV/clusters/default/namespaces/application";
+        scriptedCodes.add(200);
+        scriptedCodes.add(404);
+
+        // When: 一次查询成功，一次发布失败
+        client.get(namespacePath + "/items/timeout");
+        assertThrows(ApolloHttpException.class, () -> client.post(namespacePath + "/releases", "{}"));
+
+        // Then: 监听器收到解析后的操作名和坐标，统计按操作区分
+        assertEquals(List.of("getItem/app 1/application/200", "publishNamespace/app 1/application/404"), events);
+        ApolloClientStats stats = client.getStats();
+        assertEquals(2, stats.getRequestCount());
+        assertEquals(1, stats.getFailureCount());
+        assertEquals(0, stats.getInFlight());
+        assertEquals(1, stats.getOperation(ApolloRequestEvent.OP_PUBLISH_NAMESPACE).getFailureCount());
+    }
+
+    /**
+     * 测试分阶段耗时统计和慢调用计数
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testHttpPhaseTimings() throws Exception {
+        // Given: 挂载分阶段耗时统计，"服务端"处理 30ms，慢调用阈值 20ms
+        HttpPhaseTimings timings = new HttpPhaseTimings();
+        timings.setSlowCallThreshold(Duration.ofMillis(20));
+        List<HttpCallTimings> calls = new CopyOnWriteArrayList<>();
+        timings.addCallback(calls::add);
+        OkHttpClient.Builder builder = client.getClient().newBuilder()
+                .eventListenerFactory(timings.eventListenerFactory());
+        builder.interceptors().add(0, chain -> {
+            try {
+                Thread.sleep(30);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return chain.proceed(chain.request());
+        });
+        OkHttpClient okHttpClient = builder.build();
+        ApolloClient timedClient = new ApolloClient(okHttpClient, "http://portal.test", "token");
+
+        // When: 执行一次调用
+        timedClient.get("/openapi/v1/apps");
+
+        // Then: 总耗时被记录，没有建连阶段，慢调用被计数
+        assertEquals(1, calls.size());
+        HttpCallTimings call = calls.get(0);
+        assertEquals("GET", call.getMethod());
+        assertEquals("/openapi/v1/apps", call.getPath());
+        assertFalse(call.has(HttpPhase.DNS));
+        assertTrue(call.get(HttpPhase.TOTAL).toMillis() >= 30);
+        assertEquals(1, timings.getHistogram(HttpPhase.TOTAL).getCount());
+        assertEquals(1, timings.getSlowCallCount());
+        assertTrue(call.toString().startsWith("GET /openapi/v1/apps total="));
+    }
+
+    /**
+     * 测试对冲读：第一次请求超过触发时长未答复时发出对冲请求，先答复的一方胜出，对冲受预算限制
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testHedgedReads() throws Exception {
+        // Given: 路径中带 slow 的请求第一次到达时处理 300ms，之后的请求立即答复
+        AtomicInteger slowCalls = new AtomicInteger();
+        OkHttpClient okHttpClient = new OkHttpClient.Builder().addInterceptor(chain -> {
+            String body = "fast";
+            if (chain.request().url().encodedPath().contains("slow") && slowCalls.incrementAndGet() % 2 == 1) {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                body = "slow";
+            }
+            return new Response.Builder()
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(200)
+                    .message("OK")
+                    .body(ResponseBody.create(body, MediaType.get("application/json")))
+                    .build();
+        }).build();
+        ApolloClient hedgedClient = new ApolloClient(okHttpClient, "http://portal.test", "token");
+        HedgePolicy policy = HedgePolicy.defaults();
+        policy.setDelay(Duration.ofMillis(20));
+        policy.setBudgetRatio(0);
+        policy.setBudgetBurst(1);
+        hedgedClient.setHedgePolicy(policy);
+
+        // When: 读取一个慢请求
+        String body = hedgedClient.get("/openapi/v1/slow");
+
+        // Then: 发出一次对冲请求，取对冲请求的答复
+        assertEquals("fast", body);
+        assertEquals(1, hedgedClient.getHedgeCount());
+        assertEquals(1, hedgedClient.getHedgeWinCount());
+
+        // When: 再读取一个慢请求，预算已用完
+        body = hedgedClient.get("/openapi/v1/slow");
+
+        // Then: 不再对冲，等待第一次请求答复
+        assertEquals("slow", body);
+        assertEquals(1, hedgedClient.getHedgeCount());
+        assertEquals(1, hedgedClient.getHedgeBudget().getRejectedCount());
+
+        // When: 快速答复的请求和写请求
+        hedgedClient.get("/openapi/v1/apps");
+        hedgedClient.post("/openapi/v1/slow", "{}");
+
+        // Then: 不触发对冲，读请求耗时被记录
+        assertEquals(1, hedgedClient.getHedgeCount());
+        assertEquals(3, hedgedClient.getReadLatency().getCount());
+    }
+
+    /**
+     * 测试读限流拒绝对冲请求时不消耗对冲预算
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testHedgeRateLimitedDoesNotConsumeBudget() throws Exception {
+        // Given: 请求处理 200ms；读限流只剩 primary 用的一个许可
+        OkHttpClient okHttpClient = new OkHttpClient.Builder().addInterceptor(chain -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new Response.Builder()
+                    .request(chain.request())
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(200)
+                    .message("OK")
+                    .body(ResponseBody.create("slow", MediaType.get("application/json")))
+                    .build();
+        }).build();
+        ApolloClient hedgedClient = new ApolloClient(okHttpClient, "http://portal.test", "token");
+        HedgePolicy policy = HedgePolicy.defaults();
+        policy.setDelay(Duration.ofMillis(20));
+        policy.setBudgetRatio(0);
+        policy.setBudgetBurst(1);
+        hedgedClient.setHedgePolicy(policy);
+        RateLimiter limiter = new RateLimiter(0.001, 1);
+        hedgedClient.setRateLimiter(RequestKind.READ, limiter);
+
+        // When: 读取一个慢请求，触发时长到达时限流许可已用完
+        assertEquals("slow", hedgedClient.get("/openapi/v1/slow"));
+
+        // Then: 没有发出对冲请求，预算令牌仍然可用
+        assertEquals(0, hedgedClient.getHedgeCount());
+        assertEquals(1, limiter.getRejectedCount());
+        assertEquals(0, hedgedClient.getHedgeBudget().getGrantedCount());
+        assertEquals(1.0, hedgedClient.getHedgeBudget().getAvailableTokens(), 0.001);
+    }
+
+    /**
+     * 测试耗时直方图的百分位
+     */
+    @Test
+    public void testLatencyHistogramPercentiles() {
+        // Given: 1ms 到 100ms 各记录一次
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(Duration.ofMillis(i).toNanos());
+        }
+
+        // Then: 百分位误差在一个子桶（12.5%）以内
+        assertEquals(100, histogram.getCount());
+        assertEquals(Duration.ofMillis(100), histogram.getMax());
+        long p50 = histogram.getPercentile(0.5).toMillis();
+        long p99 = histogram.getPercentile(0.99).toMillis();
+        assertTrue(p50 >= 50 && p50 <= 57, "p50=" + p50);
+        assertTrue(p99 >= 99 && p99 <= 100, "p99=" + p99);
+        for (long micros : new long[]{0, 7, 8, 15, 16, 1000, 123_456_789}) {
+            int index = LatencyHistogram.index(micros);
+            assertTrue(LatencyHistogram.lowerBound(index) <= micros && micros < LatencyHistogram.lowerBound(index + 1));
+        }
+    }
+
+    /**
+     * 测试 Jackson 直接读写 HTTP 流
+     *
+     * <p>验证请求体可以重复写出（重试时重新序列化），响应体直接解析为对象，非 2xx 时仍带上响应体</p>
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testStreamingJsonBodies() throws Exception {
+        // Given: 预先构建的 reader/writer
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectReader reader = mapper.readerFor(Map.class);
+        RequestBody body = ApolloClient.jsonBody(mapper.writerFor(Map.class), Map.of("key", "k", "value", "值"));
+
+        // When: 写出两次请求体；先 503 再成功的 GET；404 的 GET
+        Buffer first = new Buffer();
+        body.writeTo(first);
+        Buffer second = new Buffer();
+        body.writeTo(second);
+        scriptedCodes.add(503);
+        Map<String, Object> parsed = client.get("/openapi/v1/apps", reader);
+        scriptedCodes.add(404);
+        ApolloHttpException error = assertThrows(ApolloHttpException.class,
+                () -> client.get(client.resolve("/openapi/v1/apps"), reader));
+
+        // Then
+        assertEquals(-1, body.contentLength());
+        assertEquals(mapper.readTree(first.readUtf8()), mapper.readTree(second.readUtf8()));
+        assertEquals(Map.of("code", 200), parsed);
+        assertEquals(1, client.getRetryCount());
+        assertEquals(404, error.getStatusCode());
+        assertEquals("{\"code\":404}", error.getBody());
+    }
+
+    /**
+     * 测试传输层配置
+     *
+     * <p>验证超时、调度器和协议生效，共享客户端时复用连接池和调度器</p>
+     */
+    @Test
+    public void testHttpTransportConfig() {
+        // Given: 调整超时、调度器和协议的配置
+        HttpTransportConfig transport = HttpTransportConfig.defaults();
+        transport.setConnectTimeout(Duration.ofSeconds(3));
+        transport.setCallTimeout(Duration.ofSeconds(30));
+        transport.setMaxRequestsPerHost(64);
+        transport.setHttp2Enabled(false);
+        OkHttpClient shared = new OkHttpClient();
+        HttpTransportConfig sharing = HttpTransportConfig.defaults();
+        sharing.setSharedClient(shared);
+
+        // When: 按配置创建客户端
+        OkHttpClient configured = new ApolloClient("http://portal.test", "token", transport).getClient();
+        OkHttpClient derived = new ApolloClient("http://portal.test", "token", sharing).getClient();
+
+        // Then
+        assertEquals(3_000, configured.connectTimeoutMillis());
+        assertEquals(30_000, configured.callTimeoutMillis());
+        assertEquals(64, configured.dispatcher().getMaxRequestsPerHost());
+        assertEquals(List.of(Protocol.HTTP_1_1), configured.protocols());
+        assertSame(shared.connectionPool(), derived.connectionPool());
+        assertSame(shared.dispatcher(), derived.dispatcher());
+        assertNotSame(shared.connectionPool(), configured.connectionPool());
+    }
+
+    /**
+     * 测试多 Portal 客户端注册表
+     *
+     * <p>验证命名客户端共享连接池和调度器、超时按 Portal 生效，重复或未知名称抛出异常</p>
+     */
+    @Test
+    public void testClientRegistry() {
+        // Given: 注册两个 Portal，其中一个单独设置读超时
+        OkHttpClient shared = new OkHttpClient();
+        AtomicInteger customized = new AtomicInteger();
+        ApolloClientRegistry registry = new ApolloClientRegistry(shared,
+                c -> customized.incrementAndGet(), service -> service.enableWriteLanes(2));
+        HttpTransportConfig slow = HttpTransportConfig.defaults();
+        slow.setReadTimeout(Duration.ofSeconds(30));
+
+        // When
+        registry.register("main", "http://portal-a.test", "token-a", null);
+        registry.register("overseas", "http://portal-b.test", "token-b", slow);
+
+        // Then: 共享连接池和调度器，超时各自生效
+        OkHttpClient main = registry.getClient("main").getClient();
+        OkHttpClient overseas = registry.getClient("overseas").getClient();
+        assertSame(shared.connectionPool(), main.connectionPool());
+        assertSame(shared.connectionPool(), overseas.connectionPool());
+        assertSame(shared.dispatcher(), overseas.dispatcher());
+        assertEquals(10_000, main.readTimeoutMillis());
+        assertEquals(30_000, overseas.readTimeoutMillis());
+        assertEquals("http://portal-b.test", registry.getClient("overseas").getPortalUrl());
+        assertNotNull(registry.getService("overseas"));
+        assertEquals(2, customized.get());
+        assertEquals(Set.of("main", "overseas"), registry.getNames());
+        assertNull(slow.getSharedClient(), "调用方的传输层配置不应被修改");
+
+        assertThrows(ApolloException.class, () -> registry.register("main", "http://portal-c.test", "t", null));
+        assertThrows(ApolloException.class, () -> registry.getService("missing"));
+
+        // When: 关闭注册表
+        ApolloConfigServiceCore overseasService = registry.getService("overseas");
+        assertNotNull(overseasService.getWriteLanes());
+        registry.close();
+
+        // Then: 注册表创建的服务被关闭
+        assertNull(overseasService.getWriteLanes());
+        assertTrue(registry.getNames().isEmpty());
+    }
+}
@@ -1,9 +1,59 @@
 package com.bluesky.apollo.core;
 
+import com.bluesky.apollo.exception.ApolloException;
+import com.bluesky.apollo.exception.ApolloHttpException;
+import com.bluesky.apollo.model.ApplyResult;
+import com.bluesky.apollo.model.BatchWriteResult;
+import com.bluesky.apollo.model.EnvPublishResult;
+import com.bluesky.apollo.model.ItemResponse;
+import com.bluesky.apollo.model.ItemSpec;
+import com.bluesky.apollo.model.MultiEnvPublishResult;
+import com.bluesky.apollo.model.NamespaceCoordinate;
+import com.bluesky.apollo.model.OutboxEntry;
+import com.bluesky.apollo.model.SyncPair;
+import com.bluesky.apollo.model.SyncReport;
+import com.bluesky.apollo.model.SyncResult;
+import com.bluesky.apollo.model.TransferStats;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
 import org.mockito.Mockito;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
@@ -84,4 +134,1290 @@ public class ApolloConfigServiceCoreTest {
         assertEquals("hello", actualValue, "配置项的值应该与预期一致");
         verify(mockClient, times(1)).get(anyString());
     }
-}
\ No newline at end of file
+
+    /**
+     * 测试批量写入并发布功能
+     *
+     * <p>验证单个配置项失败不会中断其他配置项，失败明细记录在结果中，且只发布一次</p>
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testPublishBatch() throws Exception {
+        // Given: 模拟 bad.key 写入失败，其余成功
+        when(mockClient.post(contains("/items"), anyString())).thenReturn("{}");
+        when(mockClient.post(contains("/items"), contains("bad.key"))).thenThrow(new ApolloHttpException(400, "bad"));
+        when(mockClient.post(contains("/releases"), anyString())).thenReturn("{}");
+
+        Map<String, ItemSpec> items = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            items.put("key." + i, ItemSpec.of("value." + i));
+        }
+        items.put("bad.key", ItemSpec.of("x"));
+
+        // When: 执行批量写入并发布
+        service.setBatchConcurrency(4);
+        BatchWriteResult result = service.publishBatch("SampleApp", "DEV", "default", "application",
+                items, null, "batch test", "tester");
+
+        // Then: 验证结果和调用次数
+        assertEquals(21, result.getTotal());
+        assertEquals(20, result.getSucceeded().size());
+        assertEquals(1, result.getFailures().size());
+        assertTrue(result.getFailures().containsKey("bad.key"));
+        assertTrue(result.isReleased());
+        assertFalse(result.isSuccess());
+        verify(mockClient, times(21)).post(contains("/items"), anyString());
+        verify(mockClient, times(1)).post(contains("/releases"), anyString());
+    }
+
+    /**
+     * 测试批量写入复用服务的共享并行线程池，关闭服务时线程池随之关闭
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testBatchUsesSharedParallelExecutor() throws Exception {
+        // Given: 写入稍有延迟，记录执行写入的线程
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(mockClient.post(contains("/items"), anyString())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            Thread.sleep(5);
+            return "{}";
+        });
+        when(mockClient.post(contains("/releases"), anyString())).thenReturn("{}");
+        Map<String, ItemSpec> items = new LinkedHashMap<>();
+        for (int i = 0; i < 16; i++) {
+            items.put("key." + i, ItemSpec.of("value." + i));
+        }
+        service.setBatchConcurrency(4);
+
+        // When: 连续执行多次批量写入
+        ExecutorService executor = service.parallelExecutor();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(service.publishBatch("SampleApp", "DEV", "default", "application",
+                    items, null, null, "tester").isSuccess());
+        }
+
+        // Then: 始终使用同一个线程池，工作线程数不超过并发上限
+        assertSame(executor, service.parallelExecutor());
+        long workers = threads.stream().filter(name -> name.startsWith("apollo-sdk-parallel")).count();
+        assertTrue(workers >= 1 && workers <= 4, "workers=" + workers);
+
+        // When: 关闭服务
+        service.close();
+
+        // Then: 线程池被关闭
+        assertTrue(executor.isShutdown());
+    }
+
+    /**
+     * 测试线程池被占满时嵌套的并行调用由调用方线程完成，不会死锁
+     */
+    @Test
+    public void testNestedBoundedParallelOnSaturatedPool() {
+        // Given: 只有一个线程的共享线程池
+        ExecutorService executor = Executors.newFixedThreadPool(1);
+        Set<String> done = ConcurrentHashMap.newKeySet();
+        try {
+            // When: 外层和内层都以 4 的并发度在同一个线程池上执行
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+                    BoundedParallel.forEach(List.of("a", "b", "c", "d"), 4, executor, outer ->
+                            BoundedParallel.forEach(List.of(1, 2, 3, 4), 4, executor, inner ->
+                                    done.add(outer + inner))));
+
+            // Then: 所有任务都已完成
+            assertEquals(16, done.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 测试批量写入全部失败时不发布
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testPublishBatchSkipsReleaseWhenAllFail() throws Exception {
+        // Given: 所有配置项写入失败
+        when(mockClient.post(contains("/items"), anyString())).thenThrow(new ApolloHttpException(500, "down"));
+
+        Map<String, ItemSpec> items = new LinkedHashMap<>();
+        items.put("a", ItemSpec.of("1"));
+        items.put("b", ItemSpec.of("2"));
+
+        // When: 执行批量写入并发布
+        BatchWriteResult result = service.publishBatch("SampleApp", "DEV", "default", "application",
+                items, null, null, "tester");
+
+        // Then: 不发布
+        assertEquals(2, result.getFailures().size());
+        assertFalse(result.isReleased());
+        verify(mockClient, never()).post(contains("/releases"), anyString());
+    }
+
+    /**
+     * 测试发布组提交功能
+     *
+     * <p>验证同一命名空间的并发 publishSingle 被合并为少量 release，且每个调用方都正常返回</p>
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testPublishSingleWithGroupCommit() throws Exception {
+        // Given: 开启组提交，模拟 HTTP 客户端的响应
+        when(mockClient.post(contains("/items"), anyString())).thenReturn("{}");
+        when(mockClient.post(contains("/releases"), anyString())).thenReturn("{}");
+        service.enableReleaseGroupCommit(300, 1000);
+
+        int threads = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            // When: 多个线程同时发布同一命名空间
+            for (int i = 0; i < threads; i++) {
+                String key = "key." + i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    service.publishSingle("SampleApp", "DEV", "default", "application",
+                            key, "value", "group commit test", "tester");
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+            service.disableReleaseGroupCommit();
+        }
+
+        // Then: 每个配置项都写入，release 被合并
+        verify(mockClient, times(threads)).post(contains("/items"), anyString());
+        verify(mockClient, atMost(3)).post(contains("/releases"), anyString());
+    }
+
+    /**
+     * 测试发布组提交失败时所有调用方都收到异常
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testGroupCommitPropagatesReleaseFailure() throws Exception {
+        // Given: release 调用失败
+        when(mockClient.post(contains("/releases"), anyString())).thenThrow(new ApolloHttpException(500, "down"));
+        service.enableReleaseGroupCommit(0, 10);
+
+        try {
+            // When & Then: 发布失败以 ApolloException 抛出，原因保留 HTTP 异常
+            ApolloException error = assertThrows(ApolloException.class, () ->
+                    service.publishNamespace("SampleApp", "DEV", "default", "application", "t", "c", "tester"));
+            assertTrue(error.getCause() instanceof ApolloHttpException);
+        } finally {
+            service.disableReleaseGroupCommit();
+        }
+    }
+
+    /**
+     * 测试组提交同时在途的 release 数不超过批量并发上限
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testGroupCommitBoundsConcurrentReleases() throws Exception {
+        // Given: 并发上限为 2，release 调用被挂起
+        CountDownLatch unblock = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(mockClient.post(contains("/releases"), anyString())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                unblock.await(5, TimeUnit.SECONDS);
+            } finally {
+                running.decrementAndGet();
+            }
+            return "{}";
+        });
+        service.setBatchConcurrency(2);
+        service.enableReleaseGroupCommit(0, 10);
+
+        try {
+            // When: 同时发布 6 个不同的命名空间
+            List<CompletableFuture<Void>> publishes = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                publishes.add(service.publishNamespaceAsync("SampleApp", "DEV", "default", "ns" + i,
+                        "t", "c", "tester"));
+            }
+            Thread.sleep(200);
+
+            // Then: 只有 2 个 release 在途，其余排队，放行后全部完成
+            assertEquals(2, running.get());
+            unblock.countDown();
+            for (CompletableFuture<Void> publish : publishes) {
+                publish.get(5, TimeUnit.SECONDS);
+            }
+            assertEquals(2, maxRunning.get());
+            verify(mockClient, times(6)).post(contains("/releases"), anyString());
+        } finally {
+            unblock.countDown();
+            service.disableReleaseGroupCommit();
+        }
+    }
+
+    /**
+     * 测试关闭服务时立即发出组提交中等待的发布请求
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testCloseFlushesGroupCommit() throws Exception {
+        // Given: 合并窗口很长，一个发布请求正在等待
+        when(mockClient.post(contains("/releases"), anyString())).thenReturn("{}");
+        service.enableReleaseGroupCommit(60_000, 100);
+        ReleaseGroupCommitter committer = service.getReleaseGroupCommitter();
+        CompletableFuture<Void> publish = service.publishNamespaceAsync("SampleApp", "DEV", "default",
+                "application", "t", "c", "tester");
+        assertEquals(1, committer.getRequestedCount());
+        assertFalse(publish.isDone());
+
+        // When: 关闭服务
+        service.close();
+
+        // Then: 等待的请求被发出，组提交已关闭
+        publish.get(5, TimeUnit.SECONDS);
+        verify(mockClient, times(1)).post(contains("/releases"), anyString());
+        assertNull(service.getReleaseGroupCommitter());
+    }
+
+    /**
+     * 测试同时开启写入通道和发布组提交时，通道上的发布不等待合并窗口
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testWriteLanesBypassGroupCommitWindow() throws Exception {
+        // Given: 合并窗口很长，只有一个通道，两个命名空间映射到同一通道
+        when(mockClient.post(contains("/releases"), anyString())).thenReturn("{}");
+        when(mockClient.post(contains("/items"), anyString())).thenReturn("{}");
+        service.enableReleaseGroupCommit(60_000, 100);
+        service.enableWriteLanes(1);
+
+        // When: 发布一个命名空间，随后写入同一通道上的另一个命名空间
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            service.publishNamespace("SampleApp", "DEV", "default", "application", "t", "c", "tester");
+            service.publishSingle("SampleApp", "DEV", "default", "other", "k", "v", null, "tester");
+        });
+
+        // Then: 发布直接调用 Portal，不经过组提交
+        verify(mockClient, times(2)).post(contains("/releases"), anyString());
+        assertEquals(0, service.getReleaseGroupCommitter().getRequestedCount());
+    }
+
+    /**
+     * 测试读缓存命中与写入失效
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testGetItemWithCache() throws Exception {
+        // Given: 开启读缓存
+        String mockResponseJson = "{\"key\": \"test.key\", \"value\": \"hello\"}";
+        when(mockClient.get(contains("/items/test.key"))).thenReturn(mockResponseJson);
+        when(mockClient.post(contains("/items"), anyString())).thenReturn("{}");
+        service.enableItemCache(100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+        // When: 连续读取两次
+        assertEquals("hello", service.getItem("SampleApp", "DEV", "default", "application", "test.key"));
+        assertEquals("hello", service.getItem("SampleApp", "DEV", "default", "application", "test.key"));
+
+        // Then: 只请求一次 Portal
+        verify(mockClient, times(1)).get(anyString());
+        assertEquals(1, service.getItemCache().getHitCount());
+        assertEquals(1, service.getItemCache().getMissCount());
+
+        // When: 本实例写入同一命名空间后再次读取
+        service.createOrUpdateItem("SampleApp", "DEV", "default", "application", "other.key", "v", null, "tester");
+        service.getItem("SampleApp", "DEV", "default", "application", "test.key");
+
+        // Then: 缓存已失效，重新请求 Portal
+        verify(mockClient, times(2)).get(anyString());
+    }
+
+    /**
+     * 测试配置项不存在时的负缓存
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testGetItemNegativeCache() throws Exception {
+        // Given: 配置项不存在
+        when(mockClient.get(contains("/items/missing"))).thenThrow(new ApolloHttpException(404, "not found"));
+        service.enableItemCache(100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+        // When & Then: 两次读取都抛出 404，但只请求一次 Portal
+        for (int i = 0; i < 2; i++) {
+            ApolloException error = assertThrows(ApolloException.class, () ->
+                    service.getItem("SampleApp", "DEV", "default", "application", "missing"));
+            assertEquals(404, ((ApolloHttpException) error.getCause()).getStatusCode());
+        }
+        verify(mockClient, times(1)).get(anyString());
+    }
+
+    /**
+     * 测试读缓存超过上限时批量淘汰最久未访问的条目
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testItemCacheEvictsLeastRecentlyUsed() throws Exception {
+        // Given: 上限 10 条的缓存已写满，随后命中第一条
+        ItemCache cache = new ItemCache(10, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        NamespaceCoordinate ns = NamespaceCoordinate.of("SampleApp", "DEV", "default", "application");
+        for (int i = 0; i < 10; i++) {
+            cache.put(ns, "k" + i, "v" + i, cache.generation(ns));
+        }
+        Thread.sleep(2);
+        assertNotNull(cache.lookup(ns, "k0"));
+        Thread.sleep(2);
+
+        // When: 再写入一条，超过上限
+        cache.put(ns, "k10", "v10", cache.generation(ns));
+
+        // Then: 降到上限的 90%，刚命中和刚写入的条目保留
+        assertEquals(9, cache.size());
+        assertEquals(2, cache.getEvictionCount());
+        assertNotNull(cache.lookup(ns, "k0"));
+        assertNotNull(cache.lookup(ns, "k10"));
+
+        // When: 使命名空间失效
+        cache.invalidate(ns);
+
+        // Then: 旧条目不再命中，旧版本号下加载的数据也不会写入
+        assertNull(cache.lookup(ns, "k0"));
+        cache.put(ns, "k0", "stale", cache.generation(ns) - 1);
+        assertNull(cache.lookup(ns, "k0"));
+    }
+
+    /**
+     * 测试淘汰期间并发命中不会影响淘汰（访问时间在排序期间变化）
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testItemCacheEvictionUnderConcurrentHits() throws Exception {
+        // Given: 多个线程持续命中缓存
+        ItemCache cache = new ItemCache(1000, Duration.ofMinutes(1), Duration.ofMinutes(1));
+        NamespaceCoordinate ns = NamespaceCoordinate.of("SampleApp", "DEV", "default", "application");
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            futures.add(readers.submit(() -> {
+                int i = 0;
+                while (running.get()) {
+                    cache.lookup(ns, "k" + (i++ % 2000));
+                }
+            }));
+        }
+
+        try {
+            // When: 写入远超上限的条目，反复触发淘汰
+            for (int i = 0; i < 20_000; i++) {
+                cache.put(ns, "k" + (i % 2000), "v", cache.generation(ns));
+            }
+        } finally {
+            running.set(false);
+            readers.shutdown();
+        }
+
+        // Then: 写入和读取都没有异常，条目数不超过上限
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertTrue(cache.size() <= 1000, "size=" + cache.size());
+        assertTrue(cache.getEvictionCount() > 0);
+    }
+
+    /**
+     * 测试命名空间快照
+     *
+     * <p>验证快照只加载一次命名空间，单键读取在本地完成，刷新后整体替换</p>
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testNamespaceSnapshot() throws Exception {
+        // Given: 模拟命名空间列表的两次响应
+        when(mockClient.get(contains("/items")))
+                .thenReturn("[{\"key\": \"a\", \"value\": \"1\"}, {\"key\": \"b\", \"value\": \"2\"}]")
+                .thenReturn("[{\"key\": \"a\", \"value\": \"3\"}]");
+
+        try (NamespaceSnapshot snapshot = service.openSnapshot("SampleApp", "DEV", "default", "application", null)) {
+            // When & Then: 单键读取不再请求 Portal
+            assertEquals("1", snapshot.getValue("a"));
+            assertEquals("2", snapshot.getValue("b"));
+            assertEquals("x", snapshot.getValue("c", "x"));
+            verify(mockClient, times(1)).get(anyString());
+
+            // When: 手动刷新
+            snapshot.refresh();
+
+            // Then: 读到新快照
+            assertEquals("3", snapshot.getValue("a"));
+            assertFalse(snapshot.contains("b"));
+            assertEquals(2, snapshot.getRefreshCount());
+        }
+    }
+
+    /**
+     * 测试按期望状态同步命名空间
+     *
+     * <p>验证只写入有变化的配置项、删除多余的配置项，并只发布一次</p>
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testApplyDesiredState() throws Exception {
+        // Given: 命名空间当前有 a、b、c 三个配置项
+        when(mockClient.get(contains("/items"))).thenReturn("["
+                + "{\"key\": \"a\", \"value\": \"1\"},"
+                + "{\"key\": \"b\", \"value\": \"2\", \"comment\": \"note\"},"
+                + "{\"key\": \"c\", \"value\": \"3\"}]");
+        when(mockClient.post(anyString(), anyString())).thenReturn("{}");
+        when(mockClient.delete(anyString())).thenReturn("");
+
+        Map<String, ItemSpec> desired = new LinkedHashMap<>();
+        desired.put("a", ItemSpec.of("1"));
+        desired.put("b", ItemSpec.of("2", "changed note"));
+        desired.put("d", ItemSpec.of("4"));
+
+        // When: 按期望状态同步，并删除多余的配置项
+        ApplyResult result = service.applyDesiredState("SampleApp", "DEV", "default", "application",
+                desired, true, "tester");
+
+        // Then: 新增 d、修改 b、删除 c，a 不变，只发布一次
+        assertEquals(1, result.getDiff().getAddedCount());
+        assertEquals(1, result.getDiff().getUpdatedCount());
+        assertEquals(1, result.getDiff().getDeletedCount());
+        assertEquals(1, result.getDiff().getUnchangedCount());
+        assertTrue(result.isSuccess());
+        assertTrue(result.isReleased());
+        verify(mockClient, times(2)).post(contains("/items"), anyString());
+        verify(mockClient, times(1)).delete(contains("/items/c"));
+        verify(mockClient, times(1)).post(contains("/releases"), anyString());
+    }
+
+    /**
+     * 测试期望状态与当前内容一致时跳过写入和发布
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testApplyDesiredStateNoop() throws Exception {
+        // Given: 当前内容与期望状态一致
+        when(mockClient.get(contains("/items"))).thenReturn("[{\"key\": \"a\", \"value\": \"1\"}]");
+
+        // When: 按期望状态同步
+        ApplyResult result = service.applyDesiredState("SampleApp", "DEV", "default", "application",
+                Map.of("a", ItemSpec.of("1")), true, "tester");
+
+        // Then: 没有任何写入和发布
+        assertTrue(result.isNoop());
+        assertFalse(result.isReleased());
+        verify(mockClient, never()).post(anyString(), anyString());
+        verify(mockClient, never()).delete(anyString());
+    }
+
+    /**
+     * 测试流式读取命名空间配置项
+     *
+     * <p>验证配置项被逐个解析，且关闭 Stream 时释放底层响应流</p>
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testStreamNamespaceItems() throws Exception {
+        // Given: 模拟响应流，并记录是否被关闭
+        String json = "[{\"key\": \"a\", \"value\": \"1\"}, {\"key\": \"b\", \"value\": \"2\"}]";
+        AtomicBoolean closed = new AtomicBoolean();
+        when(mockClient.openStream(contains("/items"))).thenReturn(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)) {
+                    @Override
+                    public void close() {
+                        closed.set(true);
+                    }
+                });
+
+        // When: 流式读取
+        List<String> keys;
+        try (Stream<ItemResponse> items = service.streamNamespaceItems("SampleApp", "DEV", "default", "application")) {
+            keys = items.map(ItemResponse::getKey).collect(Collectors.toList());
+        }
+
+        // Then: 解析出所有配置项，并关闭响应流
+        assertEquals(List.of("a", "b"), keys);
+        assertTrue(closed.get());
+        verify(mockClient, never()).get(anyString());
+    }
+
+    /**
+     * 测试命名空间句柄
+     *
+     * <p>使用真实的 ApolloClient 和拦截器，验证句柄发出的请求路径、请求头、请求体，
+     * 以及句柄与服务共享读缓存</p>
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testNamespaceHandle() throws Exception {
+        // Given: 记录请求并返回固定配置项的客户端
+        List<Request> requests = new CopyOnWriteArrayList<>();
+        List<String> bodies = new CopyOnWriteArrayList<>();
+        OkHttpClient okHttpClient = new OkHttpClient.Builder().addInterceptor(chain -> {
+            Request request = chain.request();
+            requests.add(request);
+            if (request.body() != null) {
+                Buffer buffer = new Buffer();
+                request.body().writeTo(buffer);
+                bodies.add(buffer.readUtf8());
+            }
+            return new Response.Builder()
+                    .request(request)
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(200)
+                    .message("OK")
+                    .body(ResponseBody.create("{\"key\": \"a b\", \"value\": \"1\"}",
+                            MediaType.get("application/json")))
+                    .build();
+        }).build();
+        ApolloConfigServiceCore realService = new ApolloConfigServiceCore(
+                new ApolloClient(okHttpClient, "http://portal.test/", "token"));
+        realService.enableItemCache(100, Duration.ofMinutes(1), Duration.ofSeconds(10));
+
+        // When: 通过句柄读取、写入、发布、删除
+        NamespaceHandle handle = realService.namespace("SampleApp", "DEV", "default", "application");
+        String first = handle.getItem("a b");
+        String cached = realService.getItem("SampleApp", "DEV", "default", "application", "a b");
+        handle.publishSingle("a b", "2", "unit test", "tester");
+        handle.deleteItem("a b", "tester");
+        handle.getItem("a b");
+
+        // Then: 同一命名空间返回同一个句柄，读缓存共享，写入后失效
+        assertSame(handle, realService.namespace("SampleApp", "DEV", "default", "application"));
+        assertEquals("1", first);
+        assertEquals("1", cached);
+        assertEquals(5, requests.size());
+
+        String base = "http://portal.test/openapi/v1/apps/SampleApp/envs/DEV/clusters/default/namespaces/application";
+        assertEquals(base + "/items/a%20b", requests.get(0).url().toString());
+        assertEquals("POST", requests.get(1).method());
+        assertEquals(base + "/items/", requests.get(1).url().toString());
+        assertEquals(base + "/releases", requests.get(2).url().toString());
+        assertEquals("DELETE", requests.get(3).method());
+        assertEquals(base + "/items/a%20b?operator=tester", requests.get(3).url().toString());
+        assertEquals("GET", requests.get(4).method());
+        assertEquals("Bearer token", requests.get(0).header("Authorization"));
+        assertEquals("application/json", requests.get(0).header("Accept"));
+
+        assertTrue(bodies.get(0).contains("\"value\":\"2\""));
+        assertTrue(bodies.get(0).contains("\"dataChangeCreatedBy\":\"tester\""));
+        assertTrue(bodies.get(1).contains("\"releaseTitle\":\"Auto release - a b\""));
+    }
+
+    /**
+     * 测试多环境扇出发布
+     *
+     * <p>验证单个环境失败不影响其他环境，以及快速失败模式下跳过尚未开始的环境</p>
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testPublishAcrossEnvs() throws Exception {
+        // Given: FAT 环境的发布失败
+        when(mockClient.post(contains("/items"), anyString())).thenReturn("{}");
+        when(mockClient.post(contains("/releases"), anyString())).thenReturn("{}");
+        when(mockClient.post(contains("/envs/FAT/"), contains("releaseTitle")))
+                .thenThrow(new ApolloHttpException(500, "down"));
+        Set<String> envs = new LinkedHashSet<>(List.of("DEV", "FAT", "UAT", "PRO"));
+
+        // When: 并行发布，遇到失败继续
+        MultiEnvPublishResult result = service.publishAcrossEnvs("SampleApp", envs, "default", "application",
+                "test.key", "v", "fan-out", "tester");
+
+        // Then: 只有 FAT 失败，结果按传入顺序排列
+        assertFalse(result.isSuccess());
+        assertEquals(List.of("DEV", "FAT", "UAT", "PRO"), new ArrayList<>(result.getResults().keySet()));
+        assertEquals(List.of("DEV", "UAT", "PRO"), result.getSucceededEnvs());
+        assertEquals(List.of("FAT"), result.getFailedEnvs());
+        assertEquals(EnvPublishResult.Status.RELEASE_FAILED, result.get("FAT").getStatus());
+        assertEquals(500, ((ApolloHttpException) result.get("FAT").getError().getCause()).getStatusCode());
+        verify(mockClient, times(4)).post(contains("/items"), anyString());
+
+        // When: 串行执行并开启快速失败
+        service.setBatchConcurrency(1);
+        MultiEnvPublishResult failFast = service.publishAcrossEnvs("SampleApp", envs, "default", "application",
+                "test.key", "v", "fan-out", "tester", true);
+
+        // Then: FAT 之后的环境被跳过
+        assertEquals(List.of("DEV"), failFast.getSucceededEnvs());
+        assertEquals(List.of("FAT"), failFast.getFailedEnvs());
+        assertEquals(List.of("UAT", "PRO"), failFast.getSkippedEnvs());
+        verify(mockClient, times(6)).post(contains("/items"), anyString());
+    }
+
+    /**
+     * 测试写入发件箱：Portal 不可用期间写入立即返回，恢复后按命名空间内的顺序重放
+     *
+     * @param directory 临时日志目录
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testOutboxReplaysAfterOutage(@TempDir Path directory) throws Exception {
+        // Given: Portal 不可用，开启发件箱
+        AtomicBoolean down = new AtomicBoolean(true);
+        List<String> calls = new CopyOnWriteArrayList<>();
+        when(mockClient.post(anyString(), anyString())).thenAnswer(invocation -> {
+            if (down.get()) {
+                throw new ApolloHttpException(503, "portal down");
+            }
+            calls.add(invocation.getArgument(0, String.class) + " " + invocation.getArgument(1, String.class));
+            return "{}";
+        });
+        OutboxConfig config = OutboxConfig.of(directory);
+        config.setRetryInterval(Duration.ofMillis(20));
+        config.setMaxRetryInterval(Duration.ofMillis(50));
+        WriteOutbox outbox = service.enableOutbox(config);
+
+        try {
+            // When: 故障期间写入并发布
+            service.publishSingle("SampleApp", "DEV", "default", "application", "a", "1", "c", "tester");
+            service.createOrUpdateItem("SampleApp", "DEV", "default", "application", "b", "1", "c", "tester");
+            service.publishSingle("SampleApp", "DEV", "default", "application", "a", "2", "c", "tester");
+
+            // Then: 调用方已返回，变更仍在发件箱中
+            assertTrue(outbox.getPendingCount() > 0);
+            assertTrue(calls.isEmpty());
+
+            // When: Portal 恢复
+            down.set(false);
+            assertTrue(outbox.awaitDrained(10, TimeUnit.SECONDS));
+        } finally {
+            service.disableOutbox();
+        }
+
+        // Then: 按追加顺序重放，最后一次发布在 a=2 之后
+        assertTrue(calls.size() >= 3);
+        int lastA = -1;
+        int lastRelease = -1;
+        for (int i = 0; i < calls.size(); i++) {
+            if (calls.get(i).contains("\"value\":\"2\"")) {
+                lastA = i;
+            }
+            if (calls.get(i).contains("/releases")) {
+                lastRelease = i;
+            }
+        }
+        assertTrue(lastA >= 0 && lastRelease > lastA, calls.toString());
+        assertEquals(calls.size() - 1, lastRelease);
+        assertEquals(5, outbox.getAppendedCount());
+    }
+
+    /**
+     * 测试写入发件箱重启恢复：已确认和被覆盖的条目不再重放，其余条目按顺序重放
+     *
+     * @param directory 临时日志目录
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testOutboxRecovery(@TempDir Path directory) throws Exception {
+        // Given: 第一个发件箱的首次重放阻塞后失败，之后长时间退避
+        NamespaceCoordinate ns = NamespaceCoordinate.of("SampleApp", "DEV", "default", "application");
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch fail = new CountDownLatch(1);
+        OutboxConfig config = OutboxConfig.of(directory);
+        config.setRetryInterval(Duration.ofHours(1));
+        WriteOutbox first = new WriteOutbox(config, entry -> {
+            inFlight.countDown();
+            try {
+                fail.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new ApolloHttpException(503, "portal down");
+        });
+
+        // When: x=1 重放中时写入 x=2、x=3（x=2 被 x=3 覆盖），然后发布
+        first.appendItem(ns, "x", "1", null, "tester").get(5, TimeUnit.SECONDS);
+        assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+        first.appendItem(ns, "x", "2", null, "tester").get(5, TimeUnit.SECONDS);
+        first.appendItem(ns, "x", "3", null, "tester").get(5, TimeUnit.SECONDS);
+        first.appendRelease(ns, "title", "comment", "tester").get(5, TimeUnit.SECONDS);
+        fail.countDown();
+        assertEquals(1, first.getSupersededCount());
+        first.close();
+
+        // Then: 重新打开后，恢复时 x=3 覆盖未确认的 x=1，只重放 x=3 和发布
+        List<OutboxEntry> replayed = new CopyOnWriteArrayList<>();
+        WriteOutbox second = new WriteOutbox(config, replayed::add);
+        try {
+            assertTrue(second.awaitDrained(5, TimeUnit.SECONDS));
+            assertEquals(2, replayed.size());
+            assertEquals(OutboxEntry.Type.ITEM, replayed.get(0).getType());
+            assertEquals("3", replayed.get(0).getValue());
+            assertEquals(OutboxEntry.Type.RELEASE, replayed.get(1).getType());
+            assertEquals("title", replayed.get(1).getReleaseTitle());
+            assertEquals(1, second.getSupersededCount());
+        } finally {
+            second.close();
+        }
+
+        // Then: 全部确认后再打开，不再重放任何条目
+        List<OutboxEntry> none = new CopyOnWriteArrayList<>();
+        WriteOutbox third = new WriteOutbox(config, none::add);
+        try {
+            assertEquals(0, third.getPendingCount());
+            assertEquals(1, third.getSegmentCount());
+        } finally {
+            third.close();
+        }
+        assertTrue(none.isEmpty());
+    }
+
+    /**
+     * 测试关闭等待超时后才结束的重放不再确认，也不会在关闭后创建新的日志分段
+     *
+     * @param directory 临时目录
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testOutboxReplayFinishingAfterClose(@TempDir Path directory) throws Exception {
+        // Given: 重放一直阻塞，关闭只等待 100ms
+        NamespaceCoordinate ns = NamespaceCoordinate.of("SampleApp", "DEV", "default", "application");
+        OutboxConfig config = OutboxConfig.of(directory);
+        config.setCloseTimeout(Duration.ofMillis(100));
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        WriteOutbox outbox = new WriteOutbox(config, entry -> {
+            inFlight.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                finished.countDown();
+            }
+        });
+        outbox.appendItem(ns, "k", "v", null, "tester").get(5, TimeUnit.SECONDS);
+        assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+
+        // When: 关闭后重放才结束
+        outbox.close();
+        Set<Path> filesAfterClose;
+        try (Stream<Path> files = Files.list(directory)) {
+            filesAfterClose = files.collect(Collectors.toSet());
+        }
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        Thread.sleep(200);
+
+        // Then: 没有写入确认记录或创建新分段
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(filesAfterClose, files.collect(Collectors.toSet()));
+        }
+
+        // When: 重新打开同一目录
+        List<OutboxEntry> replayed = new CopyOnWriteArrayList<>();
+        WriteOutbox reopened = new WriteOutbox(OutboxConfig.of(directory), replayed::add);
+        try {
+            assertTrue(reopened.awaitDrained(5, TimeUnit.SECONDS));
+        } finally {
+            reopened.close();
+        }
+
+        // Then: 未确认的条目被重新重放
+        assertEquals(1, replayed.size());
+        assertEquals("k", replayed.get(0).getKey());
+    }
+
+    /**
+     * 测试写入发件箱的覆盖和压缩
+     *
+     * <p>验证被覆盖的条目在覆盖记录落盘后才确认，压缩回收旧分段，压缩后的日志仍能恢复出正确的存活条目</p>
+     *
+     * @param directory 临时目录
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testOutboxSupersedeAndCompaction(@TempDir Path directory) throws Exception {
+        // Given: 每个分段只容纳一条数据记录，超过 2 个分段即尝试压缩；首个条目的重放一直阻塞
+        NamespaceCoordinate ns = NamespaceCoordinate.of("SampleApp", "DEV", "default", "application");
+        Path live = directory.resolve("live");
+        OutboxConfig config = OutboxConfig.of(live);
+        config.setSegmentBytes(128);
+        config.setCompactionSegments(2);
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        WriteOutbox outbox = new WriteOutbox(config, entry -> {
+            inFlight.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try {
+            // When: head 重放中时对 x 连续写入 20 次，每次都等到落盘
+            outbox.appendItem(ns, "head", "0", null, "tester").get(5, TimeUnit.SECONDS);
+            assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i <= 20; i++) {
+                outbox.appendItem(ns, "x", String.valueOf(i), null, "tester").get(5, TimeUnit.SECONDS);
+            }
+
+            // Then: 前 19 次写入被覆盖，且在覆盖记录落盘后已确认；旧分段被压缩回收
+            assertEquals(19, outbox.getSupersededCount());
+            assertEquals(2, outbox.getPendingCount());
+            assertTrue(outbox.getCompactionCount() > 0);
+            assertTrue(outbox.getSegmentCount() < 10, "segments=" + outbox.getSegmentCount());
+
+            // When: 模拟崩溃，用此刻的日志文件打开另一个发件箱
+            Path crashed = Files.createDirectories(directory.resolve("crashed"));
+            try (Stream<Path> files = Files.list(live)) {
+                for (Path file : files.collect(Collectors.toList())) {
+                    Files.copy(file, crashed.resolve(file.getFileName()));
+                }
+            }
+            List<OutboxEntry> replayed = new CopyOnWriteArrayList<>();
+            OutboxConfig recovered = OutboxConfig.of(crashed);
+            recovered.setSegmentBytes(128);
+            WriteOutbox second = new WriteOutbox(recovered, replayed::add);
+            try {
+                assertTrue(second.awaitDrained(5, TimeUnit.SECONDS));
+            } finally {
+                second.close();
+            }
+
+            // Then: 只重放 head 和最后一次写入
+            assertEquals(List.of("head=0", "x=20"), replayed.stream()
+                    .map(entry -> entry.getKey() + "=" + entry.getValue())
+                    .collect(Collectors.toList()));
+        } finally {
+            release.countDown();
+            assertTrue(outbox.awaitDrained(5, TimeUnit.SECONDS));
+            outbox.close();
+        }
+    }
+
+    /**
+     * 测试从 properties、YAML、JSON 流式导入配置项，并只发布一次
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testImportNamespace() throws Exception {
+        // Given: 记录写入的配置项
+        Map<String, String> written = new ConcurrentHashMap<>();
+        Map<String, String> comments = new ConcurrentHashMap<>();
+        ObjectMapper mapper = new ObjectMapper();
+        when(mockClient.post(contains("/items"), anyString())).thenAnswer(invocation -> {
+            JsonNode body = mapper.readTree(invocation.getArgument(1, String.class));
+            written.put(body.get("key").asText(), body.get("value").asText());
+            if (body.hasNonNull("comment")) {
+                comments.put(body.get("key").asText(), body.get("comment").asText());
+            }
+            return "{}";
+        });
+        when(mockClient.post(contains("/releases"), anyString())).thenReturn("{}");
+        NamespaceTransfer transfer = new NamespaceTransfer(service);
+        transfer.setConcurrency(4);
+        transfer.setProgressInterval(2);
+        List<TransferStats> progress = new CopyOnWriteArrayList<>();
+        transfer.setProgressListener(progress::add);
+
+        String properties = "# 超时时间\n"
+                + "timeout = 5000\n"
+                + "url:http://a.example.com\\\n"
+                + "    /path\n"
+                + "key\\ with\\ space=v\n"
+                + "unicode=\\u4e2d\\u6587\n"
+                + "\n"
+                + "empty\n"
+                + "dup=1\n"
+                + "dup=2\n";
+
+        // When: 导入 properties
+        BatchWriteResult result = transfer.importItems(stream(properties), ConfigFormat.PROPERTIES,
+                "SampleApp", "DEV", "default", "application", "tester", true);
+
+        // Then: 解析续行、转义和注释，重复的键按出现顺序生效，只发布一次
+        assertTrue(result.isSuccess());
+        assertTrue(result.isReleased());
+        assertEquals(6, result.getTotal());
+        assertEquals("5000", written.get("timeout"));
+        assertEquals("超时时间", comments.get("timeout"));
+        assertEquals("http://a.example.com/path", written.get("url"));
+        assertEquals("v", written.get("key with space"));
+        assertEquals("中文", written.get("unicode"));
+        assertEquals("", written.get("empty"));
+        assertEquals("2", written.get("dup"));
+        verify(mockClient, times(7)).post(contains("/items"), anyString());
+        verify(mockClient, times(1)).post(contains("/releases"), anyString());
+        TransferStats last = progress.get(progress.size() - 1);
+        assertTrue(last.isFinished());
+        assertEquals(7, last.getProcessed());
+
+        // When: 导入嵌套的 YAML 和 JSON，不发布
+        written.clear();
+        transfer.importItems(stream("server:\n  port: 8080\n  hosts:\n    - a\n    - b\nfeature.enabled: true\n"),
+                ConfigFormat.YAML, "SampleApp", "DEV", "default", "application", "tester", false);
+        transfer.importItems(stream("{\"a\": {\"b\": 1}, \"c\": null}"),
+                ConfigFormat.JSON, "SampleApp", "DEV", "default", "application", "tester", false);
+
+        // Then: 嵌套结构展开为扁平的键
+        assertEquals(Map.of("server.port", "8080", "server.hosts[0]", "a", "server.hosts[1]", "b",
+                "feature.enabled", "true", "a.b", "1", "c", ""), written);
+        verify(mockClient, times(1)).post(contains("/releases"), anyString());
+    }
+
+    /**
+     * 测试并发导入时最终的进度回调在所有中间回调之后
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testImportFinalProgressArrivesLast() throws Exception {
+        // Given: 每次写入都会触发中间回调，回调本身较慢
+        when(mockClient.post(contains("/items"), anyString())).thenReturn("{}");
+        NamespaceTransfer transfer = new NamespaceTransfer(service);
+        transfer.setConcurrency(4);
+        transfer.setProgressInterval(1);
+        List<TransferStats> progress = new CopyOnWriteArrayList<>();
+        transfer.setProgressListener(stats -> {
+            if (!stats.isFinished()) {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            progress.add(stats);
+        });
+        StringBuilder properties = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            properties.append("key").append(i).append('=').append(i).append('\n');
+        }
+
+        // When: 导入
+        BatchWriteResult result = transfer.importItems(stream(properties.toString()), ConfigFormat.PROPERTIES,
+                "SampleApp", "DEV", "default", "application", "tester", false);
+
+        // Then: 每个写入一次中间回调，最终回调只有一次且排在最后
+        assertTrue(result.isSuccess());
+        assertEquals(41, progress.size());
+        assertEquals(1, progress.stream().filter(TransferStats::isFinished).count());
+        TransferStats last = progress.get(progress.size() - 1);
+        assertTrue(last.isFinished());
+        assertEquals(40, last.getProcessed());
+    }
+
+    /**
+     * 测试把命名空间流式导出为 properties、JSON、YAML，并能原样导入
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testExportNamespace() throws Exception {
+        // Given: Portal 返回的配置项，包含空行条目和需要转义的值
+        String json = "[{\"key\": \"timeout\", \"value\": \"5000\", \"comment\": \"超时时间\"},"
+                + " {\"key\": \"\", \"value\": \"\"},"
+                + " {\"key\": \"a.b c\", \"value\": \" x: y #z\\n中文\"}]";
+        when(mockClient.openStream(contains("/items"))).thenAnswer(invocation ->
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        Map<String, String> expected = Map.of("timeout", "5000", "a.b c", " x: y #z\n中文");
+        NamespaceTransfer transfer = new NamespaceTransfer(service);
+
+        for (ConfigFormat format : ConfigFormat.values()) {
+            // When: 导出
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            TransferStats stats = transfer.exportItems(output, format, "SampleApp", "DEV", "default", "application");
+
+            // Then: 跳过空行条目，导出的内容可以原样导入
+            assertEquals(2, stats.getProcessed());
+            Map<String, String> written = new ConcurrentHashMap<>();
+            ApolloClient importClient = Mockito.mock(ApolloClient.class);
+            ObjectMapper mapper = new ObjectMapper();
+            when(importClient.post(contains("/items"), anyString())).thenAnswer(invocation -> {
+                JsonNode body = mapper.readTree(invocation.getArgument(1, String.class));
+                written.put(body.get("key").asText(), body.get("value").asText());
+                return "{}";
+            });
+            new NamespaceTransfer(new ApolloConfigServiceCore(importClient)).importItems(
+                    new ByteArrayInputStream(output.toByteArray()), format,
+                    "SampleApp", "PRO", "default", "application", "tester", false);
+            assertEquals(expected, written, format + ":\n" + output);
+        }
+
+        // Then: properties 可以被 Properties 读取
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        transfer.exportItems(output, ConfigFormat.PROPERTIES, "SampleApp", "DEV", "default", "application");
+        Properties loaded = new Properties();
+        loaded.load(new ByteArrayInputStream(output.toByteArray()));
+        assertEquals(expected.get("a.b c"), loaded.getProperty("a.b c"));
+    }
+
+    /**
+     * 测试跨环境同步命名空间
+     *
+     * <p>验证预演不做任何修改；同步时并行处理多个同步对，相同的源只读取一次，每个目标只发布一次</p>
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testSyncNamespacesAcrossEnvs() throws Exception {
+        // Given: DEV 有 a、b、c；TEST 中 b 的值不同且多出 x；PRO 与 DEV 一致
+        String dev = "[{\"key\": \"a\", \"value\": \"1\"},"
+                + " {\"key\": \"b\", \"value\": \"2\", \"comment\": \"note\"},"
+                + " {\"key\": \"\", \"value\": \"\"},"
+                + " {\"key\": \"c\", \"value\": \"3\"}]";
+        when(mockClient.get(contains("/envs/DEV/"))).thenReturn(dev);
+        when(mockClient.get(contains("/envs/TEST/"))).thenReturn("["
+                + "{\"key\": \"a\", \"value\": \"1\"},"
+                + "{\"key\": \"b\", \"value\": \"old\", \"comment\": \"note\"},"
+                + "{\"key\": \"x\", \"value\": \"9\"}]");
+        when(mockClient.get(contains("/envs/PRO/"))).thenReturn(dev);
+        when(mockClient.post(anyString(), anyString())).thenReturn("{}");
+        when(mockClient.delete(anyString())).thenReturn("");
+        List<SyncPair> pairs = List.of(
+                SyncPair.ofEnvs("SampleApp", "DEV", "TEST", "default", "application"),
+                SyncPair.ofEnvs("SampleApp", "DEV", "PRO", "default", "application"));
+        NamespaceSyncer syncer = new NamespaceSyncer(service);
+        syncer.setDeleteMissing(true);
+
+        // When: 预演
+        SyncReport plan = syncer.planAll(pairs);
+
+        // Then: 计算出差异，但没有任何写入
+        assertTrue(plan.isDryRun());
+        assertEquals(3, plan.getChangeCount());
+        assertEquals(List.of(pairs.get(0)), plan.getChanged().stream().map(SyncResult::getPair)
+                .collect(Collectors.toList()));
+        assertNull(plan.getResults().get(0).getApplyResult());
+        assertTrue(plan.describe().contains("  + c"));
+        assertTrue(plan.describe().contains("  ~ b"));
+        assertTrue(plan.describe().contains("  - x"));
+        verify(mockClient, never()).post(anyString(), anyString());
+        verify(mockClient, never()).delete(anyString());
+
+        // When: 同步
+        SyncReport report = syncer.syncAll(pairs, "tester");
+
+        // Then: TEST 新增 c、修改 b、删除 x 后发布一次，PRO 已一致不发布；DEV 每次只读取一次
+        assertTrue(report.isSuccess());
+        SyncResult test = report.getResults().get(0);
+        assertTrue(test.getApplyResult().isReleased());
+        assertTrue(report.getResults().get(1).isInSync());
+        verify(mockClient, times(2)).post(contains("/envs/TEST/clusters/default/namespaces/application/items"),
+                anyString());
+        verify(mockClient, times(1)).delete(contains("/envs/TEST/clusters/default/namespaces/application/items/x"));
+        verify(mockClient, times(1)).post(contains("/releases"), anyString());
+        verify(mockClient, times(2)).get(contains("/envs/DEV/"));
+
+        // When & Then: 两个源同步到同一个目标时直接拒绝，预演仍然允许
+        List<SyncPair> sameTarget = List.of(
+                SyncPair.ofEnvs("SampleApp", "DEV", "TEST", "default", "application"),
+                SyncPair.ofEnvs("SampleApp", "PRO", "TEST", "default", "application"));
+        assertThrows(IllegalArgumentException.class, () -> syncer.syncAll(sameTarget, "tester"));
+        assertEquals(2, syncer.planAll(sameTarget).getResults().size());
+        verify(mockClient, times(1)).post(contains("/releases"), anyString());
+    }
+
+    /**
+     * 测试并发的相同读请求合并为一次 HTTP 调用
+     *
+     * <p>验证在途期间的相同读请求共享结果并计入合并数，调用完成后不保留结果</p>
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testConcurrentReadsAreCoalesced() throws Exception {
+        // Given: 第一次 GET 阻塞，直到所有读线程都已发起请求
+        int readers = 16;
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockClient.get(contains("/items/timeout"))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "{\"key\": \"timeout\", \"value\": \"5000\"}";
+        });
+        assertFalse(service.isReadCoalescing());
+        service.setReadCoalescing(true);
+        SingleFlight flights = service.getSingleFlight();
+        ExecutorService executor = Executors.newFixedThreadPool(readers);
+
+        // When: 多个线程同时读取同一个配置项
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < readers; i++) {
+            results.add(executor.submit(() -> service.getItem("SampleApp", "DEV", "default", "application", "timeout")));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flights.getCallCount() < readers && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        // Then: 只发出一次 GET，所有线程得到相同的值
+        for (Future<String> result : results) {
+            assertEquals("5000", result.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        verify(mockClient, times(1)).get(contains("/items/timeout"));
+        assertEquals(readers - 1, flights.getCollapsedCount());
+        assertEquals(0, flights.getInFlightCount());
+
+        // Then: 调用完成后再次读取会重新发出请求
+        service.getItem("SampleApp", "DEV", "default", "application", "timeout");
+        verify(mockClient, times(2)).get(contains("/items/timeout"));
+    }
+
+    /**
+     * 测试合并的命名空间读取各自得到配置项的副本
+     *
+     * <p>验证一个调用方修改返回的配置项不影响共享同一次调用的其他调用方</p>
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testCoalescedListReturnsIndependentItems() throws Exception {
+        // Given: 开启读请求合并，命名空间读取阻塞，直到两个读线程都已发起请求
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockClient.get(contains("/namespaces/application/items"))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "[{\"key\": \"timeout\", \"value\": \"5000\"}]";
+        });
+        service.setReadCoalescing(true);
+        SingleFlight flights = service.getSingleFlight();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When: 两个线程同时读取同一个命名空间
+        List<Future<List<ItemResponse>>> results = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            results.add(executor.submit(() -> service.listNamespaceItems("SampleApp", "DEV", "default", "application")));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (flights.getCallCount() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+        List<ItemResponse> first = results.get(0).get(5, TimeUnit.SECONDS);
+        List<ItemResponse> second = results.get(1).get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+        first.get(0).setValue("changed");
+
+        // Then: 只发出一次 GET，另一个调用方的配置项不受影响
+        verify(mockClient, times(1)).get(contains("/namespaces/application/items"));
+        assertEquals(1, flights.getCollapsedCount());
+        assertEquals("5000", second.get(0).getValue());
+    }
+
+    /**
+     * 测试 leader 取消自己的 future 不影响共享调用
+     *
+     * <p>验证 leader 取消后共享调用没有被取消，follower 仍得到调用结果</p>
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testCoalescedLeaderCancelDoesNotAbortFollowers() throws Exception {
+        // Given: 一个尚未完成的共享调用，leader 和 follower 都在等待
+        SingleFlight flights = new SingleFlight();
+        CompletableFuture<String> call = new CompletableFuture<>();
+        CompletableFuture<String> leader = flights.executeAsync("/items/timeout", () -> call);
+        CompletableFuture<String> follower = flights.executeAsync("/items/timeout", () -> {
+            throw new AssertionError("follower must not issue a call");
+        });
+
+        // When: leader 取消，随后共享调用完成
+        assertTrue(leader.cancel(true));
+        call.complete("5000");
+
+        // Then: 共享调用没有被取消，follower 得到结果
+        assertFalse(call.isCancelled());
+        assertEquals("5000", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, flights.getCollapsedCount());
+        assertEquals(0, flights.getInFlightCount());
+    }
+
+    /**
+     * 测试有序写入通道
+     *
+     * <p>验证同一命名空间的写操作按提交顺序逐个执行，阻塞的命名空间不会阻塞其他通道上的命名空间，
+     * 并能观察到排队深度和忙碌时间占比</p>
+     *
+     * @throws Exception 测试异常
+     */
+    @Test
+    public void testWriteLanesOrderPerNamespace() throws Exception {
+        // Given: application 的第一次写入阻塞，直到测试放行
+        WriteLanes lanes = service.enableWriteLanes(4);
+        NamespaceCoordinate blocked = NamespaceCoordinate.of("SampleApp", "DEV", "default", "application");
+        String other = Stream.iterate(0, i -> i + 1).map(i -> "ns-" + i)
+                .filter(ns -> lanes.laneOf(NamespaceCoordinate.of("SampleApp", "DEV", "default", ns))
+                        != lanes.laneOf(blocked))
+                .findFirst().orElseThrow();
+        ObjectMapper mapper = new ObjectMapper();
+        List<String> applied = new CopyOnWriteArrayList<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(mockClient.post(contains("/namespaces/application/"), anyString())).thenAnswer(invocation -> {
+            String path = invocation.getArgument(0);
+            String entry = path.endsWith("/releases") ? "release"
+                    : mapper.readTree((String) invocation.getArgument(1)).get("key").asText();
+            if (applied.isEmpty()) {
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            applied.add(entry);
+            return "{}";
+        });
+        when(mockClient.post(contains("/namespaces/" + other + "/"), anyString())).thenReturn("{}");
+
+        // When: 依次提交同一命名空间的 5 次写入和 1 次发布
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            futures.add(service.createOrUpdateItemAsync("SampleApp", "DEV", "default", "application",
+                    "k" + i, "v" + i, null, "admin"));
+        }
+        futures.add(service.publishNamespaceAsync("SampleApp", "DEV", "default", "application",
+                "Release", null, "admin"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Then: 其余操作在该命名空间的通道上排队，其他通道上的命名空间不受影响
+        assertEquals(5, lanes.getQueueDepth(lanes.laneOf(blocked)));
+        assertEquals(5, lanes.getQueueDepth());
+        service.createOrUpdateItem("SampleApp", "DEV", "default", other, "k", "v", null, "admin");
+        verify(mockClient, times(1)).post(contains("/namespaces/" + other + "/"), anyString());
+
+        // Then: 放行后严格按提交顺序执行
+        release.countDown();
+        for (CompletableFuture<Void> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(List.of("k1", "k2", "k3", "k4", "k5", "release"), applied);
+        assertEquals(0, lanes.getQueueDepth());
+        assertEquals(7, lanes.getSubmittedCount());
+        assertEquals(7, lanes.getCompletedCount());
+        assertTrue(lanes.getUtilization(lanes.laneOf(blocked)) > 0);
+
+        // Then: 关闭后写操作回到调用方线程直接执行
+        service.disableWriteLanes();
+        assertNull(service.getWriteLanes());
+        service.createOrUpdateItem("SampleApp", "DEV", "default", "application", "k6", "v6", null, "admin");
+        assertEquals("k6", applied.get(applied.size() - 1));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
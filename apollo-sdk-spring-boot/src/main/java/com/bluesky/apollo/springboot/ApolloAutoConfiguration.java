@@ -1,8 +1,22 @@
 package com.bluesky.apollo.springboot;
 
+import com.bluesky.apollo.core.ApolloAsyncClient;
 import com.bluesky.apollo.core.ApolloClient;
+import com.bluesky.apollo.core.ApolloClientRegistry;
 import com.bluesky.apollo.core.ApolloConfigServiceCore;
+import com.bluesky.apollo.core.CircuitBreaker;
+import com.bluesky.apollo.core.CircuitBreakerListener;
+import com.bluesky.apollo.core.HttpTransportConfig;
+import com.bluesky.apollo.core.RequestKind;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,7 +30,11 @@ import org.springframework.context.annotation.Configuration;
  * <p>主要功能：</p>
  * <ul>
  *   <li>自动创建 {@link ApolloClient} Bean</li>
+ *   <li>自动创建 {@link ApolloAsyncClient} Bean</li>
  *   <li>自动创建 {@link ApolloConfigServiceCore} Bean</li>
+ *   <li>自动创建 {@link ApolloClientRegistry} Bean，按 {@code apollo.sdk.portals.*} 注册共享连接池的命名客户端</li>
+ *   <li>存在 Micrometer {@code MeterRegistry} 时自动注册 {@link ApolloMicrometerMetrics}</li>
+ *   <li>按 {@code apollo.sdk.http.*} 配置 HTTP 传输层，可共享外部 OkHttp 客户端</li>
  *   <li>支持通过 {@code apollo.sdk.*} 配置属性进行定制</li>
  * </ul>
  *
@@ -37,20 +55,57 @@ import org.springframework.context.annotation.Configuration;
  */
 @Configuration
 @EnableConfigurationProperties(ApolloSdkProperties.class)
+@AutoConfigureAfter(name = {
+        "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration",
+        "org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration"})
 public class ApolloAutoConfiguration {
 
+    /**
+     * 共享 OkHttp 客户端的 Bean 名称，存在时 {@link ApolloClient} 复用其连接池和调度器
+     */
+    public static final String SHARED_OK_HTTP_CLIENT_BEAN = "apolloSdkOkHttpClient";
+
     /**
      * 创建 Apollo HTTP 客户端 Bean
      *
-     * <p>该 Bean 负责与 Apollo Portal API 进行 HTTP 通信。</p>
+     * <p>该 Bean 负责与 Apollo Portal API 进行 HTTP 通信。开启熔断时，
+     * 容器中的 {@link CircuitBreakerListener} Bean 会被注册到熔断器上。</p>
+     *
+     * <p>传输层按 {@code apollo.sdk.http.*} 配置；容器中存在名为 {@value #SHARED_OK_HTTP_CLIENT_BEAN}
+     * 的 OkHttpClient 时从它派生，共享连接池和调度器。</p>
      *
      * @param properties Apollo SDK 配置属性
+     * @param circuitBreakerListeners 熔断器状态变化监听器
+     * @param sharedClient 共享的 OkHttp 客户端
      * @return Apollo HTTP 客户端实例
      */
     @Bean
     @ConditionalOnMissingBean
-    public ApolloClient apolloClient(ApolloSdkProperties properties) {
-        return new ApolloClient(properties.getPortalUrl(), properties.getToken());
+    public ApolloClient apolloClient(ApolloSdkProperties properties,
+                                     ObjectProvider<CircuitBreakerListener> circuitBreakerListeners,
+                                     @Qualifier(SHARED_OK_HTTP_CLIENT_BEAN) ObjectProvider<OkHttpClient> sharedClient) {
+        HttpTransportConfig transport = properties.getHttp().toConfig();
+        transport.setSharedClient(sharedClient.getIfAvailable());
+        ApolloClient client = new ApolloClient(properties.getPortalUrl(), properties.getToken(), transport);
+        configureClient(client, properties, circuitBreakerListeners);
+        return client;
+    }
+
+    /**
+     * 创建 Apollo 异步客户端 Bean
+     *
+     * <p>与 {@link ApolloClient} 共用同一个 OkHttp 连接池和调度器，
+     * 在途上限和回调线程数通过 {@code apollo.sdk.async.*} 配置；回调线程池在容器关闭时关闭。</p>
+     *
+     * @param client Apollo HTTP 客户端
+     * @param properties Apollo SDK 配置属性
+     * @return Apollo 异步客户端实例
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public ApolloAsyncClient apolloAsyncClient(ApolloClient client, ApolloSdkProperties properties) {
+        ApolloSdkProperties.Async async = properties.getAsync();
+        return new ApolloAsyncClient(client, async.getMaxInFlight(), async.getCallbackThreads());
     }
 
     /**
@@ -59,12 +114,141 @@ public class ApolloAutoConfiguration {
      * <p>该 Bean 提供了对 Apollo 配置的高级操作接口，
      * 包括配置项的创建、更新、删除、查询和发布等功能。</p>
      *
+     * <p>{@code apollo.sdk.outbox.enabled=true} 时开启写入发件箱，容器关闭时关闭发件箱和有序写入通道，
+     * 未重放的条目留待下次启动。</p>
+     *
      * @param client Apollo HTTP 客户端
+     * @param asyncClient Apollo 异步客户端
+     * @param properties Apollo SDK 配置属性
      * @return Apollo 配置服务核心实例
      */
-    @Bean
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public ApolloConfigServiceCore apolloConfigServiceCore(ApolloClient client, ApolloAsyncClient asyncClient,
+                                                           ApolloSdkProperties properties) {
+        ApolloConfigServiceCore service = new ApolloConfigServiceCore(client, asyncClient);
+        configureService(service, properties);
+        if (properties.getOutbox().isEnabled()) {
+            service.enableOutbox(properties.getOutbox().toConfig());
+        }
+        return service;
+    }
+
+    /**
+     * 创建多 Portal 客户端注册表 Bean
+     *
+     * <p>按 {@code apollo.sdk.portals.<name>.*} 注册命名的客户端和配置服务，它们都从默认 {@link ApolloClient}
+     * 的 OkHttp 客户端派生，共享连接池和调度器；重试、熔断、限流、缓存等策略与默认客户端相同。
+     * 容器关闭时注册表会关闭这些配置服务及其后台线程。</p>
+     *
+     * @param client 默认的 Apollo HTTP 客户端，提供共享的连接池和调度器
+     * @param properties Apollo SDK 配置属性
+     * @param circuitBreakerListeners 熔断器状态变化监听器
+     * @return 多 Portal 客户端注册表
+     */
+    @Bean(destroyMethod = "close")
     @ConditionalOnMissingBean
-    public ApolloConfigServiceCore apolloConfigServiceCore(ApolloClient client) {
-        return new ApolloConfigServiceCore(client);
+    public ApolloClientRegistry apolloClientRegistry(ApolloClient client, ApolloSdkProperties properties,
+                                                     ObjectProvider<CircuitBreakerListener> circuitBreakerListeners) {
+        ApolloClientRegistry registry = new ApolloClientRegistry(client.getClient(),
+                named -> configureClient(named, properties, circuitBreakerListeners),
+                service -> configureService(service, properties));
+        properties.getPortals().forEach((name, portal) -> {
+            ApolloSdkProperties.Http http = portal.getHttp() != null ? portal.getHttp() : properties.getHttp();
+            registry.register(name, portal.getPortalUrl(), portal.getToken(), http.toConfig());
+        });
+        return registry;
+    }
+
+    /**
+     * 按配置设置客户端的慢调用阈值、重试、熔断和限流
+     */
+    private static void configureClient(ApolloClient client, ApolloSdkProperties properties,
+                                        ObjectProvider<CircuitBreakerListener> circuitBreakerListeners) {
+        client.getPhaseTimings().setSlowCallThreshold(properties.getHttpTiming().getSlowCallThreshold());
+        if (properties.getRetry().isEnabled()) {
+            client.setRetryPolicy(properties.getRetry().toPolicy());
+        }
+        if (properties.getHedge().isEnabled()) {
+            client.setHedgePolicy(properties.getHedge().toPolicy());
+        }
+        if (properties.getCircuitBreaker().isEnabled()) {
+            CircuitBreaker breaker = client.enableCircuitBreaker(properties.getCircuitBreaker().toConfig());
+            circuitBreakerListeners.orderedStream().forEach(breaker::addListener);
+        }
+        ApolloSdkProperties.RateLimit rateLimit = properties.getRateLimit();
+        if (rateLimit.isEnabled()) {
+            client.setRateLimiter(RequestKind.READ, rateLimit.getRead().toRateLimiter());
+            client.setRateLimiter(RequestKind.ITEM_WRITE, rateLimit.getItemWrite().toRateLimiter());
+            client.setRateLimiter(RequestKind.RELEASE, rateLimit.getRelease().toRateLimiter());
+            client.setRateLimitMaxWait(rateLimit.getMaxWait());
+        }
+    }
+
+    /**
+     * 按配置设置配置服务的批量并发、发布组提交、有序写入通道和读缓存
+     */
+    private static void configureService(ApolloConfigServiceCore service, ApolloSdkProperties properties) {
+        service.setBatchConcurrency(properties.getBatch().getConcurrency());
+
+        ApolloSdkProperties.ReleaseGroupCommit groupCommit = properties.getReleaseGroupCommit();
+        if (groupCommit.isEnabled()) {
+            service.enableReleaseGroupCommit(groupCommit.getWindowMillis(), groupCommit.getMaxBatchSize());
+        }
+
+        ApolloSdkProperties.WriteLanes writeLanes = properties.getWriteLanes();
+        if (writeLanes.isEnabled()) {
+            service.enableWriteLanes(writeLanes.getLanes());
+        }
+
+        ApolloSdkProperties.Cache cache = properties.getCache();
+        service.setReadCoalescing(cache.isCoalesceReads());
+        if (cache.isEnabled()) {
+            service.enableItemCache(cache.getMaxEntries(), cache.getTtl(), cache.getNegativeTtl());
+        }
+    }
+
+    /**
+     * Micrometer 指标配置，仅在 classpath 中有 Micrometer 且容器中存在 {@code MeterRegistry} 时生效
+     */
+    @Configuration
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnBean(MeterRegistry.class)
+    @ConditionalOnProperty(prefix = "apollo.sdk.metrics", name = "enabled", matchIfMissing = true)
+    static class MetricsConfiguration {
+
+        /**
+         * 创建 Apollo SDK 指标 Bean，并注册到同步和异步客户端、多 Portal 注册表中的客户端以及配置服务的读请求合并器
+         *
+         * @param registry 指标注册表
+         * @param client Apollo HTTP 客户端
+         * @param asyncClient Apollo 异步客户端
+         * @param configService Apollo 配置服务
+         * @param clientRegistry 多 Portal 客户端注册表
+         * @param properties Apollo SDK 配置属性
+         * @return Apollo SDK 指标实例
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public ApolloMicrometerMetrics apolloMicrometerMetrics(MeterRegistry registry, ApolloClient client,
+                                                               ObjectProvider<ApolloAsyncClient> asyncClient,
+                                                               ObjectProvider<ApolloConfigServiceCore> configService,
+                                                               ObjectProvider<ApolloClientRegistry> clientRegistry,
+                                                               ApolloSdkProperties properties) {
+            ApolloSdkProperties.Metrics metrics = properties.getMetrics();
+            double[] percentiles = metrics.getPercentiles().stream().mapToDouble(Double::doubleValue).toArray();
+            ApolloMicrometerMetrics micrometerMetrics =
+                    new ApolloMicrometerMetrics(registry, metrics.isPercentileHistogram(), percentiles);
+            micrometerMetrics.bindTo(client);
+            asyncClient.ifAvailable(micrometerMetrics::bindTo);
+            clientRegistry.ifAvailable(micrometerMetrics::bindTo);
+            configService.ifAvailable(service -> {
+                micrometerMetrics.bindTo(service.getSingleFlight());
+                if (service.getWriteLanes() != null) {
+                    micrometerMetrics.bindTo(service.getWriteLanes());
+                }
+            });
+            return micrometerMetrics;
+        }
     }
 }
@@ -0,0 +1,280 @@
+package com.bluesky.apollo.springboot;
+
+import com.bluesky.apollo.core.ApolloAsyncClient;
+import com.bluesky.apollo.core.ApolloClient;
+import com.bluesky.apollo.core.ApolloClientRegistry;
+import com.bluesky.apollo.core.ApolloRequestEvent;
+import com.bluesky.apollo.core.ApolloRequestListener;
+import com.bluesky.apollo.core.HttpCallTimings;
+import com.bluesky.apollo.core.HttpPhase;
+import com.bluesky.apollo.core.HttpPhaseTimings;
+import com.bluesky.apollo.core.SingleFlight;
+import com.bluesky.apollo.core.WriteLanes;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Apollo SDK 的 Micrometer 指标
+ *
+ * <p>以 {@link ApolloRequestListener} 的形式注册到 {@link ApolloClient} 上，把每个 Portal 请求记录为 Micrometer 指标：</p>
+ * <ul>
+ *   <li>{@code apollo.sdk.requests} - 请求耗时 Timer，带百分位直方图，
+ *       标签为 operation、appId、env、namespace、status</li>
+ *   <li>{@code apollo.sdk.requests.failures} - 失败次数 Counter，按 HTTP 状态码（status）和异常类型（exception）区分</li>
+ *   <li>{@code apollo.sdk.requests.in.flight} - 同步和异步客户端当前在途的请求数 Gauge</li>
+ *   <li>{@code apollo.sdk.async.queued} - 异步客户端排队等待在途名额的请求数 Gauge</li>
+ *   <li>{@code apollo.sdk.http.phase} - HTTP 分阶段耗时 Timer（见 {@link HttpPhase}），带百分位直方图，标签为 phase</li>
+ *   <li>{@code apollo.sdk.http.slow.calls} - 超过慢调用阈值的 HTTP 调用数 Counter</li>
+ *   <li>{@code apollo.sdk.reads.hedged} - 已发出的对冲读请求数 Counter，标签 outcome 为 sent（全部）或 won（先于第一次请求答复）</li>
+ *   <li>{@code apollo.sdk.reads.collapsed} - 合并到其他在途请求、没有发出 HTTP 调用的读请求数 Counter</li>
+ *   <li>{@code apollo.sdk.write.lanes.queued} - 各有序写入通道排队等待执行的写操作数 Gauge，标签为 lane</li>
+ *   <li>{@code apollo.sdk.write.lanes.utilization} - 各有序写入通道最近约 10 秒内的忙碌时间占比 Gauge，标签为 lane</li>
+ * </ul>
+ *
+ * <p>status 标签为 HTTP 状态码；未拿到响应（网络异常、熔断、限流等）时为 {@code NONE}。
+ * 请求耗时 Timer 和失败次数 Counter 按标签组合缓存，同一组合只在第一次出现时注册。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public class ApolloMicrometerMetrics implements ApolloRequestListener {
+
+    /**
+     * 请求耗时指标名
+     */
+    public static final String REQUESTS = "apollo.sdk.requests";
+
+    /**
+     * 失败次数指标名
+     */
+    public static final String FAILURES = "apollo.sdk.requests.failures";
+
+    /**
+     * 在途请求数指标名
+     */
+    public static final String IN_FLIGHT = "apollo.sdk.requests.in.flight";
+
+    /**
+     * 异步排队请求数指标名
+     */
+    public static final String ASYNC_QUEUED = "apollo.sdk.async.queued";
+
+    /**
+     * HTTP 分阶段耗时指标名
+     */
+    public static final String HTTP_PHASE = "apollo.sdk.http.phase";
+
+    /**
+     * 慢调用次数指标名
+     */
+    public static final String HTTP_SLOW_CALLS = "apollo.sdk.http.slow.calls";
+
+    /**
+     * 对冲读请求数指标名
+     */
+    public static final String READS_HEDGED = "apollo.sdk.reads.hedged";
+
+    /**
+     * 被合并的读请求数指标名
+     */
+    public static final String READS_COLLAPSED = "apollo.sdk.reads.collapsed";
+
+    /**
+     * 有序写入通道排队深度指标名
+     */
+    public static final String WRITE_LANES_QUEUED = "apollo.sdk.write.lanes.queued";
+
+    /**
+     * 有序写入通道忙碌时间占比指标名
+     */
+    public static final String WRITE_LANES_UTILIZATION = "apollo.sdk.write.lanes.utilization";
+
+    private static final String NONE = "NONE";
+
+    private final MeterRegistry registry;
+
+    private final boolean percentileHistogram;
+
+    private final double[] percentiles;
+
+    /**
+     * 按标签值（operation、appId、env、namespace、status）缓存的请求耗时 Timer
+     */
+    private final Map<List<String>, Timer> requestTimers = new ConcurrentHashMap<>();
+
+    /**
+     * 按标签值（请求标签加上 exception）缓存的失败次数 Counter
+     */
+    private final Map<List<String>, Counter> failureCounters = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数
+     *
+     * @param registry 指标注册表
+     * @param percentileHistogram 是否发布百分位直方图（供 Prometheus 等服务端聚合）
+     * @param percentiles 客户端计算的百分位，可以为空
+     */
+    public ApolloMicrometerMetrics(MeterRegistry registry, boolean percentileHistogram, double... percentiles) {
+        this.registry = registry;
+        this.percentileHistogram = percentileHistogram;
+        this.percentiles = percentiles;
+    }
+
+    /**
+     * 注册到同步客户端：监听请求并注册在途请求数 Gauge
+     *
+     * @param client Apollo HTTP 客户端
+     */
+    public void bindTo(ApolloClient client) {
+        client.addRequestListener(this);
+        Gauge.builder(IN_FLIGHT, client, c -> c.getStats().getInFlight())
+                .description("Portal requests currently in flight")
+                .register(registry);
+        FunctionCounter.builder(READS_HEDGED, client, ApolloClient::getHedgeCount)
+                .description("Hedged portal reads sent")
+                .tag("outcome", "sent")
+                .register(registry);
+        FunctionCounter.builder(READS_HEDGED, client, ApolloClient::getHedgeWinCount)
+                .description("Hedged portal reads that answered before the first attempt")
+                .tag("outcome", "won")
+                .register(registry);
+        if (client.getPhaseTimings() != null) {
+            bindTo(client.getPhaseTimings());
+        }
+    }
+
+    /**
+     * 注册到多 Portal 注册表中已注册的各客户端，只监听请求
+     *
+     * <p>请求指标按 appId、env、namespace 区分，与默认客户端的请求合并记录；
+     * 在途请求数等客户端级指标只由 {@link #bindTo(ApolloClient)} 注册的客户端提供。
+     * 之后再注册到注册表的客户端需另行调用 {@link ApolloClient#addRequestListener}。</p>
+     *
+     * @param clientRegistry 多 Portal 客户端注册表
+     */
+    public void bindTo(ApolloClientRegistry clientRegistry) {
+        for (String name : clientRegistry.getNames()) {
+            clientRegistry.getClient(name).addRequestListener(this);
+        }
+    }
+
+    /**
+     * 注册 HTTP 分阶段耗时 Timer 和慢调用次数
+     *
+     * @param phaseTimings HTTP 分阶段耗时统计
+     */
+    public void bindTo(HttpPhaseTimings phaseTimings) {
+        Map<HttpPhase, Timer> timers = new EnumMap<>(HttpPhase.class);
+        for (HttpPhase phase : HttpPhase.values()) {
+            timers.put(phase, Timer.builder(HTTP_PHASE)
+                    .description("Apollo portal HTTP call latency by phase")
+                    .tag("phase", phase.name().toLowerCase())
+                    .publishPercentileHistogram(percentileHistogram)
+                    .publishPercentiles(percentiles)
+                    .register(registry));
+        }
+        phaseTimings.addCallback((HttpCallTimings timings) -> {
+            for (HttpPhase phase : HttpPhase.values()) {
+                if (timings.has(phase)) {
+                    timers.get(phase).record(timings.getNanos(phase), TimeUnit.NANOSECONDS);
+                }
+            }
+        });
+        FunctionCounter.builder(HTTP_SLOW_CALLS, phaseTimings, HttpPhaseTimings::getSlowCallCount)
+                .description("Apollo portal HTTP calls slower than the slow-call threshold")
+                .register(registry);
+    }
+
+    /**
+     * 注册异步客户端的排队请求数 Gauge
+     *
+     * @param asyncClient Apollo 异步客户端
+     */
+    public void bindTo(ApolloAsyncClient asyncClient) {
+        Gauge.builder(ASYNC_QUEUED, asyncClient, ApolloAsyncClient::getQueued)
+                .description("Async portal requests waiting for an in-flight slot")
+                .register(registry);
+    }
+
+    /**
+     * 注册被合并的读请求数
+     *
+     * @param singleFlight 配置服务的读请求合并器
+     */
+    public void bindTo(SingleFlight singleFlight) {
+        FunctionCounter.builder(READS_COLLAPSED, singleFlight, SingleFlight::getCollapsedCount)
+                .description("Apollo portal reads served by another identical in-flight request")
+                .register(registry);
+    }
+
+    /**
+     * 注册各有序写入通道的排队深度和忙碌时间占比 Gauge
+     *
+     * @param writeLanes 配置服务的有序写入通道
+     */
+    public void bindTo(WriteLanes writeLanes) {
+        for (int i = 0; i < writeLanes.getLaneCount(); i++) {
+            int lane = i;
+            Tags tags = Tags.of("lane", Integer.toString(lane));
+            Gauge.builder(WRITE_LANES_QUEUED, writeLanes, w -> w.getQueueDepth(lane))
+                    .description("Namespace writes waiting on an ordered write lane")
+                    .tags(tags)
+                    .register(registry);
+            Gauge.builder(WRITE_LANES_UTILIZATION, writeLanes, w -> w.getUtilization(lane))
+                    .description("Fraction of the last ~10 seconds an ordered write lane has been busy")
+                    .tags(tags)
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public void onComplete(ApolloRequestEvent event, int statusCode, long durationNanos, Throwable error) {
+        List<String> key = List.of(event.getOperation(), tagValue(event.getAppId()), tagValue(event.getEnv()),
+                tagValue(event.getNamespace()), statusCode > 0 ? Integer.toString(statusCode) : NONE);
+        requestTimers.computeIfAbsent(key, k -> Timer.builder(REQUESTS)
+                        .description("Apollo portal request latency")
+                        .tags(requestTags(k))
+                        .publishPercentileHistogram(percentileHistogram)
+                        .publishPercentiles(percentiles)
+                        .register(registry))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+
+        if (error != null) {
+            String exception = error.getClass().getSimpleName();
+            List<String> failureKey = List.of(key.get(0), key.get(1), key.get(2), key.get(3), key.get(4), exception);
+            failureCounters.computeIfAbsent(failureKey, k -> Counter.builder(FAILURES)
+                            .description("Failed Apollo portal requests")
+                            .tags(requestTags(k))
+                            .tag("exception", exception)
+                            .register(registry))
+                    .increment();
+        }
+    }
+
+    /**
+     * 由缓存键的前 5 个值组成请求标签
+     */
+    private static Tags requestTags(List<String> key) {
+        return Tags.of(
+                "operation", key.get(0),
+                "appId", key.get(1),
+                "env", key.get(2),
+                "namespace", key.get(3),
+                "status", key.get(4));
+    }
+
+    private static String tagValue(String value) {
+        return value == null ? NONE : value;
+    }
+}
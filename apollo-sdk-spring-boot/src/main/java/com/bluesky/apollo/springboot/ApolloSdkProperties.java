@@ -1,7 +1,21 @@
 package com.bluesky.apollo.springboot;
 
+import com.bluesky.apollo.core.CircuitBreakerConfig;
+import com.bluesky.apollo.core.HedgePolicy;
+import com.bluesky.apollo.core.HttpTransportConfig;
+import com.bluesky.apollo.core.OutboxConfig;
+import com.bluesky.apollo.core.RateLimiter;
+import com.bluesky.apollo.core.RetryPolicy;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Apollo SDK 配置属性类
@@ -21,6 +35,99 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * apollo.sdk.cluster=default
  * apollo.sdk.namespace=application
  * apollo.sdk.operator=admin
+ *
+ * # 异步客户端配置
+ * apollo.sdk.async.max-in-flight=64
+ * apollo.sdk.async.callback-threads=4
+ *
+ * # 批量写入配置
+ * apollo.sdk.batch.concurrency=8
+ *
+ * # 发布组提交配置
+ * apollo.sdk.release-group-commit.enabled=true
+ * apollo.sdk.release-group-commit.window-millis=200
+ * apollo.sdk.release-group-commit.max-batch-size=100
+ *
+ * # 写入发件箱配置（Portal 不可用时写入先落本地日志，恢复后按序重放）
+ * apollo.sdk.outbox.enabled=true
+ * apollo.sdk.outbox.directory=/var/lib/myapp/apollo-outbox
+ * apollo.sdk.outbox.segment-size=16MB
+ * apollo.sdk.outbox.fsync=true
+ * apollo.sdk.outbox.replay-concurrency=4
+ * apollo.sdk.outbox.retry-interval=1s
+ * apollo.sdk.outbox.max-retry-interval=30s
+ *
+ * # 有序写入通道配置（同一命名空间的写操作按提交顺序执行，不同命名空间并行）
+ * apollo.sdk.write-lanes.enabled=true
+ * apollo.sdk.write-lanes.lanes=16
+ *
+ * # 读缓存配置
+ * apollo.sdk.cache.enabled=true
+ * apollo.sdk.cache.max-entries=10000
+ * apollo.sdk.cache.ttl=30s
+ * apollo.sdk.cache.negative-ttl=5s
+ * apollo.sdk.cache.coalesce-reads=false
+ *
+ * # 重试配置
+ * apollo.sdk.retry.enabled=true
+ * apollo.sdk.retry.max-attempts=3
+ * apollo.sdk.retry.initial-backoff=100ms
+ * apollo.sdk.retry.max-backoff=2s
+ * apollo.sdk.retry.max-elapsed=10s
+ * apollo.sdk.retry.retryable-status-codes=429,502,503,504
+ * apollo.sdk.retry.retry-releases=false
+ * apollo.sdk.retry.budget-ratio=0.2
+ *
+ * # 对冲读配置（读请求超过触发时长未答复时再发一次，取先答复的一方）
+ * apollo.sdk.hedge.enabled=true
+ * apollo.sdk.hedge.delay=100ms
+ * apollo.sdk.hedge.percentile=0.95
+ * apollo.sdk.hedge.min-samples=100
+ * apollo.sdk.hedge.budget-ratio=0.1
+ * apollo.sdk.hedge.budget-burst=10
+ *
+ * # 熔断配置
+ * apollo.sdk.circuit-breaker.enabled=true
+ * apollo.sdk.circuit-breaker.failure-rate-threshold=50
+ * apollo.sdk.circuit-breaker.slow-call-rate-threshold=100
+ * apollo.sdk.circuit-breaker.slow-call-duration=5s
+ * apollo.sdk.circuit-breaker.sliding-window-size=50
+ * apollo.sdk.circuit-breaker.minimum-number-of-calls=20
+ * apollo.sdk.circuit-breaker.wait-duration-in-open-state=30s
+ * apollo.sdk.circuit-breaker.permitted-calls-in-half-open-state=5
+ *
+ * # 限流配置（每秒许可数为 0 表示该类请求不限流）
+ * apollo.sdk.rate-limit.enabled=true
+ * apollo.sdk.rate-limit.max-wait=5s
+ * apollo.sdk.rate-limit.read.permits-per-second=100
+ * apollo.sdk.rate-limit.read.burst=20
+ * apollo.sdk.rate-limit.item-write.permits-per-second=50
+ * apollo.sdk.rate-limit.release.permits-per-second=5
+ *
+ * # 指标配置（存在 MeterRegistry 时生效）
+ * apollo.sdk.metrics.enabled=true
+ * apollo.sdk.metrics.percentile-histogram=true
+ * apollo.sdk.metrics.percentiles=0.5,0.99
+ *
+ * # HTTP 分阶段耗时配置
+ * apollo.sdk.http-timing.slow-call-threshold=2s
+ *
+ * # HTTP 传输层配置
+ * apollo.sdk.http.connect-timeout=3s
+ * apollo.sdk.http.read-timeout=10s
+ * apollo.sdk.http.write-timeout=10s
+ * apollo.sdk.http.call-timeout=30s
+ * apollo.sdk.http.max-idle-connections=32
+ * apollo.sdk.http.keep-alive=5m
+ * apollo.sdk.http.max-requests=128
+ * apollo.sdk.http.max-requests-per-host=64
+ * apollo.sdk.http.http2-enabled=true
+ * apollo.sdk.http.http2-prior-knowledge=false
+ *
+ * # 多 Portal 配置（共享默认客户端的连接池和调度器，通过 ApolloClientRegistry 按名称获取）
+ * apollo.sdk.portals.overseas.portal-url=http://apollo-portal-overseas.example.com
+ * apollo.sdk.portals.overseas.token=another-token
+ * apollo.sdk.portals.overseas.http.read-timeout=30s
  * }</pre>
  *
  * @author lantian
@@ -70,4 +177,684 @@ public class ApolloSdkProperties {
      * 默认值：apollo
      */
     private String operator = "apollo";
+
+    /**
+     * 异步客户端配置
+     */
+    private Async async = new Async();
+
+    /**
+     * 批量写入配置
+     */
+    private Batch batch = new Batch();
+
+    /**
+     * 发布组提交配置
+     */
+    private ReleaseGroupCommit releaseGroupCommit = new ReleaseGroupCommit();
+
+    /**
+     * 写入发件箱配置
+     */
+    private Outbox outbox = new Outbox();
+
+    /**
+     * 有序写入通道配置
+     */
+    private WriteLanes writeLanes = new WriteLanes();
+
+    /**
+     * 读缓存配置
+     */
+    private Cache cache = new Cache();
+
+    /**
+     * 重试配置
+     */
+    private Retry retry = new Retry();
+
+    /**
+     * 对冲读配置
+     */
+    private Hedge hedge = new Hedge();
+
+    /**
+     * 熔断配置
+     */
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    /**
+     * 限流配置
+     */
+    private RateLimit rateLimit = new RateLimit();
+
+    /**
+     * 指标配置
+     */
+    private Metrics metrics = new Metrics();
+
+    /**
+     * HTTP 分阶段耗时配置
+     */
+    private HttpTiming httpTiming = new HttpTiming();
+
+    /**
+     * HTTP 传输层配置
+     */
+    private Http http = new Http();
+
+    /**
+     * 额外的命名 Portal，键为名称
+     */
+    private Map<String, Portal> portals = new LinkedHashMap<>();
+
+    /**
+     * 异步客户端配置项
+     */
+    @Data
+    public static class Async {
+
+        /**
+         * 在途请求数上限，超出的请求排队等待
+         * 默认值：64
+         */
+        private int maxInFlight = 64;
+
+        /**
+         * 回调线程数，用于完成异步结果
+         * 默认值：0，表示直接在 OkHttp 调度线程上完成
+         */
+        private int callbackThreads = 0;
+    }
+
+    /**
+     * 批量写入配置项
+     */
+    @Data
+    public static class Batch {
+
+        /**
+         * 批量写入配置项时的并发上限
+         * 默认值：8
+         */
+        private int concurrency = 8;
+    }
+
+    /**
+     * 发布组提交配置项
+     */
+    @Data
+    public static class ReleaseGroupCommit {
+
+        /**
+         * 是否开启发布组提交
+         * 默认值：false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 合并时间窗口（毫秒）
+         * 默认值：200
+         */
+        private long windowMillis = 200;
+
+        /**
+         * 单次 release 合并的最大请求数
+         * 默认值：100
+         */
+        private int maxBatchSize = 100;
+    }
+
+    /**
+     * 写入发件箱配置项
+     *
+     * <p>只作用于默认的 {@code ApolloConfigServiceCore}，{@code apollo.sdk.portals.*} 注册的服务不经过发件箱。</p>
+     */
+    @Data
+    public static class Outbox {
+
+        /**
+         * 是否开启写入发件箱
+         * 默认值：false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 日志目录，相对路径基于进程工作目录；同一目录同一时刻只能被一个进程使用
+         * 默认值：apollo-sdk-outbox
+         */
+        private String directory = "apollo-sdk-outbox";
+
+        /**
+         * 单个日志分段文件的大小
+         * 默认值：16MB
+         */
+        private DataSize segmentSize = DataSize.ofMegabytes(16);
+
+        /**
+         * 是否在确认调用方之前把日志刷到磁盘
+         * 默认值：true
+         */
+        private boolean fsync = true;
+
+        /**
+         * 同时重放的命名空间数
+         * 默认值：4
+         */
+        private int replayConcurrency = 4;
+
+        /**
+         * Portal 不可用时的初始重放间隔
+         * 默认值：1s
+         */
+        private Duration retryInterval = Duration.ofSeconds(1);
+
+        /**
+         * 重放间隔的上限
+         * 默认值：30s
+         */
+        private Duration maxRetryInterval = Duration.ofSeconds(30);
+
+        /**
+         * 转换为核心模块的发件箱配置
+         *
+         * @return 发件箱配置
+         */
+        public OutboxConfig toConfig() {
+            OutboxConfig config = OutboxConfig.of(Paths.get(directory));
+            config.setSegmentBytes((int) segmentSize.toBytes());
+            config.setFsync(fsync);
+            config.setReplayConcurrency(replayConcurrency);
+            config.setRetryInterval(retryInterval);
+            config.setMaxRetryInterval(maxRetryInterval);
+            return config;
+        }
+    }
+
+    /**
+     * 有序写入通道配置项
+     */
+    @Data
+    public static class WriteLanes {
+
+        /**
+         * 是否开启按命名空间分条的有序写入通道
+         * 默认值：false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 通道数，即不同命名空间写入的最大并行度
+         * 默认值：16
+         */
+        private int lanes = 16;
+    }
+
+    /**
+     * 读缓存配置项
+     */
+    @Data
+    public static class Cache {
+
+        /**
+         * 是否开启 getItem / listNamespaceItems 的读缓存
+         * 默认值：false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 最大条目数
+         * 默认值：10000
+         */
+        private int maxEntries = 10_000;
+
+        /**
+         * 条目存活时间
+         * 默认值：30s
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+
+        /**
+         * 配置项不存在时的负缓存存活时间，为 0 时不做负缓存
+         * 默认值：5s
+         */
+        private Duration negativeTtl = Duration.ofSeconds(5);
+
+        /**
+         * 是否合并并发的相同读请求（同一时刻只发出一次 HTTP 调用），与是否开启读缓存无关
+         * 默认值：false
+         */
+        private boolean coalesceReads = false;
+    }
+
+    /**
+     * 对冲读配置项
+     */
+    @Data
+    public static class Hedge {
+
+        /**
+         * 是否开启读请求的对冲
+         * 默认值：false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 固定的触发时长，未配置百分位或样本不足时使用
+         * 默认值：100ms
+         */
+        private Duration delay = Duration.ofMillis(100);
+
+        /**
+         * 以观测到的读请求耗时的该百分位作为触发时长，为 0 时只使用固定时长
+         * 默认值：0
+         */
+        private double percentile = 0;
+
+        /**
+         * 使用百分位之前至少需要观测到的读请求数
+         * 默认值：100
+         */
+        private int minSamples = 100;
+
+        /**
+         * 对冲请求数占读请求数的比例上限
+         * 默认值：0.1
+         */
+        private double budgetRatio = 0.1;
+
+        /**
+         * 允许突发的对冲请求数
+         * 默认值：10
+         */
+        private int budgetBurst = 10;
+
+        /**
+         * 转换为核心模块的对冲读策略
+         *
+         * @return 对冲读策略
+         */
+        public HedgePolicy toPolicy() {
+            HedgePolicy policy = new HedgePolicy();
+            policy.setDelay(delay);
+            policy.setPercentile(percentile);
+            policy.setMinSamples(minSamples);
+            policy.setBudgetRatio(budgetRatio);
+            policy.setBudgetBurst(budgetBurst);
+            return policy;
+        }
+    }
+
+    /**
+     * 重试配置项
+     */
+    @Data
+    public static class Retry {
+
+        /**
+         * 是否开启重试
+         * 默认值：false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 最大尝试次数（包含第一次）
+         * 默认值：3
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * 初始退避时长
+         * 默认值：100ms
+         */
+        private Duration initialBackoff = Duration.ofMillis(100);
+
+        /**
+         * 最大退避时长
+         * 默认值：2s
+         */
+        private Duration maxBackoff = Duration.ofSeconds(2);
+
+        /**
+         * 从第一次尝试起的总耗时上限
+         * 默认值：10s
+         */
+        private Duration maxElapsed = Duration.ofSeconds(10);
+
+        /**
+         * 可重试的 HTTP 状态码
+         * 默认值：429、502、503、504
+         */
+        private List<Integer> retryableStatusCodes = List.of(429, 502, 503, 504);
+
+        /**
+         * 是否重试发布请求（发布不幂等，重试可能产生重复的 release）
+         * 默认值：false
+         */
+        private boolean retryReleases = false;
+
+        /**
+         * 重试请求数占正常请求数的比例上限
+         * 默认值：0.2
+         */
+        private double budgetRatio = 0.2;
+
+        /**
+         * 允许突发的重试请求数
+         * 默认值：10
+         */
+        private int budgetBurst = 10;
+
+        /**
+         * 转换为核心模块的重试策略
+         *
+         * @return 重试策略
+         */
+        public RetryPolicy toPolicy() {
+            RetryPolicy policy = new RetryPolicy();
+            policy.setMaxAttempts(maxAttempts);
+            policy.setInitialBackoff(initialBackoff);
+            policy.setMaxBackoff(maxBackoff);
+            policy.setMaxElapsed(maxElapsed);
+            policy.setRetryableStatusCodes(new LinkedHashSet<>(retryableStatusCodes));
+            policy.setRetryReleases(retryReleases);
+            policy.setBudgetRatio(budgetRatio);
+            policy.setBudgetBurst(budgetBurst);
+            return policy;
+        }
+    }
+
+    /**
+     * 熔断配置项
+     */
+    @Data
+    public static class CircuitBreaker {
+
+        /**
+         * 是否开启熔断
+         * 默认值：false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 失败率阈值（百分比），达到后熔断器打开
+         * 默认值：50
+         */
+        private float failureRateThreshold = 50;
+
+        /**
+         * 慢调用率阈值（百分比），达到后熔断器打开
+         * 默认值：100
+         */
+        private float slowCallRateThreshold = 100;
+
+        /**
+         * 慢调用耗时阈值
+         * 默认值：5s
+         */
+        private Duration slowCallDuration = Duration.ofSeconds(5);
+
+        /**
+         * 滑动窗口大小（最近的调用数）
+         * 默认值：50
+         */
+        private int slidingWindowSize = 50;
+
+        /**
+         * 计算比例所需的最少调用数，不能大于滑动窗口大小
+         * 默认值：20
+         */
+        private int minimumNumberOfCalls = 20;
+
+        /**
+         * 打开状态持续时间
+         * 默认值：30s
+         */
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+
+        /**
+         * 半开状态下允许的探测请求数，不能大于滑动窗口大小
+         * 默认值：5
+         */
+        private int permittedCallsInHalfOpenState = 5;
+
+        /**
+         * 转换为核心模块的熔断器配置
+         *
+         * @return 熔断器配置
+         */
+        public CircuitBreakerConfig toConfig() {
+            CircuitBreakerConfig config = new CircuitBreakerConfig();
+            config.setFailureRateThreshold(failureRateThreshold);
+            config.setSlowCallRateThreshold(slowCallRateThreshold);
+            config.setSlowCallDuration(slowCallDuration);
+            config.setSlidingWindowSize(slidingWindowSize);
+            config.setMinimumNumberOfCalls(minimumNumberOfCalls);
+            config.setWaitDurationInOpenState(waitDurationInOpenState);
+            config.setPermittedCallsInHalfOpenState(permittedCallsInHalfOpenState);
+            return config;
+        }
+    }
+
+    /**
+     * 限流配置项
+     */
+    @Data
+    public static class RateLimit {
+
+        /**
+         * 是否开启限流
+         * 默认值：false
+         */
+        private boolean enabled = false;
+
+        /**
+         * 等待许可的最长时间，超时的请求直接失败
+         * 默认值：null，表示一直等待
+         */
+        private Duration maxWait;
+
+        /**
+         * 读请求限流
+         */
+        private Limit read = new Limit();
+
+        /**
+         * 配置项写请求限流
+         */
+        private Limit itemWrite = new Limit();
+
+        /**
+         * 发布请求限流
+         */
+        private Limit release = new Limit();
+
+        /**
+         * 单类请求的限流配置项
+         */
+        @Data
+        public static class Limit {
+
+            /**
+             * 每秒许可数
+             * 默认值：0，表示不限流
+             */
+            private double permitsPerSecond = 0;
+
+            /**
+             * 允许突发的许可数
+             * 默认值：10
+             */
+            private int burst = 10;
+
+            /**
+             * 转换为核心模块的限流器
+             *
+             * @return 限流器，不限流时返回 null
+             */
+            public RateLimiter toRateLimiter() {
+                return permitsPerSecond > 0 ? new RateLimiter(permitsPerSecond, burst) : null;
+            }
+        }
+    }
+
+    /**
+     * 指标配置项
+     */
+    @Data
+    public static class Metrics {
+
+        /**
+         * 存在 MeterRegistry 时是否注册 Micrometer 指标
+         * 默认值：true
+         */
+        private boolean enabled = true;
+
+        /**
+         * 是否发布百分位直方图
+         * 默认值：true
+         */
+        private boolean percentileHistogram = true;
+
+        /**
+         * 客户端计算的百分位，例如 0.5、0.99
+         * 默认值：空，表示不计算
+         */
+        private List<Double> percentiles = List.of();
+    }
+
+    /**
+     * HTTP 分阶段耗时配置项
+     */
+    @Data
+    public static class HttpTiming {
+
+        /**
+         * 慢调用阈值，总耗时超过该值的调用会输出带分阶段耗时的 WARN 日志，为 0 时不输出
+         * 默认值：2s
+         */
+        private Duration slowCallThreshold = Duration.ofSeconds(2);
+    }
+
+    /**
+     * HTTP 传输层配置项
+     *
+     * <p>需要与其他组件共享 OkHttp 连接池和调度器时，可以在容器中注册名为
+     * {@code apolloSdkOkHttpClient} 的 OkHttpClient Bean，此时连接池和调度器相关的配置不生效。</p>
+     */
+    @Data
+    public static class Http {
+
+        /**
+         * 建立连接的超时时间，为 0 时不限制
+         * 默认值：10s
+         */
+        private Duration connectTimeout = Duration.ofSeconds(10);
+
+        /**
+         * 读取的超时时间，为 0 时不限制
+         * 默认值：10s
+         */
+        private Duration readTimeout = Duration.ofSeconds(10);
+
+        /**
+         * 写入的超时时间，为 0 时不限制
+         * 默认值：10s
+         */
+        private Duration writeTimeout = Duration.ofSeconds(10);
+
+        /**
+         * 单次调用的总超时时间，为 0 时不限制
+         * 默认值：0
+         */
+        private Duration callTimeout = Duration.ZERO;
+
+        /**
+         * 连接池中保留的最大空闲连接数
+         * 默认值：5
+         */
+        private int maxIdleConnections = 5;
+
+        /**
+         * 空闲连接的保活时间
+         * 默认值：5m
+         */
+        private Duration keepAlive = Duration.ofMinutes(5);
+
+        /**
+         * 调度器的最大并发请求数（仅影响异步请求）
+         * 默认值：64
+         */
+        private int maxRequests = 64;
+
+        /**
+         * 调度器对单个主机的最大并发请求数（仅影响异步请求），通常应不小于 async.max-in-flight
+         * 默认值：5
+         */
+        private int maxRequestsPerHost = 5;
+
+        /**
+         * 是否启用 HTTP/2（HTTPS 下通过 ALPN 协商）
+         * 默认值：true
+         */
+        private boolean http2Enabled = true;
+
+        /**
+         * 是否以明文 HTTP/2（h2c prior knowledge）连接 Portal
+         * 默认值：false
+         */
+        private boolean http2PriorKnowledge = false;
+
+        /**
+         * 连接失败时是否自动换路由重试
+         * 默认值：true
+         */
+        private boolean retryOnConnectionFailure = true;
+
+        /**
+         * 转换为核心模块的传输层配置
+         *
+         * @return 传输层配置
+         */
+        public HttpTransportConfig toConfig() {
+            HttpTransportConfig config = new HttpTransportConfig();
+            config.setConnectTimeout(connectTimeout);
+            config.setReadTimeout(readTimeout);
+            config.setWriteTimeout(writeTimeout);
+            config.setCallTimeout(callTimeout);
+            config.setMaxIdleConnections(maxIdleConnections);
+            config.setKeepAlive(keepAlive);
+            config.setMaxRequests(maxRequests);
+            config.setMaxRequestsPerHost(maxRequestsPerHost);
+            config.setHttp2Enabled(http2Enabled);
+            config.setHttp2PriorKnowledge(http2PriorKnowledge);
+            config.setRetryOnConnectionFailure(retryOnConnectionFailure);
+            return config;
+        }
+    }
+
+    /**
+     * 命名 Portal 配置项
+     *
+     * <p>重试、熔断、限流、缓存等策略沿用 {@code apollo.sdk.*} 的全局配置；
+     * 连接池和调度器与默认客户端共享，{@code http.*} 中只有超时和协议按 Portal 生效。</p>
+     */
+    @Data
+    public static class Portal {
+
+        /**
+         * Apollo Portal 的基础 URL
+         */
+        private String portalUrl;
+
+        /**
+         * Apollo Portal API 访问令牌
+         */
+        private String token;
+
+        /**
+         * 超时和协议配置，为 null 时沿用 {@code apollo.sdk.http.*}
+         */
+        private Http http;
+    }
 }
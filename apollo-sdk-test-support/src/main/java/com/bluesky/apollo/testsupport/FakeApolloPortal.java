@@ -0,0 +1,548 @@
+package com.bluesky.apollo.testsupport;
+
+import com.bluesky.apollo.core.ApolloClient;
+import com.bluesky.apollo.core.ApolloConfigServiceCore;
+import com.bluesky.apollo.model.ItemResponse;
+import com.bluesky.apollo.model.PublishItemRequest;
+import com.bluesky.apollo.model.ReleaseRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 内存版的 Apollo Portal
+ *
+ * <p>基于 OkHttp {@link MockWebServer}，在内存中实现 SDK 用到的 Portal OpenAPI 接口，
+ * 用于集成测试和基准测试，不需要真实的 Apollo 环境。</p>
+ *
+ * <p>主要功能：</p>
+ * <ul>
+ *   <li>配置项的增删改查、列表和发布（见 {@link PortalEndpoint}），读取不存在的配置项返回 404</li>
+ *   <li>按接口配置服务端耗时分布（{@link LatencyDistribution}）</li>
+ *   <li>按接口注入故障（{@link FaultRule}）：5xx、断开连接、缓慢响应体</li>
+ *   <li>按接口统计请求次数和注入的故障次数</li>
+ *   <li>随机数使用固定种子，相同的请求序列得到相同的耗时和故障</li>
+ * </ul>
+ *
+ * <p>使用示例：</p>
+ * <pre>{@code
+ * try (FakeApolloPortal portal = FakeApolloPortal.start()) {
+ *     portal.setLatency(PortalEndpoint.GET_ITEM, LatencyDistribution.logNormal(
+ *             Duration.ofMillis(5), Duration.ofMillis(50)));
+ *     portal.addFault(PortalEndpoint.PUBLISH, FaultRule.serverError(503, 0.1));
+ *
+ *     ApolloConfigServiceCore service = portal.newService();
+ *     service.publishSingle("app", "DEV", "default", "application", "k", "v", "c", "me");
+ *     assertEquals(1, portal.getRequestCount(PortalEndpoint.PUBLISH));
+ * }
+ * }</pre>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public class FakeApolloPortal implements AutoCloseable {
+
+    /**
+     * 默认的随机数种子
+     */
+    public static final long DEFAULT_SEED = 42L;
+
+    private final MockWebServer server = new MockWebServer();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    /**
+     * 命名空间数据，键为 appId/env/cluster/namespace
+     */
+    private final Map<String, NamespaceState> namespaces = new ConcurrentHashMap<>();
+
+    /**
+     * 各接口的耗时分布，未配置的接口使用 {@link #defaultLatency}
+     */
+    private final Map<PortalEndpoint, LatencyDistribution> latencies = new ConcurrentHashMap<>();
+
+    /**
+     * 故障注入规则，按注册顺序判断
+     */
+    private final List<EndpointFault> faults = new CopyOnWriteArrayList<>();
+
+    private final Map<PortalEndpoint, LongAdder> requestCounts = new EnumMap<>(PortalEndpoint.class);
+
+    private final Map<PortalEndpoint, LongAdder> faultCounts = new EnumMap<>(PortalEndpoint.class);
+
+    private final AtomicLong releaseIds = new AtomicLong();
+
+    private volatile LatencyDistribution defaultLatency = LatencyDistribution.none();
+
+    /**
+     * 随机数发生器，访问时需持有 this 锁
+     */
+    private Random random = new Random(DEFAULT_SEED);
+
+    private FakeApolloPortal() {
+        for (PortalEndpoint endpoint : PortalEndpoint.values()) {
+            requestCounts.put(endpoint, new LongAdder());
+            faultCounts.put(endpoint, new LongAdder());
+        }
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return handle(request);
+            }
+        });
+    }
+
+    /**
+     * 在随机端口上启动
+     *
+     * @return 已启动的 Portal
+     * @throws IOException 启动失败
+     */
+    public static FakeApolloPortal start() throws IOException {
+        FakeApolloPortal portal = new FakeApolloPortal();
+        portal.server.start();
+        return portal;
+    }
+
+    /**
+     * 获取 Portal 地址
+     *
+     * @return Portal 地址，不带末尾斜杠
+     */
+    public String getUrl() {
+        String url = server.url("/").toString();
+        return url.substring(0, url.length() - 1);
+    }
+
+    /**
+     * 创建指向该 Portal 的客户端
+     *
+     * @return Apollo HTTP 客户端
+     */
+    public ApolloClient newClient() {
+        return new ApolloClient(getUrl(), "fake-token");
+    }
+
+    /**
+     * 创建指向该 Portal 的配置服务
+     *
+     * @return 配置服务
+     */
+    public ApolloConfigServiceCore newService() {
+        return new ApolloConfigServiceCore(newClient());
+    }
+
+    /**
+     * 设置随机数种子，同时重置随机序列
+     *
+     * @param seed 随机数种子
+     */
+    public void setSeed(long seed) {
+        synchronized (this) {
+            this.random = new Random(seed);
+        }
+    }
+
+    /**
+     * 设置所有接口的默认耗时分布
+     *
+     * @param latency 耗时分布
+     */
+    public void setDefaultLatency(LatencyDistribution latency) {
+        this.defaultLatency = latency == null ? LatencyDistribution.none() : latency;
+    }
+
+    /**
+     * 设置单个接口的耗时分布
+     *
+     * @param endpoint 接口
+     * @param latency 耗时分布，为 null 时恢复默认耗时分布
+     */
+    public void setLatency(PortalEndpoint endpoint, LatencyDistribution latency) {
+        if (latency == null) {
+            latencies.remove(endpoint);
+        } else {
+            latencies.put(endpoint, latency);
+        }
+    }
+
+    /**
+     * 为单个接口添加故障注入规则
+     *
+     * @param endpoint 接口，为 null 时对所有接口生效
+     * @param rule 故障注入规则
+     */
+    public void addFault(PortalEndpoint endpoint, FaultRule rule) {
+        faults.add(new EndpointFault(endpoint, rule));
+    }
+
+    /**
+     * 清除所有故障注入规则
+     */
+    public void clearFaults() {
+        faults.clear();
+    }
+
+    /**
+     * 直接写入一个配置项（不经过 HTTP，不计入请求次数）
+     *
+     * @param appId 应用 ID
+     * @param env 环境名称
+     * @param cluster 集群名称
+     * @param namespace 命名空间名称
+     * @param key 配置项的键
+     * @param value 配置项的值
+     */
+    public void putItem(String appId, String env, String cluster, String namespace, String key, String value) {
+        ItemResponse item = new ItemResponse();
+        item.setKey(key);
+        item.setValue(value);
+        item.setDataChangeCreatedBy("fake-portal");
+        namespace(appId, env, cluster, namespace).put(item);
+    }
+
+    /**
+     * 获取命名空间当前的配置项（含未发布的修改）
+     *
+     * @param appId 应用 ID
+     * @param env 环境名称
+     * @param cluster 集群名称
+     * @param namespace 命名空间名称
+     * @return 键到值的映射，按写入顺序
+     */
+    public Map<String, String> getItems(String appId, String env, String cluster, String namespace) {
+        return namespace(appId, env, cluster, namespace).values();
+    }
+
+    /**
+     * 获取命名空间最近一次发布的配置
+     *
+     * @param appId 应用 ID
+     * @param env 环境名称
+     * @param cluster 集群名称
+     * @param namespace 命名空间名称
+     * @return 键到值的映射，从未发布时为空
+     */
+    public Map<String, String> getReleasedItems(String appId, String env, String cluster, String namespace) {
+        return namespace(appId, env, cluster, namespace).released();
+    }
+
+    /**
+     * 获取命名空间的发布次数
+     *
+     * @param appId 应用 ID
+     * @param env 环境名称
+     * @param cluster 集群名称
+     * @param namespace 命名空间名称
+     * @return 发布次数
+     */
+    public int getReleaseCount(String appId, String env, String cluster, String namespace) {
+        return namespace(appId, env, cluster, namespace).releaseCount();
+    }
+
+    /**
+     * 获取接口收到的请求次数（包括被注入故障的请求）
+     *
+     * @param endpoint 接口
+     * @return 请求次数
+     */
+    public long getRequestCount(PortalEndpoint endpoint) {
+        return requestCounts.get(endpoint).sum();
+    }
+
+    /**
+     * 获取接口被注入故障的次数
+     *
+     * @param endpoint 接口
+     * @return 故障次数
+     */
+    public long getFaultCount(PortalEndpoint endpoint) {
+        return faultCounts.get(endpoint).sum();
+    }
+
+    /**
+     * 清空数据、计数、耗时分布和故障注入规则，随机序列恢复为默认种子
+     */
+    public void reset() {
+        namespaces.clear();
+        latencies.clear();
+        faults.clear();
+        defaultLatency = LatencyDistribution.none();
+        for (PortalEndpoint endpoint : PortalEndpoint.values()) {
+            requestCounts.get(endpoint).reset();
+            faultCounts.get(endpoint).reset();
+        }
+        setSeed(DEFAULT_SEED);
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+
+    /**
+     * 处理一个请求：识别接口、计数、判断故障、执行业务逻辑、附加耗时
+     */
+    private MockResponse handle(RecordedRequest request) {
+        HttpUrl url = request.getRequestUrl();
+        List<String> segments = url == null ? List.of() : url.pathSegments();
+        PortalEndpoint endpoint = endpointOf(request.getMethod(), segments);
+        requestCounts.get(endpoint).increment();
+
+        FaultRule fault = pickFault(endpoint);
+        long delayNanos = sampleLatency(endpoint);
+
+        MockResponse response;
+        if (fault != null && fault.getType() == FaultRule.Type.CONNECTION_RESET) {
+            response = new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST);
+        } else if (fault != null && fault.getType() == FaultRule.Type.SERVER_ERROR) {
+            response = error(fault.getStatusCode(), "Injected fault");
+        } else {
+            response = dispatch(endpoint, request, segments);
+            if (fault != null && fault.getType() == FaultRule.Type.SLOW_BODY) {
+                // 按 100ms 分块发送，小响应体也能体现出速率限制
+                response.throttleBody(Math.max(1L, fault.getBytesPerSecond() / 10), 100, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (delayNanos > 0) {
+            response.setHeadersDelay(delayNanos, TimeUnit.NANOSECONDS);
+        }
+        return response;
+    }
+
+    /**
+     * 执行接口的业务逻辑
+     */
+    private MockResponse dispatch(PortalEndpoint endpoint, RecordedRequest request, List<String> segments) {
+        if (endpoint == PortalEndpoint.OTHER) {
+            return error(404, "Unsupported path: " + request.getPath());
+        }
+        NamespaceState state = namespace(segments.get(3), segments.get(5), segments.get(7), segments.get(9));
+        try {
+            switch (endpoint) {
+                case GET_ITEM: {
+                    ItemResponse item = state.get(segments.get(11));
+                    return item == null ? error(404, "item not found") : json(item);
+                }
+                case LIST_ITEMS:
+                    return json(state.list());
+                case CREATE_ITEM: {
+                    PublishItemRequest body = mapper.readValue(request.getBody().readUtf8(), PublishItemRequest.class);
+                    return json(state.put(toItem(body.getKey(), body.getValue(), body.getComment(),
+                            body.getDataChangeCreatedBy())));
+                }
+                case UPDATE_ITEM: {
+                    PublishItemRequest body = mapper.readValue(request.getBody().readUtf8(), PublishItemRequest.class);
+                    String key = segments.get(11);
+                    if (state.get(key) == null) {
+                        return error(404, "item not found");
+                    }
+                    state.put(toItem(key, body.getValue(), body.getComment(), body.getDataChangeCreatedBy()));
+                    return new MockResponse().setResponseCode(200);
+                }
+                case DELETE_ITEM:
+                    return state.remove(segments.get(11))
+                            ? new MockResponse().setResponseCode(200)
+                            : error(404, "item not found");
+                case PUBLISH: {
+                    ReleaseRequest body = mapper.readValue(request.getBody().readUtf8(), ReleaseRequest.class);
+                    return json(state.release(releaseIds.incrementAndGet(), body));
+                }
+                default:
+                    return error(404, "Unsupported path: " + request.getPath());
+            }
+        } catch (JsonProcessingException e) {
+            return error(400, "Malformed request body: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * 根据方法和路径识别接口
+     *
+     * <p>路径格式：/openapi/v1/apps/{appId}/envs/{env}/clusters/{cluster}/namespaces/{namespace}/items[/{key}]
+     * 或 .../namespaces/{namespace}/releases</p>
+     */
+    static PortalEndpoint endpointOf(String method, List<String> segments) {
+        int size = segments.size();
+        if (size < 11 || !"openapi".equals(segments.get(0)) || !"namespaces".equals(segments.get(8))) {
+            return PortalEndpoint.OTHER;
+        }
+        String resource = segments.get(10);
+        if ("releases".equals(resource) && size == 11 && "POST".equals(method)) {
+            return PortalEndpoint.PUBLISH;
+        }
+        if (!"items".equals(resource)) {
+            return PortalEndpoint.OTHER;
+        }
+        // POST .../items/ 的末尾斜杠会产生一个空段
+        boolean collection = size == 11 || (size == 12 && segments.get(11).isEmpty());
+        if (collection) {
+            switch (method) {
+                case "GET":
+                    return PortalEndpoint.LIST_ITEMS;
+                case "POST":
+                    return PortalEndpoint.CREATE_ITEM;
+                default:
+                    return PortalEndpoint.OTHER;
+            }
+        }
+        if (size != 12) {
+            return PortalEndpoint.OTHER;
+        }
+        switch (method) {
+            case "GET":
+                return PortalEndpoint.GET_ITEM;
+            case "PUT":
+                return PortalEndpoint.UPDATE_ITEM;
+            case "DELETE":
+                return PortalEndpoint.DELETE_ITEM;
+            default:
+                return PortalEndpoint.OTHER;
+        }
+    }
+
+    /**
+     * 按注册顺序判断故障规则，返回第一条命中的规则
+     */
+    private FaultRule pickFault(PortalEndpoint endpoint) {
+        for (EndpointFault fault : faults) {
+            if (fault.endpoint != null && fault.endpoint != endpoint) {
+                continue;
+            }
+            if (nextDouble() < fault.rule.getProbability()) {
+                faultCounts.get(endpoint).increment();
+                return fault.rule;
+            }
+        }
+        return null;
+    }
+
+    private long sampleLatency(PortalEndpoint endpoint) {
+        LatencyDistribution latency = latencies.getOrDefault(endpoint, defaultLatency);
+        synchronized (this) {
+            return Math.max(0L, latency.sampleNanos(random));
+        }
+    }
+
+    private double nextDouble() {
+        synchronized (this) {
+            return random.nextDouble();
+        }
+    }
+
+    private NamespaceState namespace(String appId, String env, String cluster, String namespace) {
+        return namespaces.computeIfAbsent(appId + "/" + env + "/" + cluster + "/" + namespace,
+                k -> new NamespaceState());
+    }
+
+    private MockResponse json(Object body) throws JsonProcessingException {
+        return new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody(mapper.writeValueAsString(body));
+    }
+
+    private static MockResponse error(int status, String message) {
+        return new MockResponse()
+                .setResponseCode(status)
+                .setHeader("Content-Type", "application/json")
+                .setBody("{\"status\":" + status + ",\"message\":\"" + message.replace("\"", "'") + "\"}");
+    }
+
+    private static ItemResponse toItem(String key, String value, String comment, String createdBy) {
+        ItemResponse item = new ItemResponse();
+        item.setKey(key);
+        item.setValue(value);
+        item.setComment(comment);
+        item.setDataChangeCreatedBy(createdBy);
+        return item;
+    }
+
+    /**
+     * 绑定到接口的故障规则
+     */
+    private static final class EndpointFault {
+
+        private final PortalEndpoint endpoint;
+
+        private final FaultRule rule;
+
+        private EndpointFault(PortalEndpoint endpoint, FaultRule rule) {
+            this.endpoint = endpoint;
+            this.rule = rule;
+        }
+    }
+
+    /**
+     * 单个命名空间的数据：当前配置项和最近一次发布的配置
+     */
+    private static final class NamespaceState {
+
+        private final Map<String, ItemResponse> items = new LinkedHashMap<>();
+
+        private Map<String, String> released = Map.of();
+
+        private int releases;
+
+        synchronized ItemResponse get(String key) {
+            return items.get(key);
+        }
+
+        synchronized List<ItemResponse> list() {
+            return new ArrayList<>(items.values());
+        }
+
+        synchronized ItemResponse put(ItemResponse item) {
+            items.put(item.getKey(), item);
+            return item;
+        }
+
+        synchronized boolean remove(String key) {
+            return items.remove(key) != null;
+        }
+
+        synchronized Map<String, String> values() {
+            Map<String, String> values = new LinkedHashMap<>();
+            items.forEach((key, item) -> values.put(key, item.getValue()));
+            return values;
+        }
+
+        synchronized Map<String, String> released() {
+            return released;
+        }
+
+        synchronized int releaseCount() {
+            return releases;
+        }
+
+        synchronized Map<String, Object> release(long id, ReleaseRequest request) {
+            released = values();
+            releases++;
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("id", id);
+            body.put("name", request.getReleaseTitle());
+            body.put("comment", request.getReleaseComment());
+            body.put("dataChangeCreatedBy", request.getReleasedBy());
+            body.put("configurations", released);
+            return body;
+        }
+    }
+}
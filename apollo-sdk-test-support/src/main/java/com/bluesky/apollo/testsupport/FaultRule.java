@@ -0,0 +1,107 @@
+package com.bluesky.apollo.testsupport;
+
+import lombok.Getter;
+
+/**
+ * 故障注入规则
+ *
+ * <p>每条规则按概率生效，{@link FakeApolloPortal} 对每个请求依次判断已注册的规则，第一条命中的规则生效：</p>
+ * <ul>
+ *   <li>{@link Type#SERVER_ERROR} - 返回指定的 5xx 状态码</li>
+ *   <li>{@link Type#CONNECTION_RESET} - 读取请求后直接断开连接，客户端表现为网络异常</li>
+ *   <li>{@link Type#SLOW_BODY} - 正常处理，但按指定速率缓慢发送响应体</li>
+ * </ul>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@Getter
+public final class FaultRule {
+
+    /**
+     * 故障类型
+     */
+    public enum Type {
+
+        /**
+         * 服务端错误
+         */
+        SERVER_ERROR,
+
+        /**
+         * 连接被重置
+         */
+        CONNECTION_RESET,
+
+        /**
+         * 响应体缓慢
+         */
+        SLOW_BODY
+    }
+
+    /**
+     * 故障类型
+     */
+    private final Type type;
+
+    /**
+     * 生效概率，取值 [0, 1]
+     */
+    private final double probability;
+
+    /**
+     * {@link Type#SERVER_ERROR} 返回的状态码
+     */
+    private final int statusCode;
+
+    /**
+     * {@link Type#SLOW_BODY} 每秒发送的字节数
+     */
+    private final long bytesPerSecond;
+
+    private FaultRule(Type type, double probability, int statusCode, long bytesPerSecond) {
+        if (probability < 0 || probability > 1) {
+            throw new IllegalArgumentException("probability must be in [0, 1]: " + probability);
+        }
+        this.type = type;
+        this.probability = probability;
+        this.statusCode = statusCode;
+        this.bytesPerSecond = bytesPerSecond;
+    }
+
+    /**
+     * 按概率返回服务端错误
+     *
+     * @param statusCode HTTP 状态码，例如 500、503
+     * @param probability 生效概率
+     * @return 故障注入规则
+     */
+    public static FaultRule serverError(int statusCode, double probability) {
+        return new FaultRule(Type.SERVER_ERROR, probability, statusCode, 0);
+    }
+
+    /**
+     * 按概率断开连接
+     *
+     * @param probability 生效概率
+     * @return 故障注入规则
+     */
+    public static FaultRule connectionReset(double probability) {
+        return new FaultRule(Type.CONNECTION_RESET, probability, 0, 0);
+    }
+
+    /**
+     * 按概率缓慢发送响应体
+     *
+     * @param bytesPerSecond 每秒发送的字节数，必须大于 0
+     * @param probability 生效概率
+     * @return 故障注入规则
+     */
+    public static FaultRule slowBody(long bytesPerSecond, double probability) {
+        if (bytesPerSecond <= 0) {
+            throw new IllegalArgumentException("bytesPerSecond must be positive: " + bytesPerSecond);
+        }
+        return new FaultRule(Type.SLOW_BODY, probability, 0, bytesPerSecond);
+    }
+}
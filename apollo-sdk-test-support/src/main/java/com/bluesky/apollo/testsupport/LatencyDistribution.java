@@ -0,0 +1,83 @@
+package com.bluesky.apollo.testsupport;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * 模拟的服务端耗时分布
+ *
+ * <p>{@link FakeApolloPortal} 每处理一个请求就从分布中采样一次，作为返回响应头之前的等待时间。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    /**
+     * 采样一次耗时
+     *
+     * @param random 随机数发生器（固定种子时结果可复现）
+     * @return 耗时（纳秒），不小于 0
+     */
+    long sampleNanos(Random random);
+
+    /**
+     * 无延迟
+     *
+     * @return 耗时分布
+     */
+    static LatencyDistribution none() {
+        return random -> 0L;
+    }
+
+    /**
+     * 固定耗时
+     *
+     * @param latency 耗时
+     * @return 耗时分布
+     */
+    static LatencyDistribution fixed(Duration latency) {
+        long nanos = latency.toNanos();
+        return random -> nanos;
+    }
+
+    /**
+     * 均匀分布
+     *
+     * @param min 最小耗时
+     * @param max 最大耗时
+     * @return 耗时分布
+     */
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        long low = min.toNanos();
+        long span = Math.max(0L, max.toNanos() - low);
+        return random -> low + (long) (random.nextDouble() * span);
+    }
+
+    /**
+     * 对数正态分布，由中位数和 P99 确定，接近真实服务的长尾耗时
+     *
+     * @param median 中位数耗时
+     * @param p99 P99 耗时，不小于中位数
+     * @return 耗时分布
+     */
+    static LatencyDistribution logNormal(Duration median, Duration p99) {
+        double mu = Math.log(Math.max(1L, median.toNanos()));
+        // 标准正态分布的 99 分位点约为 2.326
+        double sigma = Math.max(0.0, (Math.log(Math.max(1L, p99.toNanos())) - mu) / 2.326);
+        return random -> (long) Math.exp(mu + sigma * random.nextGaussian());
+    }
+
+    /**
+     * 指数分布
+     *
+     * @param mean 平均耗时
+     * @return 耗时分布
+     */
+    static LatencyDistribution exponential(Duration mean) {
+        double meanNanos = mean.toNanos();
+        return random -> (long) (-meanNanos * Math.log(1.0 - random.nextDouble()));
+    }
+}
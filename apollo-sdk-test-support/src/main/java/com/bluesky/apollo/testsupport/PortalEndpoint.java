@@ -0,0 +1,46 @@
+package com.bluesky.apollo.testsupport;
+
+/**
+ * {@link FakeApolloPortal} 模拟的 Portal OpenAPI 接口
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public enum PortalEndpoint {
+
+    /**
+     * {@code GET .../namespaces/{namespace}/items/{key}}
+     */
+    GET_ITEM,
+
+    /**
+     * {@code GET .../namespaces/{namespace}/items}
+     */
+    LIST_ITEMS,
+
+    /**
+     * {@code POST .../namespaces/{namespace}/items}
+     */
+    CREATE_ITEM,
+
+    /**
+     * {@code PUT .../namespaces/{namespace}/items/{key}}
+     */
+    UPDATE_ITEM,
+
+    /**
+     * {@code DELETE .../namespaces/{namespace}/items/{key}}
+     */
+    DELETE_ITEM,
+
+    /**
+     * {@code POST .../namespaces/{namespace}/releases}
+     */
+    PUBLISH,
+
+    /**
+     * 其他不支持的请求，返回 404
+     */
+    OTHER
+}
@@ -0,0 +1,184 @@
+package com.bluesky.apollo.testsupport;
+
+import com.bluesky.apollo.core.ApolloClient;
+import com.bluesky.apollo.core.ApolloConfigServiceCore;
+import com.bluesky.apollo.core.RetryPolicy;
+import com.bluesky.apollo.exception.ApolloException;
+import com.bluesky.apollo.exception.ApolloHttpException;
+import com.bluesky.apollo.model.ItemResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FakeApolloPortal 单元测试类
+ *
+ * <p>通过真实的 HTTP 往返验证内存版 Portal 的接口语义、故障注入、耗时分布和请求计数。</p>
+ *
+ * @author lantian
+ * @date 2026/10/16
+ * @version 1.0
+ */
+public class FakeApolloPortalTest {
+
+    private static final String APP_ID = "test-app";
+    private static final String ENV = "DEV";
+    private static final String CLUSTER = "default";
+    private static final String NAMESPACE = "application";
+
+    private FakeApolloPortal portal;
+
+    private ApolloConfigServiceCore service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        portal = FakeApolloPortal.start();
+        service = portal.newService();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        portal.close();
+    }
+
+    /**
+     * 测试配置项的写入、读取、列表、发布和删除
+     */
+    @Test
+    void testItemLifecycle() {
+        // Given
+        portal.putItem(APP_ID, ENV, CLUSTER, NAMESPACE, "seeded", "s");
+
+        // When
+        service.publishSingle(APP_ID, ENV, CLUSTER, NAMESPACE, "timeout", "3000", "comment", "tester");
+        String value = service.getItem(APP_ID, ENV, CLUSTER, NAMESPACE, "timeout");
+        List<ItemResponse> items = service.listNamespaceItems(APP_ID, ENV, CLUSTER, NAMESPACE);
+        service.deleteItem(APP_ID, ENV, CLUSTER, NAMESPACE, "seeded", "tester");
+
+        // Then
+        assertEquals("3000", value);
+        assertEquals(2, items.size());
+        assertEquals(Map.of("timeout", "3000", "seeded", "s"),
+                portal.getReleasedItems(APP_ID, ENV, CLUSTER, NAMESPACE));
+        assertEquals(Map.of("timeout", "3000"), portal.getItems(APP_ID, ENV, CLUSTER, NAMESPACE));
+        assertEquals(1, portal.getReleaseCount(APP_ID, ENV, CLUSTER, NAMESPACE));
+        assertEquals(1, portal.getRequestCount(PortalEndpoint.CREATE_ITEM));
+        assertEquals(1, portal.getRequestCount(PortalEndpoint.PUBLISH));
+        assertEquals(1, portal.getRequestCount(PortalEndpoint.GET_ITEM));
+        assertEquals(1, portal.getRequestCount(PortalEndpoint.LIST_ITEMS));
+        assertEquals(1, portal.getRequestCount(PortalEndpoint.DELETE_ITEM));
+
+        ApolloException e = assertThrows(ApolloException.class,
+                () -> service.getItem(APP_ID, ENV, CLUSTER, NAMESPACE, "missing"));
+        assertEquals(404, ((ApolloHttpException) e.getCause()).getStatusCode());
+    }
+
+    /**
+     * 测试注入的 503 被客户端重试策略恢复
+     */
+    @Test
+    void testServerErrorRecoveredByRetry() {
+        // Given
+        portal.putItem(APP_ID, ENV, CLUSTER, NAMESPACE, "k", "v");
+        portal.addFault(PortalEndpoint.GET_ITEM, FaultRule.serverError(503, 1.0));
+        ApolloClient client = portal.newClient();
+        RetryPolicy policy = RetryPolicy.defaults();
+        policy.setInitialBackoff(Duration.ofMillis(1));
+        client.setRetryPolicy(policy);
+        ApolloConfigServiceCore retrying = new ApolloConfigServiceCore(client);
+
+        // When
+        ApolloException e = assertThrows(ApolloException.class,
+                () -> retrying.getItem(APP_ID, ENV, CLUSTER, NAMESPACE, "k"));
+        portal.clearFaults();
+        String value = retrying.getItem(APP_ID, ENV, CLUSTER, NAMESPACE, "k");
+
+        // Then
+        assertEquals(503, ((ApolloHttpException) e.getCause()).getStatusCode());
+        assertEquals("v", value);
+        assertEquals(policy.getMaxAttempts(), portal.getFaultCount(PortalEndpoint.GET_ITEM));
+        assertEquals(policy.getMaxAttempts() + 1, portal.getRequestCount(PortalEndpoint.GET_ITEM));
+    }
+
+    /**
+     * 测试断开连接和缓慢响应体
+     */
+    @Test
+    void testConnectionResetAndSlowBody() {
+        // Given
+        portal.putItem(APP_ID, ENV, CLUSTER, NAMESPACE, "k", "v");
+        portal.addFault(PortalEndpoint.LIST_ITEMS, FaultRule.connectionReset(1.0));
+        portal.addFault(PortalEndpoint.GET_ITEM, FaultRule.slowBody(200, 1.0));
+
+        // When
+        assertThrows(ApolloException.class, () -> service.listNamespaceItems(APP_ID, ENV, CLUSTER, NAMESPACE));
+        long start = System.nanoTime();
+        String value = service.getItem(APP_ID, ENV, CLUSTER, NAMESPACE, "k");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertEquals("v", value);
+        // 响应体约 70 字节，每 100ms 发送 20 字节，至少等待 3 个周期
+        assertTrue(elapsedMillis >= 250, "elapsed " + elapsedMillis + "ms");
+        assertEquals(1, portal.getFaultCount(PortalEndpoint.LIST_ITEMS));
+        assertEquals(1, portal.getFaultCount(PortalEndpoint.GET_ITEM));
+    }
+
+    /**
+     * 测试固定延迟和对数正态分布的采样
+     */
+    @Test
+    void testLatencyDistributions() {
+        // Given
+        portal.setLatency(PortalEndpoint.GET_ITEM, LatencyDistribution.fixed(Duration.ofMillis(100)));
+        portal.putItem(APP_ID, ENV, CLUSTER, NAMESPACE, "k", "v");
+        LatencyDistribution logNormal = LatencyDistribution.logNormal(Duration.ofMillis(10), Duration.ofMillis(100));
+        Random random = new Random(1);
+        long[] samples = new long[10_000];
+
+        // When
+        long start = System.nanoTime();
+        service.getItem(APP_ID, ENV, CLUSTER, NAMESPACE, "k");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = logNormal.sampleNanos(random);
+        }
+        Arrays.sort(samples);
+
+        // Then
+        assertTrue(elapsedMillis >= 100, "elapsed " + elapsedMillis + "ms");
+        assertEquals(10.0, samples[samples.length / 2] / 1e6, 1.0);
+        assertEquals(100.0, samples[samples.length * 99 / 100] / 1e6, 15.0);
+    }
+
+    /**
+     * 测试接口识别
+     */
+    @Test
+    void testEndpointOf() {
+        // Given
+        List<String> items = List.of("openapi", "v1", "apps", "a", "envs", "DEV", "clusters", "default",
+                "namespaces", "application", "items");
+        List<String> item = List.of("openapi", "v1", "apps", "a", "envs", "DEV", "clusters", "default",
+                "namespaces", "application", "items", "k");
+        List<String> releases = List.of("openapi", "v1", "apps", "a", "envs", "DEV", "clusters", "default",
+                "namespaces", "application", "releases");
+
+        // Then
+        assertEquals(PortalEndpoint.LIST_ITEMS, FakeApolloPortal.endpointOf("GET", items));
+        assertEquals(PortalEndpoint.CREATE_ITEM, FakeApolloPortal.endpointOf("POST", items));
+        assertEquals(PortalEndpoint.GET_ITEM, FakeApolloPortal.endpointOf("GET", item));
+        assertEquals(PortalEndpoint.UPDATE_ITEM, FakeApolloPortal.endpointOf("PUT", item));
+        assertEquals(PortalEndpoint.DELETE_ITEM, FakeApolloPortal.endpointOf("DELETE", item));
+        assertEquals(PortalEndpoint.PUBLISH, FakeApolloPortal.endpointOf("POST", releases));
+        assertEquals(PortalEndpoint.OTHER, FakeApolloPortal.endpointOf("GET", List.of("health")));
+    }
+}